@@ -0,0 +1,246 @@
+package org.example.marketstock.benchmark;
+
+import org.example.marketstock.simulation.ExecutionMode;
+import org.example.marketstock.simulation.tick.TickScheduler;
+import org.example.marketstock.simulation.tick.Tickable;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Compares the execution modes of agents. Each agent sleeps one millisecond instead of 10 to 15 seconds,
+ * so {@code runAgents} measures how long it takes to push every agent through a fixed number of steps,
+ * while {@code parkAgents} reports how much heap and how many threads an idle agent costs.
+ * Both counters of {@code parkAgents} are summed over measurement iterations by JMH.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=AgentExecutionBenchmark}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AgentExecutionBenchmark {
+
+    private static final int STEPS = 10;
+
+    @Param({"THREAD_POOL", "VIRTUAL_THREADS", "TICK"})
+    public ExecutionMode mode;
+
+    @Param({"100", "1000", "10000"})
+    public int agents;
+
+    private ExecutorService service;
+    private TickScheduler tickScheduler;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        if (mode == ExecutionMode.TICK) {
+            tickScheduler = new TickScheduler(Runtime.getRuntime().availableProcessors(), 256, 1L);
+        } else {
+            service = mode.newAgentService();
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws InterruptedException {
+        if (nonNull(tickScheduler)) {
+            tickScheduler.shutdown();
+            tickScheduler = null;
+        }
+
+        if (nonNull(service)) {
+            service.shutdownNow();
+            service.awaitTermination(1, TimeUnit.MINUTES);
+            service = null;
+        }
+    }
+
+    /**
+     * Starts every agent and waits until each of them made {@value #STEPS} steps.
+     * Agent throughput equals {@code agents * STEPS} divided by the reported time.
+     */
+    @Benchmark
+    public void runAgents(final Blackhole blackhole) throws InterruptedException {
+        final CountDownLatch finished = new CountDownLatch(agents);
+
+        for (int i = 0; i < agents; i++) {
+            start(new CompressedAgent(STEPS, finished, blackhole));
+        }
+
+        if (nonNull(tickScheduler)) {
+            tickScheduler.start();
+        }
+
+        finished.await();
+    }
+
+    /**
+     * Starts every agent and lets it block as if it was sleeping between two steps,
+     * then reports the retained heap and the number of live threads per agent.
+     */
+    @Benchmark
+    public void parkAgents(final Footprint footprint) throws InterruptedException {
+        // A fixed pool never starts more agents than it has threads, the rest waits in the queue.
+        final int startedAgents = mode == ExecutionMode.THREAD_POOL
+                ? Math.min(agents, ExecutionMode.THREAD_POOL_SIZE)
+                : agents;
+        final CountDownLatch started = new CountDownLatch(startedAgents);
+        final CountDownLatch release = new CountDownLatch(1);
+        final long heapBefore = usedHeap();
+        final int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        for (int i = 0; i < agents; i++) {
+            start(new ParkedAgent(started, release));
+        }
+
+        if (nonNull(tickScheduler)) {
+            tickScheduler.advance();
+        } else {
+            started.await();
+        }
+
+        footprint.bytesPerAgent = Math.max(0L, usedHeap() - heapBefore) / agents;
+        footprint.threadsPerThousandAgents =
+                (ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore) * 1000L / agents;
+
+        release.countDown();
+    }
+
+    private <T extends Runnable & Tickable> void start(final T agent) {
+        if (nonNull(tickScheduler)) {
+            tickScheduler.register(agent);
+        } else {
+            service.submit(agent);
+        }
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long bytesPerAgent;
+        public long threadsPerThousandAgents;
+    }
+
+    /**
+     * Mimics the routine of an investor with sleeps compressed to one millisecond or one tick.
+     */
+    private static final class CompressedAgent implements Runnable, Tickable {
+
+        private final CountDownLatch finished;
+        private final Blackhole blackhole;
+        private int remainingSteps;
+
+        private CompressedAgent(final int steps, final CountDownLatch finished, final Blackhole blackhole) {
+            this.remainingSteps = steps;
+            this.finished = finished;
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (isActive()) {
+                    TimeUnit.MILLISECONDS.sleep(nextDelay());
+                    step();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void step() {
+            Blackhole.consumeCPU(100);
+            blackhole.consume(remainingSteps);
+
+            if (--remainingSteps == 0) {
+                finished.countDown();
+            }
+        }
+
+        @Override
+        public int nextDelay() {
+            return 1;
+        }
+
+        @Override
+        public boolean isActive() {
+            return remainingSteps > 0;
+        }
+
+        @Override
+        public void markTerminated() { }
+    }
+
+    /**
+     * Blocks it's thread until released, just like an agent that sleeps between two steps.
+     */
+    private static final class ParkedAgent implements Runnable, Tickable {
+
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        private ParkedAgent(final CountDownLatch started, final CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public void run() {
+            started.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void step() { }
+
+        @Override
+        public int nextDelay() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public boolean isActive() {
+            return release.getCount() > 0;
+        }
+
+        @Override
+        public void markTerminated() { }
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.marketstock.benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.simulation.ExecutionMode;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.Dictionaries;
+import org.example.marketstock.simulation.generator.WorldGenerator;
+import org.example.marketstock.simulation.generator.builder.ScenarioBuilder;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what a change of a rate costs, with every listener that follows it in a simulation,
+ * and how long a stock exchange of a given number of companies takes to rebuild it's indices.
+ * Rates alternate between their opening value and a slightly higher one, so they never drift away.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=AssetRateBenchmark}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssetRateBenchmark {
+
+    @Param({"100", "10000"})
+    public int companies;
+
+    private Simulation simulation;
+    private StockExchange stockExchange;
+    private Company[] listed;
+    private double[] rates;
+    private long cursor;
+
+    @Setup
+    public void setUp() {
+        Configurator.setRootLevel(Level.OFF);
+
+        simulation = new WorldGenerator(Dictionaries.load(new SimpleJsonReader())).generate(
+                ScenarioBuilder.builder()
+                        .withSeed(42L)
+                        .withStockExchanges(1)
+                        .withCurrencyExchanges(1)
+                        .withCommodityExchanges(1)
+                        .withCompanies(companies)
+                        .withCurrenciesPerExchange(10)
+                        .withCommoditiesPerExchange(10)
+                        .withInvestors(10)
+                        .withInvestmentFunds(1)
+                        .build(),
+                SimulationBuilder.builder().withExecutionMode(ExecutionMode.THREAD_POOL));
+
+        stockExchange = simulation.getStockExchanges().get(0);
+        listed = stockExchange.getCompanies().toArray(new Company[0]);
+        rates = stockExchange.getCompanies().stream().mapToDouble(Company::getCurrentRate).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.shutdown();
+    }
+
+    @Benchmark
+    public double updateRate() {
+        final long operation = cursor++;
+        final int company = (int) (operation % listed.length);
+        final boolean higher = (operation / listed.length & 1) == 0;
+
+        return listed[company].updateRate(higher ? rates[company] * 1.05D : rates[company]);
+    }
+
+    @Benchmark
+    public StockExchange updateIndices() {
+        stockExchange.updateIndices();
+        return stockExchange;
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.marketstock.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Compares JMH results written with {@code -rf json} with a stored baseline and tells which benchmarks
+ * got slower by more than a threshold. A benchmark counts as slower only when the difference is also greater
+ * than the errors of both scores together, so that noise of a short run isn't reported as a regression.
+ * Throughput is better when it's higher, every other mode when it's lower.
+ * <br>
+ * Run it with the paths of the baseline, of the results and the threshold in percents:
+ * <pre>
+ * java -cp marketstock-benchmarks-{version}.jar org.example.marketstock.benchmark.BaselineComparison \
+ *     baseline.json jmh-result.json 10
+ * </pre>
+ * It exits with {@code 1} when any benchmark regressed, so that a build can fail on it.
+ * A missing baseline is reported and isn't a failure.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public final class BaselineComparison {
+
+    public static final double DEFAULT_THRESHOLD = 10D;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String ROW = "%-90s %16s %16s %9s  %s%n";
+
+    private BaselineComparison() { }
+
+    public static void main(final String... args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> [threshold in %]");
+            System.exit(2);
+        }
+
+        final Path baseline = Paths.get(args[0]);
+        final Path result = Paths.get(args[1]);
+        final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+        if (Files.notExists(baseline)) {
+            System.out.println("No baseline at " + baseline + ", nothing to compare.");
+            return;
+        }
+
+        final int regressions = compare(read(baseline), read(result), threshold, System.out);
+
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads scores of benchmarks from a file written by JMH with {@code -rf json}.
+     * @param path A path of the file.
+     * @return Scores by benchmarks and their parameters, in the order of the file.
+     * @throws IOException If the file can't be read.
+     */
+    public static Map<String, Score> read(final Path path) throws IOException {
+        final Map<String, Score> scores = new LinkedHashMap<>();
+
+        for (final JsonNode run : MAPPER.readTree(path.toFile())) {
+            final JsonNode metric = run.path("primaryMetric");
+            scores.put(keyOf(run), new Score(
+                    run.path("mode").asText(),
+                    metric.path("score").asDouble(),
+                    metric.path("scoreError").asDouble(Double.NaN),
+                    metric.path("scoreUnit").asText()));
+        }
+
+        return scores;
+    }
+
+    private static String keyOf(final JsonNode run) {
+        final StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+        final Map<String, String> params = new TreeMap<>();
+        final Iterator<Map.Entry<String, JsonNode>> fields = run.path("params").fields();
+
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            params.put(field.getKey(), field.getValue().asText());
+        }
+        if (!params.isEmpty()) {
+            key.append(params);
+        }
+
+        return key.append(" threads=").append(run.path("threads").asInt(1)).toString();
+    }
+
+    /**
+     * Prints a row for each of the results next to it's baseline and counts regressions.
+     * @param baseline Scores of the baseline.
+     * @param results Scores to compare with the baseline.
+     * @param threshold How many percents worse a score has to be to count as a regression.
+     * @param out Receives the report.
+     * @return The number of regressions.
+     */
+    public static int compare(final Map<String, Score> baseline,
+                              final Map<String, Score> results,
+                              final double threshold,
+                              final PrintStream out) {
+
+        int regressions = 0;
+        out.printf(ROW, "Benchmark", "Baseline", "Result", "Change", "");
+
+        for (final Map.Entry<String, Score> entry : results.entrySet()) {
+            final Score before = baseline.get(entry.getKey());
+            final Score after = entry.getValue();
+
+            if (isNull(before)) {
+                out.printf(ROW, entry.getKey(), "-", after.format(), "-", "NEW");
+                continue;
+            }
+            if (!before.mode.equals(after.mode) || !before.unit.equals(after.unit)) {
+                out.printf(ROW, entry.getKey(), before.format(), after.format(), "-", "NOT COMPARABLE");
+                continue;
+            }
+
+            final double change = (after.value - before.value) / before.value * 100D;
+            final double worse = before.higherIsBetter() ? -change : change;
+            final boolean significant =
+                    Math.abs(after.value - before.value) > before.errorOrZero() + after.errorOrZero();
+            final String verdict;
+
+            if (worse > threshold && significant) {
+                verdict = "REGRESSION";
+                regressions++;
+            } else if (-worse > threshold && significant) {
+                verdict = "IMPROVEMENT";
+            } else {
+                verdict = "";
+            }
+
+            out.printf(ROW, entry.getKey(), before.format(), after.format(), String.format("%+.1f%%", change), verdict);
+        }
+
+        out.printf("%d of %d benchmarks regressed by more than %.1f%%.%n", regressions, results.size(), threshold);
+        return regressions;
+    }
+
+    /**
+     * The primary score of a benchmark.
+     */
+    public static final class Score {
+
+        private final String mode;
+        private final double value;
+        private final double error;
+        private final String unit;
+
+        public Score(final String mode, final double value, final double error, final String unit) {
+            this.mode = mode;
+            this.value = value;
+            this.error = error;
+            this.unit = unit;
+        }
+
+        private boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+
+        private double errorOrZero() {
+            return Double.isNaN(error) ? 0D : error;
+        }
+
+        private String format() {
+            return String.format("%.3f %s", value, unit);
+        }
+
+        public String getMode() {
+            return mode;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public double getError() {
+            return error;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+    }
+}
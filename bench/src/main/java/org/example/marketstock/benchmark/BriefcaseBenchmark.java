@@ -0,0 +1,138 @@
+package org.example.marketstock.benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.builder.CommodityBuilder;
+import org.example.marketstock.models.briefcase.Briefcase;
+import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link Briefcase} backed by a primitive open-addressing map with the previous implementation,
+ * which kept boxed numbers in a {@link HashMap} and looked each asset up several times per update.
+ * Every operation buys and sells one unit of an asset that is already held, like an entity that trades
+ * a position without closing it, and reads the count back.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=BriefcaseBenchmark} and add {@code -prof gc}
+ * to compare allocation rates.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BriefcaseBenchmark {
+
+    private static final int INITIAL_NUMBER = 10;
+
+    @Param({"8", "256"})
+    public int holdings;
+
+    private Asset[] assets;
+    private Briefcase briefcase;
+    private MapBriefcase mapBriefcase;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Configurator.setRootLevel(Level.OFF);
+
+        assets = new Asset[holdings];
+        briefcase = BriefcaseBuilder.emptyBriefcase().build();
+        mapBriefcase = new MapBriefcase(new HashMap<>());
+
+        for (int i = 0; i < holdings; i++) {
+            assets[i] = CommodityBuilder.builder()
+                    .withName("Commodity" + i)
+                    .withCurrentRate(i + 1D)
+                    .withRateChanges(new ArrayList<>(Collections.singletonList(i + 1D)))
+                    .build();
+
+            briefcase.addOrIncrease(assets[i], INITIAL_NUMBER);
+            mapBriefcase.addOrIncrease(assets[i], INITIAL_NUMBER);
+        }
+    }
+
+    @Benchmark
+    public int primitiveBriefcase() {
+        final Asset asset = next();
+        briefcase.addOrIncrease(asset, 1);
+        briefcase.decreaseOrRemove(asset, 1);
+        return briefcase.getCount(asset);
+    }
+
+    @Benchmark
+    public int hashMapBriefcase() {
+        final Asset asset = next();
+        mapBriefcase.addOrIncrease(asset, 1);
+        mapBriefcase.decreaseOrRemove(asset, 1);
+        return mapBriefcase.getCount(asset);
+    }
+
+    private Asset next() {
+        return assets[cursor++ % holdings];
+    }
+
+    /**
+     * The storage of the previous {@link Briefcase}, without logging.
+     */
+    private static final class MapBriefcase {
+
+        private final Map<Asset, Integer> map;
+
+        private MapBriefcase(final Map<Asset, Integer> map) {
+            this.map = map;
+        }
+
+        private void addOrIncrease(final Asset asset, final Integer number) {
+            if (map.containsKey(asset)) {
+                map.put(asset, map.get(asset) + number);
+            } else {
+                map.put(asset, number);
+            }
+        }
+
+        private int decreaseOrRemove(final Asset asset, final Integer number) {
+            if (map.containsKey(asset)) {
+                final int difference = map.get(asset) - number;
+
+                if (difference < 0) {
+                    return 0;
+                } else if (difference == 0) {
+                    map.remove(asset);
+                } else {
+                    map.put(asset, difference);
+                }
+
+                return number;
+            }
+
+            return 0;
+        }
+
+        private int getCount(final Asset asset) {
+            return map.getOrDefault(asset, 0);
+        }
+    }
+}
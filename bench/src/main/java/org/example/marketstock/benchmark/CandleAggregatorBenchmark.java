@@ -0,0 +1,72 @@
+package org.example.marketstock.benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.builder.CurrencyBuilder;
+import org.example.marketstock.simulation.history.CandleAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to aggregate ten million ticks of a hundred assets into bars
+ * of a second, a minute and an hour with a {@link CandleAggregator}.
+ * Running it with {@code -prof gc} shows that ticks don't allocate.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=CandleAggregatorBenchmark}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CandleAggregatorBenchmark {
+
+    private static final int ASSETS = 100;
+    private static final int TICKS = 10_000_000;
+
+    private final List<Asset> assets = new ArrayList<>();
+    private CandleAggregator candleAggregator;
+
+    @Setup
+    public void setUp() {
+        Configurator.setRootLevel(Level.OFF);
+
+        for (int asset = 0; asset < ASSETS; asset++) {
+            assets.add(CurrencyBuilder.builder()
+                    .withName("Currency" + asset)
+                    .withRateChanges(new ArrayList<>(Collections.singletonList(1.0D)))
+                    .withCountries(new ArrayList<>())
+                    .build());
+        }
+
+        candleAggregator = new CandleAggregator();
+        assets.forEach(asset -> candleAggregator.onTick(asset, 0L, 1.0D, 1));
+    }
+
+    @Benchmark
+    public CandleAggregator aggregate() {
+        for (int tick = 0; tick < TICKS; tick++) {
+            candleAggregator.onTick(assets.get(tick % ASSETS), tick, 1.0D + tick % 17, tick % 100);
+        }
+
+        return candleAggregator;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.marketstock.benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.simulation.croupier.Croupier;
+import org.example.marketstock.simulation.croupier.Dictionaries;
+import org.example.marketstock.simulation.croupier.builder.CroupierBuilder;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures draws of the {@link Croupier} that new companies, currencies and investors are made of.
+ * Dictionaries are read once before the measurement, just like in a simulation.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=CroupierBenchmark}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CroupierBenchmark {
+
+    private Croupier croupier;
+
+    @Setup
+    public void setUp() {
+        Configurator.setRootLevel(Level.OFF);
+
+        final SimpleJsonReader resourcesReader = new SimpleJsonReader();
+        croupier = CroupierBuilder.builder()
+                .withResourcesReader(resourcesReader)
+                .withRandom(new Random(42L))
+                .withDictionaries(Dictionaries.load(resourcesReader))
+                .build();
+    }
+
+    @Benchmark
+    public String drawCompanyName() {
+        return croupier.drawCompanyName();
+    }
+
+    @Benchmark
+    public String[] drawCountries() {
+        return croupier.drawCountries();
+    }
+
+    @Benchmark
+    public String drawDateOfFirstValuation() {
+        return croupier.drawDateOfFirstValuation();
+    }
+
+    @Benchmark
+    public double drawCurrentRate() {
+        return croupier.drawCurrentRate();
+    }
+
+    @Benchmark
+    public String drawPESEL() {
+        return croupier.drawPESEL();
+    }
+}
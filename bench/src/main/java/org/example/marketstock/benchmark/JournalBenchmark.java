@@ -0,0 +1,159 @@
+package org.example.marketstock.benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.simulation.ExecutionMode;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.Dictionaries;
+import org.example.marketstock.simulation.generator.WorldGenerator;
+import org.example.marketstock.simulation.generator.builder.ScenarioBuilder;
+import org.example.marketstock.simulation.journal.Journal;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Measures how long it takes to append a given number of purchases to a {@link Journal} until they are durable,
+ * with and without forcing every batch to the disk, and how long it takes to recover them.
+ * The number of batches and the number of times producers waited for a full buffer are reported
+ * by the {@code commits} and {@code stalls} counters.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=JournalBenchmark}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JournalBenchmark {
+
+    private static final int RECORDS = 100_000;
+
+    @Param({"false", "true"})
+    public boolean forced;
+
+    private Path directory;
+    private Simulation simulation;
+    private Simulation recovered;
+    private Journal journal;
+    private List<Company> companies;
+    private List<Investor> investors;
+
+    @Setup
+    public void setUp() throws IOException {
+        Configurator.setRootLevel(Level.OFF);
+
+        directory = Files.createTempDirectory("journal-benchmark");
+        simulation = new WorldGenerator(Dictionaries.load(new SimpleJsonReader())).generate(
+                ScenarioBuilder.builder()
+                        .withSeed(42L)
+                        .withStockExchanges(1)
+                        .withCurrencyExchanges(1)
+                        .withCommodityExchanges(1)
+                        .withCompanies(100)
+                        .withCurrenciesPerExchange(10)
+                        .withCommoditiesPerExchange(10)
+                        .withInvestors(1000)
+                        .withInvestmentFunds(25)
+                        .build(),
+                SimulationBuilder.builder().withExecutionMode(ExecutionMode.THREAD_POOL));
+
+        companies = simulation.getStockExchanges().stream()
+                .flatMap(stockExchange -> stockExchange.getCompanies().stream())
+                .collect(Collectors.toList());
+        investors = simulation.getInvestors();
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+    public void checkpoint() throws IOException {
+        journal = Journal.open(directory, Journal.DEFAULT_CAPACITY, forced);
+        journal.checkpoint(simulation);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Invocation)
+    public void closeJournal() throws IOException {
+        journal.close();
+
+        if (nonNull(recovered)) {
+            recovered.shutdown();
+            recovered = null;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        simulation.shutdown();
+
+        try (final Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void append(final Counters counters) throws IOException {
+        appendPurchases();
+        journal.flush();
+
+        counters.commits = journal.getCommits();
+        counters.stalls = journal.getStalls();
+    }
+
+    @Benchmark
+    public Simulation recover() throws IOException {
+        appendPurchases();
+        journal.flush();
+
+        recovered = journal.recover(SimulationBuilder.builder().withExecutionMode(ExecutionMode.THREAD_POOL));
+        return recovered;
+    }
+
+    private void appendPurchases() {
+        for (int record = 0; record < RECORDS; record++) {
+            final Company company = companies.get(record % companies.size());
+            journal.recordPurchase(company, investors.get(record % investors.size()), 1,
+                    company.getCurrentRate(), company.getCurrentRate());
+        }
+    }
+
+    /**
+     * Reports the number of batches and stalls of the writer next to it's timing.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long commits;
+        public long stalls;
+    }
+}
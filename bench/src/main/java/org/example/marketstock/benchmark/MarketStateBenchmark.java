@@ -0,0 +1,83 @@
+package org.example.marketstock.benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.company.builder.CompanyBuilder;
+import org.example.marketstock.simulation.market.MarketState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares valuing every company of a market by visiting each {@link Company}
+ * with the same scan over the columns of a {@link MarketState}.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=MarketStateBenchmark}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MarketStateBenchmark {
+
+    @Param({"1000", "100000"})
+    private int companies;
+
+    private final List<Company> market = new ArrayList<>();
+    private MarketState marketState;
+
+    @Setup
+    public void setUp() {
+        Configurator.setRootLevel(Level.OFF);
+        marketState = new MarketState();
+
+        for (int company = 0; company < companies; company++) {
+            final double rate = 1.0D + company % 17;
+            market.add(CompanyBuilder.builder()
+                    .withName("Company" + company)
+                    .withCurrentRate(rate)
+                    .withRateChanges(new ArrayList<>(Collections.singletonList(rate)))
+                    .withNumberOfAssets(1 + company % 100)
+                    .build());
+        }
+
+        // Shuffles companies, so that they are spread over the heap as after a long simulation.
+        Collections.shuffle(market);
+        market.forEach(marketState::add);
+    }
+
+    @Benchmark
+    public double objects() {
+        double sum = 0D;
+
+        for (final Company company : market) {
+            sum += company.getCurrentRate() * company.getNumberOfAssets();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public double columns() {
+        return marketState.capitalization();
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.marketstock.benchmark;
+
+import org.example.marketstock.models.exchange.book.OrderBook;
+import org.example.marketstock.models.exchange.book.Side;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many orders a single {@link OrderBook} handles per second on one core.
+ * A pregenerated stream mixes resting limit orders around a mid price, aggressive limit orders that trade,
+ * market orders and cancels of resting orders, so the book keeps a stable depth.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=OrderBookBenchmark}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBookBenchmark {
+
+    private static final int STREAM_SIZE = 1 << 16;
+    private static final double MID_PRICE = 100D;
+    private static final String[] OWNERS = {"A", "B", "C", "D", "E", "F", "G", "H"};
+
+    @Param({"100", "1000"})
+    public int levels;
+
+    private OrderBook orderBook;
+    private Blackhole blackhole;
+    private final Side[] sides = new Side[STREAM_SIZE];
+    private final double[] prices = new double[STREAM_SIZE];
+    private final int[] quantities = new int[STREAM_SIZE];
+    private final int[] actions = new int[STREAM_SIZE];
+    private final long[] restingIds = new long[STREAM_SIZE];
+    private int cursor;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        this.blackhole = blackhole;
+        orderBook = new OrderBook(0.01D, (buyer, seller, price, quantity) -> {
+            blackhole.consume(quantity);
+            return true;
+        });
+
+        final Random random = new Random(42L);
+        for (int i = 0; i < STREAM_SIZE; i++) {
+            sides[i] = random.nextBoolean() ? Side.BUY : Side.SELL;
+            quantities[i] = random.nextInt(100) + 1;
+            actions[i] = random.nextInt(100);
+
+            final double offset = (random.nextInt(levels) + 1) * 0.01D;
+            final boolean aggressive = actions[i] >= 45 && actions[i] < 75;
+            prices[i] = sides[i] == Side.BUY ^ aggressive ? MID_PRICE - offset : MID_PRICE + offset;
+        }
+
+        for (int i = 0; i < STREAM_SIZE; i++) {
+            restingIds[i] = OrderBook.NOT_RESTING;
+        }
+
+        for (int i = 0; i < 10 * levels; i++) {
+            next();
+        }
+    }
+
+    /**
+     * Applies the next operation of the stream: 45% resting limit orders, 30% aggressive limit orders,
+     * 5% market orders and 20% cancels of an order placed earlier.
+     */
+    @Benchmark
+    public void placeOrCancel() {
+        next();
+    }
+
+    private void next() {
+        final int i = cursor++ & (STREAM_SIZE - 1);
+        final String owner = OWNERS[i & (OWNERS.length - 1)];
+
+        if (actions[i] < 75) {
+            restingIds[i] = orderBook.placeLimitOrder(sides[i], prices[i], quantities[i], owner);
+        } else if (actions[i] < 80) {
+            blackhole.consume(orderBook.placeMarketOrder(sides[i], quantities[i], owner));
+        } else {
+            final int earlier = (i - 1 - (quantities[i] << 4)) & (STREAM_SIZE - 1);
+            blackhole.consume(orderBook.cancel(restingIds[earlier]));
+            restingIds[earlier] = OrderBook.NOT_RESTING;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.marketstock.benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.simulation.ExecutionMode;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.Dictionaries;
+import org.example.marketstock.simulation.generator.WorldGenerator;
+import org.example.marketstock.simulation.generator.builder.ScenarioBuilder;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.example.marketstock.simulation.serialization.SimulationMapper;
+import org.example.marketstock.simulation.serialization.SimulationSnapshot;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Measures how long it takes to save and load a generated world of a given number of investors,
+ * both as JSON and as a binary snapshot.
+ * Each investor holds five companies, so briefcases make most of a save just like in a long running simulation.
+ * The size of a save in bytes is reported by the {@code saveSize} counter.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=SerializationBenchmark}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SerializationBenchmark {
+
+    private static final int HOLDINGS = 5;
+
+    @Param({"1000", "10000", "100000"})
+    public int investors;
+
+    private Simulation simulation;
+    private Simulation loaded;
+    private byte[] save;
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        Configurator.setRootLevel(Level.OFF);
+
+        simulation = new WorldGenerator(Dictionaries.load(new SimpleJsonReader())).generate(
+                ScenarioBuilder.builder()
+                        .withSeed(42L)
+                        .withStockExchanges(Math.max(1, investors / 4000))
+                        .withCurrencyExchanges(1)
+                        .withCommodityExchanges(1)
+                        .withCompanies(investors / 10)
+                        .withCurrenciesPerExchange(10)
+                        .withCommoditiesPerExchange(10)
+                        .withInvestors(investors)
+                        .withInvestmentFunds(investors / 40)
+                        .build(),
+                SimulationBuilder.builder().withExecutionMode(ExecutionMode.THREAD_POOL));
+
+        final List<Company> companies = simulation.getStockExchanges().stream()
+                .flatMap(stockExchange -> stockExchange.getCompanies().stream())
+                .collect(Collectors.toList());
+        final Random random = new Random(42L);
+
+        simulation.getInvestors().forEach(investor -> {
+            for (int holding = 0; holding < HOLDINGS; holding++) {
+                investor.getBriefcase().addOrIncrease(companies.get(random.nextInt(companies.size())), 1 + random.nextInt(100));
+            }
+        });
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        SimulationMapper.write(simulation, outputStream);
+        save = outputStream.toByteArray();
+
+        final ByteArrayOutputStream snapshotStream = new ByteArrayOutputStream();
+        SimulationSnapshot.write(simulation, snapshotStream);
+        snapshot = snapshotStream.toByteArray();
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Invocation)
+    public void shutdownLoaded() {
+        if (nonNull(loaded)) {
+            loaded.shutdown();
+            loaded = null;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.shutdown();
+    }
+
+    @Benchmark
+    public Simulation load(final SaveSize saveSize) throws IOException {
+        saveSize.saveSize = save.length;
+        loaded = SimulationMapper.read(new ByteArrayInputStream(save));
+        return loaded;
+    }
+
+    @Benchmark
+    public void save(final SaveSize saveSize) throws IOException {
+        final CountingOutputStream outputStream = new CountingOutputStream();
+        SimulationMapper.write(simulation, outputStream);
+        saveSize.saveSize = outputStream.count;
+    }
+
+    @Benchmark
+    public Simulation loadSnapshot(final SaveSize saveSize) throws IOException {
+        saveSize.saveSize = snapshot.length;
+        loaded = SimulationSnapshot.read(new ByteArrayInputStream(snapshot));
+        return loaded;
+    }
+
+    @Benchmark
+    public void saveSnapshot(final SaveSize saveSize) throws IOException {
+        final CountingOutputStream outputStream = new CountingOutputStream();
+        SimulationSnapshot.write(simulation, outputStream);
+        saveSize.saveSize = outputStream.count;
+    }
+
+    /**
+     * Reports the number of bytes in a save next to it's timing.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SaveSize {
+
+        public long saveSize;
+    }
+
+    /**
+     * Counts and drops bytes, so that saving measures serialization instead of the disk.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.marketstock.benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.builder.CurrencyBuilder;
+import org.example.marketstock.simulation.history.TickStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures how long it takes to store a million ticks of a hundred assets in a {@link TickStore},
+ * alone and followed by a read of a range of a thousand ticks of a single asset.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=TickStoreBenchmark}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TickStoreBenchmark {
+
+    private static final int ASSETS = 100;
+    private static final int TICKS = 1_000_000;
+
+    private final List<Asset> assets = new ArrayList<>();
+    private Path directory;
+    private TickStore tickStore;
+
+    @Setup
+    public void setUp() {
+        Configurator.setRootLevel(Level.OFF);
+
+        for (int asset = 0; asset < ASSETS; asset++) {
+            assets.add(CurrencyBuilder.builder()
+                    .withName("Currency" + asset)
+                    .withRateChanges(new ArrayList<>(Collections.singletonList(1.0D)))
+                    .withCountries(new ArrayList<>())
+                    .build());
+        }
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+    public void openStore() throws IOException {
+        directory = Files.createTempDirectory("tick-store-benchmark");
+        tickStore = TickStore.open(directory);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Invocation)
+    public void deleteStore() throws IOException {
+        tickStore.close();
+
+        try (final Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public TickStore append() {
+        appendTicks();
+        return tickStore;
+    }
+
+    @Benchmark
+    public long query() throws IOException {
+        appendTicks();
+
+        final long[] sum = {0L};
+        final long middle = TICKS / 2;
+        tickStore.forEach(assets.get(0), middle, middle + 1_000L * ASSETS,
+                (timestamp, price, volume) -> sum[0] += volume);
+        return sum[0];
+    }
+
+    private void appendTicks() {
+        for (int tick = 0; tick < TICKS; tick++) {
+            tickStore.onTick(assets.get(tick % ASSETS), tick, 1.0D + tick % 17, tick % 100);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.marketstock.benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.models.asset.builder.CurrencyBuilder;
+import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.company.builder.CompanyBuilder;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.entity.Player;
+import org.example.marketstock.models.entity.builder.InvestorBuilder;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.builder.CroupierBuilder;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many buy and sell transactions the {@link Simulation} completes per second
+ * when many investors trade at the same time. With a few companies investors mostly contend for the same assets,
+ * with many companies they should hardly ever block each other.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark="TradeThroughputBenchmark -t 8"}
+ * and compare it with a run on a single thread ({@code -t 1}) to see how throughput scales with cores.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class TradeThroughputBenchmark {
+
+    private static final double RATE = 5D;
+
+    @Param({"1", "64"})
+    public int companies;
+
+    private Simulation simulation;
+    private List<Company> market;
+
+    @Setup
+    public void setUp() {
+        Configurator.setRootLevel(Level.OFF);
+
+        simulation = SimulationBuilder.builder()
+                .withPlayer(Player.getInstance("Bench", "Mark", 0D, BriefcaseBuilder.emptyBriefcase().build()))
+                .withStockExchanges(new ArrayList<>())
+                .withCurrencyExchanges(new ArrayList<>())
+                .withCommodityExchange(new ArrayList<>())
+                .withInvestors(new ArrayList<>())
+                .withInvestmentFunds(new ArrayList<>())
+                .withCommodityNames(new ArrayList<>())
+                .withCurrencyNames(new ArrayList<>())
+                .withCroupier(CroupierBuilder.builder()
+                        .withResourcesReader(new SimpleJsonReader())
+                        .withRandom(new Random())
+                        .build())
+                .withMainCurrency(CurrencyBuilder.builder()
+                        .withName("MainCurrency")
+                        .withRateChanges(new ArrayList<>(Collections.singletonList(0.0)))
+                        .withCountries(new ArrayList<>())
+                        .build())
+                .build();
+
+        market = new ArrayList<>(companies);
+        for (int i = 0; i < companies; i++) {
+            market.add(CompanyBuilder.builder()
+                    .withName("Company " + i)
+                    .withCurrentRate(RATE)
+                    .withMinRate(RATE)
+                    .withMaxRate(RATE)
+                    .withNumberOfAssets(Integer.MAX_VALUE / 2)
+                    .withRateChanges(new ArrayList<>(Collections.singletonList(RATE)))
+                    .build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.shutdown();
+    }
+
+    /**
+     * Buys and then sells a single share of a random company.
+     * Every 1024 operations the rate is reset, because each pair of transactions lowers it by a fraction.
+     */
+    @Benchmark
+    public int buyAndSell(final Trader trader) {
+        final Company company = market.get(ThreadLocalRandom.current().nextInt(companies));
+        final int bought = simulation.buySelectedResource(company, 1, company.getCurrentRate(), trader.investor);
+        simulation.sellSelectedResource(company, bought, trader.investor);
+
+        if ((++trader.operations & 1023) == 0) {
+            company.updateRate(RATE);
+        }
+
+        return bought;
+    }
+
+    @State(Scope.Thread)
+    public static class Trader {
+
+        private Investor investor;
+        private long operations;
+
+        @Setup
+        public void setUp() {
+            investor = InvestorBuilder.builder()
+                    .withFirstName("Trader")
+                    .withLastName(Thread.currentThread().getName())
+                    .withBudget(Double.MAX_VALUE / 2)
+                    .withBriefcase(BriefcaseBuilder.emptyBriefcase().build())
+                    .build();
+        }
+    }
+}
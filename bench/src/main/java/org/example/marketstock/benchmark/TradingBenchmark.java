@@ -0,0 +1,162 @@
+package org.example.marketstock.benchmark;
+
+import io.vavr.Tuple3;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.simulation.ExecutionMode;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.Dictionaries;
+import org.example.marketstock.simulation.generator.WorldGenerator;
+import org.example.marketstock.simulation.generator.builder.ScenarioBuilder;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the steps an agent takes on every turn: choosing an asset to buy or sell
+ * and then buying and selling it in the {@link Simulation}, in generated worlds of a given number of investors.
+ * Each investor holds five companies, so there is always something to sell.
+ * Agents aren't started, so the benchmark thread is the only one that trades.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=TradingBenchmark}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TradingBenchmark {
+
+    private static final int HOLDINGS = 5;
+
+    @Param({"1000", "10000"})
+    public int investors;
+
+    private Simulation simulation;
+    private Investor[] traders;
+    private Company[] companies;
+    private double[] rates;
+    private double[] budgets;
+    private int[] numbersOfAssets;
+    private long cursor;
+
+    @Setup
+    public void setUp() {
+        Configurator.setRootLevel(Level.OFF);
+
+        simulation = new WorldGenerator(Dictionaries.load(new SimpleJsonReader())).generate(
+                ScenarioBuilder.builder()
+                        .withSeed(42L)
+                        .withStockExchanges(Math.max(1, investors / 4000))
+                        .withCurrencyExchanges(1)
+                        .withCommodityExchanges(1)
+                        .withCompanies(investors / 10)
+                        .withCurrenciesPerExchange(10)
+                        .withCommoditiesPerExchange(10)
+                        .withInvestors(investors)
+                        .withInvestmentFunds(investors / 40)
+                        .build(),
+                SimulationBuilder.builder().withExecutionMode(ExecutionMode.THREAD_POOL));
+
+        final List<Company> market = simulation.getStockExchanges().stream()
+                .flatMap(stockExchange -> stockExchange.getCompanies().stream())
+                .collect(Collectors.toList());
+        final Random random = new Random(42L);
+
+        traders = simulation.getInvestors().toArray(new Investor[0]);
+        companies = market.toArray(new Company[0]);
+        rates = market.stream().mapToDouble(Company::getCurrentRate).toArray();
+
+        for (final Investor trader : traders) {
+            for (int holding = 0; holding < HOLDINGS; holding++) {
+                final Company company = companies[random.nextInt(companies.length)];
+                trader.getBriefcase().addOrIncrease(company, 1 + random.nextInt(100));
+            }
+        }
+
+        budgets = simulation.getInvestors().stream().mapToDouble(Investor::getBudget).toArray();
+        numbersOfAssets = market.stream().mapToInt(Company::getNumberOfAssets).toArray();
+    }
+
+    /**
+     * Restores budgets of investors as well as rates and numbers of shares of companies,
+     * so that every iteration of {@link #buyAndSellSelectedResource()} starts from the same market.
+     */
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void resetMarket() {
+        for (int index = 0; index < traders.length; index++) {
+            final Investor trader = traders[index];
+            trader.increaseBudget(budgets[index] - trader.getBudget());
+        }
+        for (int index = 0; index < companies.length; index++) {
+            final Company company = companies[index];
+            company.increaseNumberOfAssets(numbersOfAssets[index] - company.getNumberOfAssets());
+            company.updateRate(rates[index]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.shutdown();
+    }
+
+    @Benchmark
+    public Optional<Tuple3<Asset, Integer, Double>> chooseAssetToBuy() {
+        return simulation.chooseAssetToBuy(traders[(int) (cursor++ % traders.length)]);
+    }
+
+    @Benchmark
+    public Optional<Tuple3<Asset, Integer, Double>> chooseAssetToSell() {
+        return simulation.chooseAssetToSell(traders[(int) (cursor++ % traders.length)]);
+    }
+
+    /**
+     * Buys a single share of the next company and sells whatever was bought, so numbers of shares in briefcases
+     * stay the same. Budgets don't, because each pair of transactions costs the trader the spread between
+     * the buying and the selling rate, and each pair also moves the rate of the company by a fraction.
+     * Rates are therefore reset every 256 pairs, and the whole market is reset before each iteration.
+     * Nothing is sold when a company had no share left to buy.
+     */
+    @Benchmark
+    public int buyAndSellSelectedResource() {
+        final long operation = cursor++;
+        final Investor trader = traders[(int) (operation % traders.length)];
+        final int company = (int) (operation % companies.length);
+
+        final int bought = simulation.buySelectedResource(companies[company], 1,
+                companies[company].getCurrentRate(), trader);
+        if (bought > 0) {
+            simulation.sellSelectedResource(companies[company], bought, trader);
+        }
+
+        if ((operation / companies.length & 255) == 255) {
+            companies[company].updateRate(rates[company]);
+        }
+
+        return bought;
+    }
+}
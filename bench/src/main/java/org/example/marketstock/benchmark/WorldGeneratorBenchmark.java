@@ -0,0 +1,97 @@
+package org.example.marketstock.benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.simulation.ExecutionMode;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.Dictionaries;
+import org.example.marketstock.simulation.generator.Scenario;
+import org.example.marketstock.simulation.generator.WorldGenerator;
+import org.example.marketstock.simulation.generator.builder.ScenarioBuilder;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Measures how long it takes to generate a world of a given size, either in a single thread
+ * or in a pool with a thread per processor. The size is the number of investors,
+ * the rest of a world grows with it in the proportions of 50 exchanges, 20k companies, 200k investors and 5k funds.
+ * <br>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=WorldGeneratorBenchmark}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WorldGeneratorBenchmark {
+
+    @Param({"2000", "20000", "200000"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    private ForkJoinPool pool;
+    private WorldGenerator generator;
+    private Scenario scenario;
+    private Simulation simulation;
+
+    @Setup
+    public void setUp() {
+        Configurator.setRootLevel(Level.OFF);
+
+        pool = new ForkJoinPool(parallel ? Runtime.getRuntime().availableProcessors() : 1);
+        generator = new WorldGenerator(Dictionaries.load(new SimpleJsonReader()), pool);
+        scenario = ScenarioBuilder.builder()
+                .withSeed(42L)
+                .withStockExchanges(Math.max(1, size / 4000))
+                .withCurrencyExchanges(Math.max(1, size / 20_000))
+                .withCommodityExchanges(Math.max(1, size / 20_000))
+                .withCompanies(size / 10)
+                .withCurrenciesPerExchange(10)
+                .withCommoditiesPerExchange(10)
+                .withInvestors(size)
+                .withInvestmentFunds(size / 40)
+                .build();
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Invocation)
+    public void shutdownSimulation() {
+        if (nonNull(simulation)) {
+            simulation.shutdown();
+            simulation = null;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public Simulation generate() {
+        simulation = generator.generate(scenario, SimulationBuilder.builder().withExecutionMode(ExecutionMode.THREAD_POOL));
+        return simulation;
+    }
+}
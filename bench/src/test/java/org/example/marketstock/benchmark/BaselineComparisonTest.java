@@ -0,0 +1,66 @@
+package org.example.marketstock.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BaselineComparisonTest {
+
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void should_report_only_significant_regressions() throws IOException {
+
+        // given
+        final Map<String, BaselineComparison.Score> baseline = BaselineComparison.read(write("baseline.json",
+                run("TradingBenchmark.chooseAssetToBuy", "avgt", 100D, 2D, "ns/op", "1000"),
+                run("TradingBenchmark.chooseAssetToBuy", "avgt", 200D, 2D, "ns/op", "10000"),
+                run("BriefcaseBenchmark.primitiveBriefcase", "thrpt", 1000D, 10D, "ops/s", null),
+                run("CroupierBenchmark.drawPESEL", "avgt", 50D, 30D, "ns/op", null)));
+        final Map<String, BaselineComparison.Score> results = BaselineComparison.read(write("result.json",
+                run("TradingBenchmark.chooseAssetToBuy", "avgt", 150D, 2D, "ns/op", "1000"),
+                run("TradingBenchmark.chooseAssetToBuy", "avgt", 150D, 2D, "ns/op", "10000"),
+                run("BriefcaseBenchmark.primitiveBriefcase", "thrpt", 800D, 10D, "ops/s", null),
+                run("CroupierBenchmark.drawPESEL", "avgt", 70D, 30D, "ns/op", null),
+                run("CroupierBenchmark.drawCountries", "avgt", 70D, 1D, "ns/op", null)));
+        final ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        // when
+        final int actual = BaselineComparison.compare(baseline, results, 10D,
+                new PrintStream(report, true, StandardCharsets.UTF_8.name()));
+
+        // then
+        assertThat(actual).isEqualTo(2);
+        assertThat(new String(report.toByteArray(), StandardCharsets.UTF_8))
+                .contains("TradingBenchmark.chooseAssetToBuy{investors=1000} threads=1")
+                .contains("IMPROVEMENT")
+                .contains("NEW")
+                .contains("2 of 5 benchmarks regressed by more than 10.0%.");
+    }
+
+    private Path write(final String name, final String... runs) throws IOException {
+        final Path file = directory.resolve(name);
+        Files.write(file, ("[" + String.join(",", runs) + "]").getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String run(final String benchmark, final String mode, final double score, final double error,
+                              final String unit, final String investors) {
+
+        return "{\"benchmark\":\"org.example.marketstock.benchmark." + benchmark + "\",\"mode\":\"" + mode + "\","
+                + "\"threads\":1,"
+                + (investors == null ? "" : "\"params\":{\"investors\":\"" + investors + "\"},")
+                + "\"primaryMetric\":{\"score\":" + score + ",\"scoreError\":" + error
+                + ",\"scoreUnit\":\"" + unit + "\"}}";
+    }
+}
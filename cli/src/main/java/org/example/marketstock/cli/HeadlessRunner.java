@@ -0,0 +1,224 @@
+package org.example.marketstock.cli;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
+import org.example.marketstock.models.entity.Player;
+import org.example.marketstock.simulation.ExecutionMode;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.Dictionaries;
+import org.example.marketstock.simulation.generator.WorldGenerator;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.example.marketstock.simulation.metrics.LatencyRecorder;
+import org.example.marketstock.simulation.order.OrderPipeline;
+import org.example.marketstock.simulation.serialization.SimulationMapper;
+import org.example.marketstock.simulation.serialization.SimulationSnapshot;
+import org.example.marketstock.simulation.tick.TickScheduler;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a simulation from the command line, without the JavaFX toolkit.
+ * <br>
+ * The runner loads a save or generates a world, starts it's agents in the {@link ExecutionMode#TICK} mode
+ * and advances ticks as fast as it can instead of once per tick duration. Once every order is applied,
+ * it writes metrics of the run to {@value #METRICS}, metrics of order pipelines to {@value #PIPELINES}
+ * and the final state of the simulation to {@value #SAVE} in the output directory.
+ * <br>
+ * Run with {@code java -jar marketstock-cli-{version}-fat.jar --ticks 600}.
+ *
+ * @author Dominik Szmyt
+ * @see RunnerOptions
+ * @since 1.1.0
+ */
+public final class HeadlessRunner {
+
+    private static final Logger LOGGER = LogManager.getLogger(HeadlessRunner.class);
+
+    public static final String METRICS = "metrics.properties";
+    public static final String PIPELINES = "pipelines.csv";
+    public static final String SAVE = "simulation.json";
+
+    private static final long DRAIN_TIMEOUT_SECONDS = 30L;
+
+    private final RunnerOptions options;
+    private final LongAdder trades = new LongAdder();
+    private final LongAdder tradedVolume = new LongAdder();
+
+    /**
+     * Create a {@code HeadlessRunner} with all necessary fields.
+     * @param options Options of a single run.
+     */
+    public HeadlessRunner(final RunnerOptions options) {
+        this.options = options;
+    }
+
+    public static void main(final String[] args) {
+        final RunnerOptions options;
+        try {
+            options = RunnerOptions.parse(args);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(RunnerOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        Configurator.setRootLevel(Level.toLevel(options.getLogLevel(), Level.WARN));
+
+        try {
+            new HeadlessRunner(options).run()
+                    .forEach((name, value) -> System.out.println(name + "=" + value));
+            System.exit(0);
+        } catch (IOException | InterruptedException exception) {
+            LOGGER.error("[RUNNER]: Run failed.", exception);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Builds or loads a simulation, runs it for the requested number of ticks and writes results.
+     * @return Metrics of the run in the order they're written.
+     * @throws IOException If the simulation couldn't be loaded or results couldn't be written.
+     * @throws InterruptedException If the runner was interrupted while ticks were advanced.
+     */
+    public Map<String, Object> run() throws IOException, InterruptedException {
+        final Simulation simulation = options.isLoaded() ? load() : generate();
+        simulation.addTickListener((asset, timestamp, price, volume) -> {
+            trades.increment();
+            tradedVolume.add(volume);
+        });
+
+        LOGGER.info("[RUNNER]: Runs {}.", options);
+
+        try {
+            final long ticks = options.getTicks();
+            final long start = System.nanoTime();
+
+            simulation.startStepped();
+            simulation.getTickScheduler().advance(ticks);
+            final boolean drained = simulation.awaitOrders(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            final long wallNanos = System.nanoTime() - start;
+            final Map<String, Object> metrics = collect(simulation, ticks, wallNanos, drained);
+
+            Files.createDirectories(options.getOutput());
+            writeMetrics(metrics);
+            writePipelines(simulation.getOrderPipelines());
+
+            if (options.isSave()) {
+                SimulationMapper.write(simulation, options.getOutput().resolve(SAVE).toFile());
+            }
+
+            LOGGER.info("[RUNNER]: Ran {} ticks in {} ms, results are in {}.",
+                    ticks, TimeUnit.NANOSECONDS.toMillis(wallNanos), options.getOutput());
+            return metrics;
+        } finally {
+            simulation.shutdown();
+        }
+    }
+
+    private Simulation generate() {
+        final SimulationBuilder simulationBuilder = newSimulationBuilder()
+                .withPlayer(Player.getInstance("Headless", "Runner", 0D, BriefcaseBuilder.emptyBriefcase().build()));
+
+        return new WorldGenerator(Dictionaries.load(new SimpleJsonReader()))
+                .generate(options.getScenario(), simulationBuilder);
+    }
+
+    /**
+     * Loads a snapshot or a JSON save with the runner's scheduler.
+     */
+    private Simulation load() throws IOException {
+        final Path file = options.getLoad();
+
+        if (file.getFileName().toString().endsWith("." + SimulationSnapshot.EXTENSION)) {
+            try (final InputStream inputStream = new BufferedInputStream(Files.newInputStream(file))) {
+                return SimulationSnapshot.read(inputStream, newSimulationBuilder());
+            }
+        }
+
+        return SimulationMapper.read(file.toFile(), newSimulationBuilder());
+    }
+
+    private SimulationBuilder newSimulationBuilder() {
+        return SimulationBuilder.builder()
+                .withExecutionMode(ExecutionMode.TICK)
+                .withTickScheduler(new TickScheduler(options.getParallelism(),
+                        TickScheduler.DEFAULT_BATCH_SIZE, options.getTickMillis()));
+    }
+
+    private Map<String, Object> collect(final Simulation simulation,
+                                        final long ticks,
+                                        final long wallNanos,
+                                        final boolean drained) {
+
+        final List<OrderPipeline> pipelines = simulation.getOrderPipelines();
+        final double wallSeconds = Math.max(1L, wallNanos) / 1e9D;
+        final Runtime runtime = Runtime.getRuntime();
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+
+        metrics.put("ticks", ticks);
+        metrics.put("simulatedMillis", ticks * options.getTickMillis());
+        metrics.put("wallMillis", TimeUnit.NANOSECONDS.toMillis(wallNanos));
+        metrics.put("ticksPerSecond", ticks / wallSeconds);
+        metrics.put("trades", trades.sum());
+        metrics.put("tradesPerSecond", trades.sum() / wallSeconds);
+        metrics.put("tradedVolume", tradedVolume.sum());
+        metrics.put("processedOrders", pipelines.stream().mapToLong(OrderPipeline::getProcessedOrders).sum());
+        metrics.put("rejectedOrders", pipelines.stream().mapToLong(OrderPipeline::getRejectedOrders).sum());
+        metrics.put("maxQueueDepth", pipelines.stream().mapToInt(OrderPipeline::getMaxQueueDepth).max().orElse(0));
+        metrics.put("ordersDrained", drained);
+        metrics.put("agents", simulation.getTickScheduler().getNumberOfAgents());
+        metrics.put("investors", simulation.getInvestors().size());
+        metrics.put("investmentFunds", simulation.getInvestmentFunds().size());
+        metrics.put("assets", simulation.getMarketState().size());
+        metrics.put("capitalization", simulation.getMarketState().capitalization());
+        metrics.put("usedHeapBytes", runtime.totalMemory() - runtime.freeMemory());
+        return metrics;
+    }
+
+    private void writeMetrics(final Map<String, Object> metrics) throws IOException {
+        final Path file = options.getOutput().resolve(METRICS);
+
+        try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (final Map.Entry<String, Object> metric : metrics.entrySet()) {
+                writer.write(metric.getKey() + "=" + metric.getValue());
+                writer.write(System.lineSeparator());
+            }
+        }
+    }
+
+    private void writePipelines(final List<OrderPipeline> pipelines) throws IOException {
+        final Path file = options.getOutput().resolve(PIPELINES);
+
+        try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("name;processed;rejected;maxQueueDepth;p50Nanos;p99Nanos;p999Nanos;maxNanos");
+            writer.write(System.lineSeparator());
+
+            for (final OrderPipeline pipeline : pipelines) {
+                final LatencyRecorder latency = pipeline.getLatencyRecorder();
+
+                writer.write(pipeline.getName() + ";" + pipeline.getProcessedOrders() + ";"
+                        + pipeline.getRejectedOrders() + ";" + pipeline.getMaxQueueDepth() + ";"
+                        + latency.getPercentile(50D) + ";" + latency.getPercentile(99D) + ";"
+                        + latency.getPercentile(99.9D) + ";" + latency.getMax());
+                writer.write(System.lineSeparator());
+            }
+        }
+    }
+}
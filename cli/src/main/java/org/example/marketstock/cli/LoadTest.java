@@ -0,0 +1,283 @@
+package org.example.marketstock.cli;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
+import org.example.marketstock.models.entity.Player;
+import org.example.marketstock.simulation.ExecutionMode;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.Dictionaries;
+import org.example.marketstock.simulation.generator.WorldGenerator;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.example.marketstock.simulation.metrics.LatencyRecorder;
+import org.example.marketstock.simulation.order.OrderPipeline;
+import org.example.marketstock.simulation.tick.TickScheduler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Finds how many agents a simulation can keep up with. Every run generates a world of a number of investors
+ * and companies, starts it in the {@link ExecutionMode#TICK} mode with ticks much shorter than a second,
+ * lets it warm up and then measures it for a fixed time. The next run has more agents,
+ * until trades per second stop growing or orders wait too long to be filled.
+ * <br>
+ * Each run writes it's metrics to {@code load-<agents>.properties} and a row of {@value #SUMMARY},
+ * both in the output directory:
+ * <ul>
+ *     <li>trades per second,</li>
+ *     <li>percentiles of the time from the decision of an agent to the fill of it's order,</li>
+ *     <li>the number and time of waits for trade locks held by other threads,</li>
+ *     <li>bytes allocated per second by live threads and the time of garbage collections.</li>
+ * </ul>
+ * Run with {@code java -cp marketstock-cli-{version}-fat.jar org.example.marketstock.cli.LoadTest --agents 1000}.
+ *
+ * @author Dominik Szmyt
+ * @see LoadTestOptions
+ * @since 1.1.0
+ */
+public final class LoadTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(LoadTest.class);
+
+    public static final String SUMMARY = "load-summary.csv";
+
+    private static final String[] COLUMNS = {
+            "agents", "tradesPerSecond", "p50Nanos", "p99Nanos", "p999Nanos",
+            "lockWaits", "lockWaitMillis", "allocatedBytesPerSecond", "ticksPerSecond", "saturated"};
+
+    private final LoadTestOptions options;
+
+    /**
+     * Create a {@code LoadTest} with all necessary fields.
+     * @param options Options of the load test.
+     */
+    public LoadTest(final LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(final String[] args) {
+        final LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        Configurator.setRootLevel(Level.toLevel(options.getLogLevel(), Level.WARN));
+
+        try {
+            final List<Map<String, Object>> runs = new LoadTest(options).run();
+            runs.forEach(System.out::println);
+            System.out.println("saturationPoint=" + saturationPoint(runs));
+            System.exit(0);
+        } catch (IOException | InterruptedException exception) {
+            LOGGER.error("[LOAD]: Load test failed.", exception);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs worlds of more and more agents until one of them is saturated or there are no steps left.
+     * @return Metrics of every run in the order they were made.
+     * @throws IOException If results couldn't be written.
+     * @throws InterruptedException If the load test was interrupted while a run was measured.
+     */
+    public List<Map<String, Object>> run() throws IOException, InterruptedException {
+        Files.createDirectories(options.getOutput());
+
+        final List<Map<String, Object>> runs = new ArrayList<>();
+        final Dictionaries dictionaries = Dictionaries.load(new SimpleJsonReader());
+
+        LOGGER.info("[LOAD]: Runs {}.", options);
+
+        for (int step = 0; step < options.getSteps(); step++) {
+            final Map<String, Object> metrics = runOnce(dictionaries, options.getAgents(step));
+            final boolean saturated = isSaturated(runs.isEmpty() ? null : runs.get(runs.size() - 1), metrics);
+
+            metrics.put("saturated", saturated);
+            runs.add(metrics);
+            write(metrics, runs.size() == 1);
+
+            LOGGER.info("[LOAD]: {} agents made {} trades per second with p99 of {} ns.",
+                    metrics.get("agents"), metrics.get("tradesPerSecond"), metrics.get("p99Nanos"));
+
+            if (saturated) {
+                break;
+            }
+        }
+
+        return runs;
+    }
+
+    /**
+     * Returns the number of agents of the last run that wasn't saturated.
+     * @param runs Metrics of runs in the order they were made.
+     * @return The number of agents or 0 if even the first run was saturated.
+     */
+    public static int saturationPoint(final List<Map<String, Object>> runs) {
+        int agents = 0;
+
+        for (final Map<String, Object> run : runs) {
+            if (Boolean.TRUE.equals(run.get("saturated"))) {
+                break;
+            }
+            agents = (Integer) run.get("agents");
+        }
+
+        return agents;
+    }
+
+    private boolean isSaturated(final Map<String, Object> previous, final Map<String, Object> current) {
+        if ((Long) current.get("p99Nanos") > TimeUnit.MILLISECONDS.toNanos(options.getMaxP99Millis())) {
+            return true;
+        }
+        if (isNull(previous)) {
+            return false;
+        }
+
+        final double before = (Double) previous.get("tradesPerSecond");
+        final double after = (Double) current.get("tradesPerSecond");
+        return after < before * (1D + options.getMinGain() / 100D);
+    }
+
+    private Map<String, Object> runOnce(final Dictionaries dictionaries, final int agents)
+            throws InterruptedException {
+
+        final Simulation simulation = new WorldGenerator(dictionaries).generate(options.getScenario(agents),
+                SimulationBuilder.builder()
+                        .withExecutionMode(ExecutionMode.TICK)
+                        .withTickScheduler(new TickScheduler(options.getParallelism(),
+                                TickScheduler.DEFAULT_BATCH_SIZE, options.getTickMillis()))
+                        .withPlayer(Player.getInstance("Load", "Test", 0D,
+                                BriefcaseBuilder.emptyBriefcase().build())));
+
+        final LongAdder trades = new LongAdder();
+        simulation.addTickListener((asset, timestamp, price, volume) -> trades.increment());
+
+        try {
+            simulation.start();
+            TimeUnit.MILLISECONDS.sleep(options.getWarmupMillis());
+
+            final List<OrderPipeline> pipelines = simulation.getOrderPipelines();
+            pipelines.forEach(pipeline -> pipeline.getLatencyRecorder().reset());
+            simulation.getTradeLocks().getWaitRecorder().reset();
+
+            final long tradesBefore = trades.sum();
+            final long ticksBefore = simulation.getTickScheduler().getCurrentTick();
+            final long allocatedBefore = allocatedBytes();
+            final long gcBefore = gcMillis();
+            final long start = System.nanoTime();
+
+            TimeUnit.MILLISECONDS.sleep(options.getDurationMillis());
+
+            final double seconds = (System.nanoTime() - start) / 1e9D;
+            final LatencyRecorder latency = new LatencyRecorder();
+            simulation.getOrderPipelines().forEach(pipeline -> latency.add(pipeline.getLatencyRecorder()));
+            final LatencyRecorder lockWaits = simulation.getTradeLocks().getWaitRecorder();
+            final long allocated = allocatedBytes() - allocatedBefore;
+
+            final Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("agents", agents);
+            metrics.put("assets", options.getAssets());
+            metrics.put("measuredMillis", Math.round(seconds * 1000D));
+            metrics.put("tickMillis", options.getTickMillis());
+            metrics.put("ticksPerSecond", (simulation.getTickScheduler().getCurrentTick() - ticksBefore) / seconds);
+            metrics.put("trades", trades.sum() - tradesBefore);
+            metrics.put("tradesPerSecond", (trades.sum() - tradesBefore) / seconds);
+            metrics.put("filledOrders", latency.getCount());
+            metrics.put("p50Nanos", latency.getPercentile(50D));
+            metrics.put("p99Nanos", latency.getPercentile(99D));
+            metrics.put("p999Nanos", latency.getPercentile(99.9D));
+            metrics.put("maxNanos", latency.getMax());
+            metrics.put("maxQueueDepth",
+                    pipelines.stream().mapToInt(OrderPipeline::getMaxQueueDepth).max().orElse(0));
+            metrics.put("lockWaits", lockWaits.getCount());
+            metrics.put("lockWaitMillis", lockWaits.getMean() * lockWaits.getCount() / 1e6D);
+            metrics.put("lockWaitP99Nanos", lockWaits.getPercentile(99D));
+            metrics.put("allocatedBytesPerSecond", allocated < 0L ? -1D : allocated / seconds);
+            metrics.put("gcMillis", gcMillis() - gcBefore);
+            return metrics;
+        } finally {
+            simulation.shutdown();
+        }
+    }
+
+    /**
+     * Sums bytes allocated by live threads, or returns a negative value if the virtual machine doesn't count them.
+     * Threads that end during a run take their allocations with them, so the result is a lower bound.
+     */
+    private static long allocatedBytes() {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1L;
+        }
+
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        if (!allocations.isThreadAllocatedMemorySupported() || !allocations.isThreadAllocatedMemoryEnabled()) {
+            return -1L;
+        }
+
+        long total = 0L;
+        for (final long bytes : allocations.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0L, bytes);
+        }
+
+        return total;
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(millis -> millis > 0L)
+                .sum();
+    }
+
+    private void write(final Map<String, Object> metrics, final boolean first) throws IOException {
+        final Path file = options.getOutput().resolve("load-" + metrics.get("agents") + ".properties");
+
+        try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (final Map.Entry<String, Object> metric : metrics.entrySet()) {
+                writer.write(metric.getKey() + "=" + metric.getValue());
+                writer.write(System.lineSeparator());
+            }
+        }
+
+        final Path summary = options.getOutput().resolve(SUMMARY);
+        final StringBuilder row = new StringBuilder();
+
+        if (first) {
+            row.append(String.join(";", COLUMNS)).append(System.lineSeparator());
+        }
+        for (int column = 0; column < COLUMNS.length; column++) {
+            row.append(column == 0 ? "" : ";").append(metrics.get(COLUMNS[column]));
+        }
+        row.append(System.lineSeparator());
+
+        final OpenOption[] openOptions = first ? new OpenOption[0] : new OpenOption[]{StandardOpenOption.APPEND};
+        Files.write(summary, row.toString().getBytes(StandardCharsets.UTF_8), openOptions);
+    }
+}
@@ -0,0 +1,223 @@
+package org.example.marketstock.cli;
+
+import com.google.common.base.MoreObjects;
+import org.example.marketstock.simulation.generator.Scenario;
+import org.example.marketstock.simulation.generator.builder.ScenarioBuilder;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options of a {@link LoadTest} read from the command line.
+ * A load test generates a world of a number of agents and assets, runs it for a while
+ * and repeats it with more and more agents.
+ *
+ * @author Dominik Szmyt
+ * @see LoadTest
+ * @since 1.1.0
+ */
+public final class LoadTestOptions {
+
+    public static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: LoadTest [options]",
+            "  --agents <n>             investors of the first run (default 100)",
+            "  --ramp-factor <x>        how many times more agents each next run has (default 2)",
+            "  --steps <n>              the largest number of runs (default 6)",
+            "  --assets <n>             companies of every run (default 100)",
+            "  --stock-exchanges <n>    exchanges that list the companies (default 2)",
+            "  --duration <seconds>     measured time of a run (default 30)",
+            "  --warmup <seconds>       time of a run before it's measured (default 5)",
+            "  --tick-millis <n>        real milliseconds of a tick, which stands for a second (default 10)",
+            "  --parallelism <n>        threads that step agents (default: processors)",
+            "  --min-gain <percent>     the least growth of trades per second before a run is saturated (default 10)",
+            "  --max-p99-millis <n>     the longest p99 of decision to fill before a run is saturated"
+                    + " (default: a tick)",
+            "  --seed <n>               the seed of generated worlds (default 0)",
+            "  --output <directory>     where results are written (default: marketstock-load)",
+            "  --log-level <level>      the level of application logs (default WARN)");
+
+    private int agents = 100;
+    private double rampFactor = 2D;
+    private int steps = 6;
+    private int assets = 100;
+    private int stockExchanges = 2;
+    private long durationMillis = TimeUnit.SECONDS.toMillis(30L);
+    private long warmupMillis = TimeUnit.SECONDS.toMillis(5L);
+    private long tickMillis = 10L;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private double minGain = 10D;
+    private long maxP99Millis = -1L;
+    private long seed = 0L;
+    private Path output = Paths.get("marketstock-load");
+    private String logLevel = "WARN";
+
+    private LoadTestOptions() { }
+
+    /**
+     * Reads options from command line arguments.
+     * @param args Arguments of the load test.
+     * @return Options of a load test.
+     * @throws IllegalArgumentException If an option is unknown, misses it's value or the value is out of range.
+     */
+    public static LoadTestOptions parse(final String... args) {
+        final LoadTestOptions options = new LoadTestOptions();
+
+        for (int index = 0; index < args.length; index++) {
+            final String option = args[index];
+
+            if (index + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value of " + option);
+            }
+
+            options.set(option, args[++index]);
+        }
+
+        if (options.agents <= 0 || options.steps <= 0 || options.assets <= 0 || options.stockExchanges <= 0) {
+            throw new IllegalArgumentException("Agents, steps, assets and stock exchanges have to be positive");
+        }
+
+        if (options.rampFactor <= 1D) {
+            throw new IllegalArgumentException("Ramp factor has to be greater than 1");
+        }
+
+        if (options.durationMillis <= 0L || options.warmupMillis < 0L
+                || options.tickMillis <= 0L || options.parallelism <= 0) {
+            throw new IllegalArgumentException("Duration, tick duration and parallelism have to be positive");
+        }
+
+        return options;
+    }
+
+    private void set(final String option, final String value) {
+        switch (option) {
+            case "--agents": agents = parseInt(option, value); break;
+            case "--ramp-factor": rampFactor = parseDouble(option, value); break;
+            case "--steps": steps = parseInt(option, value); break;
+            case "--assets": assets = parseInt(option, value); break;
+            case "--stock-exchanges": stockExchanges = parseInt(option, value); break;
+            case "--duration": durationMillis = TimeUnit.SECONDS.toMillis(parseLong(option, value)); break;
+            case "--warmup": warmupMillis = TimeUnit.SECONDS.toMillis(parseLong(option, value)); break;
+            case "--tick-millis": tickMillis = parseLong(option, value); break;
+            case "--parallelism": parallelism = parseInt(option, value); break;
+            case "--min-gain": minGain = parseDouble(option, value); break;
+            case "--max-p99-millis": maxP99Millis = parseLong(option, value); break;
+            case "--seed": seed = parseLong(option, value); break;
+            case "--output": output = Paths.get(value); break;
+            case "--log-level": logLevel = value; break;
+            default: throw new IllegalArgumentException("Unknown option " + option);
+        }
+    }
+
+    private static long parseLong(final String option, final String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Value of " + option + " isn't a number: " + value, exception);
+        }
+    }
+
+    private static int parseInt(final String option, final String value) {
+        return Math.toIntExact(parseLong(option, value));
+    }
+
+    private static double parseDouble(final String option, final String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Value of " + option + " isn't a number: " + value, exception);
+        }
+    }
+
+    /**
+     * Returns the number of agents of a run, which grows by the ramp factor with every step.
+     * @param step The index of a run, starting from 0.
+     * @return The number of investors of the run.
+     */
+    public int getAgents(final int step) {
+        return Math.toIntExact(Math.round(agents * Math.pow(rampFactor, step)));
+    }
+
+    /**
+     * Returns the scenario of a run with a given number of agents.
+     * Only companies are traded, so there are no currencies, commodities or investment funds.
+     * @param agents The number of investors.
+     * @return A scenario of the run.
+     */
+    public Scenario getScenario(final int agents) {
+        return ScenarioBuilder.builder()
+                .withSeed(seed)
+                .withStockExchanges(stockExchanges)
+                .withCompanies(assets)
+                .withCurrencyExchanges(0)
+                .withCurrenciesPerExchange(0)
+                .withCommodityExchanges(0)
+                .withCommoditiesPerExchange(0)
+                .withInvestors(agents)
+                .withInvestmentFunds(0)
+                .build();
+    }
+
+    /**
+     * Returns the longest acceptable p99 of decision to fill latency, which is a tick unless it was given.
+     * @return The longest p99 in milliseconds.
+     */
+    public long getMaxP99Millis() {
+        return maxP99Millis > 0L ? maxP99Millis : tickMillis;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public int getAssets() {
+        return assets;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getWarmupMillis() {
+        return warmupMillis;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public double getMinGain() {
+        return minGain;
+    }
+
+    public Path getOutput() {
+        return output;
+    }
+
+    public String getLogLevel() {
+        return logLevel;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("agents", agents)
+                .add("rampFactor", rampFactor)
+                .add("steps", steps)
+                .add("assets", assets)
+                .add("stockExchanges", stockExchanges)
+                .add("durationMillis", durationMillis)
+                .add("warmupMillis", warmupMillis)
+                .add("tickMillis", tickMillis)
+                .add("parallelism", parallelism)
+                .add("minGain", minGain)
+                .add("maxP99Millis", getMaxP99Millis())
+                .add("seed", seed)
+                .add("output", output)
+                .toString();
+    }
+}
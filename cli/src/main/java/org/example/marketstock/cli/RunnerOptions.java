@@ -0,0 +1,190 @@
+package org.example.marketstock.cli;
+
+import com.google.common.base.MoreObjects;
+import org.example.marketstock.simulation.generator.Scenario;
+import org.example.marketstock.simulation.generator.builder.ScenarioBuilder;
+import org.example.marketstock.simulation.serialization.SimulationSnapshot;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Options of a {@link HeadlessRunner} read from the command line.
+ * A simulation is either loaded from a save or generated from a {@link Scenario},
+ * and it runs for a number of ticks or for an amount of simulated time.
+ *
+ * @author Dominik Szmyt
+ * @see HeadlessRunner
+ * @since 1.1.0
+ */
+public final class RunnerOptions {
+
+    public static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: HeadlessRunner (--ticks <n> | --duration <seconds>) [options]",
+            "  --load <file>            a JSON save or a ." + SimulationSnapshot.EXTENSION
+                    + " file to run instead of a new world",
+            "  --seed <n>               the seed of a generated world (default 0)",
+            "  --stock-exchanges <n>    (default 2)",
+            "  --companies <n>          (default 100)",
+            "  --currency-exchanges <n> (default 1)",
+            "  --currencies <n>         currencies per currency exchange (default 5)",
+            "  --commodity-exchanges <n> (default 1)",
+            "  --commodities <n>        commodities per commodity exchange (default 5)",
+            "  --investors <n>          (default 200)",
+            "  --investment-funds <n>   (default 20)",
+            "  --tick-millis <n>        simulated milliseconds of a tick (default 1000)",
+            "  --parallelism <n>        threads that step agents of a new world or a snapshot (default: processors)",
+            "  --output <directory>     where results are written (default: marketstock-run)",
+            "  --no-save                don't write the final state of the simulation",
+            "  --log-level <level>      the level of application logs (default WARN)");
+
+    private Path load;
+    private long ticks = -1L;
+    private long durationMillis = -1L;
+    private long tickMillis = 1000L;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private Path output = Paths.get("marketstock-run");
+    private boolean save = true;
+    private String logLevel = "WARN";
+    private final ScenarioBuilder scenarioBuilder = ScenarioBuilder.builder()
+            .withSeed(0L)
+            .withStockExchanges(2)
+            .withCompanies(100)
+            .withCurrencyExchanges(1)
+            .withCurrenciesPerExchange(5)
+            .withCommodityExchanges(1)
+            .withCommoditiesPerExchange(5)
+            .withInvestors(200)
+            .withInvestmentFunds(20);
+
+    private RunnerOptions() { }
+
+    /**
+     * Reads options from command line arguments.
+     * @param args Arguments of the runner.
+     * @return Options of a single run.
+     * @throws IllegalArgumentException If an option is unknown or misses it's value,
+     * or if neither ticks nor duration are given.
+     */
+    public static RunnerOptions parse(final String... args) {
+        final RunnerOptions options = new RunnerOptions();
+
+        for (int index = 0; index < args.length; index++) {
+            final String option = args[index];
+
+            if ("--no-save".equals(option)) {
+                options.save = false;
+                continue;
+            }
+
+            if (index + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value of " + option);
+            }
+
+            options.set(option, args[++index]);
+        }
+
+        if (options.ticks < 0L && options.durationMillis < 0L) {
+            throw new IllegalArgumentException("Either --ticks or --duration is required");
+        }
+
+        if (options.tickMillis <= 0L || options.parallelism <= 0) {
+            throw new IllegalArgumentException("Tick duration and parallelism have to be positive");
+        }
+
+        return options;
+    }
+
+    private void set(final String option, final String value) {
+        switch (option) {
+            case "--load": load = Paths.get(value); break;
+            case "--ticks": ticks = parseLong(option, value); break;
+            case "--duration": durationMillis = TimeUnit.SECONDS.toMillis(parseLong(option, value)); break;
+            case "--tick-millis": tickMillis = parseLong(option, value); break;
+            case "--parallelism": parallelism = parseInt(option, value); break;
+            case "--output": output = Paths.get(value); break;
+            case "--log-level": logLevel = value; break;
+            case "--seed": scenarioBuilder.withSeed(parseLong(option, value)); break;
+            case "--stock-exchanges": scenarioBuilder.withStockExchanges(parseInt(option, value)); break;
+            case "--companies": scenarioBuilder.withCompanies(parseInt(option, value)); break;
+            case "--currency-exchanges": scenarioBuilder.withCurrencyExchanges(parseInt(option, value)); break;
+            case "--currencies": scenarioBuilder.withCurrenciesPerExchange(parseInt(option, value)); break;
+            case "--commodity-exchanges": scenarioBuilder.withCommodityExchanges(parseInt(option, value)); break;
+            case "--commodities": scenarioBuilder.withCommoditiesPerExchange(parseInt(option, value)); break;
+            case "--investors": scenarioBuilder.withInvestors(parseInt(option, value)); break;
+            case "--investment-funds": scenarioBuilder.withInvestmentFunds(parseInt(option, value)); break;
+            default: throw new IllegalArgumentException("Unknown option " + option);
+        }
+    }
+
+    private static long parseLong(final String option, final String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Value of " + option + " isn't a number: " + value, exception);
+        }
+    }
+
+    private static int parseInt(final String option, final String value) {
+        return Math.toIntExact(parseLong(option, value));
+    }
+
+    /**
+     * Returns the number of ticks to run. If only a duration was given, it's the number of ticks
+     * that fill the duration, rounded up.
+     * @return The number of ticks.
+     */
+    public long getTicks() {
+        return ticks >= 0L ? ticks : (durationMillis + tickMillis - 1L) / tickMillis;
+    }
+
+    public boolean isLoaded() {
+        return nonNull(load);
+    }
+
+    public Path getLoad() {
+        return load;
+    }
+
+    public Scenario getScenario() {
+        return scenarioBuilder.build();
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public Path getOutput() {
+        return output;
+    }
+
+    public boolean isSave() {
+        return save;
+    }
+
+    public String getLogLevel() {
+        return logLevel;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .omitNullValues()
+                .add("load", load)
+                .add("scenario", isNull(load) ? getScenario() : null)
+                .add("ticks", getTicks())
+                .add("tickMillis", tickMillis)
+                .add("parallelism", parallelism)
+                .add("output", output)
+                .add("save", save)
+                .toString();
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.marketstock.cli;
+
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.serialization.SimulationMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HeadlessRunnerTest {
+
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void should_run_generated_world_and_write_results() throws IOException, InterruptedException {
+
+        // given
+        final RunnerOptions options = RunnerOptions.parse("--ticks", "30", "--seed", "7",
+                "--companies", "20", "--investors", "40", "--investment-funds", "4",
+                "--parallelism", "2", "--output", directory.toString());
+
+        // when
+        final Map<String, Object> actual = new HeadlessRunner(options).run();
+
+        // then
+        assertThat(actual)
+                .containsEntry("ticks", 30L)
+                .containsEntry("simulatedMillis", 30_000L)
+                .containsEntry("investors", 40)
+                .containsEntry("investmentFunds", 4)
+                .containsEntry("ordersDrained", true);
+
+        final Properties metrics = new Properties();
+        try (final InputStream inputStream = Files.newInputStream(directory.resolve(HeadlessRunner.METRICS))) {
+            metrics.load(inputStream);
+        }
+        assertThat(metrics.getProperty("ticks")).isEqualTo("30");
+        assertThat(metrics.stringPropertyNames()).containsAll(actual.keySet());
+
+        final List<String> pipelines = Files.readAllLines(directory.resolve(HeadlessRunner.PIPELINES),
+                StandardCharsets.UTF_8);
+        assertThat(pipelines.get(0)).startsWith("name;processed;rejected");
+        assertThat(pipelines).anySatisfy(line -> assertThat(line).startsWith("investment-funds;"));
+
+        final Simulation saved = SimulationMapper.read(directory.resolve(HeadlessRunner.SAVE).toFile());
+        try {
+            assertThat(saved.getInvestors()).hasSize(40);
+        } finally {
+            saved.shutdown();
+        }
+    }
+
+    @Test
+    public void should_count_ticks_of_simulated_duration() {
+
+        // when
+        final RunnerOptions actual = RunnerOptions.parse("--duration", "90", "--tick-millis", "2000", "--no-save");
+
+        // then
+        assertThat(actual.getTicks()).isEqualTo(45L);
+        assertThat(actual.isSave()).isFalse();
+        assertThat(actual.isLoaded()).isFalse();
+    }
+
+    @Test
+    public void should_reject_invalid_options() {
+
+        // then
+        assertThatThrownBy(RunnerOptions::parse)
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunnerOptions.parse("--ticks"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunnerOptions.parse("--ticks", "ten"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunnerOptions.parse("--ticks", "10", "--colour", "red"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.marketstock.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LoadTestTest {
+
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void should_ramp_agents_and_write_result_of_every_run() throws IOException, InterruptedException {
+
+        // given
+        final LoadTestOptions options = LoadTestOptions.parse("--agents", "5", "--steps", "2",
+                "--assets", "5", "--stock-exchanges", "1", "--duration", "1", "--warmup", "0",
+                "--tick-millis", "5", "--max-p99-millis", "60000", "--min-gain", "-100",
+                "--parallelism", "2", "--output", directory.toString());
+
+        // when
+        final List<Map<String, Object>> actual = new LoadTest(options).run();
+
+        // then
+        assertThat(actual).hasSize(2);
+        assertThat(actual.get(0)).containsEntry("agents", 5).containsEntry("saturated", false);
+        assertThat(actual.get(1)).containsEntry("agents", 10).containsEntry("saturated", false);
+        assertThat(actual.get(1)).containsKeys("tradesPerSecond", "p50Nanos", "p99Nanos", "p999Nanos",
+                "lockWaits", "lockWaitMillis", "allocatedBytesPerSecond");
+        assertThat((Double) actual.get(1).get("ticksPerSecond")).isPositive();
+
+        final Properties metrics = new Properties();
+        try (final InputStream inputStream = Files.newInputStream(directory.resolve("load-10.properties"))) {
+            metrics.load(inputStream);
+        }
+        assertThat(metrics.stringPropertyNames()).containsAll(actual.get(1).keySet());
+
+        final List<String> summary = Files.readAllLines(directory.resolve(LoadTest.SUMMARY), StandardCharsets.UTF_8);
+        assertThat(summary).hasSize(3);
+        assertThat(summary.get(0)).startsWith("agents;tradesPerSecond;p50Nanos;p99Nanos");
+        assertThat(summary.get(2)).startsWith("10;");
+    }
+
+    @Test
+    public void should_return_agents_of_last_run_before_saturation() {
+
+        // given
+        final List<Map<String, Object>> runs = Arrays.asList(run(100, false), run(200, false), run(400, true));
+
+        // when
+        final int actual = LoadTest.saturationPoint(runs);
+
+        // then
+        assertThat(actual).isEqualTo(200);
+        assertThat(LoadTest.saturationPoint(Collections.singletonList(run(100, true)))).isZero();
+    }
+
+    @Test
+    public void should_ramp_agents_by_factor_and_reject_invalid_options() {
+
+        // when
+        final LoadTestOptions actual = LoadTestOptions.parse("--agents", "100", "--ramp-factor", "1.5",
+                "--tick-millis", "20");
+
+        // then
+        assertThat(actual.getAgents(0)).isEqualTo(100);
+        assertThat(actual.getAgents(2)).isEqualTo(225);
+        assertThat(actual.getMaxP99Millis()).isEqualTo(20L);
+        assertThatThrownBy(() -> LoadTestOptions.parse("--ramp-factor", "1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadTestOptions.parse("--agents"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadTestOptions.parse("--agents", "many"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, Object> run(final int agents, final boolean saturated) {
+        final Map<String, Object> run = new LinkedHashMap<>();
+        run.put("agents", agents);
+        run.put("saturated", saturated);
+        return run;
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.marketstock.models.asset;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.base.MoreObjects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.marketstock.models.identity.IdRegistry;
+
+/**
+ * A simple implementation of {@link Asset}.
+ *
+ * @author Dominik
+ * @since 1.0.0
+ */
+public abstract class AbstractAsset implements Asset, Serializable {
+
+    protected static Logger LOGGER = LogManager.getLogger(AbstractAsset.class);
+
+    /**
+     * The number of the latest rates that an asset keeps unless it's type chooses otherwise.
+     */
+    public static final int DEFAULT_RATE_HISTORY_DEPTH = 10;
+
+    protected final String name;
+    protected volatile double currentRate;
+    protected volatile double minRate;
+    protected volatile double maxRate;
+    protected final double margin;
+    protected final RateHistory rateChanges;
+
+    @JsonIgnore
+    private final transient List<RateListener> rateListeners = new CopyOnWriteArrayList<>();
+
+    @JsonIgnore
+    private final long id = IdRegistry.nextId();
+
+    /**
+     * Create an {@code AbstractAsset} with all necessary fields.
+     * @param name1 The name of an {@code AbstractAsset}.
+     * @param currentRate1 The current rate of an {@code AbstractAsset}.
+     * @param minRate1 The minimum rate of an {@code AbstractAsset}.
+     * @param maxRate1 The maximum rate of an {@code AbstractAsset}.
+     * @param margin1 The margin of an {@code Exchange} that lists the {@code AbstractAsset}.
+     * @param rateChanges1 The list of rate changes of an {@code AbstractAsset}.
+     */
+    public AbstractAsset(final String name1,
+                         final double currentRate1,
+                         final double minRate1,
+                         final double maxRate1,
+                         final double margin1,
+                         final List<Double> rateChanges1) {
+
+        this(name1, currentRate1, minRate1, maxRate1, margin1, rateChanges1, DEFAULT_RATE_HISTORY_DEPTH);
+    }
+
+    /**
+     * Create an {@code AbstractAsset} that keeps the given number of the latest rates.
+     * @param name1 The name of an {@code AbstractAsset}.
+     * @param currentRate1 The current rate of an {@code AbstractAsset}.
+     * @param minRate1 The minimum rate of an {@code AbstractAsset}.
+     * @param maxRate1 The maximum rate of an {@code AbstractAsset}.
+     * @param margin1 The margin of an {@code Exchange} that lists the {@code AbstractAsset}.
+     * @param rateChanges1 The list of rate changes of an {@code AbstractAsset}.
+     * @param rateHistoryDepth1 The maximum number of rate changes of an {@code AbstractAsset}.
+     */
+    public AbstractAsset(final String name1,
+                         final double currentRate1,
+                         final double minRate1,
+                         final double maxRate1,
+                         final double margin1,
+                         final List<Double> rateChanges1,
+                         final int rateHistoryDepth1) {
+
+        name = name1;
+        currentRate = currentRate1;
+        minRate = minRate1;
+        maxRate = maxRate1;
+        margin = margin1;
+        rateChanges = RateHistory.of(rateHistoryDepth1, rateChanges1);
+    }
+    
+    /**
+     * At first, replaces old value with the new one and adds the new rate to rate changes.
+     * In the end, calculates min and max rate and notifies rate listeners.
+     * <br>
+     * <b>NOTE:</b> this implementation keeps track of a limited number of rate changes,
+     * so both min and max rate are found among the latest rates in constant time.
+     *
+     * @param rate A new rate that is to replace the current rate.
+     * @return A new value of current rate.
+     */
+    @Override
+    public synchronized double updateRate(double rate) {
+        LOGGER.info("[ASSET]: Rate changes from {} to {} in {}.", currentRate, rate, this);
+
+        final double previousRate = currentRate;
+        currentRate = rate;
+        rateChanges.add(rate);
+
+        maxRate = rateChanges.max();
+        minRate = rateChanges.min();
+
+        for (final RateListener rateListener : rateListeners) {
+            rateListener.onRateChange(this, previousRate, rate);
+        }
+
+        return currentRate;
+    }
+
+    @Override
+    public void addRateListener(final RateListener rateListener) {
+        rateListeners.add(rateListener);
+    }
+
+    @Override
+    public void removeRateListener(final RateListener rateListener) {
+        rateListeners.remove(rateListener);
+    }
+
+    /**
+     * Returns how many listeners follow changes of the rate.
+     * @return The number of rate listeners.
+     */
+    @JsonIgnore
+    public int getNumberOfRateListeners() {
+        return rateListeners.size();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("name", name)
+                .add("currentRate", currentRate)
+                .add("minRate", minRate)
+                .add("maxRate", maxRate)
+                .add("margin", margin)
+                .add("rateChanges", rateChanges)
+                .toString();
+    }
+
+    /**
+     * An asset is equal only to itself, so that it stays the same key of a map however it trades.
+     */
+    @Override
+    public final boolean equals(Object o) {
+        return this == o;
+    }
+
+    /**
+     * Returns the hash code of the id, which never changes and costs nothing to compute.
+     */
+    @Override
+    public final int hashCode() {
+        return Long.hashCode(id);
+    }
+
+    @JsonIgnore
+    @Override
+    public long getId() {
+        return id;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.example.marketstock.models.company.Company;
 import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.identity.Identifiable;
 
 import java.util.List;
 
@@ -21,7 +22,7 @@ import java.util.List;
         @JsonSubTypes.Type(value = Currency.class, name = "currency"),
         @JsonSubTypes.Type(value = InvestmentFund.class, name = "investmentFund")
 })
-public interface Asset {
+public interface Asset extends Identifiable {
 
     /**
      * Each {@code Asset} implementation should have a name.
@@ -65,4 +66,16 @@ public interface Asset {
      * @return A new value of current rate.
      */
     double updateRate(double rate);
+
+    /**
+     * Each {@code Asset} implementation should notify listeners about changes of it's current rate.
+     * @param rateListener A listener that is to be notified after every {@link #updateRate(double)}.
+     */
+    void addRateListener(RateListener rateListener);
+
+    /**
+     * Each {@code Asset} implementation should allow to stop notifying a listener.
+     * @param rateListener A listener that was added with {@link #addRateListener(RateListener)}.
+     */
+    void removeRateListener(RateListener rateListener);
 }
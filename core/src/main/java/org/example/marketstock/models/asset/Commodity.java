@@ -6,7 +6,6 @@ import java.util.List;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.common.base.MoreObjects;
-import com.google.common.base.Objects;
 import org.example.marketstock.models.asset.builder.CommodityBuilder;
 
 /**
@@ -17,6 +16,11 @@ import org.example.marketstock.models.asset.builder.CommodityBuilder;
  */
 @JsonDeserialize(builder = CommodityBuilder.class)
 public class Commodity extends AbstractAsset implements Serializable {
+
+    /**
+     * The number of the latest rates that a {@code Commodity} keeps.
+     */
+    public static final int RATE_HISTORY_DEPTH = 10;
     
     private final String unitOfTrading;
     private final String currency;
@@ -41,7 +45,7 @@ public class Commodity extends AbstractAsset implements Serializable {
                      final String unitOfTrading,
                      final String currency) {
 
-        super(name, currentRate, minRate, maxRate, margin, rateChanges);
+        super(name, currentRate, minRate, maxRate, margin, rateChanges, RATE_HISTORY_DEPTH);
 
         this.unitOfTrading = unitOfTrading;
         this.currency = currency;
@@ -61,21 +65,6 @@ public class Commodity extends AbstractAsset implements Serializable {
                 .toString();
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Commodity commodity = (Commodity) o;
-        return Objects.equal(name, commodity.name) &&
-                Objects.equal(unitOfTrading, commodity.unitOfTrading) &&
-                Objects.equal(currency, commodity.currency);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hashCode(name, unitOfTrading, currency);
-    }
-
     @Override
     public String getName() {
         return name;
@@ -103,7 +92,7 @@ public class Commodity extends AbstractAsset implements Serializable {
 
     @Override
     public List<Double> getRateChanges() {
-        return rateChanges;
+        return rateChanges.asList();
     }
 
     public String getUnitOfTrading() {
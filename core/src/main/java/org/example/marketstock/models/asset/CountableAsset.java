@@ -33,7 +33,30 @@ public abstract class CountableAsset extends AbstractAsset implements Countable
                           final List<Double> rateChanges1,
                           final int numberOfAssets1) {
 
-        super(name1, currentRate1, minRate1, maxRate1, margin1, rateChanges1);
+        this(name1, currentRate1, minRate1, maxRate1, margin1, rateChanges1, DEFAULT_RATE_HISTORY_DEPTH, numberOfAssets1);
+    }
+
+    /**
+     * Create a {@code CountableAsset} that keeps the given number of the latest rates.
+     * @param name1 The name of a {@code CountableAsset}.
+     * @param currentRate1 The current rate of a {@code CountableAsset}.
+     * @param minRate1 The minimum rate of a {@code CountableAsset}.
+     * @param maxRate1 The maximum rate of a {@code CountableAsset}.
+     * @param margin1 The margin of an {@code Exchange} that lists the {@code CountableAsset}.
+     * @param rateChanges1 The list of rate changes of a {@code CountableAsset}.
+     * @param rateHistoryDepth1 The maximum number of rate changes of a {@code CountableAsset}.
+     * @param numberOfAssets1 The number of {@code CountableAsset}.
+     */
+    public CountableAsset(final String name1,
+                          final double currentRate1,
+                          final double minRate1,
+                          final double maxRate1,
+                          final double margin1,
+                          final List<Double> rateChanges1,
+                          final int rateHistoryDepth1,
+                          final int numberOfAssets1) {
+
+        super(name1, currentRate1, minRate1, maxRate1, margin1, rateChanges1, rateHistoryDepth1);
 
         numberOfAssets = numberOfAssets1;
     }
@@ -79,16 +102,4 @@ public abstract class CountableAsset extends AbstractAsset implements Countable
                 .add("numberOfAssets", numberOfAssets)
                 .toString();
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof CountableAsset)) return false;
-        return super.equals(o);
-    }
-
-    @Override
-    public int hashCode() {
-        return super.hashCode();
-    }
 }
@@ -5,7 +5,6 @@ import java.util.List;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.common.base.MoreObjects;
-import com.google.common.base.Objects;
 import org.example.marketstock.models.asset.builder.CurrencyBuilder;
 
 /**
@@ -16,6 +15,11 @@ import org.example.marketstock.models.asset.builder.CurrencyBuilder;
  */
 @JsonDeserialize(builder = CurrencyBuilder.class)
 public class Currency extends AbstractAsset implements Serializable {
+
+    /**
+     * The number of the latest rates that a {@code Currency} keeps.
+     */
+    public static final int RATE_HISTORY_DEPTH = 10;
     
     private final Currency comparisonCurrency;
     private final List<String> countries;
@@ -40,7 +44,7 @@ public class Currency extends AbstractAsset implements Serializable {
                     final Currency comparisonCurrency,
                     final List<String> countries) {
 
-        super(name, currentRate, minRate, maxRate, margin, rateChanges);
+        super(name, currentRate, minRate, maxRate, margin, rateChanges, RATE_HISTORY_DEPTH);
 
         this.comparisonCurrency = comparisonCurrency;
         this.countries = countries;
@@ -60,21 +64,6 @@ public class Currency extends AbstractAsset implements Serializable {
                 .toString();
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof Currency)) return false;
-        if (!super.equals(o)) return false;
-        Currency currency = (Currency) o;
-        return Objects.equal(comparisonCurrency, currency.comparisonCurrency) &&
-                Objects.equal(countries, currency.countries);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hashCode(super.hashCode(), comparisonCurrency, countries);
-    }
-
     @Override
     public String getName() {
         return name;
@@ -102,7 +91,7 @@ public class Currency extends AbstractAsset implements Serializable {
 
     @Override
     public List<Double> getRateChanges() {
-        return rateChanges;
+        return rateChanges.asList();
     }
 
     public List<String> getCountries() {
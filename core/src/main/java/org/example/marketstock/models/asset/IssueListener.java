@@ -0,0 +1,19 @@
+package org.example.marketstock.models.asset;
+
+/**
+ * Receives new assets issued by a company or an investment fund. Called in the thread that issued them,
+ * after the number of assets has been increased, so it should be quick and must not block.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface IssueListener {
+
+    /**
+     * Called after every issue of new assets.
+     * @param asset An asset whose number has been increased.
+     * @param number The number of issued assets.
+     */
+    void onIssued(Asset asset, int number);
+}
@@ -0,0 +1,170 @@
+package org.example.marketstock.models.asset;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A fixed-size history of the latest rates of an asset, stored in a ring of primitive {@code double} values.
+ * Once the history is full, every new rate replaces the oldest one, so adding a rate neither shifts nor boxes values.
+ * <br>
+ * The minimum and the maximum of the history are tracked with two monotonic queues of positions,
+ * so both of them are known in O(1) after every addition instead of being searched for.
+ * <br>
+ * A {@code RateHistory} isn't thread-safe. It's owner should synchronize additions,
+ * like {@link Asset#updateRate(double)} does.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public class RateHistory implements Serializable {
+
+    private final double[] rates;
+    private final long[] minimums;
+    private final long[] maximums;
+    private final List<Double> view = new View();
+
+    private long added = 0L;
+    private long minimumsHead = 0L;
+    private long minimumsTail = 0L;
+    private long maximumsHead = 0L;
+    private long maximumsTail = 0L;
+
+    /**
+     * Create an empty {@code RateHistory}.
+     * @param depth The maximum number of rates that a history keeps.
+     */
+    public RateHistory(final int depth) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("Depth of a rate history must be positive");
+        }
+
+        rates = new double[depth];
+        minimums = new long[depth];
+        maximums = new long[depth];
+    }
+
+    /**
+     * Create a {@code RateHistory} that starts with the given rates.
+     * Only the latest rates are kept if there are more of them than the depth.
+     * @param depth The maximum number of rates that a history keeps.
+     * @param initialRates Rates from the oldest to the latest, may be {@code null}.
+     * @return A new history of rates.
+     */
+    public static RateHistory of(final int depth, final List<Double> initialRates) {
+        final RateHistory history = new RateHistory(depth);
+
+        if (!isNull(initialRates)) {
+            for (final Double rate : initialRates) {
+                history.add(rate);
+            }
+        }
+
+        return history;
+    }
+
+    /**
+     * Adds the latest rate, removing the oldest one if the history is full.
+     * @param rate A new rate.
+     */
+    public void add(final double rate) {
+        final long position = added++;
+        final int depth = rates.length;
+
+        rates[(int) (position % depth)] = rate;
+
+        if (minimumsHead < minimumsTail && minimums[index(minimumsHead)] <= position - depth) {
+            minimumsHead++;
+        }
+        while (minimumsHead < minimumsTail && rateAt(minimums[index(minimumsTail - 1)]) >= rate) {
+            minimumsTail--;
+        }
+        minimums[index(minimumsTail++)] = position;
+
+        if (maximumsHead < maximumsTail && maximums[index(maximumsHead)] <= position - depth) {
+            maximumsHead++;
+        }
+        while (maximumsHead < maximumsTail && rateAt(maximums[index(maximumsTail - 1)]) <= rate) {
+            maximumsTail--;
+        }
+        maximums[index(maximumsTail++)] = position;
+    }
+
+    /**
+     * Returns the lowest rate in the history.
+     * @return The lowest rate or {@link Double#NaN} if the history is empty.
+     */
+    public double min() {
+        return isEmpty() ? Double.NaN : rateAt(minimums[index(minimumsHead)]);
+    }
+
+    /**
+     * Returns the highest rate in the history.
+     * @return The highest rate or {@link Double#NaN} if the history is empty.
+     */
+    public double max() {
+        return isEmpty() ? Double.NaN : rateAt(maximums[index(maximumsHead)]);
+    }
+
+    /**
+     * Returns a rate from the history.
+     * @param index The index of a rate, where 0 is the oldest rate.
+     * @return The rate at the index.
+     */
+    public double get(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        return rateAt(added - size() + index);
+    }
+
+    public int size() {
+        return (int) Math.min(added, rates.length);
+    }
+
+    public int depth() {
+        return rates.length;
+    }
+
+    public boolean isEmpty() {
+        return added == 0L;
+    }
+
+    /**
+     * Returns a read-only view of the history that follows later additions.
+     * @return An unmodifiable list of rates from the oldest to the latest.
+     */
+    public List<Double> asList() {
+        return view;
+    }
+
+    @Override
+    public String toString() {
+        return view.toString();
+    }
+
+    private double rateAt(final long position) {
+        return rates[index(position)];
+    }
+
+    private int index(final long position) {
+        return (int) (position % rates.length);
+    }
+
+    private final class View extends AbstractList<Double> implements RandomAccess, Serializable {
+
+        @Override
+        public Double get(final int index) {
+            return RateHistory.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return RateHistory.this.size();
+        }
+    }
+}
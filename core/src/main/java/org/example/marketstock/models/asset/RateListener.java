@@ -0,0 +1,20 @@
+package org.example.marketstock.models.asset;
+
+/**
+ * Receives changes of an asset's current rate. Called in the thread that updated the rate,
+ * before {@link Asset#updateRate(double)} returns, so it should be quick and must not block.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface RateListener {
+
+    /**
+     * Called after every change of the current rate.
+     * @param asset An asset whose rate has changed.
+     * @param previousRate The current rate before the change.
+     * @param currentRate The current rate after the change.
+     */
+    void onRateChange(Asset asset, double previousRate, double currentRate);
+}
@@ -0,0 +1,531 @@
+package org.example.marketstock.models.briefcase;
+
+import com.google.common.base.MoreObjects;
+import org.example.marketstock.models.asset.Asset;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * An open-addressing map from assets to primitive counts, made for briefcases.
+ * Counts are kept in an {@code int} array, so neither updates nor lookups box numbers,
+ * and each update finds it's entry with a single probe sequence.
+ * <br>
+ * Entries are stored densely in the order of insertion, while a separate table of slots points at them.
+ * Removed entries leave holes that are compacted when the table grows, so entries never move
+ * under a concurrent reader.
+ * <br>
+ * Entries are also kept in a binary max-heap ordered by rates that were recorded when they were inserted
+ * or last repriced, so the asset with the highest recorded rate is read in O(1) and repriced in O(log n)
+ * without allocating. The map doesn't follow rates itself, whoever owns it calls {@link #reprice(Asset)}.
+ * <br>
+ * Updates are serialized by a {@link StampedLock}. Reads are optimistic and don't block,
+ * they only fall back to a read lock when an update interfered with them.
+ * Assets are hashed by {@link Object#hashCode()} and compared by {@link Object#equals(Object)}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public class AssetCountMap implements Serializable {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private final StampedLock lock = new StampedLock();
+
+    private volatile Table table;
+
+    /**
+     * Create an empty {@code AssetCountMap}.
+     */
+    public AssetCountMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty {@code AssetCountMap} that holds the given number of assets without growing.
+     * @param expectedSize The expected number of assets.
+     */
+    public AssetCountMap(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative");
+        }
+
+        table = new Table(Math.max(expectedSize, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Returns the count of an asset.
+     * @param asset An asset that may be stored in the map.
+     * @return The count of an asset or 0 if the map doesn't contain it.
+     */
+    public int get(final Asset asset) {
+        final long stamp = lock.tryOptimisticRead();
+        int count = table.get(asset);
+
+        if (!lock.validate(stamp)) {
+            final long readStamp = lock.readLock();
+            try {
+                count = table.get(asset);
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Checks whether an asset is stored in the map.
+     * @param asset An asset that may be stored in the map.
+     * @return {@code true} if the map contains the asset, otherwise {@code false}.
+     */
+    public boolean containsKey(final Asset asset) {
+        final long stamp = lock.tryOptimisticRead();
+        boolean contains = table.indexOf(asset) >= 0;
+
+        if (!lock.validate(stamp)) {
+            final long readStamp = lock.readLock();
+            try {
+                contains = table.indexOf(asset) >= 0;
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+
+        return contains;
+    }
+
+    /**
+     * Adds a number to the count of an asset, inserting the asset if it isn't stored yet.
+     * @param asset An asset whose count is to be increased.
+     * @param addend A number that is to be added.
+     * @return The count before the addition or 0 if the asset was inserted.
+     */
+    public int add(final Asset asset, final int addend) {
+        final long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            final int index = current.indexOf(asset);
+
+            if (index >= 0) {
+                final int previous = current.counts[index];
+                current.counts[index] = previous + addend;
+                return previous;
+            }
+
+            if (!current.hasRoomForOneMore()) {
+                current = current.rebuild();
+                table = current;
+            }
+
+            current.insert(asset, addend, asset.getCurrentRate());
+            return 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Subtracts a number from the count of an asset and removes the asset when nothing is left.
+     * Nothing changes when the asset isn't stored or the count is lower than the number.
+     * @param asset An asset whose count is to be decreased.
+     * @param subtrahend A number that is to be subtracted.
+     * @return The count before the subtraction or 0 if the asset isn't stored.
+     */
+    public int subtract(final Asset asset, final int subtrahend) {
+        final long stamp = lock.writeLock();
+        try {
+            final Table current = table;
+            final int index = current.indexOf(asset);
+
+            if (index < 0) {
+                return 0;
+            }
+
+            final int previous = current.counts[index];
+            final int difference = previous - subtrahend;
+
+            if (difference == 0) {
+                current.delete(asset, index);
+            } else if (difference > 0) {
+                current.counts[index] = difference;
+            }
+
+            return previous;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes an asset regardless of it's count.
+     * @param asset An asset that is to be removed.
+     * @return The count of a removed asset or 0 if it wasn't stored.
+     */
+    public int remove(final Asset asset) {
+        final long stamp = lock.writeLock();
+        try {
+            final Table current = table;
+            final int index = current.indexOf(asset);
+
+            if (index < 0) {
+                return 0;
+            }
+
+            final int previous = current.counts[index];
+            current.delete(asset, index);
+            return previous;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Passes every asset and it's count to the consumer in the order of insertion.
+     * The map is read-locked meanwhile, so the consumer mustn't modify it.
+     * @param consumer A consumer of assets and their counts.
+     */
+    public void forEach(final ObjIntConsumer<Asset> consumer) {
+        final long stamp = lock.readLock();
+        try {
+            final Table current = table;
+
+            for (int i = 0; i < current.used; i++) {
+                if (current.keys[i] != null) {
+                    consumer.accept(current.keys[i], current.counts[i]);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds the asset with the highest current rate. Scans the map, so it costs O(n) and doesn't allocate.
+     * Of assets with the same rate, the one added last is returned.
+     * @return The most expensive asset or {@code null} if the map is empty.
+     */
+    public Asset mostExpensive() {
+        final long stamp = lock.readLock();
+        try {
+            final Table current = table;
+            Asset mostExpensive = null;
+            double highestRate = Double.NEGATIVE_INFINITY;
+
+            for (int i = 0; i < current.used; i++) {
+                final Asset asset = current.keys[i];
+
+                if (asset != null && asset.getCurrentRate() >= highestRate) {
+                    mostExpensive = asset;
+                    highestRate = asset.getCurrentRate();
+                }
+            }
+
+            return mostExpensive;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the asset with the highest recorded rate. Reads the top of the heap, so it costs O(1)
+     * and doesn't allocate. Of assets with the same rate, the one added last is returned.
+     * @return The asset with the highest recorded rate or {@code null} if the map is empty.
+     */
+    public Asset highestRated() {
+        final long stamp = lock.tryOptimisticRead();
+        Asset highestRated = table.top();
+
+        if (!lock.validate(stamp)) {
+            final long readStamp = lock.readLock();
+            try {
+                highestRated = table.top();
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+
+        return highestRated;
+    }
+
+    /**
+     * Records the current rate of an asset and moves it within the heap. Costs O(log n) and doesn't allocate.
+     * The rate is read under the lock, so whichever of concurrent calls comes last records the latest rate.
+     * @param asset An asset whose rate may have changed.
+     */
+    public void reprice(final Asset asset) {
+        final long stamp = lock.writeLock();
+        try {
+            final Table current = table;
+            final int index = current.indexOf(asset);
+
+            if (index >= 0) {
+                current.reprice(index, asset.getCurrentRate());
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Records current rates of every asset and rebuilds the heap.
+     */
+    public void repriceAll() {
+        final long stamp = lock.writeLock();
+        try {
+            final Table current = table;
+
+            for (int position = 0; position < current.size; position++) {
+                final int index = current.heap[position];
+                current.rates[index] = current.keys[index].getCurrentRate();
+            }
+
+            for (int position = current.size / 2 - 1; position >= 0; position--) {
+                current.siftDown(position);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies the map into a {@link LinkedHashMap} that keeps the order of insertion.
+     * @return A new map with the same entries.
+     */
+    public Map<Asset, Integer> toMap() {
+        final Map<Asset, Integer> map = new LinkedHashMap<>();
+        forEach(map::put);
+        return map;
+    }
+
+    public int size() {
+        final long stamp = lock.tryOptimisticRead();
+        int size = table.size;
+
+        if (!lock.validate(stamp)) {
+            final long readStamp = lock.readLock();
+            try {
+                size = table.size;
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("size", size())
+                .add("capacity", table.keys.length)
+                .toString();
+    }
+
+    /**
+     * A single generation of the map. Entries are appended to {@code keys}, {@code counts} and {@code rates},
+     * while {@code slots} is a hash table with linear probing that stores indices of entries plus one.
+     * {@code heap} holds indices of live entries as a max-heap of their rates
+     * and {@code positions} holds the position of each entry in the heap.
+     */
+    private static final class Table implements Serializable {
+
+        private static final int EMPTY = 0;
+        private static final int DELETED = -1;
+
+        private final int[] slots;
+        private final Asset[] keys;
+        private final int[] counts;
+        private final double[] rates;
+        private final int[] heap;
+        private final int[] positions;
+        private final int mask;
+
+        private int used = 0;
+        private int size = 0;
+
+        private Table(final int capacity) {
+            final int entries = Integer.highestOneBit(capacity - 1) << 1;
+
+            slots = new int[entries << 1];
+            keys = new Asset[entries];
+            counts = new int[entries];
+            rates = new double[entries];
+            heap = new int[entries];
+            positions = new int[entries];
+            mask = slots.length - 1;
+        }
+
+        private int get(final Asset asset) {
+            final int index = indexOf(asset);
+            return index >= 0 ? counts[index] : 0;
+        }
+
+        /**
+         * Probes at most every slot once, so that an optimistic reader ends even if it sees a table in the middle
+         * of an update.
+         */
+        private int indexOf(final Asset asset) {
+            int slot = spread(asset.hashCode()) & mask;
+
+            for (int probes = 0; probes <= mask; probes++) {
+                final int value = slots[slot];
+
+                if (value == EMPTY) {
+                    return -1;
+                }
+
+                if (value != DELETED) {
+                    final int index = value - 1;
+                    final Asset key = index < keys.length ? keys[index] : null;
+
+                    if (key == asset || (key != null && key.equals(asset))) {
+                        return index;
+                    }
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            return -1;
+        }
+
+        private boolean hasRoomForOneMore() {
+            return used < keys.length;
+        }
+
+        private Asset top() {
+            return size > 0 ? keys[heap[0]] : null;
+        }
+
+        private void insert(final Asset asset, final int count, final double rate) {
+            int slot = spread(asset.hashCode()) & mask;
+
+            while (slots[slot] > EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+
+            final int index = used++;
+            keys[index] = asset;
+            counts[index] = count;
+            rates[index] = rate;
+            slots[slot] = index + 1;
+            heap[size] = index;
+            positions[index] = size;
+            siftUp(size++);
+        }
+
+        private void delete(final Asset asset, final int index) {
+            int slot = spread(asset.hashCode()) & mask;
+
+            while (slots[slot] != index + 1) {
+                slot = (slot + 1) & mask;
+            }
+
+            slots[slot] = DELETED;
+            keys[index] = null;
+            counts[index] = 0;
+
+            final int position = positions[index];
+            final int last = heap[--size];
+            heap[position] = last;
+            positions[last] = position;
+
+            if (position < size) {
+                siftDown(siftUp(position));
+            }
+        }
+
+        private void reprice(final int index, final double rate) {
+            rates[index] = rate;
+            siftDown(siftUp(positions[index]));
+        }
+
+        /**
+         * Moves an entry towards the top of the heap while it outranks it's parent.
+         * @return The final position of the entry.
+         */
+        private int siftUp(final int from) {
+            final int index = heap[from];
+            int position = from;
+
+            while (position > 0) {
+                final int parent = (position - 1) >>> 1;
+
+                if (!outranks(index, heap[parent])) {
+                    break;
+                }
+
+                place(heap[parent], position);
+                position = parent;
+            }
+
+            place(index, position);
+            return position;
+        }
+
+        private void siftDown(final int from) {
+            final int index = heap[from];
+            int position = from;
+
+            while (true) {
+                int child = 2 * position + 1;
+
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && outranks(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!outranks(heap[child], index)) {
+                    break;
+                }
+
+                place(heap[child], position);
+                position = child;
+            }
+
+            place(index, position);
+        }
+
+        private void place(final int index, final int position) {
+            heap[position] = index;
+            positions[index] = position;
+        }
+
+        /**
+         * Orders entries by rates and then by the order of insertion, so that of equal rates the latest one wins.
+         */
+        private boolean outranks(final int index, final int other) {
+            final int byRate = Double.compare(rates[index], rates[other]);
+            return byRate > 0 || (byRate == 0 && index > other);
+        }
+
+        /**
+         * Copies live entries into a new table, compacting holes and doubling the capacity when it's mostly full.
+         */
+        private Table rebuild() {
+            final Table rebuilt = new Table(size * 2 >= keys.length ? keys.length << 1 : keys.length);
+
+            for (int i = 0; i < used; i++) {
+                if (keys[i] != null) {
+                    rebuilt.insert(keys[i], counts[i], rates[i]);
+                }
+            }
+
+            return rebuilt;
+        }
+
+        private static int spread(final int hash) {
+            final int mixed = hash * 0x9E3779B9;
+            return mixed ^ (mixed >>> 16);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package org.example.marketstock.models.briefcase;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import io.vavr.Tuple2;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.briefcase.serialization.BriefcaseDeserializer;
+import org.example.marketstock.models.briefcase.serialization.BriefcaseSerializer;
+import org.example.marketstock.models.entity.Entity;
+import org.example.marketstock.simulation.selection.HoldingsIndex;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Represents an inventory of an {@link org.example.marketstock.models.entity.Entity} that can buy and sell assets.
+ * After successful purchase an asset is stored in the briefcase until it is sold.
+ * <br>
+ * Numbers of assets are kept in an {@link AssetCountMap}, so that updates don't box numbers
+ * and the briefcase can be read by other threads, e.g. the JavaFX thread, while it's entity trades.
+ * <br>
+ * A briefcase can be attached to a {@link HoldingsIndex} on behalf of it's entity,
+ * which then learns whenever an asset is stored for the first time or is gone from the briefcase.
+ * The index follows rates of held assets and reprices them in briefcases that hold them,
+ * so an attached briefcase finds it's most expensive asset at the top of the map's heap in O(1).
+ * A detached briefcase doesn't follow rates, so it scans it's assets instead.
+ *
+ * @author Dominik Szmyt
+ * @since 1.0.0
+ */
+@JsonSerialize(using = BriefcaseSerializer.class)
+@JsonDeserialize(using = BriefcaseDeserializer.class)
+public class Briefcase implements Serializable {
+
+    private static final Logger LOGGER = LogManager.getLogger(Briefcase.class);
+    private final AssetCountMap counts;
+    private transient volatile Attachment attachment;
+
+    /**
+     * Create a {@code Briefcase} with all necessary fields.
+     * @param map A map with initial numbers of assets. It is copied, so later changes of the map aren't reflected.
+     */
+    public Briefcase(final Map<Asset, Integer> map) {
+        this.counts = new AssetCountMap(nonNull(map) ? map.size() : 0);
+
+        if (nonNull(map)) {
+            map.forEach(this::addOrIncrease);
+        }
+    }
+    
+    /**
+     * Increases the number of a given {@link Asset} or adds it to the {@link Briefcase}.
+     * @param asset {@link Asset} from {@link Briefcase} or a new {@link Asset}.
+     * @param number The number of an asset.
+     */
+    public void addOrIncrease(final Asset asset, final int number) {
+        final int initial = counts.add(asset, number);
+
+        if (initial > 0) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("[BRIEFCASE]: Number increases from {} to {} of {}.", initial, initial + number, asset);
+            }
+        } else {
+            holdingAdded(asset);
+            LOGGER.debug("[BRIEFCASE]: {} added with initial count {}.", asset, number);
+        }
+    }
+    
+    /**
+     * Reduces the number of a given {@link Asset} or removes it when it's count equals 0.
+     * @param asset {@link Asset} that should be in Briefcase.
+     * @param number The number of an asset.
+     * @return The number of successfully removed assets.
+     */
+    public int decreaseOrRemove(final Asset asset, final int number) {
+        final int initial = counts.subtract(asset, number);
+        final int difference = initial - number;
+
+        if (initial == 0) {
+            return 0;
+        } else if (difference < 0) {
+            LOGGER.debug("[BRIEFCASE]: Aborting decrease in {} because negative difference.", asset);
+            return 0; // TODO should return zero because situation is different from not having asset in the first place
+        } else if (difference == 0) {
+            holdingRemoved(asset);
+            LOGGER.debug("[BRIEFCASE]: {} removed with last count {}.", asset, number);
+        } else if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("[BRIEFCASE]: Number decreases from {} to {} of {}.", initial, difference, asset);
+        }
+
+        return number;
+    }
+
+    /**
+     * Checks whether an asset is stored in the briefcase.
+     * @param asset An asset that may be stored in the briefcase.
+     * @return {@code true} when an asset is stored in the briefcase, otherwise returns {@code false}.
+     */
+    public boolean contains(final Asset asset) {
+        return counts.containsKey(asset);
+    }
+
+    /**
+     * Checks whether a specific number of an asset is stored in the briefcase.
+     * @param asset An asset that may be stored in the briefcase.
+     * @param numberOfAsset The number of an asset.
+     * @return {@code true} when a specific number of an asset is stored in the briefcase, otherwise {@code false}.
+     */
+    public boolean contains(final Asset asset, final int numberOfAsset) {
+        return contains(asset) && counts.get(asset) == numberOfAsset;
+    }
+
+    /**
+     * Returns the stream of asset-integer tuples.
+     * @return The stream of asset-integer tuples.
+     * @see Tuple2
+     */
+    public Stream<Tuple2<Asset, Integer>> stream() {
+        final List<Tuple2<Asset, Integer>> tuples = new ArrayList<>(counts.size());
+        counts.forEach((asset, number) -> tuples.add(new Tuple2<>(asset, number)));
+        return tuples.stream();
+    }
+
+    /**
+     * Returns the list of assets stored in the briefcase.
+     * @return The list of assets stored in the briefcase.
+     */
+    public List<Asset> getAssets() {
+        final List<Asset> assets = new ArrayList<>(counts.size());
+        counts.forEach((asset, number) -> assets.add(asset));
+        return assets;
+    }
+
+    /**
+     * Returns the list of numbers of each asset stored in the briefcase.
+     * @return The list of numbers of each asset stored in the briefcase.
+     */
+    public List<Integer> getNumbers() {
+        final List<Integer> numbers = new ArrayList<>(counts.size());
+        counts.forEach((asset, number) -> numbers.add(number));
+        return numbers;
+    }
+
+    /**
+     * Returns the number of an asset. If the asset isn't stored in the briefcase, returns 0.
+     * @param asset An asset that may be stored in the briefcase.
+     * @return The number of a specified asset or 0 if it isn't stored in the briefcase.
+     */
+    public int getCount(final Asset asset) {
+        return counts.get(asset);
+    }
+
+    /**
+     * Checks whether the briefcase is empty.
+     * @return {@code true} if the briefcase is empty, otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return counts.isEmpty();
+    }
+
+    /**
+     * Removes an asset from briefcase even if it's number is greater than 0.
+     * @param asset An asset that is to be removed from the briefcase.
+     * @return The number of an asset or null if it wasn't stored in the briefcase.
+     */
+    public Integer removeEntirely(final Asset asset) {
+        final int number = counts.remove(asset);
+
+        if (number > 0) {
+            holdingRemoved(asset);
+            return number;
+        }
+
+        return null;
+    }
+
+    /**
+     * Attaches the briefcase to a {@link HoldingsIndex} on behalf of an entity.
+     * Assets that are already stored are added to the index right away.
+     * A briefcase is attached to at most one index, so it's detached from the previous one first.
+     * @param holdingsIndex An index of holders of assets.
+     * @param entity An entity that owns the briefcase.
+     */
+    public void attach(final HoldingsIndex holdingsIndex, final Entity entity) {
+        detach();
+
+        attachment = new Attachment(holdingsIndex, entity);
+        counts.forEach((asset, number) -> holdingsIndex.add(asset, entity));
+        counts.repriceAll();
+    }
+
+    /**
+     * Detaches the briefcase from it's {@link HoldingsIndex}, for example when it's entity leaves a simulation.
+     * Assets that are stored in the briefcase are removed from the index.
+     */
+    public void detach() {
+        final Attachment previous = attachment;
+
+        if (isNull(previous)) {
+            return;
+        }
+
+        attachment = null;
+        counts.forEach((asset, number) -> previous.holdingsIndex.remove(asset, previous.entity));
+    }
+
+    private void holdingAdded(final Asset asset) {
+        final Attachment current = attachment;
+
+        if (nonNull(current)) {
+            current.holdingsIndex.add(asset, current.entity);
+            counts.reprice(asset);
+        }
+    }
+
+    private void holdingRemoved(final Asset asset) {
+        final Attachment current = attachment;
+
+        if (nonNull(current)) {
+            current.holdingsIndex.remove(asset, current.entity);
+        }
+    }
+
+    /**
+     * Records the current rate of a stored asset, so that the most expensive asset is found without a scan.
+     * Called by the {@link HoldingsIndex} that the briefcase is attached to whenever the rate changes.
+     * @param asset An asset whose rate has changed.
+     */
+    public void reprice(final Asset asset) {
+        counts.reprice(asset);
+    }
+
+    /**
+     * Returns an asset with the highest current rate among assets stored in the briefcase.
+     * Costs O(1) while the briefcase is attached to a {@link HoldingsIndex}, otherwise O(n).
+     * @return The most expensive asset or {@code null} if the briefcase is empty.
+     */
+    public Asset getMostExpensiveAsset() {
+        return nonNull(attachment) ? counts.highestRated() : counts.mostExpensive();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("map", getMap())
+                .toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Briefcase)) return false;
+        Briefcase briefcase = (Briefcase) o;
+        return Objects.equal(getMap(), briefcase.getMap());
+    }
+
+    @Override
+    public int hashCode() {
+        final int[] hash = {0};
+        counts.forEach((asset, number) -> hash[0] += asset.hashCode() ^ number);
+        return hash[0];
+    }
+
+    /**
+     * Returns a copy of the briefcase as a map that keeps the order in which assets were added.
+     * @return A new map of assets and their numbers.
+     */
+    public Map<Asset, Integer> getMap() {
+        return counts.toMap();
+    }
+
+    /**
+     * An index of holders and the entity on behalf of which the briefcase updates it.
+     */
+    private static final class Attachment {
+
+        private final HoldingsIndex holdingsIndex;
+        private final Entity entity;
+
+        private Attachment(final HoldingsIndex holdingsIndex, final Entity entity) {
+            this.holdingsIndex = holdingsIndex;
+            this.entity = entity;
+        }
+    }
+}
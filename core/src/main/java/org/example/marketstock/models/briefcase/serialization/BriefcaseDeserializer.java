@@ -0,0 +1,82 @@
+package org.example.marketstock.models.briefcase.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.briefcase.Briefcase;
+import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A custom deserializer for the {@link Briefcase} class.
+ * Reads entries straight from the parser, so assets are deserialized by the same mapper.
+ * Anything but an array of entries makes an empty briefcase.
+ *
+ * @author Dominik Szmyt
+ * @see Briefcase
+ * @since 1.0.0
+ */
+public class BriefcaseDeserializer extends StdDeserializer<Briefcase> {
+
+    public BriefcaseDeserializer() {
+        this(null);
+    }
+
+    public BriefcaseDeserializer(Class<?> vc) {
+        super(vc);
+    }
+
+    @Override
+    public Briefcase deserialize(final JsonParser jsonParser,
+                                 final DeserializationContext deserializationContext)
+            throws IOException {
+
+        final Map<Asset, Integer> map = new LinkedHashMap<>();
+
+        if (jsonParser.currentToken() != JsonToken.START_ARRAY) {
+            jsonParser.skipChildren();
+            return BriefcaseBuilder.builder().withMap(map).build();
+        }
+
+        while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+            if (jsonParser.currentToken() == JsonToken.START_OBJECT) {
+                readEntry(jsonParser, deserializationContext, map);
+            } else {
+                jsonParser.skipChildren();
+            }
+        }
+
+        return BriefcaseBuilder.builder().withMap(map).build();
+    }
+
+    private static void readEntry(final JsonParser jsonParser,
+                                  final DeserializationContext deserializationContext,
+                                  final Map<Asset, Integer> map) throws IOException {
+
+        Asset asset = null;
+        Integer numberOfAsset = null;
+
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = jsonParser.getCurrentName();
+            jsonParser.nextToken();
+
+            switch (field) {
+                case "asset":
+                    asset = deserializationContext.readValue(jsonParser, Asset.class);
+                    break;
+                case "numberOfAsset":
+                    numberOfAsset = jsonParser.getIntValue();
+                    break;
+                default:
+                    jsonParser.skipChildren();
+            }
+        }
+
+        map.put(asset, numberOfAsset);
+    }
+}
@@ -36,7 +36,7 @@ public class BriefcaseSerializer extends StdSerializer<Briefcase> {
 
         for (Map.Entry<Asset, Integer> entry : briefcase.getMap().entrySet()) {
             jsonGenerator.writeStartObject();
-            jsonGenerator.writeObjectField("asset", entry.getKey());
+            serializerProvider.defaultSerializeField("asset", entry.getKey(), jsonGenerator);
             jsonGenerator.writeNumberField("numberOfAsset", entry.getValue());
             jsonGenerator.writeEndObject();
         }
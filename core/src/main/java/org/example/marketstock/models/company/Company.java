@@ -3,29 +3,39 @@ package org.example.marketstock.models.company;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.common.base.MoreObjects;
-import com.google.common.base.Objects;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.marketstock.models.asset.CountableAsset;
+import org.example.marketstock.models.asset.IssueListener;
 import org.example.marketstock.models.company.builder.CompanyBuilder;
+import org.example.marketstock.simulation.lock.ChangeBarrier;
+import org.example.marketstock.simulation.tick.Tickable;
 
 /**
  * Represents a real life company that issues shares and is listed in one of available stock exchanges.
  * Apart from that, it randomly updates it's profit and revenue and issues new shares.
+ * It can be run in it's own thread or stepped by a {@link org.example.marketstock.simulation.tick.TickScheduler}.
  *
  * @author Dominik Szmyt
  * @since 1.0.0
  */
 @JsonDeserialize(builder = CompanyBuilder.class)
-public class Company extends CountableAsset implements Serializable, Runnable {
+public class Company extends CountableAsset implements Serializable, Runnable, Tickable {
 
     private static final Logger LOGGER = LogManager.getLogger(Company.class);
 
+    /**
+     * The number of the latest rates that a {@code Company} keeps.
+     */
+    public static final int RATE_HISTORY_DEPTH = 10;
+
     private final String dateOfFirstValuation;
     private final double openingQuotation;
     private double profit;
@@ -41,6 +51,15 @@ public class Company extends CountableAsset implements Serializable, Runnable {
     @JsonIgnore
     private volatile transient boolean terminated = false;
 
+    @JsonIgnore
+    private transient boolean reportingStep = true;
+
+    @JsonIgnore
+    private final transient List<IssueListener> issueListeners = new CopyOnWriteArrayList<>();
+
+    @JsonIgnore
+    private volatile transient ChangeBarrier changeBarrier = ChangeBarrier.NONE;
+
     /**
      * Create a {@code Company} with all necessary fields.
      * @param name The name of a {@code Company}.
@@ -75,7 +94,7 @@ public class Company extends CountableAsset implements Serializable, Runnable {
                    final int volume,
                    final double turnover) {
 
-        super(name, currentRate, minRate, maxRate, margin, rateChanges, numberOfAssets);
+        super(name, currentRate, minRate, maxRate, margin, rateChanges, RATE_HISTORY_DEPTH, numberOfAssets);
 
         this.dateOfFirstValuation = dateOfFirstValuation;
         this.openingQuotation = openingQuotation;
@@ -96,18 +115,46 @@ public class Company extends CountableAsset implements Serializable, Runnable {
                 sleep();
                 if(!active) break;
 
-                updateRevenueAndProfit();
-
-                sleep();
-                if(!active) break;
-
-                issueAssets();
+                step();
             }
         } catch (InterruptedException exception) {
             active = false;
             LOGGER.debug("[THREAD]: Company {} stopped with InterruptedException.", this);
         }
 
+        markTerminated();
+    }
+
+    /**
+     * Performs the next step of a company's routine which alternates between
+     * updating revenue and profit and issuing new shares.
+     * Used both by {@link #run()} and a {@link org.example.marketstock.simulation.tick.TickScheduler}.
+     */
+    @Override
+    public void step() {
+        if (reportingStep) {
+            updateRevenueAndProfit();
+        } else {
+            issueAssets();
+        }
+
+        reportingStep = !reportingStep;
+    }
+
+    /**
+     * Draws a random number of ticks (seconds) between 10 and 15 that a company waits before the next step.
+     * @return The number of ticks to wait.
+     */
+    @Override
+    public int nextDelay() {
+        return ThreadLocalRandom.current().nextInt(6) + 10;
+    }
+
+    /**
+     * Marks a company as terminated, either after it's thread stopped or after it was dropped by a scheduler.
+     */
+    @Override
+    public void markTerminated() {
         terminated = true;
         LOGGER.debug("[THREAD]: Company {} stops.", this);
     }
@@ -124,8 +171,7 @@ public class Company extends CountableAsset implements Serializable, Runnable {
      * @throws InterruptedException If any thread interrupted the current thread while the current thread was sleeping.
      */
     private void sleep() throws InterruptedException {
-        final Random random = new Random();
-        final int timeout = random.nextInt(6) + 10;
+        final int timeout = nextDelay();
 
         LOGGER.debug("[THREAD]: Company {} sleeps for {}.", this, timeout);
 
@@ -157,23 +203,29 @@ public class Company extends CountableAsset implements Serializable, Runnable {
         final double LOWER_BOUNDARY = 0.01;
         final double UPPER_BOUNDARY = 0.2;
         double PERCENT = LOWER_BOUNDARY + (UPPER_BOUNDARY - LOWER_BOUNDARY) * random.nextDouble();
+        final ChangeBarrier barrier = changeBarrier;
 
-        final double INITIAL_REVENUE = revenue;
-        if (random.nextInt(2) == 0) {
-            revenue -= revenue * PERCENT;
-            LOGGER.info("[COMPANY]: Revenue decreases from {} to {} in {}.", INITIAL_REVENUE, revenue, this);
-        } else {
-            revenue += revenue * PERCENT;
-            LOGGER.info("[COMPANY]: Revenue increases from {} to {} in {}.", INITIAL_REVENUE, revenue, this);
-        }
+        barrier.enter(this);
+        try {
+            final double INITIAL_REVENUE = revenue;
+            if (random.nextInt(2) == 0) {
+                revenue -= revenue * PERCENT;
+                LOGGER.info("[COMPANY]: Revenue decreases from {} to {} in {}.", INITIAL_REVENUE, revenue, this);
+            } else {
+                revenue += revenue * PERCENT;
+                LOGGER.info("[COMPANY]: Revenue increases from {} to {} in {}.", INITIAL_REVENUE, revenue, this);
+            }
 
-        final double INITIAL_PROFIT = profit;
-        if (random.nextInt(2) == 0) {
-            profit -= profit * PERCENT;
-            LOGGER.info("[COMPANY]: Profit decreases from {} to {} in {}.", INITIAL_PROFIT, profit, this);
-        } else {
-            profit += profit * PERCENT;
-            LOGGER.info("[COMPANY]: Profit increases from {} to {} in {}.", INITIAL_PROFIT, profit, this);
+            final double INITIAL_PROFIT = profit;
+            if (random.nextInt(2) == 0) {
+                profit -= profit * PERCENT;
+                LOGGER.info("[COMPANY]: Profit decreases from {} to {} in {}.", INITIAL_PROFIT, profit, this);
+            } else {
+                profit += profit * PERCENT;
+                LOGGER.info("[COMPANY]: Profit increases from {} to {} in {}.", INITIAL_PROFIT, profit, this);
+            }
+        } finally {
+            barrier.exit();
         }
     }
     
@@ -183,9 +235,35 @@ public class Company extends CountableAsset implements Serializable, Runnable {
     public void issueAssets() {
         final Random rand = new Random();
         final int number = rand.nextInt(99_901) + 100;
+        final ChangeBarrier barrier = changeBarrier;
+
+        barrier.enter(this);
+        try {
+            increaseNumberOfAssets(number);
+            LOGGER.info("[COMPANY]: {} new shares issued by {}.", number, this);
+
+            for (final IssueListener issueListener : issueListeners) {
+                issueListener.onIssued(this, number);
+            }
+        } finally {
+            barrier.exit();
+        }
+    }
+
+    public void addIssueListener(final IssueListener issueListener) {
+        issueListeners.add(issueListener);
+    }
 
-        increaseNumberOfAssets(number);
-        LOGGER.info("[COMPANY]: {} new shares issued by {}.", number, this);
+    public void removeIssueListener(final IssueListener issueListener) {
+        issueListeners.remove(issueListener);
+    }
+
+    /**
+     * Makes changes that a company makes on it's own pass the barrier of a simulation.
+     * @param changeBarrier The barrier of a simulation that lists the company.
+     */
+    public void setChangeBarrier(final ChangeBarrier changeBarrier) {
+        this.changeBarrier = changeBarrier;
     }
 
     @Override
@@ -211,23 +289,6 @@ public class Company extends CountableAsset implements Serializable, Runnable {
                 .toString();
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof Company)) return false;
-        if (!super.equals(o)) return false;
-        Company company = (Company) o;
-        return Objects.equal(dateOfFirstValuation, company.dateOfFirstValuation) &&
-                Double.compare(company.openingQuotation, openingQuotation) == 0 &&
-                Double.compare(company.equityCapital, equityCapital) == 0 &&
-                Double.compare(company.openingCapital, openingCapital) == 0;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hashCode(super.hashCode(), dateOfFirstValuation, openingQuotation, equityCapital, openingCapital);
-    }
-
     @Override
     public String getName() {
         return this.name;
@@ -250,7 +311,7 @@ public class Company extends CountableAsset implements Serializable, Runnable {
 
     @Override
     public List<Double> getRateChanges() {
-        return rateChanges;
+        return rateChanges.asList();
     }
 
     @Override
@@ -1,14 +1,18 @@
 package org.example.marketstock.models.entity;
 
-import com.google.common.base.Objects;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.example.marketstock.models.briefcase.Briefcase;
 import org.example.marketstock.models.asset.*;
+import org.example.marketstock.models.identity.IdRegistry;
+import org.example.marketstock.simulation.lock.ChangeBarrier;
 
 /**
  * A simple implementation of an {@code Entity}.
@@ -23,9 +27,18 @@ public abstract class AbstractEntity implements Entity, Serializable {
 
     protected static Logger LOGGER = LogManager.getLogger(AbstractEntity.class);
 
-    protected double budget;
+    protected volatile double budget;
     protected final Briefcase briefcase;
 
+    @JsonIgnore
+    private final long id = IdRegistry.nextId();
+
+    @JsonIgnore
+    private final transient List<BudgetListener> budgetListeners = new CopyOnWriteArrayList<>();
+
+    @JsonIgnore
+    private volatile transient ChangeBarrier changeBarrier = ChangeBarrier.NONE;
+
     /**
      * Create an {@code AbstractEntity} with all necessary fields.
      * @param budget1 The budget of an {@code AbstractEntity}.
@@ -48,7 +61,7 @@ public abstract class AbstractEntity implements Entity, Serializable {
      * @param numberOfAsset The number of a given asset.
      */
     @Override
-    public void addAsset(final double price, final Asset asset, final Integer numberOfAsset) {
+    public synchronized void addAsset(final double price, final Asset asset, final Integer numberOfAsset) {
         if (budget - price < 0.0) {
             LOGGER.warn("[PURCHASE]: Not enough budget to add {} by {}.", asset, this);
             return;
@@ -70,7 +83,7 @@ public abstract class AbstractEntity implements Entity, Serializable {
      * @param numberOfAsset The number of a given asset.
      */
     @Override
-    public void subtractAsset(double price, Asset asset, Integer numberOfAsset) {
+    public synchronized void subtractAsset(double price, Asset asset, Integer numberOfAsset) {
         final int numberOfRemovedAssets = briefcase.decreaseOrRemove(asset, numberOfAsset);
 
         if (numberOfRemovedAssets == numberOfAsset) {
@@ -90,25 +103,75 @@ public abstract class AbstractEntity implements Entity, Serializable {
      */
     protected void increaseBudget() {
         final Random rand = new Random();
-        final double sum = budget + BUDGET_UPDATE_LOWER_BOUNDARY
-                + (BUDGET_UPDATE_UPPER_BOUNDARY - BUDGET_UPDATE_LOWER_BOUNDARY) * rand.nextDouble();
+        increaseBudget(BUDGET_UPDATE_LOWER_BOUNDARY
+                + (BUDGET_UPDATE_UPPER_BOUNDARY - BUDGET_UPDATE_LOWER_BOUNDARY) * rand.nextDouble());
+    }
+
+    /**
+     * Adds a given amount of money to entity's budget and notifies budget listeners.
+     * @param addend The amount of money that is to be added.
+     */
+    public void increaseBudget(final double addend) {
+        final ChangeBarrier barrier = changeBarrier;
+
+        barrier.enter(this);
+        try {
+            synchronized (this) {
+                final double sum = budget + addend;
+
+                LOGGER.info("[ENTITY]: Budget increases from {} to {} in {}.", budget, sum, this);
+                budget = sum;
+
+                for (final BudgetListener budgetListener : budgetListeners) {
+                    budgetListener.onBudgetIncreased(this, addend);
+                }
+            }
+        } finally {
+            barrier.exit();
+        }
+    }
+
+    public void addBudgetListener(final BudgetListener budgetListener) {
+        budgetListeners.add(budgetListener);
+    }
+
+    public void removeBudgetListener(final BudgetListener budgetListener) {
+        budgetListeners.remove(budgetListener);
+    }
+
+    /**
+     * Makes changes that an entity makes on it's own pass the barrier of a simulation.
+     * @param changeBarrier The barrier of a simulation that the entity belongs to.
+     */
+    public void setChangeBarrier(final ChangeBarrier changeBarrier) {
+        this.changeBarrier = changeBarrier;
+    }
+
+    protected ChangeBarrier getChangeBarrier() {
+        return changeBarrier;
+    }
 
-        LOGGER.info("[ENTITY]: Budget increases from {} to {} in {}.", budget, sum, this);
-        budget = sum;
+    /**
+     * An entity is equal only to itself, so that it stays the same key of a map however it's budget changes.
+     * An investment fund is also an asset, so it's held in briefcases of other entities.
+     */
+    @Override
+    public final boolean equals(Object o) {
+        return this == o;
     }
 
+    /**
+     * Returns the hash code of the id, so that it neither changes with trades nor walks the briefcase.
+     */
     @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof AbstractEntity)) return false;
-        AbstractEntity that = (AbstractEntity) o;
-        return Double.compare(that.budget, budget) == 0 &&
-                Objects.equal(briefcase, that.briefcase);
+    public final int hashCode() {
+        return Long.hashCode(id);
     }
 
+    @JsonIgnore
     @Override
-    public int hashCode() {
-        return Objects.hashCode(budget, briefcase);
+    public long getId() {
+        return id;
     }
 
     @Override
@@ -1,6 +1,5 @@
 package org.example.marketstock.models.entity;
 
-import com.google.common.base.Objects;
 import org.example.marketstock.models.briefcase.Briefcase;
 
 /**
@@ -32,20 +31,6 @@ public abstract class AbstractInvestor extends AbstractEntity {
         lastName = lastName1;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof AbstractInvestor)) return false;
-        AbstractInvestor that = (AbstractInvestor) o;
-        return Objects.equal(firstName, that.firstName) &&
-                Objects.equal(lastName, that.lastName);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hashCode(firstName, lastName);
-    }
-
     abstract public String getFirstName();
     abstract public String getLastName();
 }
@@ -0,0 +1,19 @@
+package org.example.marketstock.models.entity;
+
+/**
+ * Receives increases of an entity's budget that don't come from trading. Called in the thread that increased it,
+ * while the entity is locked, so it should be quick and must not block.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface BudgetListener {
+
+    /**
+     * Called after every increase of a budget.
+     * @param entity An entity whose budget has been increased.
+     * @param addend The amount of money added to the budget.
+     */
+    void onBudgetIncreased(Entity entity, double addend);
+}
@@ -2,6 +2,7 @@ package org.example.marketstock.models.entity;
 
 import org.example.marketstock.models.briefcase.Briefcase;
 import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.identity.Identifiable;
 
 /**
  * Represents an entity that can buy and sell assets listed in many exchanges.
@@ -9,7 +10,7 @@ import org.example.marketstock.models.asset.Asset;
  * @author Dominik Szmyt
  * @since 1.0.0
  */
-public interface Entity {
+public interface Entity extends Identifiable {
 
     /**
      * Increases number of a given {@link Asset} or adds it to a {@link Briefcase}.
@@ -1,32 +1,43 @@
 package org.example.marketstock.models.entity;
 
 import java.io.Serializable;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.common.base.MoreObjects;
-import com.google.common.base.Objects;
 import io.vavr.Tuple3;
 import org.example.marketstock.models.asset.Countable;
+import org.example.marketstock.models.asset.IssueListener;
+import org.example.marketstock.models.asset.RateHistory;
+import org.example.marketstock.models.asset.RateListener;
 import org.example.marketstock.models.briefcase.Briefcase;
 import org.example.marketstock.models.asset.Asset;
 import org.example.marketstock.models.entity.builder.InvestmentFundBuilder;
 import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.lock.ChangeBarrier;
+import org.example.marketstock.simulation.tick.Tickable;
 
 /**
  * Represents a real life investment fund which buys and sells assets, apart from issuing it's own investment units.
  * An investment fund randomly increases it's budget what simulates external earnings.
+ * It can be run in it's own thread or stepped by a {@link org.example.marketstock.simulation.tick.TickScheduler}.
  *
  * @author Dominik Szmyt
  * @since 1.0.0
  */
 @JsonDeserialize(builder = InvestmentFundBuilder.class)
-public class InvestmentFund extends AbstractEntity implements Asset, Countable, Serializable, Runnable {
+public class InvestmentFund extends AbstractEntity implements Asset, Countable, Serializable, Runnable, Tickable {
+
+    /**
+     * The number of the latest rates that an {@code InvestmentFund} keeps.
+     */
+    public static final int RATE_HISTORY_DEPTH = 10;
 
     protected final Object NUMBER_OF_ASSET = new Object();
 
@@ -34,19 +45,28 @@ public class InvestmentFund extends AbstractEntity implements Asset, Countable,
     private volatile double currentRate;
     private double minRate;
     private double maxRate;
-    private final List<Double> rateChanges;
+    private final RateHistory rateChanges;
     private final double margin;
     private volatile int numberOfAssets;
 
     @JsonIgnore
     private final transient Simulation simulation;
 
+    @JsonIgnore
+    private final transient List<RateListener> rateListeners = new CopyOnWriteArrayList<>();
+
+    @JsonIgnore
+    private final transient List<IssueListener> issueListeners = new CopyOnWriteArrayList<>();
+
     @JsonIgnore
     private volatile transient boolean active = true;
 
     @JsonIgnore
     private volatile transient boolean terminated = false;
 
+    @JsonIgnore
+    private transient boolean tradingStep = true;
+
     /**
      * Create an {@code InvestmentFund} with all necessary fields.
      * @param name The name of an {@code InvestmentFund}
@@ -77,7 +97,7 @@ public class InvestmentFund extends AbstractEntity implements Asset, Countable,
         this.currentRate = currentRate;
         this.minRate = minRate;
         this.maxRate = maxRate;
-        this.rateChanges = rateChanges;
+        this.rateChanges = RateHistory.of(RATE_HISTORY_DEPTH, rateChanges);
         this.margin = margin;
         this.numberOfAssets = numberOfAssets;
         this.simulation = simulation;
@@ -88,41 +108,76 @@ public class InvestmentFund extends AbstractEntity implements Asset, Countable,
         LOGGER.debug("[THREAD]: Investment fund {} starts.", this);
 
         try {
-            final Random rand = new Random();
-
             while (active) {
                 sleep();
                 if (!active) break;
 
-                final int coinFlip = rand.nextInt(2);
+                step();
+            }
+        } catch (InterruptedException exception) {
+            active = false;
+            LOGGER.debug("[THREAD]: Investment fund {} stopped with InterruptedException.", this);
+        }
 
-                if (coinFlip == 0 || briefcase.isEmpty()) {
-                    final Optional<Tuple3<Asset, Integer, Double>> selection = simulation.chooseAssetToBuy(this);
+        markTerminated();
+    }
 
-                    if (selection.isPresent()) {
-                        final Tuple3<Asset, Integer, Double> tuple = selection.get();
-                        simulation.buySelectedResource(tuple._1, tuple._2,  tuple._3, this);
-                    }
-                } else {
-                    final Optional<Tuple3<Asset, Integer, Double>> selection = simulation.chooseAssetToSell(this);
+    /**
+     * Performs the next step of an investment fund's routine which alternates between
+     * making a trading decision and increasing both it's budget and the number of investment units.
+     * Used both by {@link #run()} and a {@link org.example.marketstock.simulation.tick.TickScheduler}.
+     */
+    @Override
+    public void step() {
+        if (tradingStep) {
+            trade();
+        } else {
+            increaseBudget();
+            issueAssets();
+        }
 
-                    if (selection.isPresent()) {
-                        final Tuple3<Asset, Integer, Double> tuple = selection.get();
-                        simulation.sellSelectedResource(tuple._1, tuple._2, this);
-                    }
-                }
+        tradingStep = !tradingStep;
+    }
 
-                sleep();
-                if(!active) break;
+    /**
+     * Flips a coin to decide whether to buy or sell an asset.
+     * An investment fund with an empty briefcase always tries to buy.
+     * Orders are placed in the {@link Simulation} and applied asynchronously.
+     */
+    protected void trade() {
+        final int coinFlip = ThreadLocalRandom.current().nextInt(2);
 
-                increaseBudget();
-                issueAssets();
-            }  
-        } catch (InterruptedException exception) {
-            active = false;
-            LOGGER.debug("[THREAD]: Investment fund {} stopped with InterruptedException.", this);
+        if (coinFlip == 0 || briefcase.isEmpty()) {
+            final Optional<Tuple3<Asset, Integer, Double>> selection = simulation.chooseAssetToBuy(this);
+
+            if (selection.isPresent()) {
+                final Tuple3<Asset, Integer, Double> tuple = selection.get();
+                simulation.placeBuyOrder(tuple._1, tuple._2, tuple._3, this);
+            }
+        } else {
+            final Optional<Tuple3<Asset, Integer, Double>> selection = simulation.chooseAssetToSell(this);
+
+            if (selection.isPresent()) {
+                final Tuple3<Asset, Integer, Double> tuple = selection.get();
+                simulation.placeSellOrder(tuple._1, tuple._2, this);
+            }
         }
+    }
+
+    /**
+     * Draws a random number of ticks (seconds) between 10 and 15 that an investment fund waits before the next step.
+     * @return The number of ticks to wait.
+     */
+    @Override
+    public int nextDelay() {
+        return ThreadLocalRandom.current().nextInt(6) + 10;
+    }
 
+    /**
+     * Marks an investment fund as terminated, either after it's thread stopped or after it was dropped by a scheduler.
+     */
+    @Override
+    public void markTerminated() {
         terminated = true;
         LOGGER.debug("[THREAD]: Investment fund {} stops", this);
     }
@@ -139,8 +194,7 @@ public class InvestmentFund extends AbstractEntity implements Asset, Countable,
      * @throws InterruptedException If any thread interrupted the current thread while the current thread was sleeping.
      */
     private void sleep() throws InterruptedException {
-        final Random random = new Random();
-        final int timeout = random.nextInt(6) + 10;
+        final int timeout = nextDelay();
 
         LOGGER.debug("[THREAD]: Investment fund sleeps for {} seconds.", timeout);
 
@@ -153,37 +207,66 @@ public class InvestmentFund extends AbstractEntity implements Asset, Countable,
     protected void issueAssets() {
         final Random rand = new Random();
         final int number = rand.nextInt(100_000) + 100;
+        final ChangeBarrier barrier = getChangeBarrier();
+
+        barrier.enter(this);
+        try {
+            increaseNumberOfAssets(number);
+            LOGGER.info("[INVESTMENT_FUND]: {} new investment units issued by {}.", number, this);
+
+            for (final IssueListener issueListener : issueListeners) {
+                issueListener.onIssued(this, number);
+            }
+        } finally {
+            barrier.exit();
+        }
+    }
 
-        increaseNumberOfAssets(number);
-        LOGGER.info("[INVESTMENT_FUND]: {} new investment units issued by {}.", number, this);
+    public void addIssueListener(final IssueListener issueListener) {
+        issueListeners.add(issueListener);
+    }
+
+    public void removeIssueListener(final IssueListener issueListener) {
+        issueListeners.remove(issueListener);
     }
 
     /**
      * At first, replaces old value with the new one and adds the new rate to rate changes.
-     * In the end, calculates min and max rate.
+     * In the end, calculates min and max rate and notifies rate listeners.
      * <br>
-     * <b>NOTE:</b> this implementation keeps track of only 10 rate changes.
+     * <b>NOTE:</b> this implementation keeps track of only {@value #RATE_HISTORY_DEPTH} rate changes.
      *
      * @param rate A new rate that is to replace the current rate.
      * @return A new value of current rate.
      */
     @Override
-    public double updateRate(double rate) {
+    public synchronized double updateRate(double rate) {
         LOGGER.info("[ASSET]: Rate changes from {} to {} in {}.", currentRate, rate, this);
 
+        final double previousRate = currentRate;
         currentRate = rate;
         rateChanges.add(rate);
 
-        if (rateChanges.size() >= 10) {
-            rateChanges.remove(0);
-        }
+        maxRate = rateChanges.max();
+        minRate = rateChanges.min();
 
-        maxRate = Collections.max(rateChanges);
-        minRate = Collections.min(rateChanges);
+        for (final RateListener rateListener : rateListeners) {
+            rateListener.onRateChange(this, previousRate, rate);
+        }
 
         return currentRate;
     }
 
+    @Override
+    public void addRateListener(final RateListener rateListener) {
+        rateListeners.add(rateListener);
+    }
+
+    @Override
+    public void removeRateListener(final RateListener rateListener) {
+        rateListeners.remove(rateListener);
+    }
+
     /**
      * Increases number of assets by a given value.
      * @param addend A value that is to be added to the number of assets.
@@ -236,20 +319,6 @@ public class InvestmentFund extends AbstractEntity implements Asset, Countable,
                 .toString();
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof InvestmentFund)) return false;
-        InvestmentFund that = (InvestmentFund) o;
-        return Objects.equal(name, that.name) &&
-                Double.compare(margin, that.margin) == 0;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hashCode(name, margin);
-    }
-
     @Override
     public String getName() {
         return this.name;
@@ -272,7 +341,7 @@ public class InvestmentFund extends AbstractEntity implements Asset, Countable,
 
     @Override
     public List<Double> getRateChanges() {
-        return rateChanges;
+        return rateChanges.asList();
     }
 
     @Override
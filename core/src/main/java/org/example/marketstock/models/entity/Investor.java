@@ -3,27 +3,28 @@ package org.example.marketstock.models.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.common.base.MoreObjects;
-import com.google.common.base.Objects;
 import io.vavr.Tuple3;
 import org.example.marketstock.models.asset.Asset;
 import org.example.marketstock.models.briefcase.Briefcase;
 import org.example.marketstock.models.entity.builder.InvestorBuilder;
 import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.tick.Tickable;
 
 import java.io.Serializable;
 import java.util.Optional;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
  * A simple implementation of an {@code AbstractInvestor}.
  * An investor randomly increases their budget which simulates external earnings.
+ * It can be run in it's own thread or stepped by a {@link org.example.marketstock.simulation.tick.TickScheduler}.
  *
  * @author Dominik Szmyt
  * @since 1.0.0
  */
 @JsonDeserialize(builder = InvestorBuilder.class)
-public class Investor extends AbstractInvestor implements Serializable, Runnable {
+public class Investor extends AbstractInvestor implements Serializable, Runnable, Tickable {
 
     private final String PESEL;
 
@@ -36,6 +37,9 @@ public class Investor extends AbstractInvestor implements Serializable, Runnable
     @JsonIgnore
     private volatile transient boolean terminated = false;
 
+    @JsonIgnore
+    private transient boolean tradingStep = true;
+
     /**
      * Create an {@code Investor} with all necessary fields.
      * @param firstName The first name of an {@code Investor}.
@@ -63,40 +67,75 @@ public class Investor extends AbstractInvestor implements Serializable, Runnable
         LOGGER.debug( "[THREAD]: Investor {} starts.", this);
 
         try {
-            Random rand = new Random();
-
             while (active) {
                 sleep();
                 if (!active) break;
 
-                final int coinFlip = rand.nextInt(2);
-
-                if (coinFlip == 0 || briefcase.isEmpty()) {
-                    final Optional<Tuple3<Asset, Integer, Double>> selection = simulation.chooseAssetToBuy(this);
+                step();
+            }
+        } catch (InterruptedException exception) {
+            active = false;
+            LOGGER.debug("[THREAD]: Investor {} stopped with InterruptedException.", this);
+        }
 
-                    if (selection.isPresent()) {
-                        final Tuple3<Asset, Integer, Double> tuple = selection.get();
-                        simulation.buySelectedResource(tuple._1, tuple._2, tuple._3, this);
-                    }
-                } else {
-                    final Optional<Tuple3<Asset, Integer, Double>> selection = simulation.chooseAssetToSell(this);
+        markTerminated();
+    }
 
-                    if (selection.isPresent()) {
-                        final Tuple3<Asset, Integer, Double> tuple = selection.get();
-                        simulation.sellSelectedResource(tuple._1, tuple._2, this);
-                    }
-                }
+    /**
+     * Performs the next step of an investor's routine which alternates between
+     * making a trading decision and increasing the budget.
+     * Used both by {@link #run()} and a {@link org.example.marketstock.simulation.tick.TickScheduler}.
+     */
+    @Override
+    public void step() {
+        if (tradingStep) {
+            trade();
+        } else {
+            increaseBudget();
+        }
 
-                sleep();
-                if (!active) break;
+        tradingStep = !tradingStep;
+    }
 
-                increaseBudget();
-            }  
-        } catch (InterruptedException exception) {
-            active = false;
-            LOGGER.debug("[THREAD]: Investor {} stopped with InterruptedException.", this);
+    /**
+     * Flips a coin to decide whether to buy or sell an asset.
+     * An investor with an empty briefcase always tries to buy.
+     * Orders are placed in the {@link Simulation} and applied asynchronously.
+     */
+    protected void trade() {
+        final int coinFlip = ThreadLocalRandom.current().nextInt(2);
+
+        if (coinFlip == 0 || briefcase.isEmpty()) {
+            final Optional<Tuple3<Asset, Integer, Double>> selection = simulation.chooseAssetToBuy(this);
+
+            if (selection.isPresent()) {
+                final Tuple3<Asset, Integer, Double> tuple = selection.get();
+                simulation.placeBuyOrder(tuple._1, tuple._2, tuple._3, this);
+            }
+        } else {
+            final Optional<Tuple3<Asset, Integer, Double>> selection = simulation.chooseAssetToSell(this);
+
+            if (selection.isPresent()) {
+                final Tuple3<Asset, Integer, Double> tuple = selection.get();
+                simulation.placeSellOrder(tuple._1, tuple._2, this);
+            }
         }
+    }
+
+    /**
+     * Draws a random number of ticks (seconds) between 10 and 15 that an investor waits before the next step.
+     * @return The number of ticks to wait.
+     */
+    @Override
+    public int nextDelay() {
+        return ThreadLocalRandom.current().nextInt(6) + 10;
+    }
 
+    /**
+     * Marks an investor as terminated, either after it's thread stopped or after it was dropped by a scheduler.
+     */
+    @Override
+    public void markTerminated() {
         terminated = true;
         LOGGER.debug("[THREAD]: Investor {} stops.", this);
     }
@@ -113,8 +152,7 @@ public class Investor extends AbstractInvestor implements Serializable, Runnable
      * @throws InterruptedException If any thread interrupted the current thread while the current thread was sleeping.
      */
     private void sleep() throws InterruptedException {
-        final Random random = new Random();
-        final int timeout = random.nextInt(6) + 10;
+        final int timeout = nextDelay();
 
         LOGGER.debug("[THREAD]: Investor sleeps for {} seconds.", timeout);
 
@@ -132,20 +170,6 @@ public class Investor extends AbstractInvestor implements Serializable, Runnable
                 .toString();
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof Investor)) return false;
-        if (!super.equals(o)) return false;
-        Investor investor = (Investor) o;
-        return Objects.equal(PESEL, investor.PESEL);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hashCode(super.hashCode(), PESEL);
-    }
-
     @Override
     public String getFirstName() {
         return firstName;
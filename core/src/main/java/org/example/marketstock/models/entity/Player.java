@@ -74,6 +74,23 @@ public class Player extends AbstractInvestor {
         return PLAYER;
     }
 
+    /**
+     * Creates a {@code Player} that doesn't replace the existing instance, for example a copy kept by a snapshot.
+     *
+     * @param firstName The first name of a {@code Player}.
+     * @param lastName The last name of a {@code Player}.
+     * @param budget The budget of a {@code Player}.
+     * @param briefcase A briefcase that belongs to a {@code Player}.
+     * @return A new {@code Player} that isn't the instance.
+     */
+    public static Player detachedInstance(final String firstName,
+                                          final String lastName,
+                                          final double budget,
+                                          final Briefcase briefcase) {
+
+        return new Player(firstName, lastName, budget, briefcase);
+    }
+
     @Override
     public String getFirstName() {
         return firstName;
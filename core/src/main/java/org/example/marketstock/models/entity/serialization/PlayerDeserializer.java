@@ -0,0 +1,69 @@
+package org.example.marketstock.models.entity.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import org.example.marketstock.models.briefcase.Briefcase;
+import org.example.marketstock.models.entity.Player;
+
+import java.io.IOException;
+
+/**
+ * A custom deserializer for the {@link Player} class.
+ * Reads fields straight from the parser, so the briefcase is deserialized by the same mapper.
+ *
+ * @author Dominik Szmyt
+ * @see Player
+ * @since 1.0.0
+ */
+public class PlayerDeserializer extends StdDeserializer<Player> {
+
+    public PlayerDeserializer() {
+        this(null);
+    }
+
+    public PlayerDeserializer(Class<?> vc) {
+        super(vc);
+    }
+
+    @Override
+    public Player deserialize(final JsonParser jsonParser,
+                              final DeserializationContext deserializationContext)
+            throws IOException {
+
+        String firstName = null;
+        String lastName = null;
+        double budget = 0D;
+        Briefcase briefcase = null;
+
+        JsonToken token = jsonParser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = jsonParser.nextToken();
+        }
+
+        for (; token == JsonToken.FIELD_NAME; token = jsonParser.nextToken()) {
+            final String field = jsonParser.getCurrentName();
+            jsonParser.nextToken();
+
+            switch (field) {
+                case "firstName":
+                    firstName = jsonParser.getValueAsString();
+                    break;
+                case "lastName":
+                    lastName = jsonParser.getValueAsString();
+                    break;
+                case "budget":
+                    budget = jsonParser.getValueAsDouble();
+                    break;
+                case "briefcase":
+                    briefcase = deserializationContext.readValue(jsonParser, Briefcase.class);
+                    break;
+                default:
+                    jsonParser.skipChildren();
+            }
+        }
+
+        return Player.updateInstance(firstName, lastName, budget, briefcase);
+    }
+}
@@ -73,9 +73,12 @@ public class CommodityExchange extends Exchange implements Serializable {
 
     public void addResource(Commodity resource) {
         this.commodities.add(resource);
+        listed(resource);
     }
 
     public void removeResource(Commodity resource) {
-        this.commodities.remove(resource);
+        if (this.commodities.remove(resource)) {
+            delisted(resource);
+        }
     }
 }
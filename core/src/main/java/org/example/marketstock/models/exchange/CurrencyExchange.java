@@ -73,9 +73,12 @@ public class CurrencyExchange extends Exchange implements Serializable {
 
     public void addCurrency(Currency currency) {
         currencies.add(currency);
+        listed(currency);
     }
 
     public void removeCurrency(Currency currency) {
-        currencies.remove(currency);
+        if (currencies.remove(currency)) {
+            delisted(currency);
+        }
     }
 }
@@ -0,0 +1,172 @@
+package org.example.marketstock.models.exchange;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.exchange.book.OrderBook;
+import org.example.marketstock.models.exchange.book.TradeListener;
+
+/**
+ * Represents a real life exchange where investors can buy or sell assets listed there.
+ * Each listed asset may have an {@link OrderBook} where orders of investors meet.
+ * Changes of listed assets are reported to {@link ListingListener}s.
+ *
+ * @author Dominik Szmyt
+ * @since 1.0.0
+ */
+public abstract class Exchange implements Serializable {
+
+    protected final String name;
+    protected final String country;
+    protected final String city;
+    protected final String address;
+    protected final String currency;
+    protected final double margin;
+
+    @JsonIgnore
+    private final transient Map<Asset, OrderBook> orderBooks = new ConcurrentHashMap<>();
+
+    @JsonIgnore
+    private final transient List<ListingListener> listingListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create an {@code Exchange} with all necessary fields.
+     * @param name The name of an {@code Exchange}.
+     * @param country The country in which an {@code Exchange} is located.
+     * @param city The city in which an {@code Exchange} is located.
+     * @param address The address of an {@code Exchange} location
+     * @param currency The currency used in transactions on an {@code Exchange}.
+     * @param margin The margin of an {@code Exchange}.
+     */
+    public Exchange(final String name,
+                    final String country,
+                    final String city,
+                    final String address,
+                    final String currency,
+                    final double margin) {
+
+        this.name = name;
+        this.country = country;
+        this.city = city;
+        this.address = address;
+        this.currency = currency;
+        this.margin = margin;
+    }
+
+    /**
+     * Opens an order book for an asset listed by the {@code Exchange} or returns the one that is already open.
+     * @param asset An asset listed by the {@code Exchange}.
+     * @param tradeListener A listener notified about trades, used only when a new order book is opened.
+     * @return The order book of an asset.
+     */
+    public OrderBook openOrderBook(final Asset asset, final TradeListener tradeListener) {
+        return orderBooks.computeIfAbsent(asset, key -> new OrderBook(tradeListener));
+    }
+
+    /**
+     * Closes the order book of an asset, usually after the asset was removed from the {@code Exchange}.
+     * @param asset An asset that was listed by the {@code Exchange}.
+     * @return The closed order book or {@code null} if the asset didn't have one.
+     */
+    public OrderBook closeOrderBook(final Asset asset) {
+        return orderBooks.remove(asset);
+    }
+
+    /**
+     * Returns the order book of an asset.
+     * @param asset An asset listed by the {@code Exchange}.
+     * @return The order book or {@code null} if it wasn't opened yet.
+     */
+    public OrderBook getOrderBook(final Asset asset) {
+        return orderBooks.get(asset);
+    }
+
+    public void addListingListener(final ListingListener listingListener) {
+        listingListeners.add(listingListener);
+    }
+
+    public void removeListingListener(final ListingListener listingListener) {
+        listingListeners.remove(listingListener);
+    }
+
+    /**
+     * Notifies listing listeners about a newly listed asset. Should be called by every method that adds an asset.
+     * @param asset An asset that was added to the {@code Exchange}.
+     */
+    protected void listed(final Asset asset) {
+        for (final ListingListener listingListener : listingListeners) {
+            listingListener.onListed(this, asset);
+        }
+    }
+
+    /**
+     * Notifies listing listeners about a removed asset. Should be called by every method that removes an asset.
+     * @param asset An asset that was removed from the {@code Exchange}.
+     */
+    protected void delisted(final Asset asset) {
+        for (final ListingListener listingListener : listingListeners) {
+            listingListener.onDelisted(this, asset);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("name", name)
+                .add("country", country)
+                .add("city", city)
+                .add("address", address)
+                .add("currency", currency)
+                .add("margin", margin)
+                .toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Exchange)) return false;
+        Exchange exchange = (Exchange) o;
+        return Objects.equal(name, exchange.name) &&
+                Objects.equal(country, exchange.country) &&
+                Objects.equal(city, exchange.city) &&
+                Objects.equal(address, exchange.address) &&
+                Objects.equal(currency, exchange.currency) &&
+                Double.compare(exchange.margin, margin) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(name, country, city, address, currency, margin);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getCountry(){
+        return this.country;
+    }
+
+    public String getCity() {
+        return this.city;
+    }
+
+    public String getAddress() {
+        return this.address;
+    }
+
+    public String getCurrency(){
+        return this.currency;
+    }
+
+    public double getMargin() {
+        return this.margin;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.marketstock.models.exchange;
+
+import org.example.marketstock.models.asset.Asset;
+
+/**
+ * Receives changes of assets listed by an {@link Exchange}. Called in the thread that added or removed an asset.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public interface ListingListener {
+
+    /**
+     * Called after an asset was added to an exchange.
+     * @param exchange An exchange that lists the asset.
+     * @param asset A newly listed asset.
+     */
+    void onListed(Exchange exchange, Asset asset);
+
+    /**
+     * Called after an asset was removed from an exchange.
+     * @param exchange An exchange that listed the asset.
+     * @param asset An asset that isn't listed anymore.
+     */
+    void onDelisted(Exchange exchange, Asset asset);
+}
@@ -2,13 +2,12 @@ package org.example.marketstock.models.exchange;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.common.base.MoreObjects;
+import org.example.marketstock.models.asset.Asset;
 import org.example.marketstock.models.company.Company;
 import org.example.marketstock.models.exchange.builder.StockExchangeBuilder;
 import org.example.marketstock.models.index.Index;
@@ -19,6 +18,7 @@ import static java.util.Objects.nonNull;
  * Represents a real life stock exchange where investors can buy and sell shares
  * that belong to companies listed there.
  * Stock exchange offers the possibility to measure it's companies in stock indices.
+ * Indices follow listed companies and their rates on their own, so trades don't have to update them.
  *
  * @author Dominik Szmyt
  * @since 1.0.0
@@ -29,9 +29,6 @@ public class StockExchange extends Exchange implements Serializable {
     private final List<Index> indices;
     private final List<Company> companies;
 
-    @JsonIgnore
-    private final transient ExecutorService companiesService = Executors.newFixedThreadPool(100);
-
     /**
      * Create an {@code StockExchange} with all necessary fields.
      * @param name The name of an {@code StockExchange}.
@@ -56,15 +53,19 @@ public class StockExchange extends Exchange implements Serializable {
 
         this.indices = indices;
         this.companies = companies;
+
+        if (nonNull(indices)) {
+            indices.forEach(this::follow);
+        }
     }
 
     /**
-     * Updates available indices with current company list from a stock exchange.
-     * Usually called after a new company was added to a stock exchange.
+     * Replaces constituents of available indices with the current company list from a stock exchange.
+     * Indices already follow listed companies, so this is only needed when companies were changed directly.
      */
-    public void updateIndices() {
+    public synchronized void updateIndices() {
         if (nonNull(indices) && !indices.isEmpty()) {
-            indices.forEach(index -> index.updateIndex(new ArrayList<>(companies)));
+            indices.forEach(index -> index.updateIndex(companyList()));
         }
     }
 
@@ -100,10 +101,13 @@ public class StockExchange extends Exchange implements Serializable {
 
     public void addCompany(Company company) {
         companies.add(company);
+        listed(company);
     }
 
     public void removeCompany(Company company) {
-        companies.remove(company);
+        if (companies.remove(company)) {
+            delisted(company);
+        }
     }
 
     public List<Index> getIndices() {
@@ -111,14 +115,27 @@ public class StockExchange extends Exchange implements Serializable {
     }
 
     public void addIndex(Index index) {
+        follow(index);
         indices.add(index);
     }
 
     public void removeIndex(Index index) {
-        indices.remove(index);
+        if (indices.remove(index)) {
+            removeListingListener(index);
+            index.updateIndex(Collections.emptyList());
+        }
+    }
+
+    /**
+     * Makes an index follow companies that are listed now and those that will be listed later.
+     * @param index An index that belongs to a stock exchange.
+     */
+    private void follow(final Index index) {
+        addListingListener(index);
+        index.updateIndex(companyList());
     }
 
-    public ExecutorService getCompaniesService() {
-        return companiesService;
+    private List<Asset> companyList() {
+        return nonNull(companies) ? new ArrayList<>(companies) : new ArrayList<>();
     }
 }
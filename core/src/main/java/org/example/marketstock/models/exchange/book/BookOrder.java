@@ -0,0 +1,39 @@
+package org.example.marketstock.models.exchange.book;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * An order resting in an {@link OrderBook}. Orders of the same price form an intrusive FIFO queue,
+ * so they can be appended and unlinked in constant time.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+final class BookOrder {
+
+    final long id;
+    final Side side;
+    final Object owner;
+    int remaining;
+
+    PriceLevel level;
+    BookOrder previous;
+    BookOrder next;
+
+    BookOrder(final long id, final Side side, final Object owner, final int remaining) {
+        this.id = id;
+        this.side = side;
+        this.owner = owner;
+        this.remaining = remaining;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("id", id)
+                .add("side", side)
+                .add("owner", owner)
+                .add("remaining", remaining)
+                .toString();
+    }
+}
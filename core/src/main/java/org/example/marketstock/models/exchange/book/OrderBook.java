@@ -0,0 +1,305 @@
+package org.example.marketstock.models.exchange.book;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A central limit order book of a single asset with price-time priority.
+ * An incoming order is matched against the best opposite prices first and,
+ * within one price, against orders in the order of their arrival. Each match is traded at the price
+ * of the resting order and reported to a {@link TradeListener}.
+ * <br>
+ * Prices are rounded to ticks. Price levels are kept in sorted maps and orders of one level in a linked queue,
+ * so placing or cancelling an order costs O(log n) in the number of levels,
+ * while the best bid and ask are cached and read in O(1).
+ * <br>
+ * An order never trades with another order of the same owner. Instead, the resting order is cancelled.
+ * A match that the listener doesn't settle fills nothing, and the stale resting order is cancelled as well.
+ * <br>
+ * <b>NOTE:</b> the book isn't thread-safe. It is meant to be used by a single matching thread of an exchange.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public class OrderBook {
+
+    public static final double DEFAULT_TICK_SIZE = 0.0001D;
+    public static final long NOT_RESTING = -1L;
+
+    private final double tickSize;
+    private final TradeListener tradeListener;
+    private final NavigableMap<Long, PriceLevel> bids = new TreeMap<>(Collections.reverseOrder());
+    private final NavigableMap<Long, PriceLevel> asks = new TreeMap<>();
+    private final Map<Long, BookOrder> orders = new HashMap<>();
+
+    private PriceLevel bestBid;
+    private PriceLevel bestAsk;
+    private long nextId = 1L;
+    private double lastTradePrice = Double.NaN;
+    private long tradedVolume = 0L;
+
+    /**
+     * Create an {@code OrderBook} with the default tick size.
+     * @param tradeListener A listener notified about every trade.
+     */
+    public OrderBook(final TradeListener tradeListener) {
+        this(DEFAULT_TICK_SIZE, tradeListener);
+    }
+
+    /**
+     * Create an {@code OrderBook} with all necessary fields.
+     * @param tickSize The smallest difference between two prices.
+     * @param tradeListener A listener notified about every trade.
+     */
+    public OrderBook(final double tickSize, final TradeListener tradeListener) {
+        if (!(tickSize > 0D)) {
+            throw new IllegalArgumentException("Tick size must be positive");
+        }
+
+        this.tickSize = tickSize;
+        this.tradeListener = tradeListener;
+    }
+
+    /**
+     * Matches a limit order against the book and leaves the unfilled quantity resting at the limit price.
+     * @param side Whether the owner wants to buy or sell.
+     * @param price The worst acceptable price.
+     * @param quantity The quantity to buy or sell.
+     * @param owner The owner of the order, reported in trades.
+     * @return The id of the resting order or {@link #NOT_RESTING} if the order was filled entirely.
+     */
+    public long placeLimitOrder(final Side side, final double price, final int quantity, final Object owner) {
+        final long priceTicks = toTicks(price);
+        final int remaining = match(side, priceTicks, checkQuantity(quantity), owner);
+
+        if (remaining == 0) {
+            return NOT_RESTING;
+        }
+
+        final BookOrder order = new BookOrder(nextId++, side, owner, remaining);
+        rest(order, priceTicks);
+        return order.id;
+    }
+
+    /**
+     * Matches a limit order against the book and cancels the unfilled quantity.
+     * @param side Whether the owner wants to buy or sell.
+     * @param price The worst acceptable price.
+     * @param quantity The quantity to buy or sell.
+     * @param owner The owner of the order, reported in trades.
+     * @return The filled quantity.
+     */
+    public int placeImmediateOrCancelOrder(final Side side, final double price, final int quantity, final Object owner) {
+        return quantity - match(side, toTicks(price), checkQuantity(quantity), owner);
+    }
+
+    /**
+     * Matches a market order against the book at any price and cancels the unfilled quantity.
+     * @param side Whether the owner wants to buy or sell.
+     * @param quantity The quantity to buy or sell.
+     * @param owner The owner of the order, reported in trades.
+     * @return The filled quantity.
+     */
+    public int placeMarketOrder(final Side side, final int quantity, final Object owner) {
+        final long limit = side == Side.BUY ? Long.MAX_VALUE : Long.MIN_VALUE;
+        return quantity - match(side, limit, checkQuantity(quantity), owner);
+    }
+
+    /**
+     * Cancels a resting order.
+     * @param id The id returned by {@link #placeLimitOrder(Side, double, int, Object)}.
+     * @return {@code true} if the order was resting and is cancelled now, otherwise {@code false}.
+     */
+    public boolean cancel(final long id) {
+        final BookOrder order = orders.get(id);
+
+        if (isNull(order)) {
+            return false;
+        }
+
+        remove(order);
+        return true;
+    }
+
+    /**
+     * Returns the unfilled quantity of a resting order.
+     * @param id The id of an order.
+     * @return The unfilled quantity or 0 if the order isn't resting anymore.
+     */
+    public int getRemaining(final long id) {
+        final BookOrder order = orders.get(id);
+        return isNull(order) ? 0 : order.remaining;
+    }
+
+    private int match(final Side side, final long limitTicks, final int quantity, final Object owner) {
+        int remaining = quantity;
+
+        while (remaining > 0) {
+            final PriceLevel level = side == Side.BUY ? bestAsk : bestBid;
+
+            if (isNull(level) || (side == Side.BUY ? level.priceTicks > limitTicks : level.priceTicks < limitTicks)) {
+                break;
+            }
+
+            final BookOrder resting = level.head;
+
+            if (resting.owner == owner) {
+                remove(resting);
+                continue;
+            }
+
+            final int matched = Math.min(remaining, resting.remaining);
+            final double price = toPrice(level.priceTicks);
+            final boolean settled = side == Side.BUY
+                    ? tradeListener.onTrade(owner, resting.owner, price, matched)
+                    : tradeListener.onTrade(resting.owner, owner, price, matched);
+
+            if (!settled) {
+                remove(resting);
+                continue;
+            }
+
+            resting.remaining -= matched;
+            level.quantity -= matched;
+            remaining -= matched;
+            lastTradePrice = price;
+            tradedVolume += matched;
+
+            if (resting.remaining == 0) {
+                remove(resting);
+            }
+        }
+
+        return remaining;
+    }
+
+    private void rest(final BookOrder order, final long priceTicks) {
+        final NavigableMap<Long, PriceLevel> levels = order.side == Side.BUY ? bids : asks;
+        PriceLevel level = levels.get(priceTicks);
+
+        if (isNull(level)) {
+            level = new PriceLevel(priceTicks);
+            levels.put(priceTicks, level);
+
+            if (order.side == Side.BUY && (isNull(bestBid) || priceTicks > bestBid.priceTicks)) {
+                bestBid = level;
+            } else if (order.side == Side.SELL && (isNull(bestAsk) || priceTicks < bestAsk.priceTicks)) {
+                bestAsk = level;
+            }
+        }
+
+        level.append(order);
+        orders.put(order.id, order);
+    }
+
+    private void remove(final BookOrder order) {
+        final PriceLevel level = order.level;
+
+        level.unlink(order);
+        orders.remove(order.id);
+
+        if (!level.isEmpty()) {
+            return;
+        }
+
+        final NavigableMap<Long, PriceLevel> levels = order.side == Side.BUY ? bids : asks;
+        levels.remove(level.priceTicks);
+
+        if (level == bestBid) {
+            bestBid = firstLevel(levels);
+        } else if (level == bestAsk) {
+            bestAsk = firstLevel(levels);
+        }
+    }
+
+    private static PriceLevel firstLevel(final NavigableMap<Long, PriceLevel> levels) {
+        final Map.Entry<Long, PriceLevel> first = levels.firstEntry();
+        return nonNull(first) ? first.getValue() : null;
+    }
+
+    private long toTicks(final double price) {
+        if (!(price > 0D) || Double.isInfinite(price)) {
+            throw new IllegalArgumentException("Price must be positive and finite");
+        }
+
+        return Math.round(price / tickSize);
+    }
+
+    private double toPrice(final long priceTicks) {
+        return priceTicks * tickSize;
+    }
+
+    private static int checkQuantity(final int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+
+        return quantity;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("bestBid", getBestBid())
+                .add("bestAsk", getBestAsk())
+                .add("lastTradePrice", lastTradePrice)
+                .add("numberOfOrders", orders.size())
+                .toString();
+    }
+
+    /**
+     * Returns the highest price of resting buy orders.
+     * @return The best bid or {@link Double#NaN} if there are no buy orders.
+     */
+    public double getBestBid() {
+        return nonNull(bestBid) ? toPrice(bestBid.priceTicks) : Double.NaN;
+    }
+
+    /**
+     * Returns the lowest price of resting sell orders.
+     * @return The best ask or {@link Double#NaN} if there are no sell orders.
+     */
+    public double getBestAsk() {
+        return nonNull(bestAsk) ? toPrice(bestAsk.priceTicks) : Double.NaN;
+    }
+
+    public long getBestBidQuantity() {
+        return nonNull(bestBid) ? bestBid.quantity : 0L;
+    }
+
+    public long getBestAskQuantity() {
+        return nonNull(bestAsk) ? bestAsk.quantity : 0L;
+    }
+
+    /**
+     * Returns the price of the latest trade.
+     * @return The last trade price or {@link Double#NaN} if nothing was traded yet.
+     */
+    public double getLastTradePrice() {
+        return lastTradePrice;
+    }
+
+    public long getTradedVolume() {
+        return tradedVolume;
+    }
+
+    public int getNumberOfOrders() {
+        return orders.size();
+    }
+
+    public int getNumberOfLevels(final Side side) {
+        return side == Side.BUY ? bids.size() : asks.size();
+    }
+
+    public double getTickSize() {
+        return tickSize;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.marketstock.models.exchange.book;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Every order resting at one price, kept in the order of arrival.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+final class PriceLevel {
+
+    final long priceTicks;
+    long quantity;
+    int numberOfOrders;
+
+    BookOrder head;
+    BookOrder tail;
+
+    PriceLevel(final long priceTicks) {
+        this.priceTicks = priceTicks;
+    }
+
+    void append(final BookOrder order) {
+        order.level = this;
+        order.previous = tail;
+        order.next = null;
+
+        if (tail == null) {
+            head = order;
+        } else {
+            tail.next = order;
+        }
+
+        tail = order;
+        quantity += order.remaining;
+        numberOfOrders++;
+    }
+
+    void unlink(final BookOrder order) {
+        if (order.previous == null) {
+            head = order.next;
+        } else {
+            order.previous.next = order.next;
+        }
+
+        if (order.next == null) {
+            tail = order.previous;
+        } else {
+            order.next.previous = order.previous;
+        }
+
+        quantity -= order.remaining;
+        numberOfOrders--;
+        order.level = null;
+        order.previous = null;
+        order.next = null;
+    }
+
+    boolean isEmpty() {
+        return head == null;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("priceTicks", priceTicks)
+                .add("quantity", quantity)
+                .add("numberOfOrders", numberOfOrders)
+                .toString();
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.marketstock.models.exchange.book;
+
+/**
+ * The side of an order resting in an {@link OrderBook}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public enum Side {
+
+    BUY,
+    SELL;
+
+    public Side opposite() {
+        return this == BUY ? SELL : BUY;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.marketstock.models.exchange.book;
+
+/**
+ * Receives trades matched by an {@link OrderBook}. Called in the thread that submitted the incoming order,
+ * before the submitting method returns.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface TradeListener {
+
+    /**
+     * Called for every match between an incoming and a resting order, before the book fills either of them.
+     * @param buyer The owner of the buy order.
+     * @param seller The owner of the sell order.
+     * @param price The price of the resting order.
+     * @param quantity The matched quantity.
+     * @return {@code true} if the trade was settled. Otherwise, the resting order can't be settled anymore,
+     * so the book removes it without filling anything and goes on with the next one.
+     */
+    boolean onTrade(Object buyer, Object seller, double price, int quantity);
+}
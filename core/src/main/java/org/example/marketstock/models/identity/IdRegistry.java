@@ -0,0 +1,119 @@
+package org.example.marketstock.models.identity;
+
+import com.google.common.base.MoreObjects;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.exchange.Exchange;
+import org.example.marketstock.models.exchange.ListingListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Gives ids to assets and entities and looks them up by their ids.
+ * <br>
+ * Ids are drawn from a single sequence with {@link #nextId()} when an object is created,
+ * so they're unique within the application and never change, no matter how an object trades.
+ * Assets and entities are equal only to themselves and hash by their ids, so they're cheap and safe keys of maps.
+ * <br>
+ * A registry is a table of the objects of a single simulation. The simulation registers assets and entities
+ * as they come and unregisters them as they go, while the registry follows exchanges as a {@link ListingListener}.
+ * Both changes and lookups are thread-safe.
+ *
+ * @author Dominik Szmyt
+ * @see Identifiable
+ * @since 1.1.0
+ */
+public class IdRegistry implements ListingListener {
+
+    /**
+     * An id that no object has.
+     */
+    public static final long NONE = 0L;
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(NONE);
+
+    private final Map<Long, Identifiable> objects = new ConcurrentHashMap<>();
+
+    /**
+     * Draws the next id from the sequence shared by all objects.
+     * @return A new id, never {@link #NONE}.
+     */
+    public static long nextId() {
+        return SEQUENCE.incrementAndGet();
+    }
+
+    /**
+     * Adds an object to the table.
+     * @param object An asset or an entity.
+     */
+    public void register(final Identifiable object) {
+        if (isNull(object)) return;
+
+        objects.put(object.getId(), object);
+    }
+
+    /**
+     * Removes an object from the table.
+     * @param object An asset or an entity that was registered.
+     */
+    public void unregister(final Identifiable object) {
+        if (isNull(object)) return;
+
+        objects.remove(object.getId(), object);
+    }
+
+    @Override
+    public void onListed(final Exchange exchange, final Asset asset) {
+        register(asset);
+    }
+
+    @Override
+    public void onDelisted(final Exchange exchange, final Asset asset) {
+        unregister(asset);
+    }
+
+    /**
+     * Looks up an object by it's id.
+     * @param id The id of an object.
+     * @return The object or {@code null} if there is no such object in the table.
+     */
+    public Identifiable find(final long id) {
+        return objects.get(id);
+    }
+
+    /**
+     * Looks up an object of a given type by it's id.
+     * @param id The id of an object.
+     * @param type The expected type of the object.
+     * @param <T> The expected type of the object.
+     * @return The object or {@code null} if there is no object of the given type with this id.
+     */
+    public <T extends Identifiable> T find(final long id, final Class<T> type) {
+        final Identifiable object = objects.get(id);
+        return type.isInstance(object) ? type.cast(object) : null;
+    }
+
+    /**
+     * Checks whether an object is registered.
+     * @param object An asset or an entity.
+     * @return {@code true} if the object is in the table, otherwise {@code false}.
+     */
+    public boolean contains(final Identifiable object) {
+        return nonNull(object) && objects.get(object.getId()) == object;
+    }
+
+    public int size() {
+        return objects.size();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("size", objects.size())
+                .toString();
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.marketstock.models.identity;
+
+/**
+ * Represents an object of a simulation with an id that never changes, e.g. an asset or an entity.
+ *
+ * @author Dominik Szmyt
+ * @see IdRegistry
+ * @since 1.1.0
+ */
+public interface Identifiable {
+
+    /**
+     * Each {@code Identifiable} implementation should have an id that is given once and never changes.
+     * @return The id of an object.
+     */
+    long getId();
+}
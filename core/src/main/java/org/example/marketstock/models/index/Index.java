@@ -3,22 +3,24 @@ package org.example.marketstock.models.index;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.exchange.ListingListener;
 
 import java.util.List;
 
 /**
  * Represents a named set of {@link Asset}s
  * that are listed in a certain {@link org.example.marketstock.models.exchange.Exchange}.
+ * An index follows it's exchange as a {@link ListingListener}, so that listed assets become it's constituents.
  *
  * @since 1.0.0
  * @author Dominik Szmyt
  */
-@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type")
 @JsonSubTypes({
         @JsonSubTypes.Type(value = NumericMaxIndex.class, name = "NUMERIC_MAX"),
         @JsonSubTypes.Type(value = NumericMinIndex.class, name = "NUMERIC_MIN")
 })
-public interface Index {
+public interface Index extends ListingListener {
 
     /**
      * Each {@code Index} implementation should have a unique type.
@@ -56,6 +58,7 @@ public interface Index {
     /**
      * Each {@code Index} implementation should provide a method that will update it's content.
      * Method should take raw list of assets and modify it's content according to it's intended use and size.
+     * Afterwards, an index should keep it's content up to date as rates of the given assets change.
      * @param content The list of assets that may replace the old content.
      */
     void updateIndex(List<Asset> content);
@@ -0,0 +1,250 @@
+package org.example.marketstock.models.index;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.RateListener;
+import org.example.marketstock.models.exchange.Exchange;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Represents a set of {@link Asset}s that are listed in a certain {@link org.example.marketstock.models.exchange.Exchange}.
+ * Any numeric characteristic describing the {@link Asset} can become a main criterion when assigning an asset to this index.
+ * <br>
+ * An index follows rate changes of it's constituents, which are split into the best assets that make the content
+ * and the rest of them. A rate change moves a single constituent between both sorted sets in O(log n)
+ * and updates the value by the difference of rates, so an index never sorts nor sums all of it's constituents.
+ * The content list is rebuilt only when it's read after a change, so a burst of trades costs a single copy.
+ * <br>
+ * Constituents are distinguished by identity, because an index follows the very instances listed in an exchange.
+ *
+ * @since 1.0.0
+ * @author Dominik Szmyt
+ */
+public abstract class NumericIndex implements Index {
+
+    protected static final Logger LOGGER = LogManager.getLogger(NumericIndex.class);
+
+    protected String name;
+    protected long size;
+    protected List<Asset> content;
+    protected double value;
+
+    @JsonIgnore
+    private final transient Map<Asset, Constituent> constituents = new IdentityHashMap<>();
+
+    @JsonIgnore
+    private final transient NavigableSet<Constituent> best = new TreeSet<>();
+
+    @JsonIgnore
+    private final transient NavigableSet<Constituent> rest = new TreeSet<>();
+
+    @JsonIgnore
+    private transient long nextSequence = 0L;
+
+    @JsonIgnore
+    private transient boolean contentChanged = false;
+
+    /**
+     * Create a {@code NumericIndex} with all necessary fields.
+     * @param name1 The name of a {@code NumericIndex}
+     * @param size1 The size of a {@code NumericIndex}
+     * @param content1 The content of a {@code NumericIndex}
+     * @param value1 The value of a {@code NumericIndex}, which is recalculated from the content anyway.
+     */
+    protected NumericIndex(final String name1,
+                           final long size1,
+                           final List<Asset> content1,
+                           final double value1) {
+
+        name = name1;
+        size = size1;
+        content = new ArrayList<>();
+        value = 0D;
+
+        updateIndex(content1);
+    }
+
+    /**
+     * Replaces constituents of an index with the provided list of assets.
+     * Assets that already belong to the index keep their positions, new assets are followed
+     * and assets that are missing from the list are no longer followed,
+     * even if the list contains equal copies of them.
+     * @param content1 The list of assets that may replace the old content.
+     */
+    @Override
+    public synchronized void updateIndex(final List<Asset> content1) {
+        final Map<Asset, Constituent> previous = new IdentityHashMap<>(constituents);
+
+        if (!isNull(content1)) {
+            for (final Asset asset : content1) {
+                if (isNull(previous.remove(asset))) {
+                    follow(asset);
+                }
+            }
+        }
+
+        previous.values().forEach(this::unfollow);
+    }
+
+    @Override
+    public synchronized void onListed(final Exchange exchange, final Asset asset) {
+        follow(asset);
+    }
+
+    @Override
+    public synchronized void onDelisted(final Exchange exchange, final Asset asset) {
+        final Constituent constituent = constituents.get(asset);
+
+        if (!isNull(constituent)) {
+            unfollow(constituent);
+        }
+    }
+
+    /**
+     * Returns the best assets of an index, rebuilding the list if any of them changed since the last call.
+     * @return The content of an index.
+     */
+    @Override
+    public synchronized List<Asset> getContent() {
+        if (contentChanged) {
+            final List<Asset> changed = new ArrayList<>(best.size());
+            best.forEach(constituent -> changed.add(constituent.asset));
+
+            content = changed;
+            contentChanged = false;
+            LOGGER.debug("[INDEX]: Content changes in {}", this);
+        }
+
+        return content;
+    }
+
+    @Override
+    public synchronized double getValue() {
+        return value;
+    }
+
+    /**
+     * Each {@link NumericIndex} extension should provide a method that compares rates of two assets.
+     * The method should return 0 when rates are equal and a negative number when the first rate should come first.
+     * @param rate1 The current rate of the first asset.
+     * @param rate2 The current rate of the second asset.
+     * @return 0 when rates are equal; a negative or a positive number depending on the intended order.
+     */
+    abstract protected int compare(double rate1, double rate2);
+
+    private void follow(final Asset asset) {
+        if (constituents.containsKey(asset)) {
+            return;
+        }
+
+        final Constituent constituent = new Constituent(asset, nextSequence++);
+        constituents.put(asset, constituent);
+
+        asset.addRateListener(constituent);
+        constituent.rate = asset.getCurrentRate();
+        insert(constituent);
+    }
+
+    private void unfollow(final Constituent constituent) {
+        constituents.remove(constituent.asset);
+        constituent.asset.removeRateListener(constituent);
+        detach(constituent);
+        rebalance();
+    }
+
+    private void insert(final Constituent constituent) {
+        rest.add(constituent);
+        rebalance();
+    }
+
+    private void detach(final Constituent constituent) {
+        if (constituent.inContent) {
+            best.remove(constituent);
+            value -= constituent.rate;
+            contentChanged = true;
+        } else {
+            rest.remove(constituent);
+        }
+    }
+
+    /**
+     * Fills the content with the best of the rest and swaps the worst asset of the content
+     * with the best of the rest if they are out of order. A single change needs at most one swap.
+     */
+    private void rebalance() {
+        while (best.size() < size && !rest.isEmpty()) {
+            promote(rest.pollFirst());
+        }
+
+        while (!best.isEmpty() && !rest.isEmpty() && rest.first().compareTo(best.last()) < 0) {
+            demote(best.pollLast());
+            promote(rest.pollFirst());
+        }
+
+        if (best.isEmpty()) {
+            value = 0D;
+        }
+    }
+
+    private void promote(final Constituent constituent) {
+        best.add(constituent);
+        constituent.inContent = true;
+        value += constituent.rate;
+        contentChanged = true;
+    }
+
+    private void demote(final Constituent constituent) {
+        rest.add(constituent);
+        constituent.inContent = false;
+        value -= constituent.rate;
+        contentChanged = true;
+    }
+
+    /**
+     * Follows rate changes of a single asset. The sequence breaks ties between assets with equal rates,
+     * so that the one added earlier comes first.
+     */
+    private final class Constituent implements RateListener, Comparable<Constituent> {
+
+        private final Asset asset;
+        private final long sequence;
+
+        private double rate;
+        private boolean inContent = false;
+
+        private Constituent(final Asset asset, final long sequence) {
+            this.asset = asset;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void onRateChange(final Asset asset, final double previousRate, final double currentRate) {
+            synchronized (NumericIndex.this) {
+                if (constituents.get(this.asset) != this || Double.compare(rate, currentRate) == 0) {
+                    return;
+                }
+
+                detach(this);
+                rate = currentRate;
+                insert(this);
+                LOGGER.debug("[INDEX]: Value changes to {} in {}.", value, name);
+            }
+        }
+
+        @Override
+        public int compareTo(final Constituent that) {
+            final int byRate = compare(rate, that.rate);
+            return byRate != 0 ? byRate : Long.compare(sequence, that.sequence);
+        }
+    }
+}
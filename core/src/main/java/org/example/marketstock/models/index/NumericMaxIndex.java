@@ -38,19 +38,15 @@ public class NumericMaxIndex extends NumericIndex implements Serializable {
     }
 
     /**
-     * This implementation when used in sorted method should arrange provided content in descending order.
+     * This implementation arranges constituents in descending order of their current rates.
      *
-     * @param asset1 First asset to compare.
-     * @param asset2 Second asset to compare.
-     * @return 0 when assets are equal; -1 when first asset has higher current rate than second; 1 otherwise.
+     * @param rate1 The current rate of the first asset.
+     * @param rate2 The current rate of the second asset.
+     * @return 0 when rates are equal; a negative number when the first rate is higher than the second; a positive number otherwise.
      */
     @Override
-    protected int compare(Asset asset1, Asset asset2) {
-        if (asset1.getCurrentRate() == asset2.getCurrentRate()) {
-            return 0;
-        }
-
-        return  asset1.getCurrentRate() > asset2.getCurrentRate() ? -1 : 1;
+    protected int compare(double rate1, double rate2) {
+        return Double.compare(rate2, rate1);
     }
 
     @Override
@@ -59,8 +55,8 @@ public class NumericMaxIndex extends NumericIndex implements Serializable {
                 .add("type", type)
                 .add("name", name)
                 .add("size", size)
-                .add("content", content)
-                .add("value", value)
+                .add("content", getContent())
+                .add("value", getValue())
                 .toString();
     }
 
@@ -92,13 +88,4 @@ public class NumericMaxIndex extends NumericIndex implements Serializable {
         return size;
     }
 
-    @Override
-    public double getValue() {
-        return value;
-    }
-
-    @Override
-    public List<Asset> getContent() {
-        return content;
-    }
 }
@@ -37,19 +37,15 @@ public class NumericMinIndex extends NumericIndex {
     }
 
     /**
-     * This implementation when used in sorted method should arrange provided content in ascending order.
+     * This implementation arranges constituents in ascending order of their current rates.
      *
-     * @param asset1 First asset to compare.
-     * @param asset2 Second asset to compare.
-     * @return 0 when assets are equal; 1 when first asset has higher current rate than second; -1 otherwise.
+     * @param rate1 The current rate of the first asset.
+     * @param rate2 The current rate of the second asset.
+     * @return 0 when rates are equal; a positive number when the first rate is higher than the second; a negative number otherwise.
      */
     @Override
-    protected int compare(Asset asset1, Asset asset2) {
-        if (asset1.getCurrentRate() == asset2.getCurrentRate()) {
-            return 0;
-        }
-
-        return asset1.getCurrentRate() > asset2.getCurrentRate() ? 1 : -1;
+    protected int compare(double rate1, double rate2) {
+        return Double.compare(rate1, rate2);
     }
 
     @Override
@@ -58,8 +54,8 @@ public class NumericMinIndex extends NumericIndex {
                 .add("type", type)
                 .add("name", name)
                 .add("size", size)
-                .add("content", content)
-                .add("value", value)
+                .add("content", getContent())
+                .add("value", getValue())
                 .toString();
     }
 
@@ -91,13 +87,4 @@ public class NumericMinIndex extends NumericIndex {
         return size;
     }
 
-    @Override
-    public List<Asset> getContent() {
-        return content;
-    }
-
-    @Override
-    public double getValue() {
-        return value;
-    }
 }
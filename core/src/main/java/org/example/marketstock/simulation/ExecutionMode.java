@@ -0,0 +1,96 @@
+package org.example.marketstock.simulation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Describes how a {@link Simulation} runs it's agents, that is companies, investors and investment funds.
+ * Every simulation runs in it's own mode, given to
+ * {@link org.example.marketstock.simulation.builder.SimulationBuilder#withExecutionMode(ExecutionMode)}.
+ * Unless stated otherwise, the builder reads it from the {@value #PROPERTY} system property
+ * and falls back to {@link #THREAD_POOL}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public enum ExecutionMode {
+
+    /**
+     * Every agent is a {@link Runnable} that sleeps in it's own thread taken from a fixed pool.
+     */
+    THREAD_POOL,
+
+    /**
+     * Every agent is stepped by a {@link org.example.marketstock.simulation.tick.TickScheduler}
+     * that uses a bounded number of threads no matter how many agents there are.
+     */
+    TICK,
+
+    /**
+     * Every agent is a {@link Runnable} that sleeps in it's own virtual thread, so there is no cap on agents.
+     * <br>
+     * <b>NOTE:</b> virtual threads require Java 21. On older runtimes every agent gets it's own platform thread.
+     */
+    VIRTUAL_THREADS;
+
+    public static final String PROPERTY = "marketstock.execution";
+    public static final int THREAD_POOL_SIZE = 100;
+
+    private static final Logger LOGGER = LogManager.getLogger(ExecutionMode.class);
+
+    /**
+     * Creates an {@link ExecutorService} that runs agents in this mode.
+     * In the {@link #TICK} mode agents aren't submitted to executors,
+     * so the returned pool stays idle and never starts a thread.
+     * @return A new executor service for agents.
+     */
+    public ExecutorService newAgentService() {
+        if (this == VIRTUAL_THREADS) {
+            return newVirtualThreadPerTaskExecutor();
+        }
+
+        return Executors.newFixedThreadPool(THREAD_POOL_SIZE);
+    }
+
+    /**
+     * Reads the execution mode from the {@value #PROPERTY} system property.
+     * @param defaultMode A mode used when the property is missing or invalid.
+     * @return The selected execution mode.
+     */
+    public static ExecutionMode fromSystemProperty(final ExecutionMode defaultMode) {
+        final String value = System.getProperty(PROPERTY);
+
+        if (isNull(value) || value.trim().isEmpty()) {
+            return defaultMode;
+        }
+
+        try {
+            return ExecutionMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException exception) {
+            LOGGER.warn("[APP]: Unknown execution mode {}, falling back to {}.", value, defaultMode);
+            return defaultMode;
+        }
+    }
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()} at runtime
+     * so that the application still compiles and runs on Java 8.
+     * @return An executor that starts a new virtual thread for each task
+     * or a cached thread pool if virtual threads aren't available.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            LOGGER.warn("[APP]: Virtual threads aren't available, every agent gets a platform thread instead.");
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
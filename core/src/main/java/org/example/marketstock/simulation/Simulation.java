@@ -0,0 +1,2035 @@
+package org.example.marketstock.simulation;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.vavr.Tuple3;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.marketstock.models.asset.AbstractAsset;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.Currency;
+import org.example.marketstock.models.asset.builder.CommodityBuilder;
+import org.example.marketstock.models.asset.builder.CurrencyBuilder;
+import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.company.builder.CompanyBuilder;
+import org.example.marketstock.models.entity.AbstractEntity;
+import org.example.marketstock.models.entity.Entity;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.entity.Player;
+import org.example.marketstock.models.entity.builder.InvestmentFundBuilder;
+import org.example.marketstock.models.entity.builder.InvestorBuilder;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.CurrencyExchange;
+import org.example.marketstock.models.exchange.Exchange;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.models.exchange.builder.CommodityExchangeBuilder;
+import org.example.marketstock.models.exchange.builder.CurrencyExchangeBuilder;
+import org.example.marketstock.models.exchange.book.OrderBook;
+import org.example.marketstock.models.exchange.book.Side;
+import org.example.marketstock.models.exchange.builder.StockExchangeBuilder;
+import org.example.marketstock.models.identity.IdRegistry;
+import org.example.marketstock.models.index.Index;
+import org.example.marketstock.models.index.IndexType;
+import org.example.marketstock.models.index.NumericMaxIndex;
+import org.example.marketstock.models.index.NumericMinIndex;
+import org.example.marketstock.models.index.builder.NumericMaxIndexBuilder;
+import org.example.marketstock.models.index.builder.NumericMinIndexBuilder;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Countable;
+import org.example.marketstock.simulation.collection.ElementListener;
+import org.example.marketstock.simulation.collection.ListenableList;
+import org.example.marketstock.simulation.croupier.Croupier;
+import org.example.marketstock.simulation.croupier.Croupiers;
+import org.example.marketstock.simulation.history.CandleAggregator;
+import org.example.marketstock.simulation.history.TickListener;
+import org.example.marketstock.simulation.history.TickStore;
+import org.example.marketstock.simulation.journal.Journal;
+import org.example.marketstock.simulation.lock.ChangeBarrier;
+import org.example.marketstock.simulation.lock.StripedLocks;
+import org.example.marketstock.simulation.market.MarketState;
+import org.example.marketstock.simulation.order.Order;
+import org.example.marketstock.simulation.order.OrderHandler;
+import org.example.marketstock.simulation.order.OrderPipeline;
+import org.example.marketstock.simulation.order.OrderType;
+import org.example.marketstock.simulation.selection.AssetRateIndex;
+import org.example.marketstock.simulation.selection.HoldingsIndex;
+import org.example.marketstock.simulation.serialization.SimulationDeserializer;
+import org.example.marketstock.simulation.serialization.SimulationSerializer;
+import org.example.marketstock.simulation.tick.TickScheduler;
+import org.example.marketstock.simulation.tick.Tickable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Represents a simplified world where entities can buy and sell assets.
+ * Takes care of adding or removing new objects safely.
+ * On top of that, provides methods for entities to choose assets and perform transactions.
+ * <br>
+ * Transactions don't block each other unless they touch the same asset or entity.
+ * Each transaction locks only it's asset and entity with {@link StripedLocks}.
+ * <br>
+ * Agents don't trade directly. They place orders that are applied by one {@link OrderPipeline} per exchange.
+ * Orders of listed assets rest as limit orders in the {@link OrderBook} of their exchange,
+ * where they meet orders of other agents and quotes of the issuer.
+ * The price of each trade becomes the rate of an asset.
+ * <br>
+ * If a {@link Journal} is given, every change that is applied is also recorded in it.
+ * <br>
+ * Every change passes the {@link ChangeBarrier} of a simulation before it locks anything,
+ * so that a consistent snapshot can be started while agents keep trading.
+ * <br>
+ * Assets and entities that are present in a simulation can be looked up by their ids in it's {@link IdRegistry}.
+ * Rates and numbers of present assets are mirrored in it's {@link MarketState} for whole-market scans.
+ * <br>
+ * Exchanges and entities are kept in {@link ListenableList}s, which don't depend on any UI toolkit,
+ * so a simulation runs headless as well. Changes of these lists are followed by the simulation's indices.
+ *
+ * @since 1.0.0
+ * @author Domink Szmyt
+ */
+@JsonSerialize(using = SimulationSerializer.class)
+@JsonDeserialize(using = SimulationDeserializer.class)
+public class Simulation {
+
+    private static final Logger LOGGER = LogManager.getLogger(Simulation.class);
+
+    private static final long TERMINATION_POLL_MILLIS = 100L;
+    private static final double LIMIT_DEVIATION = 0.05D;
+    private static final double ISSUER_SPREAD = 0.025D;
+
+    private final Player player;
+    private final ListenableList<StockExchange> stockExchanges;
+    private final ListenableList<CurrencyExchange> currencyExchanges;
+    private final ListenableList<CommodityExchange> commodityExchanges;
+    private final ListenableList<Investor> investors;
+    private final ListenableList<InvestmentFund> investmentFunds;
+    private final List<String> commodityNames;
+    private final List<String> currencyNames;
+    private final Croupier croupier;
+    private final Currency mainCurrency;
+    private final ExecutionMode executionMode;
+    private final TickScheduler tickScheduler;
+    private final Journal journal;
+    private final TickStore tickStore;
+    private final CandleAggregator candleAggregator;
+    private final ExecutorService entitiesService;
+    private final ScheduledExecutorService removalService = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("agent-removals").setDaemon(true).build());
+    private final ConcurrentMap<StockExchange, ExecutorService> companiesServices = new ConcurrentHashMap<>();
+    private final StripedLocks tradeLocks = new StripedLocks();
+    private final ChangeBarrier changeBarrier = new ChangeBarrier();
+    private final ConcurrentMap<Exchange, OrderPipeline> orderPipelines = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Asset, OrderPipeline> orderRoutes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Entity, OrderPipeline> restingRoutes = new ConcurrentHashMap<>();
+    private final OrderPipeline investmentFundsPipeline = newOrderPipeline("investment-funds", null);
+    private final AssetRateIndex assetRateIndex = new AssetRateIndex();
+    private final HoldingsIndex holdingsIndex = new HoldingsIndex();
+    private final IdRegistry idRegistry = new IdRegistry();
+    private final MarketState marketState = new MarketState();
+    private final Map<Tickable, Thread> agentThreads = new IdentityHashMap<>();
+    private final List<TickListener> tickListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean stepped = false;
+
+    public Simulation(final Player player,
+                      final List<StockExchange> stockExchanges,
+                      final List<CurrencyExchange> currencyExchanges,
+                      final List<CommodityExchange> commodityExchanges,
+                      final List<Investor> investors,
+                      final List<InvestmentFund> investmentFunds,
+                      final List<String> commodityNames,
+                      final List<String> currencyNames,
+                      final Croupier croupier,
+                      final Currency mainCurrency,
+                      final ExecutionMode executionMode,
+                      final TickScheduler tickScheduler,
+                      final Journal journal,
+                      final TickStore tickStore,
+                      final CandleAggregator candleAggregator) {
+
+        this.player = player;
+        this.stockExchanges = new ListenableList<>(stockExchanges);
+        this.currencyExchanges = new ListenableList<>(currencyExchanges);
+        this.commodityExchanges = new ListenableList<>(commodityExchanges);
+        this.investors = new ListenableList<>(investors);
+        this.investmentFunds = new ListenableList<>(investmentFunds);
+        this.commodityNames = commodityNames;
+        this.currencyNames = currencyNames;
+        this.croupier = croupier;
+        this.mainCurrency = mainCurrency;
+        this.executionMode = executionMode;
+        this.tickScheduler = tickScheduler;
+        this.journal = journal;
+        this.tickStore = tickStore;
+        this.candleAggregator = candleAggregator;
+        this.entitiesService = executionMode.newAgentService();
+
+        followExchanges(this.stockExchanges, StockExchange::getCompanies);
+        followExchanges(this.currencyExchanges, CurrencyExchange::getCurrencies);
+        followExchanges(this.commodityExchanges, CommodityExchange::getCommodities);
+        followInvestmentFunds(this.investmentFunds);
+        followEntities(this.investors);
+        followEntities(this.investmentFunds);
+        addEntity(player);
+        idRegistry.register(mainCurrency);
+        addTickListener(tickStore);
+        addTickListener(candleAggregator);
+        addTickListener(marketState);
+    }
+
+    /**
+     * Indexes assets listed by present exchanges and follows exchanges that are added or removed later,
+     * so that the {@link AssetRateIndex} always holds every listed asset.
+     * @param exchanges A list of exchanges of the same type.
+     * @param listedAssets A function that returns assets listed by an exchange.
+     * @param <E> The type of exchanges.
+     */
+    private <E extends Exchange> void followExchanges(final ListenableList<E> exchanges,
+                                                      final Function<E, List<? extends Asset>> listedAssets) {
+
+        exchanges.forEach(exchange -> followExchange(exchange, listedAssets.apply(exchange)));
+        exchanges.addListener(new ElementListener<E>() {
+            @Override
+            public void onAdded(final E exchange) {
+                followExchange(exchange, listedAssets.apply(exchange));
+            }
+
+            @Override
+            public void onRemoved(final E exchange) {
+                unfollowExchange(exchange, listedAssets.apply(exchange));
+            }
+        });
+    }
+
+    private void followExchange(final Exchange exchange, final List<? extends Asset> listedAssets) {
+        exchange.addListingListener(assetRateIndex);
+        exchange.addListingListener(idRegistry);
+        exchange.addListingListener(marketState);
+        if (nonNull(candleAggregator)) {
+            exchange.addListingListener(candleAggregator);
+        }
+        listedAssets.forEach(assetRateIndex::add);
+        listedAssets.forEach(idRegistry::register);
+        listedAssets.forEach(asset -> marketState.add(asset, exchange));
+    }
+
+    private void unfollowExchange(final Exchange exchange, final List<? extends Asset> listedAssets) {
+        exchange.removeListingListener(assetRateIndex);
+        exchange.removeListingListener(idRegistry);
+        exchange.removeListingListener(marketState);
+        listedAssets.forEach(assetRateIndex::remove);
+        listedAssets.forEach(idRegistry::unregister);
+        listedAssets.forEach(marketState::remove);
+        if (nonNull(candleAggregator)) {
+            exchange.removeListingListener(candleAggregator);
+            listedAssets.forEach(candleAggregator::remove);
+        }
+    }
+
+    private void followInvestmentFunds(final ListenableList<InvestmentFund> investmentFunds) {
+        investmentFunds.forEach(assetRateIndex::add);
+        investmentFunds.forEach(marketState::add);
+        investmentFunds.addListener(new ElementListener<InvestmentFund>() {
+            @Override
+            public void onAdded(final InvestmentFund investmentFund) {
+                assetRateIndex.add(investmentFund);
+                marketState.add(investmentFund);
+            }
+
+            @Override
+            public void onRemoved(final InvestmentFund investmentFund) {
+                assetRateIndex.remove(investmentFund);
+                marketState.remove(investmentFund);
+                if (nonNull(candleAggregator)) {
+                    candleAggregator.remove(investmentFund);
+                }
+            }
+        });
+    }
+
+    /**
+     * Registers present entities in the {@link IdRegistry}, attaches their briefcases to the {@link HoldingsIndex}
+     * and follows entities that are added or removed later, so that an asset is removed only from briefcases
+     * that hold it.
+     * @param entities A list of entities of the same type.
+     * @param <E> The type of entities.
+     */
+    private <E extends AbstractEntity> void followEntities(final ListenableList<E> entities) {
+        entities.forEach(this::addEntity);
+        entities.addListener(new ElementListener<E>() {
+            @Override
+            public void onAdded(final E entity) {
+                addEntity(entity);
+            }
+
+            @Override
+            public void onRemoved(final E entity) {
+                removeEntity(entity);
+            }
+        });
+    }
+
+    private void addEntity(final Entity entity) {
+        if (isNull(entity)) return;
+
+        idRegistry.register(entity);
+
+        if (nonNull(entity.getBriefcase())) {
+            entity.getBriefcase().attach(holdingsIndex, entity);
+        }
+    }
+
+    private void removeEntity(final Entity entity) {
+        idRegistry.unregister(entity);
+        cancelRestingOrder(entity, null);
+
+        if (nonNull(entity.getBriefcase())) {
+            entity.getBriefcase().detach();
+        }
+    }
+
+    /**
+     * Starts every company, investor and investment fund that is already present in the {@link Simulation}.
+     * Usually called after a simulation was loaded from a file.
+     */
+    public void start() {
+        stockExchanges.forEach(stockExchange ->
+                stockExchange.getCompanies().forEach(company -> startCompany(company, stockExchange)));
+
+        investors.forEach(this::startEntity);
+        investmentFunds.forEach(this::startEntity);
+    }
+
+    /**
+     * Starts every agent like {@link #start()}, but leaves ticks to whoever calls {@link TickScheduler#advance(long)},
+     * so that the simulation runs as fast as it can instead of in real time. Agents added later aren't clocked either.
+     * @throws IllegalStateException If agents aren't driven by ticks.
+     */
+    public void startStepped() {
+        if (executionMode != ExecutionMode.TICK) {
+            throw new IllegalStateException("Only a simulation in the TICK mode can be stepped, not " + executionMode);
+        }
+
+        stepped = true;
+        start();
+    }
+
+    /**
+     * Waits until every order that was placed so far is applied, for example before results are read
+     * from a stepped simulation.
+     * @param timeout The longest time to wait.
+     * @param unit The unit of the timeout.
+     * @return {@code true} if every pipeline is idle, {@code false} if the time ran out.
+     * @throws InterruptedException If the calling thread was interrupted while waiting.
+     */
+    public boolean awaitOrders(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        while (!getOrderPipelines().stream().allMatch(OrderPipeline::isIdle)) {
+            if (System.nanoTime() - deadline >= 0L) {
+                return false;
+            }
+
+            Thread.sleep(1L);
+        }
+
+        return true;
+    }
+
+    /**
+     * Stops every company, investor and investment fund regardless of the {@link ExecutionMode}.
+     */
+    public void shutdown() {
+        LOGGER.debug("[APP]: Stopping all companies...");
+        companiesServices.values().forEach(ExecutorService::shutdownNow);
+
+        LOGGER.debug("[APP]: Stopping investors and investment funds...");
+        entitiesService.shutdownNow();
+
+        removalService.shutdown();
+
+        LOGGER.debug("[APP]: Stopping order pipelines...");
+        orderPipelines.values().forEach(OrderPipeline::shutdown);
+        investmentFundsPipeline.shutdown();
+
+        if (executionMode == ExecutionMode.TICK) {
+            tickScheduler.shutdown();
+        }
+    }
+
+    /**
+     * Starts a company either in a thread from the pool of it's stock exchange
+     * or with the {@link TickScheduler}, depending on the {@link ExecutionMode}.
+     * @param company A company that is to be started.
+     * @param stockExchange A stock exchange that lists the company.
+     */
+    private void startCompany(final Company company, final StockExchange stockExchange) {
+        company.setChangeBarrier(changeBarrier);
+
+        if (executionMode == ExecutionMode.TICK) {
+            tickScheduler.register(company);
+            startClock();
+        } else {
+            getCompaniesService(stockExchange).submit(() -> runAgent(company));
+        }
+    }
+
+    private void startClock() {
+        if (!stepped) {
+            tickScheduler.start();
+        }
+    }
+
+    /**
+     * Stops a terminated agent right away instead of when it's next step is due.
+     * The {@link TickScheduler} drops the agent, while a thread that drives the agent is interrupted in it's sleep.
+     * An agent whose thread hasn't started yet stops as soon as it starts.
+     * @param tickable A company, an investor or an investment fund that was terminated.
+     */
+    private void stopAgent(final Tickable tickable) {
+        if (executionMode == ExecutionMode.TICK) {
+            tickScheduler.drop(tickable);
+            return;
+        }
+
+        synchronized (agentThreads) {
+            final Thread thread = agentThreads.get(tickable);
+            if (nonNull(thread)) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Starts an investor or an investment fund either in a thread from the entities pool
+     * or with the {@link TickScheduler}, depending on the {@link ExecutionMode}.
+     * @param entity An investor or an investment fund that is to be started.
+     * @param <T> Both {@link Investor} and {@link InvestmentFund}.
+     */
+    private <T extends AbstractEntity & Runnable & Tickable> void startEntity(final T entity) {
+        entity.setChangeBarrier(changeBarrier);
+
+        if (executionMode == ExecutionMode.TICK) {
+            tickScheduler.register(entity);
+            startClock();
+        } else {
+            entitiesService.submit(() -> runAgent(entity));
+        }
+    }
+
+    /**
+     * Runs an agent in the current thread and remembers the thread,
+     * so that the agent can be woken up from it's sleep once it's removed.
+     * @param agent A company, an investor or an investment fund that is to be run.
+     * @param <T> Agents that can be driven both by threads and by the {@link TickScheduler}.
+     */
+    private <T extends Runnable & Tickable> void runAgent(final T agent) {
+        synchronized (agentThreads) {
+            agentThreads.put(agent, Thread.currentThread());
+        }
+
+        try {
+            agent.run();
+        } finally {
+            synchronized (agentThreads) {
+                agentThreads.remove(agent);
+            }
+        }
+    }
+
+    /**
+     * Performs a purchase operation. The purchase operation consists of several steps:
+     * <ol>
+     *     <li>Evaluating the final number of a selected asset.</li>
+     *     <li>Calculating price - result is used to change entity's budget and company's turnover.</li>
+     *     <li>Changing the rate of a selected asset.</li>
+     *     <li>Decreasing the number of a selected asset if necessary.</li>
+     *     <li>Updating company's turnover and volume using calculated price and final number.</li>
+     * </ol>
+     * Since there is a chance that the rate or count of a selected asset or entity's budget
+     * may change between choosing and buying it, method changes the final number of asset if necessary.
+     * <br>
+     * Only the selected asset and entity are locked during the purchase.
+     * Indices of stock exchanges follow the rate change on their own.
+     *
+     * @param asset An asset to buy.
+     * @param number The number of a selected asset.
+     * @param originalRate The original rate of a selected asset.
+     * @param entity An entity that wants to buy selected asset.
+     * @return The number of successfully purchased asset.
+     */
+    public int buySelectedResource(final Asset asset,
+                                   final int number,
+                                   final double originalRate,
+                                   final Entity entity) {
+
+        return executeBuy(asset, number, originalRate, entity);
+    }
+
+    private int executeBuy(final Asset asset,
+                           final int number,
+                           final double originalRate,
+                           final Entity entity) {
+
+        changeBarrier.enter(asset, entity);
+        try {
+            tradeLocks.lock(asset, entity);
+            try {
+                return buyLocked(asset, number, originalRate, entity);
+            } finally {
+                tradeLocks.unlock(asset, entity);
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    private int buyLocked(final Asset asset,
+                          final int number,
+                          final double originalRate,
+                          final Entity entity) {
+
+        final double currentRate = asset.getCurrentRate();
+        int finalNumber = number;
+
+        // If asset's rate has changed between choosing an asset and buying it,
+        // count how many asset can be purchased with current rate.
+        if (Double.compare(currentRate, originalRate) != 0) {
+            final double originalPrice = number * originalRate;
+            finalNumber = (int) Math.floor(originalPrice / currentRate);
+            LOGGER.warn("[PURCHASE][RATE_WARN]: Number has changed from {} to {} when purchasing {} for {}.",
+                    number, finalNumber, asset, entity);
+
+            if (finalNumber == 0) return finalNumber;
+            else if (finalNumber < 0) {
+                LOGGER.error("[PURCHASE][RATE_ERROR]: Negative number of {}, to purchase by {}.", asset, entity);
+                // FIXME should throw exception because unacceptable
+                return 0;
+            }
+        }
+
+        // If available number has changed between choosing an asset and buying it,
+        // assign new possible number to final number of asset.
+        if (asset instanceof Countable && finalNumber > ((Countable) asset).getNumberOfAssets()) {
+            finalNumber = ((Countable) asset).getNumberOfAssets();
+            LOGGER.warn("[PURCHASE][NUMBER_WARN]: Number has changed from {} to {} when purchasing {} for {}.",
+                    number, finalNumber, asset, entity);
+
+            if (finalNumber == 0) return finalNumber;
+            else if (finalNumber < 0) {
+                LOGGER.error("[PURCHASE][NUMBER_ERROR]: Negative number of {}, to purchase by {}.", asset, entity);
+                // FIXME should throw exception because unacceptable
+                return 0;
+            }
+        }
+
+        // If entity's budget has changed between choosing an asset and buying it,
+        // count how many asset the entity can still afford.
+        if (currentRate * finalNumber > entity.getBudget()) {
+            final int affordableNumber = (int) Math.floor(entity.getBudget() / currentRate);
+            LOGGER.warn("[PURCHASE][BUDGET_WARN]: Number has changed from {} to {} when purchasing {} for {}.",
+                    finalNumber, affordableNumber, asset, entity);
+            finalNumber = currentRate * affordableNumber > entity.getBudget() ? affordableNumber - 1 : affordableNumber;
+
+            if (finalNumber <= 0) return 0;
+        }
+
+        final double price = currentRate * finalNumber;
+        entity.addAsset(price, asset, finalNumber);
+        LOGGER.debug("[PURCHASE]: {} bought {} of {} for {}.", entity, finalNumber, asset, price);
+
+        final double rate = currentRate + currentRate * 0.05;
+        asset.updateRate(rate);
+
+        if (asset instanceof Countable) {
+            ((Countable) asset).decreaseNumberOfAssets(finalNumber);
+        }
+
+        if (asset instanceof Company) {
+            ((Company) asset).updateTurnoverAndVolume(price, finalNumber);
+        }
+
+        notifyTickListeners(asset, rate, finalNumber);
+
+        if (isJournaled()) {
+            journal.recordPurchase(asset, entity, finalNumber, price, rate);
+        }
+
+        return finalNumber;
+    }
+
+    /**
+     * Performs a sell operation. The sell operation consists of several steps:
+     * <ol>
+     *     <li>Calculating price - result is used to change company's turnover.</li>
+     *     <li>Calculating price minus asset's margin - result is used to increase entity's budget.</li>
+     *     <li>Changing the rate of a selected asset.</li>
+     *     <li>Increasing the number of a selected asset if necessary.</li>
+     *     <li>Updating company's turnover and volume using calculated price and initial number.</li>
+     * </ol>
+     *
+     * If the entity doesn't hold enough of the selected asset at that moment, nothing is sold.
+     * <br>
+     * Only the selected asset and entity are locked during the sale.
+     * Indices of stock exchanges follow the rate change on their own.
+     *
+     * @param asset An asset to sell.
+     * @param number The number of a selected asset
+     * @param entity An entity that wants to sell the selected asset.
+     */
+    public void sellSelectedResource(final Asset asset,
+                                     final int number,
+                                     final Entity entity) {
+
+        executeSell(asset, number, entity);
+    }
+
+    private boolean executeSell(final Asset asset,
+                                final int number,
+                                final Entity entity) {
+
+        changeBarrier.enter(asset, entity);
+        try {
+            tradeLocks.lock(asset, entity);
+            try {
+                return sellLocked(asset, number, entity);
+            } finally {
+                tradeLocks.unlock(asset, entity);
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Settles a trade matched in an order book. The buyer, the seller and the asset are locked,
+     * then both sides are checked once again, because they may have changed since the orders were placed.
+     * The rate of an asset becomes the price of the trade.
+     *
+     * @param asset A traded asset.
+     * @param buyer An entity that buys the asset.
+     * @param seller An entity that sells the asset.
+     * @param price The price of a single asset.
+     * @param number The number of traded asset.
+     * @return {@code true} if the trade was settled, otherwise {@code false}.
+     */
+    private boolean executeTrade(final Asset asset,
+                                 final Entity buyer,
+                                 final Entity seller,
+                                 final double price,
+                                 final int number) {
+
+        changeBarrier.enter(asset, buyer, seller);
+        try {
+            tradeLocks.lock(asset, buyer, seller);
+            try {
+                return tradeLocked(asset, buyer, seller, price, number);
+            } finally {
+                tradeLocks.unlock(asset, buyer, seller);
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    private boolean tradeLocked(final Asset asset,
+                                final Entity buyer,
+                                final Entity seller,
+                                final double price,
+                                final int number) {
+
+        final double total = price * number;
+
+        if (seller.getBriefcase().getCount(asset) < number) {
+            LOGGER.warn("[TRADE][NUMBER_WARN]: {} doesn't hold {} of {} anymore.", seller, number, asset);
+            return false;
+        } else if (buyer.getBudget() < total) {
+            LOGGER.warn("[TRADE][BUDGET_WARN]: {} can't afford {} of {} anymore.", buyer, number, asset);
+            return false;
+        }
+
+        buyer.addAsset(total, asset, number);
+        seller.subtractAsset(total - total * asset.getMargin(), asset, number);
+        asset.updateRate(price);
+        LOGGER.debug("[TRADE]: {} bought {} of {} from {} for {}.", buyer, number, asset, seller, total);
+
+        if (asset instanceof Company) {
+            ((Company) asset).updateTurnoverAndVolume(total, number);
+        }
+
+        notifyTickListeners(asset, price, number);
+
+        if (isJournaled()) {
+            journal.recordTrade(asset, buyer, seller, price, number);
+        }
+
+        return true;
+    }
+
+    /**
+     * Settles a trade matched in an order book, either between two entities or between an entity
+     * and the issuer of an asset.
+     * Orders of entities that were removed from the simulation in the meantime aren't settled.
+     *
+     * @param asset A traded asset.
+     * @param buyer An entity that buys the asset or the asset itself if it's issuer buys it back.
+     * @param seller An entity that sells the asset or the asset itself if it's issuer sells it.
+     * @param price The price of a single asset.
+     * @param number The number of traded asset.
+     * @return {@code true} if the trade was settled, otherwise {@code false}.
+     */
+    private boolean settle(final Asset asset,
+                           final Object buyer,
+                           final Object seller,
+                           final double price,
+                           final int number) {
+
+        if (buyer == asset) {
+            return idRegistry.contains((Entity) seller) && executeBuyback(asset, (Entity) seller, price, number);
+        } else if (seller == asset) {
+            return idRegistry.contains((Entity) buyer) && executeIssue(asset, (Entity) buyer, price, number);
+        }
+
+        return idRegistry.contains((Entity) buyer)
+                && idRegistry.contains((Entity) seller)
+                && executeTrade(asset, (Entity) buyer, (Entity) seller, price, number);
+    }
+
+    private boolean executeIssue(final Asset asset,
+                                 final Entity buyer,
+                                 final double price,
+                                 final int number) {
+
+        changeBarrier.enter(asset, buyer);
+        try {
+            tradeLocks.lock(asset, buyer);
+            try {
+                return issueLocked(asset, buyer, price, number);
+            } finally {
+                tradeLocks.unlock(asset, buyer);
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    private boolean issueLocked(final Asset asset,
+                                final Entity buyer,
+                                final double price,
+                                final int number) {
+
+        final double total = price * number;
+
+        if (asset instanceof Countable && ((Countable) asset).getNumberOfAssets() < number) {
+            LOGGER.warn("[TRADE][NUMBER_WARN]: Issuer of {} doesn't have {} of it anymore.", asset, number);
+            return false;
+        } else if (buyer.getBudget() < total) {
+            LOGGER.warn("[TRADE][BUDGET_WARN]: {} can't afford {} of {} anymore.", buyer, number, asset);
+            return false;
+        }
+
+        buyer.addAsset(total, asset, number);
+        asset.updateRate(price);
+        LOGGER.debug("[TRADE]: {} bought {} of {} from it's issuer for {}.", buyer, number, asset, total);
+
+        if (asset instanceof Countable) {
+            ((Countable) asset).decreaseNumberOfAssets(number);
+        }
+
+        if (asset instanceof Company) {
+            ((Company) asset).updateTurnoverAndVolume(total, number);
+        }
+
+        notifyTickListeners(asset, price, number);
+
+        if (isJournaled()) {
+            journal.recordPurchase(asset, buyer, number, total, price);
+        }
+
+        return true;
+    }
+
+    private boolean executeBuyback(final Asset asset,
+                                   final Entity seller,
+                                   final double price,
+                                   final int number) {
+
+        changeBarrier.enter(asset, seller);
+        try {
+            tradeLocks.lock(asset, seller);
+            try {
+                return buybackLocked(asset, seller, price, number);
+            } finally {
+                tradeLocks.unlock(asset, seller);
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    private boolean buybackLocked(final Asset asset,
+                                  final Entity seller,
+                                  final double price,
+                                  final int number) {
+
+        if (seller.getBriefcase().getCount(asset) < number) {
+            LOGGER.warn("[TRADE][NUMBER_WARN]: {} doesn't hold {} of {} anymore.", seller, number, asset);
+            return false;
+        }
+
+        final double total = price * number;
+        final double totalMinusMargin = total - total * asset.getMargin();
+        seller.subtractAsset(totalMinusMargin, asset, number);
+        asset.updateRate(price);
+        LOGGER.debug("[TRADE]: {} sold {} of {} to it's issuer for {}.", seller, number, asset, totalMinusMargin);
+
+        if (asset instanceof Countable) {
+            ((Countable) asset).increaseNumberOfAssets(number);
+        }
+
+        if (asset instanceof Company) {
+            ((Company) asset).updateTurnoverAndVolume(total, number);
+        }
+
+        notifyTickListeners(asset, price, number);
+
+        if (isJournaled()) {
+            journal.recordSale(asset, seller, number, total, totalMinusMargin, price);
+        }
+
+        return true;
+    }
+
+    private boolean sellLocked(final Asset asset,
+                               final int number,
+                               final Entity entity) {
+
+        // If entity has sold some of the asset between choosing it and selling it, abort the sale.
+        if (entity.getBriefcase().getCount(asset) < number) {
+            LOGGER.warn("[PURCHASE][NUMBER_WARN]: {} doesn't hold {} of {} anymore.", entity, number, asset);
+            return false;
+        }
+
+        final double currentRate = asset.getCurrentRate();
+        final double price = currentRate * number;
+        final double priceMinusMargin = price - price * asset.getMargin();
+        entity.subtractAsset(priceMinusMargin, asset, number);
+        LOGGER.debug("[PURCHASE]: {} sold {} of {} for {}.", entity, asset, number, priceMinusMargin);
+
+        final double rate = currentRate  - currentRate * 0.05;
+        asset.updateRate(rate);
+
+        if (asset instanceof Countable) {
+            ((Countable) asset).increaseNumberOfAssets(number);
+        }
+
+        if (asset instanceof Company) {
+            ((Company) asset).updateTurnoverAndVolume(price, number);
+        }
+
+        notifyTickListeners(asset, rate, number);
+
+        if (isJournaled()) {
+            journal.recordSale(asset, entity, number, price, priceMinusMargin, rate);
+        }
+
+        return true;
+    }
+
+    /**
+     * Places an order to buy the selected asset. The order is applied asynchronously
+     * by the pipeline of an exchange that lists the asset. It rests in the order book of the asset
+     * as a limit order drawn around the original rate until it is filled or the entity places it's next order.
+     * Investment funds are bought from their issuers just like in {@link #buySelectedResource}.
+     * If the pipeline can't accept the order, an investment fund is bought immediately in the calling thread,
+     * while an order of a listed asset is dropped, because order books are touched only by their pipelines.
+     *
+     * @param asset An asset to buy.
+     * @param number The number of a selected asset.
+     * @param originalRate The original rate of a selected asset.
+     * @param entity An entity that wants to buy selected asset.
+     */
+    public void placeBuyOrder(final Asset asset,
+                              final int number,
+                              final double originalRate,
+                              final Entity entity) {
+
+        final OrderPipeline pipeline = orderPipelineOf(asset);
+        cancelRestingOrder(entity, pipeline);
+
+        if (!pipeline.publish(OrderType.BUY, asset, number, originalRate, entity)
+                && pipeline == investmentFundsPipeline) {
+            buySelectedResource(asset, number, originalRate, entity);
+        }
+    }
+
+    /**
+     * Places an order to sell the selected asset. The order is applied asynchronously
+     * by the pipeline of an exchange that lists the asset. It rests in the order book of the asset
+     * as a limit order drawn around the current rate until it is filled or the entity places it's next order.
+     * Investment funds are sold back to their issuers just like in {@link #sellSelectedResource}.
+     * If the pipeline can't accept the order, an investment fund is sold immediately in the calling thread,
+     * while an order of a listed asset is dropped, because order books are touched only by their pipelines.
+     *
+     * @param asset An asset to sell.
+     * @param number The number of a selected asset.
+     * @param entity An entity that wants to sell the selected asset.
+     */
+    public void placeSellOrder(final Asset asset,
+                               final int number,
+                               final Entity entity) {
+
+        final OrderPipeline pipeline = orderPipelineOf(asset);
+        cancelRestingOrder(entity, pipeline);
+
+        if (!pipeline.publish(OrderType.SELL, asset, number, asset.getCurrentRate(), entity)
+                && pipeline == investmentFundsPipeline) {
+            sellSelectedResource(asset, number, entity);
+        }
+    }
+
+    /**
+     * Withdraws the order that an entity left resting in a book of another pipeline,
+     * because every decision of an entity replaces it's previous one.
+     * A pipeline that receives the next order of the same entity cancels it's resting order on it's own.
+     * @param entity An entity that places an order or is removed.
+     * @param pipeline The pipeline of the next order or {@code null} if the entity is removed.
+     */
+    private void cancelRestingOrder(final Entity entity, final OrderPipeline pipeline) {
+        final OrderPipeline previous = nonNull(pipeline) && pipeline != investmentFundsPipeline
+                ? restingRoutes.put(entity, pipeline)
+                : restingRoutes.remove(entity);
+
+        if (nonNull(previous) && previous != pipeline) {
+            previous.publish(OrderType.CANCEL, null, 0, 0D, entity);
+        }
+    }
+
+    /**
+     * Finds the pipeline of an exchange that lists the asset and starts it if necessary.
+     * The result is cached until the asset is removed.
+     * Investment funds and assets that aren't listed anywhere share a separate pipeline.
+     * @param asset An asset that is to be traded.
+     * @return The order pipeline responsible for the asset.
+     */
+    private OrderPipeline orderPipelineOf(final Asset asset) {
+        final OrderPipeline cached = orderRoutes.get(asset);
+        if (nonNull(cached)) {
+            return cached;
+        }
+
+        final Optional<? extends Exchange> exchange;
+        if (asset instanceof Company) {
+            exchange = stockExchanges.stream()
+                    .filter(stockExchange -> stockExchange.getCompanies().contains(asset))
+                    .findFirst();
+        } else if (asset instanceof Currency) {
+            exchange = currencyExchanges.stream()
+                    .filter(currencyExchange -> currencyExchange.getCurrencies().contains(asset))
+                    .findFirst();
+        } else if (asset instanceof Commodity) {
+            exchange = commodityExchanges.stream()
+                    .filter(commodityExchange -> commodityExchange.getCommodities().contains(asset))
+                    .findFirst();
+        } else {
+            exchange = Optional.empty();
+        }
+
+        final OrderPipeline pipeline = exchange
+                .<OrderPipeline>map(value -> orderPipelines.computeIfAbsent(value,
+                        key -> newOrderPipeline(key.getName(), key)))
+                .orElse(investmentFundsPipeline);
+
+        pipeline.start();
+        orderRoutes.put(asset, pipeline);
+        return pipeline;
+    }
+
+    private OrderPipeline newOrderPipeline(final String name, final Exchange exchange) {
+        return new OrderPipeline(name, new OrderMatcher(exchange));
+    }
+
+    private void removeOrderPipeline(final Exchange exchange) {
+        final OrderPipeline pipeline = orderPipelines.remove(exchange);
+
+        if (nonNull(pipeline)) {
+            pipeline.shutdown();
+        }
+    }
+
+    /**
+     * Performs a purchase selection operation. The operation consists of several steps:
+     * <ol>
+     *     <li>Selecting an asset with the lowest current rate at that moment, other than the entity itself.</li>
+     *     <li>Calculating the number of a selected asset while taking into account entity's budget and available stock.</li>
+     * </ol>
+     * Since there is a chance that an entity may be an asset as well, the entity is skipped just in case.
+     * <br>
+     * The cheapest asset is taken from the {@link AssetRateIndex}, which is kept up to date as rates change.
+     * Nothing is locked during the selection, because the purchase checks the selection once again.
+     *
+     * @param entity An entity that wants to choose asset.
+     * @return A tuple where the first value is the selected asset; second - the selected number; third - original rate.
+     */
+    public Optional<Tuple3<Asset, Integer, Double>> chooseAssetToBuy(final Entity entity) {
+
+        // Entity shouldn't buy itself so let's skip any possible entities that are assets as well.
+        final Asset chosenAsset = entity instanceof Asset
+                ? assetRateIndex.cheapestExcept((Asset) entity)
+                : assetRateIndex.cheapest();
+
+        if (chosenAsset == null) return Optional.empty();
+
+        final double chosenRate = chosenAsset.getCurrentRate();
+        int possibleNumber = (int) Math.floor(entity.getBudget() / chosenRate);
+
+        // Entity shouldn't buy more than it's currently available
+        if (chosenAsset instanceof Countable && possibleNumber > ((Countable) chosenAsset).getNumberOfAssets()) {
+            possibleNumber = ((Countable) chosenAsset).getNumberOfAssets();
+        }
+
+        if (possibleNumber <= 0) return Optional.empty();
+
+        final int chosenNumber = croupier.getRandom().nextInt(possibleNumber) + 1;
+        LOGGER.debug("[SELECTION]: {} chose {} of {} to buy.", entity, chosenNumber, chosenAsset);
+        return Optional.of(new Tuple3<>(chosenAsset, chosenNumber, chosenRate));
+    }
+
+    /**
+     * Performs a sell selection operation. The operation consists of several steps:
+     * <ol>
+     *     <li>Selecting an asset with the highest current rate at that moment.</li>
+     *     <li>Calculating the number of a selected asset while taking into account available stock.</li>
+     * </ol>
+     *
+     * The most expensive asset is taken from the briefcase's index instead of scanning the briefcase.
+     * The entity is locked while it's briefcase is read.
+     *
+     * @param entity An entity that wants to choose asset to sell.
+     * @return A tuple where the first value is the selected asset; second - the number of asset; third - original rate.
+     */
+    public Optional<Tuple3<Asset, Integer, Double>> chooseAssetToSell(final Entity entity) {
+        tradeLocks.lock(entity);
+        try {
+            return chooseAssetToSellLocked(entity);
+        } finally {
+            tradeLocks.unlock(entity);
+        }
+    }
+
+    private Optional<Tuple3<Asset, Integer, Double>> chooseAssetToSellLocked(final Entity entity) {
+        final Asset chosenAsset = entity.getBriefcase().getMostExpensiveAsset();
+
+        if (chosenAsset == null) return Optional.empty();
+
+        final int count = entity.getBriefcase().getCount(chosenAsset);
+
+        if (count <= 0) return Optional.empty();
+
+        final int chosenNumber = croupier.getRandom().nextInt(count) + 1;
+        LOGGER.debug("[SELECTION]: {} chose {} of {} to sell.", entity, chosenNumber, chosenAsset);
+        return Optional.of(new Tuple3<>(chosenAsset, chosenNumber, chosenAsset.getCurrentRate()));
+    }
+
+    /**
+     * Adds a random investor and investment fund when number of available assets is divisible by 5.
+     * Method is used by the UI after the user adds a random asset.
+     */
+    public void issueEntities() {
+        changeBarrier.enter();
+        try {
+            synchronized (this) {
+                if (getAvailableAssets().size() % 5 == 0) {
+                    addInvestor();
+                    addInvestmentFund();
+                }
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Creates the list of available assets from exchanges as well as investment funds.
+     * @return A list of available assets.
+     */
+    public List<Asset> getAvailableAssets() {
+        final List<Asset> availableAssets = new ArrayList<>();
+
+        availableAssets.addAll(stockExchanges.stream()
+                .map(StockExchange::getCompanies)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList())
+        );
+
+        availableAssets.addAll(currencyExchanges.stream()
+                .map(CurrencyExchange::getCurrencies)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList())
+        );
+
+        availableAssets.addAll(commodityExchanges.stream()
+                .map(CommodityExchange::getCommodities)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList())
+        );
+
+        availableAssets.addAll(investmentFunds);
+
+        return availableAssets;
+    }
+
+    /**
+     * Creates a new {@link Investor} with random values generated by {@link Croupier} and starts it.
+     * @return A new investor with random values.
+     */
+    public Investor addInvestor() {
+        changeBarrier.enter();
+        try {
+            final Investor investor = InvestorBuilder.builder()
+                    .withFirstName(croupier.drawFirstName())
+                    .withLastName(croupier.drawLastName())
+                    .withPESEL(croupier.drawPESEL())
+                    .withBudget(croupier.drawBudget())
+                    .withBriefcase(BriefcaseBuilder.builder()
+                            .withMap(new HashMap<>())
+                            .build())
+                    .withSimulation(this)
+                    .build();
+
+            if (isJournaled()) {
+                journal.recordInvestorAdded(investor);
+            }
+
+            startEntity(investor);
+            investors.add(investor);
+            LOGGER.info("[ADDED]: {}", investor);
+            return investor;
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Gracefully stops investor's thread, then removes them from the {@link Simulation}.
+     * @param investor An investor that will be removed from the {@link Simulation}.
+     */
+    public synchronized void removeInvestor(final Investor investor) {
+        if (!investor.isActive()) {
+            return;
+        }
+
+        investor.terminate();
+        stopAgent(investor);
+
+        removeWhenTerminated(investor::isTerminated, () -> {
+            changeBarrier.enter();
+            try {
+                investors.remove(investor);
+
+                if (isJournaled()) {
+                    journal.recordEntityRemoved(investor);
+                }
+            } finally {
+                changeBarrier.exit();
+            }
+        });
+    }
+
+    /**
+     * Runs a removal once an agent has terminated. Agents are checked every {@value #TERMINATION_POLL_MILLIS} ms
+     * on a single daemon thread that every removal shares. A simulation that was shut down removes agents at once.
+     * @param terminated Tells whether an agent has terminated.
+     * @param removal Removes the agent from the simulation.
+     */
+    private void removeWhenTerminated(final BooleanSupplier terminated, final Runnable removal) {
+        removeWhenTerminated(terminated, removal, 0L);
+    }
+
+    private void removeWhenTerminated(final BooleanSupplier terminated, final Runnable removal, final long delay) {
+        try {
+            removalService.schedule(() -> {
+                if (terminated.getAsBoolean()) {
+                    removal.run();
+                } else {
+                    removeWhenTerminated(terminated, removal, TERMINATION_POLL_MILLIS);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException exception) {
+            removal.run();
+        }
+    }
+
+    /**
+     * Creates new {@link InvestmentFund} with random value generated by {@link Croupier} and starts it.
+     * @return A new investment fund with random values.
+     */
+    public InvestmentFund addInvestmentFund() {
+        changeBarrier.enter();
+        try {
+            final double currentRate = croupier.drawCurrentRate();
+
+            final InvestmentFund investmentFund = InvestmentFundBuilder.builder()
+                    .withName(croupier.drawInvestmentFundName())
+                    .withCurrentRate(currentRate)
+                    .withMinRate(currentRate)
+                    .withMaxRate(currentRate)
+                    .withRateChanges(new ArrayList<>(Collections.singletonList(currentRate)))
+                    .withMargin(croupier.drawMargin() * 100D)
+                    .withBudget(croupier.drawBudget())
+                    .withNumberOfAssets(croupier.drawNumberOfAssets())
+                    .withBriefcase(BriefcaseBuilder.builder()
+                            .withMap(new HashMap<>())
+                            .build())
+                    .withSimulation(this)
+                    .build();
+
+            if (isJournaled()) {
+                journal.recordInvestmentFundAdded(investmentFund);
+            }
+
+            startEntity(investmentFund);
+            investmentFunds.add(investmentFund);
+            LOGGER.info("[ADDED]: {}", investmentFund);
+            return investmentFund;
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Gracefully stops investment fund's thread, then removes it from the {@link Simulation}
+     * and briefcases that belong to each entity in the {@link Simulation}.
+     * @param investmentFund An investment fund that will be removed from the {@link Simulation}.
+     */
+    public void removeInvestmentFund(final InvestmentFund investmentFund) {
+        if (!investmentFund.isActive()) {
+            return;
+        }
+
+        investmentFund.terminate();
+        stopAgent(investmentFund);
+
+        removeWhenTerminated(investmentFund::isTerminated, () -> {
+            changeBarrier.enter();
+            try {
+                synchronized (this) {
+                    removeAssetFromBriefcase(investmentFund);
+                    investmentFunds.remove(investmentFund);
+
+                    if (isJournaled()) {
+                        journal.recordEntityRemoved(investmentFund);
+                    }
+                }
+            } finally {
+                changeBarrier.exit();
+            }
+        });
+    }
+
+    /**
+     * Removes the selected asset from briefcases that belong to each entity in the {@link Simulation}.
+     * Only entities that hold the asset are visited, since they're found in the {@link HoldingsIndex}.
+     * @param asset An asset that will be removed from all briefcases.
+     */
+    public void removeAssetFromBriefcase(final Asset asset) {
+        removeAssetsFromBriefcases(Collections.singletonList(asset));
+    }
+
+    /**
+     * Removes assets from briefcases that belong to each entity in the {@link Simulation},
+     * for example all assets listed by an exchange. Each entity that holds any of the assets is locked once.
+     * @param assets Assets that will be removed from all briefcases.
+     */
+    private void removeAssetsFromBriefcases(final List<? extends Asset> assets) {
+        changeBarrier.enter();
+        try {
+            assets.forEach(orderRoutes::remove);
+            holdingsIndex.holdingsOf(assets).forEach(this::removeAssetsFromBriefcase);
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    private void removeAssetsFromBriefcase(final Entity entity, final List<Asset> assets) {
+        changeBarrier.enter(entity);
+        try {
+            tradeLocks.lock(entity);
+            try {
+                assets.forEach(entity.getBriefcase()::removeEntirely);
+            } finally {
+                tradeLocks.unlock(entity);
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Creates new {@link StockExchange} with random values generated by {@link Croupier}.
+     * @return A new stock exchange with random values.
+     */
+    public StockExchange addStockExchange() {
+        changeBarrier.enter();
+        try {
+            final String city = croupier.drawCity();
+
+            StockExchange stockExchange = StockExchangeBuilder.builder()
+                    .withName("Stock exchange in " + city)
+                    .withCountry(croupier.drawCountry())
+                    .withCity(city)
+                    .withAddress(croupier.drawAddress())
+                    .withCurrency(croupier.drawCurrency())
+                    .withMargin(croupier.drawMargin())
+                    .withIndices(new ArrayList<>())
+                    .withCompanies(new ArrayList<>())
+                    .build();
+
+            LOGGER.debug("[CREATED]: {}", stockExchange);
+            stockExchanges.add(stockExchange);
+
+            if (isJournaled()) {
+                journal.recordExchangeAdded(stockExchange);
+            }
+
+            return stockExchange;
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Shuts down every company's thread and removes all companies from briefcases
+     * that belong to each entity in the {@link Simulation}.
+     * Then, removes selected stock exchange from the {@link Simulation}.
+     * @param stockExchange A stock exchange that will be removed from the {@link Simulation}.
+     */
+    public void removeStockExchange(final StockExchange stockExchange) {
+        changeBarrier.enter();
+        try {
+            removeOrderPipeline(stockExchange);
+            final ExecutorService companiesService = companiesServices.remove(stockExchange);
+            if (nonNull(companiesService)) {
+                companiesService.shutdownNow();
+            }
+            stockExchanges.remove(stockExchange);
+
+            synchronized (this) {
+                removeAssetsFromBriefcases(stockExchange.getCompanies());
+            }
+
+            if (isJournaled()) {
+                journal.recordExchangeRemoved(stockExchange);
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Creates a new {@link CurrencyExchange} with random values generated by {@link Croupier}.
+     * @return A new currency exchange with random values.
+     */
+    public CurrencyExchange addCurrencyExchange() {
+        changeBarrier.enter();
+        try {
+            final String city = croupier.drawCity();
+
+            CurrencyExchange currencyExchange = CurrencyExchangeBuilder.builder()
+                    .withName("Currency exchange in " + city)
+                    .withCountry(croupier.drawCountry())
+                    .withCity(city)
+                    .withAddress(croupier.drawAddress())
+                    .withCurrency(croupier.drawCurrency())
+                    .withMargin(croupier.drawMargin())
+                    .withCurrencies(new ArrayList<>())
+                    .build();
+
+            LOGGER.debug("[CREATED]: {}", currencyExchange);
+            currencyExchanges.add(currencyExchange);
+
+            if (isJournaled()) {
+                journal.recordExchangeAdded(currencyExchange);
+            }
+
+            return currencyExchange;
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Removes the selected currency exchange from the {@link Simulation}.
+     * Then, removes every currency from briefcases that belong to each entity in the {@link Simulation}.
+     * @param currencyExchange A currency exchange that will be removed from the {@link Simulation}.
+     */
+    public void removeCurrencyExchange(final CurrencyExchange currencyExchange) {
+        changeBarrier.enter();
+        try {
+            removeOrderPipeline(currencyExchange);
+            currencyExchanges.remove(currencyExchange);
+
+            synchronized (this) {
+                removeAssetsFromBriefcases(currencyExchange.getCurrencies());
+            }
+
+            if (isJournaled()) {
+                journal.recordExchangeRemoved(currencyExchange);
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Creates a new {@link CommodityExchange} with random values generated by {@link Croupier}.
+     * @return A new commodity exchange with random values.
+     */
+    public CommodityExchange addCommodityExchange() {
+        changeBarrier.enter();
+        try {
+            final String city = croupier.drawCity();
+
+            CommodityExchange commodityExchange = CommodityExchangeBuilder.builder()
+                    .withName("Commodity exchange in " + city)
+                    .withCountry(croupier.drawCountry())
+                    .withCity(city)
+                    .withAddress(croupier.drawAddress())
+                    .withCurrency(croupier.drawCurrency())
+                    .withMargin(croupier.drawMargin())
+                    .withCommodities(new ArrayList<>())
+                    .build();
+
+            LOGGER.debug("[CREATED]: {}", commodityExchange);
+            commodityExchanges.add(commodityExchange);
+
+            if (isJournaled()) {
+                journal.recordExchangeAdded(commodityExchange);
+            }
+
+            return commodityExchange;
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Removes the selected commodity exchange from the {@link Simulation}.
+     * Then, removes every commodity from briefcases that belong to each entity in the {@link Simulation}.
+     * @param commodityExchange A commodity exchange that will be removed from the {@link Simulation}.
+     */
+    public void removeCommodityExchange(final CommodityExchange commodityExchange) {
+        changeBarrier.enter();
+        try {
+            removeOrderPipeline(commodityExchange);
+            commodityExchanges.remove(commodityExchange);
+
+            synchronized (this) {
+                removeAssetsFromBriefcases(commodityExchange.getCommodities());
+            }
+
+            if (isJournaled()) {
+                journal.recordExchangeRemoved(commodityExchange);
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Creates a new {@link Company} with random values generated by {@link Croupier}.
+     * The company is then added to the selected {@link StockExchange} and started.
+     * @param stockExchange - A selected stock exchange that will own the company.
+     * @return A new company with random values.
+     */
+    public Company addCompany(final StockExchange stockExchange) {
+        changeBarrier.enter();
+        try {
+            double openingRate = croupier.drawOpeningRate();
+
+            Company company = CompanyBuilder.builder()
+                    .withName(croupier.drawCompanyName())
+                    .withDateOfFirstValuation(croupier.drawDateOfFirstValuation())
+                    .withOpeningQuotation(openingRate)
+                    .withCurrentRate(openingRate)
+                    .withMaxRate(openingRate)
+                    .withMinRate(openingRate)
+                    .withRateChanges(new ArrayList<>(Collections.singletonList(openingRate)))
+                    .withNumberOfAssets(croupier.drawNumberOfAssets())
+                    .withProfit(croupier.drawProfit())
+                    .withRevenue(croupier.drawRevenue())
+                    .withEquityCapital(croupier.drawEquityCapital())
+                    .withOpeningCapital(croupier.drawOpeningCapital())
+                    .withVolume(0)
+                    .withTurnover(0)
+                    .withMargin(stockExchange.getMargin())
+                    .build();
+
+            LOGGER.debug("[CREATED]: {}", company);
+
+            if (isJournaled()) {
+                journal.recordListed(stockExchange, company);
+            }
+
+            startCompany(company, stockExchange);
+            stockExchange.addCompany(company);
+            return company;
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Gracefully stops company's thread, then removes it from the selected {@link StockExchange}
+     * and briefcases that belong to each entity in the {@link Simulation}.
+     * @param company A company that will be removed from the selected stock exchange.
+     * @param stockExchange A stock exchange that will have one of it's companies removed.
+     */
+    public void removeCompany(final Company company, final StockExchange stockExchange) {
+        if (!company.isActive()) {
+            return;
+        }
+
+        company.terminate();
+        stopAgent(company);
+
+        removeWhenTerminated(company::isTerminated, () -> {
+            changeBarrier.enter();
+            try {
+                synchronized (this) {
+                    removeAssetFromBriefcase(company);
+                    stockExchange.removeCompany(company);
+                    stockExchange.closeOrderBook(company);
+
+                    if (isJournaled()) {
+                        journal.recordDelisted(stockExchange, company);
+                    }
+                }
+            } finally {
+                changeBarrier.exit();
+            }
+        });
+    }
+
+    /**
+     * Creates a new {@link Commodity} with random values generated by {@link Croupier}.
+     * There is a chance that there won't be any available commodities for a selected commodity exchange.
+     * In such case, an empty {@link Optional} is returned.
+     * @param commodityExchange A commodity exchange that will own the commodity.
+     * @return If there are no available names for commodity exchange, optional is empty.
+     */
+    public Optional<Commodity> addCommodity(final CommodityExchange commodityExchange) {
+        changeBarrier.enter();
+        try {
+            List<String> names = commodityExchange.getCommodities().stream()
+                    .map(commodity -> commodity.getName() + ";" + commodity.getUnitOfTrading())
+                    .collect(Collectors.toList());
+
+            List<String> availableNames = new ArrayList<>(commodityNames);
+            availableNames.removeAll(names);
+
+            if (availableNames.isEmpty()) {
+                return Optional.empty();
+            }
+
+            final String name = Croupiers.drawString(Arrays.copyOf(availableNames.toArray(), availableNames.size(), String[].class));
+            final double currentRate = croupier.drawCurrentRate();
+
+            final Commodity commodity = CommodityBuilder.builder()
+                    .withName(name.split(";")[0])
+                    .withCurrentRate(currentRate)
+                    .withMinRate(currentRate)
+                    .withMaxRate(currentRate)
+                    .withRateChanges(new ArrayList<>(Collections.singletonList(currentRate)))
+                    .withMargin(commodityExchange.getMargin())
+                    .withUnitOfTrading(name.split(";")[1])
+                    .withCurrency(commodityExchange.getCurrency())
+                    .build();
+
+            LOGGER.debug("[CREATED]: {}", commodity);
+            commodityExchange.addResource(commodity);
+
+            if (isJournaled()) {
+                journal.recordListed(commodityExchange, commodity);
+            }
+
+            return Optional.of(commodity);
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Removes a commodity from the selected {@link CommodityExchange}
+     * and briefcases that belong to each entity in the {@link Simulation}.
+     * @param commodity A commodity that will be removed from the selected commodity exchange.
+     * @param commodityExchange A commodity exchange that will have one of it's commodities removed.
+     */
+    public void removeCommodity(final Commodity commodity, final CommodityExchange commodityExchange) {
+        changeBarrier.enter();
+        try {
+            synchronized (this) {
+                removeAssetFromBriefcase(commodity);
+                commodityExchange.closeOrderBook(commodity);
+                commodityExchange.removeResource(commodity);
+
+                if (isJournaled()) {
+                    journal.recordDelisted(commodityExchange, commodity);
+                }
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Creates a new {@link Currency} with random values generated by {@link Croupier}.
+     * There is a chance that there won't be any available currencies for a selected currency exchange.
+     * In such case, an empty {@link Optional} is returned.
+     * @param currencyExchange A currency exchange that will own the currency.
+     * @return If there are no available names for currency exchange, optional is empty.
+     */
+    public Optional<Currency> addCurrency(final CurrencyExchange currencyExchange) {
+        changeBarrier.enter();
+        try {
+            List<String> names = currencyExchange.getCurrencies().stream()
+                    .map(AbstractAsset::getName)
+                    .collect(Collectors.toList());
+
+            List<String> availableNames = new ArrayList<>(currencyNames);
+            availableNames.removeAll(names);
+
+            if (availableNames.isEmpty()) {
+                return Optional.empty();
+            }
+
+            final String name = Croupiers.drawString(Arrays.copyOf(availableNames.toArray(), availableNames.size(), String[].class));
+            final double currentRate = croupier.drawCurrentRate();
+
+            final Currency currency = CurrencyBuilder.builder()
+                    .withName(name)
+                    .withCurrentRate(currentRate)
+                    .withMinRate(currentRate)
+                    .withMaxRate(currentRate)
+                    .withRateChanges(new ArrayList<>(Collections.singletonList(currentRate)))
+                    .withMargin(currencyExchange.getMargin())
+                    .withCountries(Arrays.asList(croupier.drawCountries()))
+                    .withComparisonCurrency(mainCurrency)
+                    .build();
+
+            LOGGER.debug("[CREATED]: {}", currency);
+            currencyExchange.addCurrency(currency);
+
+            if (isJournaled()) {
+                journal.recordListed(currencyExchange, currency);
+            }
+
+            return Optional.of(currency);
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Removes a currency from the selected {@link CurrencyExchange}
+     * and briefcases that belong to each entity in the {@link Simulation}.
+     * @param currency A currency that will be removed from the selected currency exchange.
+     * @param currencyExchange A currency exchange that will have one of it's currencies removed.
+     */
+    public void removeCurrency(final Currency currency, final CurrencyExchange currencyExchange) {
+        changeBarrier.enter();
+        try {
+            synchronized (this) {
+                removeAssetFromBriefcase(currency);
+                currencyExchange.removeCurrency(currency);
+                currencyExchange.closeOrderBook(currency);
+
+                if (isJournaled()) {
+                    journal.recordDelisted(currencyExchange, currency);
+                }
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Creates a new {@link Index} with random values generated by {@link Croupier}.
+     * There is a chance that there won't be any available indices for the selected stock exchange.
+     * In such case, an empty {@link Optional} is returned.
+     * @param stockExchange A stock exchange that will own the index.
+     * @return If there are no available indices for stock exchange, optional is empty.
+     */
+    public Optional<Index> addIndex(final StockExchange stockExchange) {
+        changeBarrier.enter();
+        try {
+            final List<String> indices = stockExchange.getIndices().stream()
+                    .map(Index::getType)
+                    .map(Enum::name)
+                    .collect(Collectors.toList());
+
+            final List<String> available = Stream.of(IndexType.values())
+                    .map(Enum::name)
+                    .collect(Collectors.toList());
+
+            available.removeAll(indices);
+
+            if (available.isEmpty()) {
+                return Optional.empty();
+            }
+
+            final String typeValue = Croupiers.drawString(Arrays.copyOf(available.toArray(), available.size(), String[].class));
+            final IndexType type = IndexType.valueOf(typeValue);
+
+            switch (type) {
+                case NUMERIC_MAX: {
+                    final NumericMaxIndex index = NumericMaxIndexBuilder.builder()
+                            .withName("Top 5 companies")
+                            .withSize(5)
+                            .withContent(new ArrayList<>(stockExchange.getCompanies()))
+                            .withValue(0.0D)
+                            .build();
+
+                    LOGGER.debug("[CREATED]: {}", index);
+                    stockExchange.addIndex(index);
+
+                    if (isJournaled()) {
+                        journal.recordIndexAdded(stockExchange, index);
+                    }
+
+                    return Optional.of(index);
+                }
+                case NUMERIC_MIN: {
+                    final NumericMinIndex index = NumericMinIndexBuilder.builder()
+                            .withName("Last 5 companies")
+                            .withSize(5)
+                            .withContent(new ArrayList<>(stockExchange.getCompanies()))
+                            .withValue(0.0D)
+                            .build();
+
+                    LOGGER.debug("[CREATED]: {}", index);
+                    stockExchange.addIndex(index);
+
+                    if (isJournaled()) {
+                        journal.recordIndexAdded(stockExchange, index);
+                    }
+
+                    return Optional.of(index);
+                }
+                default:
+                    return Optional.empty();
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Removes an index from the selected {@link StockExchange}.
+     * @param index An index that will be removed from the selected stock exchange.
+     * @param stockExchange A stock exchange that will have one of it's indices removed.
+     */
+    public void removeIndex(final Index index, final StockExchange stockExchange) {
+        changeBarrier.enter();
+        try {
+            final int position = stockExchange.getIndices().indexOf(index);
+            stockExchange.removeIndex(index);
+
+            if (position >= 0 && isJournaled()) {
+                journal.recordIndexRemoved(stockExchange, position);
+            }
+        } finally {
+            changeBarrier.exit();
+        }
+    }
+
+    /**
+     * Tells whether changes of this {@link Simulation} are recorded, which is the case once it was checkpointed
+     * by it's {@link Journal}.
+     */
+    private boolean isJournaled() {
+        return nonNull(journal) && journal.isRecording(this);
+    }
+
+    /**
+     * Tells {@link TickListener}s about a trade of an asset, which happened just now.
+     * A stepped simulation runs faster than real time, so it's trades are stamped with the simulated time
+     * of the {@link TickScheduler} instead of the wall clock.
+     */
+    private void notifyTickListeners(final Asset asset, final double price, final int volume) {
+        if (tickListeners.isEmpty()) return;
+
+        final long timestamp = stepped ? tickScheduler.getSimulatedMillis() : System.currentTimeMillis();
+        for (final TickListener tickListener : tickListeners) {
+            tickListener.onTick(asset, timestamp, price, volume);
+        }
+    }
+
+    public void addTickListener(final TickListener tickListener) {
+        if (nonNull(tickListener)) {
+            tickListeners.add(tickListener);
+        }
+    }
+
+    public void removeTickListener(final TickListener tickListener) {
+        tickListeners.remove(tickListener);
+    }
+
+    public Player getPlayer() {
+        return this.player;
+    }
+
+    public ListenableList<StockExchange> getStockExchanges() {
+        return stockExchanges;
+    }
+
+    public ListenableList<CurrencyExchange> getCurrencyExchanges() {
+        return currencyExchanges;
+    }
+
+    public ListenableList<CommodityExchange> getCommodityExchanges() {
+        return commodityExchanges;
+    }
+
+    public ListenableList<Investor> getInvestors() {
+        return investors;
+    }
+
+    public ListenableList<InvestmentFund> getInvestmentFunds() {
+        return investmentFunds;
+    }
+
+    public List<String> getCommodityNames() {
+        return commodityNames;
+    }
+
+    public List<String> getCurrencyNames() {
+        return currencyNames;
+    }
+
+    public Croupier getCroupier() {
+        return croupier;
+    }
+
+    public Currency getMainCurrency() {
+        return mainCurrency;
+    }
+
+    public ExecutorService getEntitiesService() {
+        return entitiesService;
+    }
+
+    /**
+     * Returns the pool of threads that run companies listed by a stock exchange,
+     * created in the {@link ExecutionMode} of this simulation when it's first needed.
+     * @param stockExchange A stock exchange of the simulation.
+     * @return The pool of the stock exchange's companies.
+     */
+    public ExecutorService getCompaniesService(final StockExchange stockExchange) {
+        return companiesServices.computeIfAbsent(stockExchange, key -> executionMode.newAgentService());
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public TickScheduler getTickScheduler() {
+        return tickScheduler;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    public TickStore getTickStore() {
+        return tickStore;
+    }
+
+    public CandleAggregator getCandleAggregator() {
+        return candleAggregator;
+    }
+
+    public HoldingsIndex getHoldingsIndex() {
+        return holdingsIndex;
+    }
+
+    public IdRegistry getIdRegistry() {
+        return idRegistry;
+    }
+
+    public MarketState getMarketState() {
+        return marketState;
+    }
+
+    public StripedLocks getTradeLocks() {
+        return tradeLocks;
+    }
+
+    public ChangeBarrier getChangeBarrier() {
+        return changeBarrier;
+    }
+
+    public AssetRateIndex getAssetRateIndex() {
+        return assetRateIndex;
+    }
+
+    /**
+     * Returns pipelines of every exchange that received at least one order as well as the investment funds pipeline.
+     * Useful to monitor queue depth and latency of orders.
+     * @return The list of order pipelines.
+     */
+    public List<OrderPipeline> getOrderPipelines() {
+        final List<OrderPipeline> pipelines = new ArrayList<>(orderPipelines.values());
+        pipelines.add(investmentFundsPipeline);
+        return pipelines;
+    }
+
+    /**
+     * Applies orders of a single pipeline. Orders of assets listed by the pipeline's exchange rest in order books
+     * as limit orders, at a limit that differs from the rate the entity saw by up to 5 percent,
+     * until they are filled or the entity places it's next order, which cancels them.
+     * While an order is matched, the issuer of it's asset quotes 2.5 percent above and below it's current rate,
+     * so that entities that start with empty briefcases always find a counterparty.
+     * Orders of investment funds aren't listed anywhere and are traded with their issuers directly.
+     * <br>
+     * Resting orders aren't backed by a reservation. Each trade is checked once again when it is settled
+     * and a resting order that can't be settled is cancelled by the book.
+     */
+    private final class OrderMatcher implements OrderHandler {
+
+        private final Exchange exchange;
+        private final Map<Entity, RestingOrder> restingOrders = new HashMap<>();
+
+        private OrderMatcher(final Exchange exchange) {
+            this.exchange = exchange;
+        }
+
+        @Override
+        public void handle(final Order order) {
+            if (order.getType() == OrderType.CANCEL) {
+                cancel(order.getEntity());
+            } else if (nonNull(exchange)) {
+                cancel(order.getEntity());
+
+                if (order.getType() == OrderType.BUY) {
+                    placeBuy(order);
+                } else {
+                    placeSell(order);
+                }
+            } else if (order.getType() == OrderType.BUY) {
+                executeBuy(order.getAsset(), order.getNumber(), order.getOriginalRate(), order.getEntity());
+            } else {
+                executeSell(order.getAsset(), order.getNumber(), order.getEntity());
+            }
+        }
+
+        /**
+         * Bids only as many assets as the entity can afford at it's limit right now,
+         * so that a trade in the book fails only because of the resting seller.
+         */
+        private void placeBuy(final Order order) {
+            final Entity entity = order.getEntity();
+            final double limit = drawLimit(order.getOriginalRate());
+            final int affordable = (int) Math.min(order.getNumber(), entity.getBudget() / limit);
+
+            if (affordable > 0) {
+                place(order.getAsset(), Side.BUY, limit, affordable, entity);
+            }
+        }
+
+        /**
+         * Asks only as many assets as the entity holds right now,
+         * so that a trade in the book fails only because of the resting buyer.
+         */
+        private void placeSell(final Order order) {
+            final Asset asset = order.getAsset();
+            final Entity entity = order.getEntity();
+            final int held = Math.min(order.getNumber(), entity.getBriefcase().getCount(asset));
+
+            if (held > 0) {
+                place(asset, Side.SELL, drawLimit(order.getOriginalRate()), held, entity);
+            }
+        }
+
+        private void place(final Asset asset,
+                           final Side side,
+                           final double limit,
+                           final int quantity,
+                           final Entity entity) {
+
+            final OrderBook orderBook = orderBookOf(asset);
+            final double rate = asset.getCurrentRate();
+            final int supply = asset instanceof Countable
+                    ? Math.min(quantity, ((Countable) asset).getNumberOfAssets())
+                    : quantity;
+
+            final long ask = supply > 0
+                    ? orderBook.placeLimitOrder(Side.SELL, rate + rate * ISSUER_SPREAD, supply, asset)
+                    : OrderBook.NOT_RESTING;
+            final long bid = orderBook.placeLimitOrder(Side.BUY, rate - rate * ISSUER_SPREAD, quantity, asset);
+            final long id = orderBook.placeLimitOrder(side, limit, quantity, entity);
+            orderBook.cancel(ask);
+            orderBook.cancel(bid);
+
+            if (id != OrderBook.NOT_RESTING) {
+                restingOrders.put(entity, new RestingOrder(orderBook, id));
+            }
+        }
+
+        private void cancel(final Entity entity) {
+            final RestingOrder restingOrder = restingOrders.remove(entity);
+
+            if (nonNull(restingOrder)) {
+                restingOrder.orderBook.cancel(restingOrder.id);
+            }
+        }
+
+        private double drawLimit(final double rate) {
+            return rate + rate * ThreadLocalRandom.current().nextDouble(-LIMIT_DEVIATION, LIMIT_DEVIATION);
+        }
+
+        private OrderBook orderBookOf(final Asset asset) {
+            final OrderBook orderBook = exchange.getOrderBook(asset);
+
+            if (nonNull(orderBook)) {
+                return orderBook;
+            }
+
+            return exchange.openOrderBook(asset, (buyer, seller, price, quantity) ->
+                    settle(asset, buyer, seller, price, quantity));
+        }
+    }
+
+    /**
+     * An order that an entity left resting in an order book.
+     */
+    private static final class RestingOrder {
+
+        private final OrderBook orderBook;
+        private final long id;
+
+        private RestingOrder(final OrderBook orderBook, final long id) {
+            this.orderBook = orderBook;
+            this.id = id;
+        }
+    }
+}
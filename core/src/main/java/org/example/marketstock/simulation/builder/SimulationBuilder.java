@@ -1,6 +1,5 @@
 package org.example.marketstock.simulation.builder;
 
-import javafx.collections.ObservableList;
 import org.example.marketstock.models.asset.Currency;
 import org.example.marketstock.models.entity.InvestmentFund;
 import org.example.marketstock.models.entity.Investor;
@@ -8,8 +7,13 @@ import org.example.marketstock.models.entity.Player;
 import org.example.marketstock.models.exchange.CommodityExchange;
 import org.example.marketstock.models.exchange.CurrencyExchange;
 import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.simulation.ExecutionMode;
 import org.example.marketstock.simulation.Simulation;
 import org.example.marketstock.simulation.croupier.Croupier;
+import org.example.marketstock.simulation.history.CandleAggregator;
+import org.example.marketstock.simulation.history.TickStore;
+import org.example.marketstock.simulation.journal.Journal;
+import org.example.marketstock.simulation.tick.TickScheduler;
 
 import java.util.List;
 
@@ -25,15 +29,20 @@ import static java.util.Objects.isNull;
 public final class SimulationBuilder {
 
     private Player player;
-    private ObservableList<StockExchange> stockExchanges;
-    private ObservableList<CurrencyExchange> currencyExchanges;
-    private ObservableList<CommodityExchange> commodityExchanges;
-    private ObservableList<Investor> investors;
-    private ObservableList<InvestmentFund> investmentFunds;
+    private List<StockExchange> stockExchanges;
+    private List<CurrencyExchange> currencyExchanges;
+    private List<CommodityExchange> commodityExchanges;
+    private List<Investor> investors;
+    private List<InvestmentFund> investmentFunds;
     private List<String> commodityNames;
     private List<String> currencyNames;
     private Croupier croupier;
     private Currency mainCurrency;
+    private ExecutionMode executionMode = ExecutionMode.fromSystemProperty(ExecutionMode.THREAD_POOL);
+    private TickScheduler tickScheduler;
+    private Journal journal;
+    private TickStore tickStore;
+    private CandleAggregator candleAggregator;
 
     public static SimulationBuilder builder() {
         return new SimulationBuilder();
@@ -62,27 +71,27 @@ public final class SimulationBuilder {
         return this;
     }
 
-    public SimulationBuilder withStockExchanges(final ObservableList<StockExchange> stockExchanges) {
+    public SimulationBuilder withStockExchanges(final List<StockExchange> stockExchanges) {
         this.stockExchanges = stockExchanges;
         return this;
     }
 
-    public SimulationBuilder withCurrencyExchanges(final ObservableList<CurrencyExchange> currencyExchanges) {
+    public SimulationBuilder withCurrencyExchanges(final List<CurrencyExchange> currencyExchanges) {
         this.currencyExchanges = currencyExchanges;
         return this;
     }
 
-    public SimulationBuilder withCommodityExchange(final ObservableList<CommodityExchange> commodityExchange) {
+    public SimulationBuilder withCommodityExchange(final List<CommodityExchange> commodityExchange) {
         this.commodityExchanges = commodityExchange;
         return this;
     }
 
-    public SimulationBuilder withInvestors(final ObservableList<Investor> investors) {
+    public SimulationBuilder withInvestors(final List<Investor> investors) {
         this.investors = investors;
         return this;
     }
 
-    public SimulationBuilder withInvestmentFunds(final ObservableList<InvestmentFund> investmentFunds) {
+    public SimulationBuilder withInvestmentFunds(final List<InvestmentFund> investmentFunds) {
         this.investmentFunds = investmentFunds;
         return this;
     }
@@ -107,13 +116,44 @@ public final class SimulationBuilder {
         return this;
     }
 
+    public SimulationBuilder withExecutionMode(final ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+        return this;
+    }
+
+    public SimulationBuilder withTickScheduler(final TickScheduler tickScheduler) {
+        this.tickScheduler = tickScheduler;
+        return this;
+    }
+
+    public SimulationBuilder withJournal(final Journal journal) {
+        this.journal = journal;
+        return this;
+    }
+
+    public SimulationBuilder withTickStore(final TickStore tickStore) {
+        this.tickStore = tickStore;
+        return this;
+    }
+
+    public SimulationBuilder withCandleAggregator(final CandleAggregator candleAggregator) {
+        this.candleAggregator = candleAggregator;
+        return this;
+    }
+
     public Simulation build() {
+        final TickScheduler scheduler = executionMode == ExecutionMode.TICK && isNull(tickScheduler)
+                ? new TickScheduler()
+                : tickScheduler;
+
         return new Simulation(
                 player,
                 stockExchanges, currencyExchanges, commodityExchanges,
                 investors, investmentFunds,
                 commodityNames, currencyNames,
-                croupier, mainCurrency
+                croupier, mainCurrency,
+                executionMode, scheduler,
+                journal, tickStore, candleAggregator
         );
     }
 }
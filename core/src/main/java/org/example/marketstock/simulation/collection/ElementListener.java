@@ -0,0 +1,24 @@
+package org.example.marketstock.simulation.collection;
+
+/**
+ * Receives elements added to or removed from a {@link ListenableList}. Called in the thread that changed the list,
+ * while the list is still locked for other changes, so it should be quick and must not block.
+ *
+ * @param <E> The type of elements.
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public interface ElementListener<E> {
+
+    /**
+     * Called after an element was added.
+     * @param element An element that was added.
+     */
+    void onAdded(E element);
+
+    /**
+     * Called after an element was removed.
+     * @param element An element that was removed.
+     */
+    void onRemoved(E element);
+}
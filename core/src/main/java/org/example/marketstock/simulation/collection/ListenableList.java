@@ -0,0 +1,206 @@
+package org.example.marketstock.simulation.collection;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A thread-safe list that tells {@link ElementListener}s about every element that is added or removed,
+ * so that a simulation can follow it's exchanges and entities without any UI toolkit.
+ * <br>
+ * Elements are kept in a {@link CopyOnWriteArrayList}. Reads and iterations don't lock and iterate over
+ * a snapshot, while changes are rare and run one at a time, so listeners receive them in order.
+ * Iterators don't support removal, use {@link #remove(Object)} or {@link #removeIf(Predicate)} instead.
+ *
+ * @param <E> The type of elements.
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public final class ListenableList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final CopyOnWriteArrayList<E> elements;
+    private final List<ElementListener<? super E>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create an empty {@code ListenableList}.
+     */
+    public ListenableList() {
+        this.elements = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Create a {@code ListenableList} with copies of references to given elements.
+     * @param elements Initial elements or {@code null}.
+     */
+    public ListenableList(final Collection<? extends E> elements) {
+        this.elements = isNull(elements) ? new CopyOnWriteArrayList<>() : new CopyOnWriteArrayList<>(elements);
+    }
+
+    @Override
+    public E get(final int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public synchronized E set(final int index, final E element) {
+        final E previous = elements.set(index, element);
+        notifyRemoved(previous);
+        notifyAdded(element);
+        return previous;
+    }
+
+    @Override
+    public synchronized void add(final int index, final E element) {
+        elements.add(index, element);
+        notifyAdded(element);
+    }
+
+    @Override
+    public synchronized boolean addAll(final Collection<? extends E> added) {
+        final List<E> copy = new ArrayList<>(added);
+
+        if (!elements.addAll(copy)) {
+            return false;
+        }
+
+        copy.forEach(this::notifyAdded);
+        return true;
+    }
+
+    @Override
+    public synchronized E remove(final int index) {
+        final E removed = elements.remove(index);
+        notifyRemoved(removed);
+        return removed;
+    }
+
+    @Override
+    public synchronized boolean remove(final Object object) {
+        final int index = elements.indexOf(object);
+
+        if (index < 0) {
+            return false;
+        }
+
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean removeAll(final Collection<?> removed) {
+        return removeIf(removed::contains);
+    }
+
+    @Override
+    public synchronized boolean retainAll(final Collection<?> retained) {
+        return removeIf(element -> !retained.contains(element));
+    }
+
+    @Override
+    public synchronized boolean removeIf(final Predicate<? super E> filter) {
+        final List<E> removed = new ArrayList<>();
+
+        for (final E element : elements) {
+            if (filter.test(element)) {
+                removed.add(element);
+            }
+        }
+
+        removed.forEach(this::remove);
+        return !removed.isEmpty();
+    }
+
+    @Override
+    public synchronized void clear() {
+        final List<E> removed = new ArrayList<>(elements);
+        elements.clear();
+        removed.forEach(this::notifyRemoved);
+    }
+
+    @Override
+    protected synchronized void removeRange(final int fromIndex, final int toIndex) {
+        for (int index = toIndex - 1; index >= fromIndex; index--) {
+            remove(index);
+        }
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        return elements.contains(object);
+    }
+
+    @Override
+    public int indexOf(final Object object) {
+        return elements.indexOf(object);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return elements.iterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return elements.listIterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(final int index) {
+        return elements.listIterator(index);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return elements.spliterator();
+    }
+
+    @Override
+    public void forEach(final Consumer<? super E> action) {
+        elements.forEach(action);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(final T[] array) {
+        return elements.toArray(array);
+    }
+
+    public void addListener(final ElementListener<? super E> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final ElementListener<? super E> listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyAdded(final E element) {
+        for (final ElementListener<? super E> listener : listeners) {
+            listener.onAdded(element);
+        }
+    }
+
+    private void notifyRemoved(final E element) {
+        for (final ElementListener<? super E> listener : listeners) {
+            listener.onRemoved(element);
+        }
+    }
+}
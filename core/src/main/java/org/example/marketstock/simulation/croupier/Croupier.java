@@ -1,69 +1,69 @@
 package org.example.marketstock.simulation.croupier;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.MoreObjects;
 import org.example.marketstock.simulation.json.ResourcesReader;
 
-import java.net.URL;
 import java.util.Calendar;
 import java.util.Random;
 
-import static java.util.Objects.isNull;
-
 /**
  * Provides methods that generate random values that are then used to create entities and assets.
+ * Names are drawn from {@link Dictionaries} that are read once when a croupier is created.
  *
  * @since 1.0.0
  * @author Dominik Szmyt
  */
 public class Croupier {
 
-    private static final String COMPANIES_LOCATION = "built-in-names/companies.json";
-    private static final String COUNTRIES_LOCATION = "built-in-names/countries.json";
-    private static final String CITIES_LOCATION = "built-in-names/cities.json";
-    private static final String ADDRESSES_LOCATION = "built-in-names/addresses.json";
-    private static final String CURRENCIES_LOCATION = "built-in-names/currencies.json";
-    private static final String FIRST_NAMES_LOCATION = "built-in-names/first-names.json";
-    private static final String LAST_NAMES_LOCATION = "built-in-names/last-names.json";
-    private static final String FUND_NAMES_LOCATION = "built-in-names/fund-names.json";
-
     private final ResourcesReader resourcesReader;
     private final Random random;
+    private final Dictionaries dictionaries;
 
     /**
-     * Create a {@code Croupier} with all necessary fields.
+     * Create a {@code Croupier} that reads it's dictionaries with a given {@code ResourcesReader}.
      * @param resourcesReader A {@code ResourcesReader} for reading resources.
      * @param random A {@code Random} for drawing random values.
      */
     public Croupier(final ResourcesReader resourcesReader,
                     final Random random) {
 
+        this(resourcesReader, random, Dictionaries.load(resourcesReader));
+    }
+
+    /**
+     * Create a {@code Croupier} with all necessary fields.
+     * @param resourcesReader A {@code ResourcesReader} for reading resources.
+     * @param random A {@code Random} for drawing random values.
+     * @param dictionaries Dictionaries that were already read.
+     */
+    public Croupier(final ResourcesReader resourcesReader,
+                    final Random random,
+                    final Dictionaries dictionaries) {
+
         this.resourcesReader = resourcesReader;
         this.random = random;
+        this.dictionaries = dictionaries;
     }
 
     public String drawCompanyName() {
-        final String path = getPath(COMPANIES_LOCATION);
-        return Croupiers.drawString(random, resourcesReader.getResource(path));
+        return Croupiers.drawString(random, dictionaries.array(Dictionary.COMPANIES));
     }
 
     public String drawCountry() {
-        final String path = getPath(COUNTRIES_LOCATION);
-        return Croupiers.drawString(random, resourcesReader.getResource(path));
+        return Croupiers.drawString(random, dictionaries.array(Dictionary.COUNTRIES));
     }
 
     public String drawCity() {
-        final String path = getPath(CITIES_LOCATION);
-        return Croupiers.drawString(random, resourcesReader.getResource(path));
+        return Croupiers.drawString(random, dictionaries.array(Dictionary.CITIES));
     }
 
     public String drawAddress() {
-        final String path = getPath(ADDRESSES_LOCATION);
-        return Croupiers.drawString(random, resourcesReader.getResource(path));
+        return Croupiers.drawString(random, dictionaries.array(Dictionary.ADDRESSES));
     }
 
     public String drawCurrency() {
-        final String path = getPath(CURRENCIES_LOCATION);
-        return Croupiers.drawString(random, resourcesReader.getResource(path));
+        return Croupiers.drawString(random, dictionaries.array(Dictionary.CURRENCIES));
     }
 
     public double drawMargin() {
@@ -106,23 +106,19 @@ public class Croupier {
     }
 
     public String[] drawCountries() {
-        final String path = getPath(COUNTRIES_LOCATION);
-        return Croupiers.drawSubset(random, resourcesReader.getResource(path));
+        return Croupiers.drawSubset(random, dictionaries.array(Dictionary.COUNTRIES));
     }
 
     public String drawFirstName() {
-        final String path = getPath(FIRST_NAMES_LOCATION);
-        return Croupiers.drawString(random, resourcesReader.getResource(path));
+        return Croupiers.drawString(random, dictionaries.array(Dictionary.FIRST_NAMES));
     }
 
     public String drawLastName() {
-        final String path = getPath(LAST_NAMES_LOCATION);
-        return Croupiers.drawString(random, resourcesReader.getResource(path));
+        return Croupiers.drawString(random, dictionaries.array(Dictionary.LAST_NAMES));
     }
 
     public String drawInvestmentFundName() {
-        final String path = getPath(FUND_NAMES_LOCATION);
-        return Croupiers.drawString(random, resourcesReader.getResource(path));
+        return Croupiers.drawString(random, dictionaries.array(Dictionary.FUND_NAMES));
     }
 
     public double drawBudget() {
@@ -133,17 +129,7 @@ public class Croupier {
         final long lowerBoundary = 11_111_111_111L;
         final long upperBoundary = 99_999_999_999L;
 
-        return String.valueOf(lowerBoundary + (long) (Math.random() * (upperBoundary - lowerBoundary)));
-    }
-
-    private String getPath(String location) {
-        URL url = getClass().getClassLoader().getResource(location);
-
-        if (isNull(url)) {
-            return "";
-        }
-
-        return url.getPath();
+        return String.valueOf(lowerBoundary + (long) (random.nextDouble() * (upperBoundary - lowerBoundary)));
     }
 
     @Override
@@ -161,4 +147,9 @@ public class Croupier {
     public ResourcesReader getResourcesReader() {
         return resourcesReader;
     }
+
+    @JsonIgnore
+    public Dictionaries getDictionaries() {
+        return dictionaries;
+    }
 }
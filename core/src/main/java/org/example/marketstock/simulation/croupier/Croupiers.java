@@ -122,7 +122,7 @@ public final class Croupiers {
 
     /**
      * Draws a subset from the provided string array using custom {@link Random} object.
-     * The subset's size is equal to the provided limit value.
+     * The subset's size is equal to the provided limit value, which can't exceed the number of distinct strings.
      *
      * @param random A custom {@link Random} object.
      * @param limit The size of a subset.
@@ -138,7 +138,7 @@ public final class Croupiers {
             throw new InvalidDrawParamsException("Array cannot be empty", new Object[]{limit, strings});
         }
 
-        if (limit > strings.length) {
+        if (limit > countDistinct(strings)) {
             throw new InvalidDrawParamsException("Subset cannot be greater than initial array", new Object[]{limit, strings});
         }
 
@@ -159,7 +159,11 @@ public final class Croupiers {
      * @return A random subset of the string array.
      */
     public static String[] drawSubset(Random random, String[] strings) {
-        return drawSubset(random, 1 + random.nextInt(strings.length), strings);
+        return drawSubset(random, 1 + random.nextInt(countDistinct(strings)), strings);
+    }
+
+    private static int countDistinct(String[] strings) {
+        return (int) Arrays.stream(strings).distinct().count();
     }
 
     /**
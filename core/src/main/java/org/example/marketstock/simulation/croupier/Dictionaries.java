@@ -0,0 +1,78 @@
+package org.example.marketstock.simulation.croupier;
+
+import com.google.common.base.MoreObjects;
+import org.example.marketstock.simulation.json.ResourcesReader;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * An immutable cache of every {@link Dictionary}. Dictionaries are read once and in parallel,
+ * so that drawing a name is just drawing an index instead of parsing a file.
+ *
+ * @since 1.1.0
+ * @author Dominik Szmyt
+ */
+public final class Dictionaries {
+
+    private static final String[] EMPTY = new String[0];
+
+    private final Map<Dictionary, String[]> names;
+
+    private Dictionaries(final Map<Dictionary, String[]> names) {
+        this.names = names;
+    }
+
+    /**
+     * Reads every dictionary from the classpath. Dictionaries are read in parallel,
+     * a dictionary that can't be read is empty.
+     * @param resourcesReader A {@code ResourcesReader} for reading resources, may be {@code null}.
+     * @return A new cache of dictionaries.
+     */
+    public static Dictionaries load(final ResourcesReader resourcesReader) {
+        final Map<Dictionary, String[]> names = Collections.synchronizedMap(new EnumMap<>(Dictionary.class));
+
+        Arrays.stream(Dictionary.values())
+                .parallel()
+                .forEach(dictionary -> names.put(dictionary, read(resourcesReader, dictionary)));
+
+        return new Dictionaries(new EnumMap<>(names));
+    }
+
+    /**
+     * Returns names of a dictionary as an unmodifiable list.
+     * @param dictionary A dictionary.
+     * @return The names of a dictionary.
+     */
+    public List<String> getNames(final Dictionary dictionary) {
+        return Collections.unmodifiableList(Arrays.asList(names.get(dictionary)));
+    }
+
+    /**
+     * Returns names of a dictionary without copying them. Callers mustn't modify the array.
+     */
+    String[] array(final Dictionary dictionary) {
+        return names.get(dictionary);
+    }
+
+    private static String[] read(final ResourcesReader resourcesReader, final Dictionary dictionary) {
+        if (isNull(resourcesReader)) {
+            return EMPTY;
+        }
+
+        final String[] read = resourcesReader.getClasspathResource(dictionary.getLocation());
+        return isNull(read) ? EMPTY : read;
+    }
+
+    @Override
+    public String toString() {
+        final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this);
+        names.forEach((dictionary, array) -> helper.add(dictionary.name(), array.length));
+        return helper.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.marketstock.simulation.croupier;
+
+/**
+ * A built-in list of names that a {@link Croupier} draws from. Each dictionary is a JSON array of strings
+ * stored in resources, so that it's available both from the classpath and from the shaded jar.
+ *
+ * @since 1.1.0
+ * @author Dominik Szmyt
+ */
+public enum Dictionary {
+
+    COMPANIES("built-in-names/companies.json"),
+    COUNTRIES("built-in-names/countries.json"),
+    CITIES("built-in-names/cities.json"),
+    ADDRESSES("built-in-names/addresses.json"),
+    CURRENCIES("built-in-names/currencies.json"),
+    COMMODITIES("built-in-names/commodities.json"),
+    FIRST_NAMES("built-in-names/first-names.json"),
+    LAST_NAMES("built-in-names/last-names.json"),
+    FUND_NAMES("built-in-names/fund-names.json");
+
+    private final String location;
+
+    /**
+     * Create a {@code Dictionary} from a location in resources.
+     * @param location The name of a resource.
+     */
+    Dictionary(String location) {
+        this.location = location;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+}
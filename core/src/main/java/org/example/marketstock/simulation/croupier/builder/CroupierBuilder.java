@@ -1,6 +1,7 @@
 package org.example.marketstock.simulation.croupier.builder;
 
 import org.example.marketstock.simulation.croupier.Croupier;
+import org.example.marketstock.simulation.croupier.Dictionaries;
 import org.example.marketstock.simulation.json.ResourcesReader;
 
 import java.util.Random;
@@ -18,6 +19,7 @@ public final class CroupierBuilder {
 
     private ResourcesReader resourcesReader;
     private Random random;
+    private Dictionaries dictionaries;
 
     private CroupierBuilder() { }
 
@@ -32,11 +34,13 @@ public final class CroupierBuilder {
 
         this.resourcesReader = croupier.getResourcesReader();
         this.random = croupier.getRandom();
+        this.dictionaries = croupier.getDictionaries();
         return this;
     }
 
     public CroupierBuilder withResourcesReader(final ResourcesReader resourcesReader) {
         this.resourcesReader = resourcesReader;
+        this.dictionaries = null;
         return this;
     }
 
@@ -45,7 +49,19 @@ public final class CroupierBuilder {
         return this;
     }
 
+    public CroupierBuilder withDictionaries(final Dictionaries dictionaries) {
+        this.dictionaries = dictionaries;
+        return this;
+    }
+
+    /**
+     * Builds a {@link Croupier} that reuses dictionaries of another croupier or given dictionaries if there are any.
+     * Otherwise, a new croupier reads dictionaries with it's {@code ResourcesReader}.
+     * @return A new croupier.
+     */
     public Croupier build() {
-        return new Croupier(resourcesReader, random);
+        return isNull(dictionaries)
+                ? new Croupier(resourcesReader, random)
+                : new Croupier(resourcesReader, random, dictionaries);
     }
 }
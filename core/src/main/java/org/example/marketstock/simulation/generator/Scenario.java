@@ -0,0 +1,122 @@
+package org.example.marketstock.simulation.generator;
+
+import com.google.common.base.MoreObjects;
+import org.example.marketstock.simulation.generator.builder.ScenarioBuilder;
+
+/**
+ * Describes a world that a {@link WorldGenerator} builds in one go, for example 50 stock exchanges,
+ * 20 000 companies, 200 000 investors and 5 000 investment funds.
+ * Companies are spread evenly across stock exchanges. Each currency and commodity exchange lists
+ * up to a given number of currencies or commodities, limited by built-in names.
+ * <br>
+ * The seed decides every drawn value, so the same scenario always describes the same world.
+ *
+ * @author Dominik Szmyt
+ * @see ScenarioBuilder
+ * @since 1.1.0
+ */
+public final class Scenario {
+
+    private final long seed;
+    private final int stockExchanges;
+    private final int currencyExchanges;
+    private final int commodityExchanges;
+    private final int companies;
+    private final int currenciesPerExchange;
+    private final int commoditiesPerExchange;
+    private final int investors;
+    private final int investmentFunds;
+
+    /**
+     * Create a {@code Scenario} with all necessary fields.
+     * @param seed The seed of every value drawn for a world.
+     * @param stockExchanges The number of stock exchanges.
+     * @param currencyExchanges The number of currency exchanges.
+     * @param commodityExchanges The number of commodity exchanges.
+     * @param companies The number of companies across all stock exchanges.
+     * @param currenciesPerExchange The highest number of currencies listed by a single currency exchange.
+     * @param commoditiesPerExchange The highest number of commodities listed by a single commodity exchange.
+     * @param investors The number of investors.
+     * @param investmentFunds The number of investment funds.
+     */
+    public Scenario(final long seed,
+                    final int stockExchanges,
+                    final int currencyExchanges,
+                    final int commodityExchanges,
+                    final int companies,
+                    final int currenciesPerExchange,
+                    final int commoditiesPerExchange,
+                    final int investors,
+                    final int investmentFunds) {
+
+        if (stockExchanges < 0 || currencyExchanges < 0 || commodityExchanges < 0 || companies < 0
+                || currenciesPerExchange < 0 || commoditiesPerExchange < 0 || investors < 0 || investmentFunds < 0) {
+            throw new IllegalArgumentException("Sizes of a scenario cannot be negative");
+        }
+
+        if (companies > 0 && stockExchanges == 0) {
+            throw new IllegalArgumentException("Companies of a scenario need at least one stock exchange");
+        }
+
+        this.seed = seed;
+        this.stockExchanges = stockExchanges;
+        this.currencyExchanges = currencyExchanges;
+        this.commodityExchanges = commodityExchanges;
+        this.companies = companies;
+        this.currenciesPerExchange = currenciesPerExchange;
+        this.commoditiesPerExchange = commoditiesPerExchange;
+        this.investors = investors;
+        this.investmentFunds = investmentFunds;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("seed", seed)
+                .add("stockExchanges", stockExchanges)
+                .add("currencyExchanges", currencyExchanges)
+                .add("commodityExchanges", commodityExchanges)
+                .add("companies", companies)
+                .add("currenciesPerExchange", currenciesPerExchange)
+                .add("commoditiesPerExchange", commoditiesPerExchange)
+                .add("investors", investors)
+                .add("investmentFunds", investmentFunds)
+                .toString();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getStockExchanges() {
+        return stockExchanges;
+    }
+
+    public int getCurrencyExchanges() {
+        return currencyExchanges;
+    }
+
+    public int getCommodityExchanges() {
+        return commodityExchanges;
+    }
+
+    public int getCompanies() {
+        return companies;
+    }
+
+    public int getCurrenciesPerExchange() {
+        return currenciesPerExchange;
+    }
+
+    public int getCommoditiesPerExchange() {
+        return commoditiesPerExchange;
+    }
+
+    public int getInvestors() {
+        return investors;
+    }
+
+    public int getInvestmentFunds() {
+        return investmentFunds;
+    }
+}
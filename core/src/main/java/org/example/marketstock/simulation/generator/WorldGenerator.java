@@ -0,0 +1,401 @@
+package org.example.marketstock.simulation.generator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.Currency;
+import org.example.marketstock.models.asset.builder.CommodityBuilder;
+import org.example.marketstock.models.asset.builder.CurrencyBuilder;
+import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.company.builder.CompanyBuilder;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.entity.builder.InvestmentFundBuilder;
+import org.example.marketstock.models.entity.builder.InvestorBuilder;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.CurrencyExchange;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.models.exchange.builder.CommodityExchangeBuilder;
+import org.example.marketstock.models.exchange.builder.CurrencyExchangeBuilder;
+import org.example.marketstock.models.exchange.builder.StockExchangeBuilder;
+import org.example.marketstock.models.index.builder.NumericMaxIndexBuilder;
+import org.example.marketstock.models.index.builder.NumericMinIndexBuilder;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.Croupier;
+import org.example.marketstock.simulation.croupier.Croupiers;
+import org.example.marketstock.simulation.croupier.Dictionaries;
+import org.example.marketstock.simulation.croupier.Dictionary;
+import org.example.marketstock.simulation.croupier.builder.CroupierBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Builds a whole {@link Simulation} from a {@link Scenario} instead of adding objects one at a time.
+ * <br>
+ * Objects of each kind are created by a fork/join task that splits it's range of objects in halves
+ * until a batch is small enough to be created by a single {@link Croupier}. Every split also splits a
+ * {@link SplittableRandom}, so each batch draws from it's own generator. Because the ranges are always split
+ * in the same way, the world depends only on the seed of a scenario and never on the number of threads.
+ * Each kind of objects gets it's own generator too, so adding investors to a scenario doesn't change it's companies.
+ * <br>
+ * Objects are created without listeners and handed to the {@link Simulation} in bulk,
+ * which then indexes them once. Agents aren't started, so a generated world starts with {@link Simulation#start()}.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public class WorldGenerator {
+
+    private static final Logger LOGGER = LogManager.getLogger(WorldGenerator.class);
+
+    /**
+     * The highest number of objects created by a single task.
+     */
+    static final int BATCH_SIZE = 256;
+
+    private final Dictionaries dictionaries;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a {@code WorldGenerator} that runs in the common pool.
+     * @param dictionaries Dictionaries that names are drawn from.
+     */
+    public WorldGenerator(final Dictionaries dictionaries) {
+        this(dictionaries, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a {@code WorldGenerator} with all necessary fields.
+     * @param dictionaries Dictionaries that names are drawn from.
+     * @param pool A pool that runs generating tasks.
+     */
+    public WorldGenerator(final Dictionaries dictionaries, final ForkJoinPool pool) {
+        this.dictionaries = dictionaries;
+        this.pool = pool;
+    }
+
+    /**
+     * Generates a world described by a scenario. The builder receives generated exchanges, assets, entities,
+     * the croupier, the main currency and built-in names. The player and the execution mode are left to the caller.
+     * @param scenario A description of the world.
+     * @param simulationBuilder A builder of the simulation, usually with a player already set.
+     * @return A new simulation whose agents aren't started yet.
+     */
+    public Simulation generate(final Scenario scenario, final SimulationBuilder simulationBuilder) {
+        final long start = System.nanoTime();
+
+        final SplittableRandom root = new SplittableRandom(scenario.getSeed());
+        final SplittableRandom stockExchangesRandom = root.split();
+        final SplittableRandom companiesRandom = root.split();
+        final SplittableRandom currencyExchangesRandom = root.split();
+        final SplittableRandom commodityExchangesRandom = root.split();
+        final SplittableRandom investorsRandom = root.split();
+        final SplittableRandom investmentFundsRandom = root.split();
+
+        final Currency mainCurrency = CurrencyBuilder.builder()
+                .withName("MarketAppCurrency")
+                .withRateChanges(new ArrayList<>(Collections.singletonList(0.0)))
+                .withCountries(new ArrayList<>(dictionaries.getNames(Dictionary.COUNTRIES)))
+                .build();
+
+        final List<StockExchange> stockExchanges =
+                generate(scenario.getStockExchanges(), stockExchangesRandom, this::newStockExchange);
+
+        final List<Company> companies = generate(scenario.getCompanies(), companiesRandom,
+                (croupier, index) -> newCompany(croupier, stockExchanges.get(index % stockExchanges.size())));
+
+        for (int index = 0; index < companies.size(); index++) {
+            stockExchanges.get(index % stockExchanges.size()).getCompanies().add(companies.get(index));
+        }
+        stockExchanges.forEach(this::addIndices);
+
+        final List<CurrencyExchange> currencyExchanges = generate(scenario.getCurrencyExchanges(), currencyExchangesRandom,
+                (croupier, index) -> newCurrencyExchange(croupier, scenario.getCurrenciesPerExchange(), mainCurrency));
+
+        final List<CommodityExchange> commodityExchanges = generate(scenario.getCommodityExchanges(), commodityExchangesRandom,
+                (croupier, index) -> newCommodityExchange(croupier, scenario.getCommoditiesPerExchange()));
+
+        final Simulation simulation = simulationBuilder
+                .withStockExchanges(stockExchanges)
+                .withCurrencyExchanges(currencyExchanges)
+                .withCommodityExchange(commodityExchanges)
+                .withInvestors(new ArrayList<>())
+                .withInvestmentFunds(new ArrayList<>())
+                .withCurrencyNames(dictionaries.getNames(Dictionary.CURRENCIES))
+                .withCommodityNames(dictionaries.getNames(Dictionary.COMMODITIES))
+                .withCroupier(CroupierBuilder.builder()
+                        .withRandom(new Random(root.nextLong()))
+                        .withDictionaries(dictionaries)
+                        .build())
+                .withMainCurrency(mainCurrency)
+                .build();
+
+        final List<Investor> investors = simulation.getInvestors();
+        investors.addAll(generate(scenario.getInvestors(), investorsRandom,
+                (croupier, index) -> newInvestor(croupier, simulation)));
+
+        final List<InvestmentFund> investmentFunds = simulation.getInvestmentFunds();
+        investmentFunds.addAll(generate(scenario.getInvestmentFunds(), investmentFundsRandom,
+                (croupier, index) -> newInvestmentFund(croupier, simulation)));
+
+        LOGGER.info("[GENERATOR]: Generated {} in {} ms.", scenario, (System.nanoTime() - start) / 1_000_000L);
+        return simulation;
+    }
+
+    /**
+     * Creates objects of a single kind in the pool of a generator.
+     * @param count The number of objects.
+     * @param random A generator of random values reserved for objects of this kind.
+     * @param factory Creates a single object.
+     * @param <T> The type of objects.
+     * @return A fixed-size list of objects in the order of their indices.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> generate(final int count, final SplittableRandom random, final Factory<T> factory) {
+        final Object[] results = new Object[count];
+
+        if (count > 0) {
+            pool.invoke(new GenerateTask(results, 0, count, random, factory));
+        }
+
+        return (List<T>) Arrays.asList(results);
+    }
+
+    private StockExchange newStockExchange(final Croupier croupier, final int index) {
+        final String city = croupier.drawCity();
+
+        return StockExchangeBuilder.builder()
+                .withName("Stock exchange in " + city)
+                .withCountry(croupier.drawCountry())
+                .withCity(city)
+                .withAddress(croupier.drawAddress())
+                .withCurrency(croupier.drawCurrency())
+                .withMargin(croupier.drawMargin())
+                .withIndices(new ArrayList<>())
+                .withCompanies(new ArrayList<>())
+                .build();
+    }
+
+    private Company newCompany(final Croupier croupier, final StockExchange stockExchange) {
+        final double openingRate = croupier.drawOpeningRate();
+
+        return CompanyBuilder.builder()
+                .withName(croupier.drawCompanyName())
+                .withDateOfFirstValuation(croupier.drawDateOfFirstValuation())
+                .withOpeningQuotation(openingRate)
+                .withCurrentRate(openingRate)
+                .withMaxRate(openingRate)
+                .withMinRate(openingRate)
+                .withRateChanges(new ArrayList<>(Collections.singletonList(openingRate)))
+                .withNumberOfAssets(croupier.drawNumberOfAssets())
+                .withProfit(croupier.drawProfit())
+                .withRevenue(croupier.drawRevenue())
+                .withEquityCapital(croupier.drawEquityCapital())
+                .withOpeningCapital(croupier.drawOpeningCapital())
+                .withVolume(0)
+                .withTurnover(0)
+                .withMargin(stockExchange.getMargin())
+                .build();
+    }
+
+    /**
+     * Adds both kinds of indices to a stock exchange whose companies are already listed.
+     */
+    private void addIndices(final StockExchange stockExchange) {
+        stockExchange.addIndex(NumericMaxIndexBuilder.builder()
+                .withName("Top 5 companies")
+                .withSize(5)
+                .withContent(new ArrayList<>())
+                .withValue(0.0D)
+                .build());
+
+        stockExchange.addIndex(NumericMinIndexBuilder.builder()
+                .withName("Last 5 companies")
+                .withSize(5)
+                .withContent(new ArrayList<>())
+                .withValue(0.0D)
+                .build());
+    }
+
+    private CurrencyExchange newCurrencyExchange(final Croupier croupier,
+                                                 final int currenciesPerExchange,
+                                                 final Currency mainCurrency) {
+        final String city = croupier.drawCity();
+
+        final CurrencyExchange currencyExchange = CurrencyExchangeBuilder.builder()
+                .withName("Currency exchange in " + city)
+                .withCountry(croupier.drawCountry())
+                .withCity(city)
+                .withAddress(croupier.drawAddress())
+                .withCurrency(croupier.drawCurrency())
+                .withMargin(croupier.drawMargin())
+                .withCurrencies(new ArrayList<>())
+                .build();
+
+        for (final String name : drawNames(croupier, Dictionary.CURRENCIES, currenciesPerExchange)) {
+            final double currentRate = croupier.drawCurrentRate();
+
+            currencyExchange.getCurrencies().add(CurrencyBuilder.builder()
+                    .withName(name)
+                    .withCurrentRate(currentRate)
+                    .withMinRate(currentRate)
+                    .withMaxRate(currentRate)
+                    .withRateChanges(new ArrayList<>(Collections.singletonList(currentRate)))
+                    .withMargin(currencyExchange.getMargin())
+                    .withCountries(Arrays.asList(croupier.drawCountries()))
+                    .withComparisonCurrency(mainCurrency)
+                    .build());
+        }
+
+        return currencyExchange;
+    }
+
+    private CommodityExchange newCommodityExchange(final Croupier croupier, final int commoditiesPerExchange) {
+        final String city = croupier.drawCity();
+
+        final CommodityExchange commodityExchange = CommodityExchangeBuilder.builder()
+                .withName("Commodity exchange in " + city)
+                .withCountry(croupier.drawCountry())
+                .withCity(city)
+                .withAddress(croupier.drawAddress())
+                .withCurrency(croupier.drawCurrency())
+                .withMargin(croupier.drawMargin())
+                .withCommodities(new ArrayList<>())
+                .build();
+
+        for (final String name : drawNames(croupier, Dictionary.COMMODITIES, commoditiesPerExchange)) {
+            final String[] nameAndUnit = name.split(";", 2);
+            final double currentRate = croupier.drawCurrentRate();
+
+            final Commodity commodity = CommodityBuilder.builder()
+                    .withName(nameAndUnit[0])
+                    .withCurrentRate(currentRate)
+                    .withMinRate(currentRate)
+                    .withMaxRate(currentRate)
+                    .withRateChanges(new ArrayList<>(Collections.singletonList(currentRate)))
+                    .withMargin(commodityExchange.getMargin())
+                    .withUnitOfTrading(nameAndUnit.length > 1 ? nameAndUnit[1] : "")
+                    .withCurrency(commodityExchange.getCurrency())
+                    .build();
+
+            commodityExchange.getCommodities().add(commodity);
+        }
+
+        return commodityExchange;
+    }
+
+    /**
+     * Draws distinct names from a dictionary, sorted so that their order doesn't depend on hashing.
+     */
+    private String[] drawNames(final Croupier croupier, final Dictionary dictionary, final int limit) {
+        final List<String> names = dictionaries.getNames(dictionary);
+
+        if (names.isEmpty() || limit == 0) {
+            return new String[0];
+        }
+
+        final String[] drawn = Croupiers.drawSubset(croupier.getRandom(),
+                Math.min(limit, names.size()),
+                names.toArray(new String[0]));
+
+        Arrays.sort(drawn);
+        return drawn;
+    }
+
+    private Investor newInvestor(final Croupier croupier, final Simulation simulation) {
+        return InvestorBuilder.builder()
+                .withFirstName(croupier.drawFirstName())
+                .withLastName(croupier.drawLastName())
+                .withPESEL(croupier.drawPESEL())
+                .withBudget(croupier.drawBudget())
+                .withBriefcase(BriefcaseBuilder.builder()
+                        .withMap(new HashMap<>())
+                        .build())
+                .withSimulation(simulation)
+                .build();
+    }
+
+    private InvestmentFund newInvestmentFund(final Croupier croupier, final Simulation simulation) {
+        final double currentRate = croupier.drawCurrentRate();
+
+        return InvestmentFundBuilder.builder()
+                .withName(croupier.drawInvestmentFundName())
+                .withCurrentRate(currentRate)
+                .withMinRate(currentRate)
+                .withMaxRate(currentRate)
+                .withRateChanges(new ArrayList<>(Collections.singletonList(currentRate)))
+                .withMargin(croupier.drawMargin() * 100D)
+                .withBudget(croupier.drawBudget())
+                .withNumberOfAssets(croupier.drawNumberOfAssets())
+                .withBriefcase(BriefcaseBuilder.builder()
+                        .withMap(new HashMap<>())
+                        .build())
+                .withSimulation(simulation)
+                .build();
+    }
+
+    /**
+     * Creates a single object of a generated world.
+     * @param <T> The type of objects.
+     */
+    @FunctionalInterface
+    private interface Factory<T> {
+        T create(Croupier croupier, int index);
+    }
+
+    /**
+     * Fills a range of results. The right half of a split range draws from a split generator,
+     * while the left half keeps drawing from the generator of it's parent.
+     */
+    private final class GenerateTask extends RecursiveAction {
+
+        private final Object[] results;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+        private final Factory<?> factory;
+
+        private GenerateTask(final Object[] results,
+                             final int from,
+                             final int to,
+                             final SplittableRandom random,
+                             final Factory<?> factory) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+            this.factory = factory;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SIZE) {
+                final Croupier croupier = CroupierBuilder.builder()
+                        .withRandom(new Random(random.nextLong()))
+                        .withDictionaries(dictionaries)
+                        .build();
+
+                for (int index = from; index < to; index++) {
+                    results[index] = factory.create(croupier, index);
+                }
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            final GenerateTask right = new GenerateTask(results, middle, to, random.split(), factory);
+            final GenerateTask left = new GenerateTask(results, from, middle, random, factory);
+
+            invokeAll(left, right);
+        }
+    }
+}
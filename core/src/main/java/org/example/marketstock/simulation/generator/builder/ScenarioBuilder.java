@@ -0,0 +1,102 @@
+package org.example.marketstock.simulation.generator.builder;
+
+import org.example.marketstock.simulation.generator.Scenario;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A builder for the {@link Scenario} class. Every size that isn't provided equals 0.
+ *
+ * @author Dominik Szmyt
+ * @see Scenario
+ * @since 1.1.0
+ */
+public final class ScenarioBuilder {
+
+    private long seed;
+    private int stockExchanges;
+    private int currencyExchanges;
+    private int commodityExchanges;
+    private int companies;
+    private int currenciesPerExchange;
+    private int commoditiesPerExchange;
+    private int investors;
+    private int investmentFunds;
+
+    private ScenarioBuilder() { }
+
+    public static ScenarioBuilder builder() {
+        return new ScenarioBuilder();
+    }
+
+    public ScenarioBuilder from(final Scenario scenario) {
+        if (isNull(scenario)) {
+            return this;
+        }
+
+        this.seed = scenario.getSeed();
+        this.stockExchanges = scenario.getStockExchanges();
+        this.currencyExchanges = scenario.getCurrencyExchanges();
+        this.commodityExchanges = scenario.getCommodityExchanges();
+        this.companies = scenario.getCompanies();
+        this.currenciesPerExchange = scenario.getCurrenciesPerExchange();
+        this.commoditiesPerExchange = scenario.getCommoditiesPerExchange();
+        this.investors = scenario.getInvestors();
+        this.investmentFunds = scenario.getInvestmentFunds();
+        return this;
+    }
+
+    public ScenarioBuilder withSeed(final long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public ScenarioBuilder withStockExchanges(final int stockExchanges) {
+        this.stockExchanges = stockExchanges;
+        return this;
+    }
+
+    public ScenarioBuilder withCurrencyExchanges(final int currencyExchanges) {
+        this.currencyExchanges = currencyExchanges;
+        return this;
+    }
+
+    public ScenarioBuilder withCommodityExchanges(final int commodityExchanges) {
+        this.commodityExchanges = commodityExchanges;
+        return this;
+    }
+
+    public ScenarioBuilder withCompanies(final int companies) {
+        this.companies = companies;
+        return this;
+    }
+
+    public ScenarioBuilder withCurrenciesPerExchange(final int currenciesPerExchange) {
+        this.currenciesPerExchange = currenciesPerExchange;
+        return this;
+    }
+
+    public ScenarioBuilder withCommoditiesPerExchange(final int commoditiesPerExchange) {
+        this.commoditiesPerExchange = commoditiesPerExchange;
+        return this;
+    }
+
+    public ScenarioBuilder withInvestors(final int investors) {
+        this.investors = investors;
+        return this;
+    }
+
+    public ScenarioBuilder withInvestmentFunds(final int investmentFunds) {
+        this.investmentFunds = investmentFunds;
+        return this;
+    }
+
+    public Scenario build() {
+        return new Scenario(
+                seed,
+                stockExchanges, currencyExchanges, commodityExchanges,
+                companies, currenciesPerExchange, commoditiesPerExchange,
+                investors, investmentFunds
+        );
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.marketstock.simulation.history;
+
+import com.google.common.base.MoreObjects;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.exchange.Exchange;
+import org.example.marketstock.models.exchange.ListingListener;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Aggregates ticks of every asset into open, high, low, close and volume bars at several resolutions,
+ * for example a second, a minute and an hour of the time of trades.
+ * <br>
+ * A tick costs a constant amount of work for each resolution and allocates nothing once an asset was traded,
+ * because bars live in rings of primitive arrays of a fixed capacity. The latest bars of a resolution are read
+ * with {@link #forEach(Asset, long, CandleConsumer)} in time proportional to their number, no matter how many
+ * ticks they aggregate. Periods without trades have no bars.
+ * <br>
+ * Series of assets are found in a concurrent map, so a tick locks only the series of it's asset.
+ * Bars of an asset are dropped once it's delisted.
+ * <br>
+ * Every traded asset costs six arrays of the capacity for each resolution, so a {@code Simulation} aggregates
+ * bars only if it's given an aggregator, for example when the {@value #PROPERTY} system property is {@code true}.
+ *
+ * @author Dominik Szmyt
+ * @see CandleSeries
+ * @since 1.1.0
+ */
+public final class CandleAggregator implements TickListener, ListingListener {
+
+    /**
+     * The system property that enables bars of the application's simulation when it's {@code true}.
+     */
+    public static final String PROPERTY = "marketstock.candles";
+
+    public static final long SECOND = TimeUnit.SECONDS.toMillis(1L);
+    public static final long MINUTE = TimeUnit.MINUTES.toMillis(1L);
+    public static final long HOUR = TimeUnit.HOURS.toMillis(1L);
+    public static final int DEFAULT_CAPACITY = 512;
+
+    private final long[] resolutions;
+    private final int capacity;
+    private final ConcurrentMap<Asset, CandleSeries> series = new ConcurrentHashMap<>();
+
+    /**
+     * Create a {@code CandleAggregator} of the latest {@value #DEFAULT_CAPACITY} seconds, minutes and hours.
+     */
+    public CandleAggregator() {
+        this(DEFAULT_CAPACITY, SECOND, MINUTE, HOUR);
+    }
+
+    /**
+     * Create a {@code CandleAggregator} with all necessary fields.
+     * @param capacity The number of the latest bars kept for each resolution.
+     * @param resolutions Lengths of bars in milliseconds.
+     */
+    public CandleAggregator(final int capacity, final long... resolutions) {
+        if (capacity <= 0 || resolutions.length == 0) {
+            throw new IllegalArgumentException("An aggregator needs at least one resolution and room for a bar");
+        }
+        if (Arrays.stream(resolutions).anyMatch(resolution -> resolution <= 0L)) {
+            throw new IllegalArgumentException("Resolutions have to be positive: " + Arrays.toString(resolutions));
+        }
+
+        this.capacity = capacity;
+        this.resolutions = resolutions.clone();
+    }
+
+    @Override
+    public void onTick(final Asset asset, final long timestamp, final double price, final int volume) {
+        seriesOf(asset).update(timestamp, price, volume);
+    }
+
+    /**
+     * Passes the latest bars of an asset at a resolution to a consumer, from the oldest to the latest one.
+     * The asset's trades wait for the consumer, so it should be quick.
+     * @param asset An asset.
+     * @param resolution One of the resolutions of the aggregator.
+     * @param consumer Receives bars.
+     * @return The number of bars passed to the consumer.
+     * @throws IllegalArgumentException If the aggregator doesn't have the resolution.
+     */
+    public int forEach(final Asset asset, final long resolution, final CandleConsumer consumer) {
+        final int index = indexOf(resolution);
+        final CandleSeries candles = findSeries(asset);
+
+        return isNull(candles) ? 0 : candles.forEach(index, consumer);
+    }
+
+    private int indexOf(final long resolution) {
+        for (int index = 0; index < resolutions.length; index++) {
+            if (resolutions[index] == resolution) {
+                return index;
+            }
+        }
+
+        throw new IllegalArgumentException("No bars of " + resolution + " ms");
+    }
+
+    private CandleSeries findSeries(final Asset asset) {
+        return series.get(asset);
+    }
+
+    private CandleSeries seriesOf(final Asset asset) {
+        final CandleSeries candles = series.get(asset);
+        return isNull(candles)
+                ? series.computeIfAbsent(asset, key -> new CandleSeries(resolutions, capacity))
+                : candles;
+    }
+
+    /**
+     * Stops keeping bars of an asset, for example once it's no longer listed.
+     * @param asset An asset.
+     */
+    public void remove(final Asset asset) {
+        series.remove(asset);
+    }
+
+    @Override
+    public void onListed(final Exchange exchange, final Asset asset) {
+        // Bars are kept from the first trade of an asset.
+    }
+
+    @Override
+    public void onDelisted(final Exchange exchange, final Asset asset) {
+        remove(asset);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("resolutions", Arrays.toString(resolutions))
+                .add("capacity", capacity)
+                .add("assets", series.size())
+                .toString();
+    }
+
+    public long[] getResolutions() {
+        return resolutions.clone();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.marketstock.simulation.history;
+
+/**
+ * Receives bars read from a {@link CandleAggregator}, so that they don't have to be wrapped in objects.
+ *
+ * @author Dominik Szmyt
+ * @see CandleAggregator#forEach(org.example.marketstock.models.asset.Asset, long, CandleConsumer)
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface CandleConsumer {
+
+    /**
+     * Called for every bar from the oldest to the latest one.
+     * @param start The beginning of a bar in milliseconds since the epoch.
+     * @param open The first price within the bar.
+     * @param high The highest price within the bar.
+     * @param low The lowest price within the bar.
+     * @param close The last price within the bar.
+     * @param volume The number of an asset traded within the bar.
+     */
+    void accept(long start, double open, double high, double low, double close, long volume);
+}
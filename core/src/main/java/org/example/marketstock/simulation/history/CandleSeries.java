@@ -0,0 +1,84 @@
+package org.example.marketstock.simulation.history;
+
+/**
+ * Bars of a single asset at several resolutions. Bars of each resolution are kept in a ring of primitive arrays,
+ * so a tick updates the latest bar of every resolution or starts a new one in place of the oldest one.
+ *
+ * @author Dominik Szmyt
+ * @see CandleAggregator
+ * @since 1.1.0
+ */
+final class CandleSeries {
+
+    private final long[] resolutions;
+    private final int capacity;
+
+    private final long[][] starts;
+    private final double[][] opens;
+    private final double[][] highs;
+    private final double[][] lows;
+    private final double[][] closes;
+    private final long[][] volumes;
+    private final int[] heads;
+    private final int[] sizes;
+
+    CandleSeries(final long[] resolutions, final int capacity) {
+        this.resolutions = resolutions;
+        this.capacity = capacity;
+
+        starts = new long[resolutions.length][capacity];
+        opens = new double[resolutions.length][capacity];
+        highs = new double[resolutions.length][capacity];
+        lows = new double[resolutions.length][capacity];
+        closes = new double[resolutions.length][capacity];
+        volumes = new long[resolutions.length][capacity];
+        heads = new int[resolutions.length];
+        sizes = new int[resolutions.length];
+    }
+
+    /**
+     * Adds a tick to the latest bar of every resolution. A tick earlier than the latest bar is added to it as well,
+     * since bars only move forward.
+     */
+    synchronized void update(final long timestamp, final double price, final int volume) {
+        for (int resolution = 0; resolution < resolutions.length; resolution++) {
+            final long start = timestamp - Math.floorMod(timestamp, resolutions[resolution]);
+            int head = heads[resolution];
+
+            if (sizes[resolution] == 0 || start > starts[resolution][head]) {
+                if (sizes[resolution] > 0) {
+                    head = head + 1 == capacity ? 0 : head + 1;
+                    heads[resolution] = head;
+                }
+                if (sizes[resolution] < capacity) {
+                    sizes[resolution]++;
+                }
+
+                starts[resolution][head] = start;
+                opens[resolution][head] = price;
+                highs[resolution][head] = price;
+                lows[resolution][head] = price;
+                closes[resolution][head] = price;
+                volumes[resolution][head] = volume;
+            } else {
+                highs[resolution][head] = Math.max(highs[resolution][head], price);
+                lows[resolution][head] = Math.min(lows[resolution][head], price);
+                closes[resolution][head] = price;
+                volumes[resolution][head] += volume;
+            }
+        }
+    }
+
+    synchronized int forEach(final int resolution, final CandleConsumer consumer) {
+        final int size = sizes[resolution];
+        final int head = heads[resolution];
+
+        for (int bar = 0; bar < size; bar++) {
+            final int index = Math.floorMod(head - size + 1 + bar, capacity);
+            consumer.accept(starts[resolution][index], opens[resolution][index], highs[resolution][index],
+                    lows[resolution][index], closes[resolution][index], volumes[resolution][index]);
+        }
+
+        return size;
+    }
+}
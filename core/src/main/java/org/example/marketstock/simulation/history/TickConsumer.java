@@ -0,0 +1,20 @@
+package org.example.marketstock.simulation.history;
+
+/**
+ * Receives ticks read from a {@link TickStore}, so that they don't have to be wrapped in objects.
+ *
+ * @author Dominik Szmyt
+ * @see TickStore#forEach(org.example.marketstock.models.asset.Asset, long, long, TickConsumer)
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface TickConsumer {
+
+    /**
+     * Called for every tick in order of time.
+     * @param timestamp The time of a trade in milliseconds since the epoch.
+     * @param price The rate of an asset after the trade.
+     * @param volume The number of an asset that was traded.
+     */
+    void accept(long timestamp, double price, int volume);
+}
@@ -0,0 +1,25 @@
+package org.example.marketstock.simulation.history;
+
+import org.example.marketstock.models.asset.Asset;
+
+/**
+ * Receives every trade of an asset as a tick. Called in the thread that traded,
+ * while the asset is still locked, so it should be quick and must not block.
+ *
+ * @author Dominik Szmyt
+ * @see TickStore
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface TickListener {
+
+    /**
+     * Called after an asset was traded and it's rate was updated.
+     * @param asset An asset that was traded.
+     * @param timestamp The time of the trade in milliseconds since the epoch,
+     *                  or since the first tick if the simulation is stepped.
+     * @param price The rate of the asset after the trade.
+     * @param volume The number of the asset that was traded.
+     */
+    void onTick(Asset asset, long timestamp, double price, int volume);
+}
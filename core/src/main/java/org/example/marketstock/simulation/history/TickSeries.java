@@ -0,0 +1,263 @@
+package org.example.marketstock.simulation.history;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.example.marketstock.simulation.history.TickStore.COUNT_OFFSET;
+import static org.example.marketstock.simulation.history.TickStore.EXTENSION;
+import static org.example.marketstock.simulation.history.TickStore.HEADER_BYTES;
+import static org.example.marketstock.simulation.history.TickStore.MAGIC;
+import static org.example.marketstock.simulation.history.TickStore.RECORD_BYTES;
+import static org.example.marketstock.simulation.history.TickStore.VERSION;
+
+/**
+ * Ticks of a single asset in a chain of segments of a fixed size. Only the segment that is being appended to
+ * stays mapped, segments that are full are mapped again only while they're read.
+ * <br>
+ * The next segment is created and mapped ahead of time by an executor of the store,
+ * so that appending a tick that starts a segment doesn't wait for the file system.
+ * <br>
+ * Timestamps never decrease within a series, so ticks are found by a binary search,
+ * first over the first timestamps of segments and then over records of a segment.
+ *
+ * @author Dominik Szmyt
+ * @see TickStore
+ * @since 1.1.0
+ */
+final class TickSeries {
+
+    private static final int TIMESTAMP_OFFSET = 0;
+    private static final int PRICE_OFFSET = 8;
+    private static final int VOLUME_OFFSET = 16;
+
+    private final int id;
+    private final Path directory;
+    private final int segmentRecords;
+    private final Executor mapper;
+
+    private long[] firstTimestamps = new long[4];
+    private int segments = 0;
+    private MappedByteBuffer current;
+    private CompletableFuture<MappedByteBuffer> next;
+    private int currentCount = 0;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private long count = 0L;
+
+    TickSeries(final int id, final Path directory, final int segmentRecords, final Executor mapper) {
+        this.id = id;
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.mapper = mapper;
+        this.next = prepare(0);
+    }
+
+    /**
+     * Appends a tick. A timestamp earlier than the last one is moved up to it, so that timestamps never decrease.
+     */
+    synchronized void append(final long timestamp, final double price, final int volume) throws IOException {
+        final long monotonicTimestamp = Math.max(timestamp, lastTimestamp);
+
+        if (isNull(current) || currentCount == segmentRecords) {
+            roll(monotonicTimestamp);
+        }
+
+        final int offset = HEADER_BYTES + currentCount * RECORD_BYTES;
+        current.putLong(offset + TIMESTAMP_OFFSET, monotonicTimestamp);
+        current.putDouble(offset + PRICE_OFFSET, price);
+        current.putInt(offset + VOLUME_OFFSET, volume);
+        current.putInt(COUNT_OFFSET, ++currentCount);
+
+        lastTimestamp = monotonicTimestamp;
+        count++;
+    }
+
+    private void roll(final long firstTimestamp) throws IOException {
+        if (segments == firstTimestamps.length) {
+            firstTimestamps = Arrays.copyOf(firstTimestamps, segments * 2);
+        }
+
+        try {
+            current = next.join();
+        } catch (CompletionException exception) {
+            next = prepare(segments);
+            throw exception.getCause() instanceof UncheckedIOException
+                    ? ((UncheckedIOException) exception.getCause()).getCause()
+                    : new IOException("Failed to map a segment", exception.getCause());
+        }
+
+        firstTimestamps[segments++] = firstTimestamp;
+        currentCount = 0;
+        next = prepare(segments);
+    }
+
+    /**
+     * Creates and maps a segment with an empty header in the background.
+     */
+    private CompletableFuture<MappedByteBuffer> prepare(final int segment) {
+        try {
+            return CompletableFuture.supplyAsync(() -> map(segment), mapper);
+        } catch (RejectedExecutionException exception) {
+            final CompletableFuture<MappedByteBuffer> closed = new CompletableFuture<>();
+            closed.completeExceptionally(new UncheckedIOException(new IOException("The store is closed")));
+            return closed;
+        }
+    }
+
+    private MappedByteBuffer map(final int segment) {
+        try {
+            Files.createDirectories(directory);
+            try (final FileChannel channel = FileChannel.open(segmentOf(segment),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L,
+                        HEADER_BYTES + (long) segmentRecords * RECORD_BYTES);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, id);
+                buffer.putInt(COUNT_OFFSET, 0);
+                return buffer;
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Passes ticks between two timestamps to a consumer in order of time.
+     * Ticks appended in the meantime may or may not be passed.
+     */
+    int forEach(final long from, final long to, final TickConsumer consumer) throws IOException {
+        final long[] firsts;
+        final ByteBuffer last;
+        final int lastCount;
+
+        synchronized (this) {
+            if (segments == 0) {
+                return 0;
+            }
+
+            firsts = Arrays.copyOf(firstTimestamps, segments);
+            last = current.duplicate();
+            lastCount = currentCount;
+        }
+
+        int passed = 0;
+        for (int segment = Math.max(0, floor(firsts, from)); segment < firsts.length; segment++) {
+            if (firsts[segment] > to) break;
+
+            final boolean isLast = segment == firsts.length - 1;
+            final ByteBuffer buffer = isLast ? last : read(segment);
+            final int records = isLast ? lastCount : buffer.getInt(COUNT_OFFSET);
+
+            for (int record = lowerBound(buffer, records, from); record < records; record++) {
+                final int offset = HEADER_BYTES + record * RECORD_BYTES;
+                final long timestamp = buffer.getLong(offset + TIMESTAMP_OFFSET);
+
+                if (timestamp > to) return passed;
+
+                consumer.accept(timestamp, buffer.getDouble(offset + PRICE_OFFSET), buffer.getInt(offset + VOLUME_OFFSET));
+                passed++;
+            }
+        }
+
+        return passed;
+    }
+
+    private ByteBuffer read(final int segment) throws IOException {
+        try (final FileChannel channel = FileChannel.open(segmentOf(segment), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+        }
+    }
+
+    /**
+     * Finds the last segment that starts before a timestamp. Ticks of the timestamp itself may begin
+     * in that segment, because a timestamp may repeat across segments.
+     * @return The index of the segment or {@code -1} if every segment starts later.
+     */
+    private static int floor(final long[] firsts, final long timestamp) {
+        int low = 0;
+        int high = firsts.length - 1;
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+
+            if (firsts[middle] < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return high;
+    }
+
+    /**
+     * Finds the first record of a segment whose timestamp isn't earlier than a given one.
+     */
+    private static int lowerBound(final ByteBuffer buffer, final int records, final long timestamp) {
+        int low = 0;
+        int high = records;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (buffer.getLong(HEADER_BYTES + middle * RECORD_BYTES + TIMESTAMP_OFFSET) < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Forces the segment that is being appended to and deletes the one that was mapped ahead of time.
+     */
+    synchronized void close() {
+        if (nonNull(current)) {
+            current.force();
+        }
+
+        try {
+            next.join();
+            Files.deleteIfExists(segmentOf(segments));
+        } catch (CompletionException | IOException exception) {
+            // The segment was never appended to, so it doesn't matter whether it exists.
+        }
+    }
+
+    private Path segmentOf(final int segment) {
+        return directory.resolve(String.format("%08d.%s", segment, EXTENSION));
+    }
+
+    int getId() {
+        return id;
+    }
+
+    synchronized int getSegments() {
+        return segments;
+    }
+
+    synchronized long getCount() {
+        return count;
+    }
+
+    synchronized long getLastTimestamp() {
+        return lastTimestamp;
+    }
+}
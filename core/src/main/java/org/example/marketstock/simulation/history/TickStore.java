@@ -0,0 +1,236 @@
+package org.example.marketstock.simulation.history;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.marketstock.models.asset.Asset;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A store of every tick of every traded asset: the time of a trade, the rate of the asset after it
+ * and the number of the asset that was traded.
+ * <br>
+ * Each asset gets an id in the order it was first traded and a directory of it's own,
+ * which holds a chain of segment files of {@value #RECORD_BYTES} bytes per tick. A segment is mapped into memory
+ * while it's appended to and a new one is started once it's full, so ticks are written without system calls
+ * and stay out of the heap. The heap holds a single timestamp per segment, no matter how long a simulation runs.
+ * Segments are created and mapped ahead of time by a single background thread of the store,
+ * while series of assets are found in a concurrent map, so a tick locks only the series of it's asset.
+ * Ids and names of assets are listed in the {@code assets} file next to the directories.
+ * <br>
+ * Ticks of an asset are read by a range of time with {@link #forEach(Asset, long, long, TickConsumer)},
+ * which finds the first of them by a binary search over segments and their records.
+ *
+ * @author Dominik Szmyt
+ * @see TickSeries
+ * @since 1.1.0
+ */
+public final class TickStore implements TickListener, Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger(TickStore.class);
+
+    /**
+     * The extension of segment files.
+     */
+    public static final String EXTENSION = "ticks";
+
+    /**
+     * The system property with a directory in which the application stores ticks of it's simulation.
+     */
+    public static final String PROPERTY = "marketstock.ticks";
+
+    public static final int DEFAULT_SEGMENT_RECORDS = 16_384;
+
+    static final int MAGIC = 0x4D53544B;
+    static final int VERSION = 1;
+    static final int COUNT_OFFSET = 12;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 20;
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final ConcurrentMap<Asset, TickSeries> series = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final Writer assets;
+    private final ExecutorService mapper = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("tick-segments-%d")
+            .setDaemon(true)
+            .build());
+    private final LongAdder droppedTicks = new LongAdder();
+
+    private volatile boolean open = true;
+
+    private TickStore(final Path directory, final int segmentRecords) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentRecords = segmentRecords;
+        this.assets = Files.newBufferedWriter(directory.resolve("assets"), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Opens a store in a directory with segments of the default size.
+     * @param directory A directory of ticks. It's created if it doesn't exist and it's previous ticks are overwritten.
+     * @return A new store.
+     * @throws IOException If the directory couldn't be created.
+     */
+    public static TickStore open(final Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_RECORDS);
+    }
+
+    /**
+     * Opens a store in a directory.
+     * @param directory A directory of ticks. It's created if it doesn't exist and it's previous ticks are overwritten.
+     * @param segmentRecords The number of ticks in a segment file.
+     * @return A new store.
+     * @throws IOException If the directory couldn't be created.
+     */
+    public static TickStore open(final Path directory, final int segmentRecords) throws IOException {
+        if (segmentRecords <= 0) {
+            throw new IllegalArgumentException("A segment has to hold at least one tick");
+        }
+
+        return new TickStore(directory, segmentRecords);
+    }
+
+    /**
+     * Appends a tick of an asset. Ticks that couldn't be written are dropped and counted, so that trades go on.
+     */
+    @Override
+    public void onTick(final Asset asset, final long timestamp, final double price, final int volume) {
+        if (!open) {
+            droppedTicks.increment();
+            return;
+        }
+
+        try {
+            seriesOf(asset).append(timestamp, price, volume);
+        } catch (IOException | UncheckedIOException exception) {
+            droppedTicks.increment();
+            LOGGER.error("[TICKS]: Failed to store a tick of " + asset + ".", exception);
+        }
+    }
+
+    /**
+     * Passes ticks of an asset between two timestamps to a consumer in order of time.
+     * @param asset An asset.
+     * @param from The earliest timestamp, inclusive.
+     * @param to The latest timestamp, inclusive.
+     * @param consumer Receives ticks.
+     * @return The number of ticks passed to the consumer.
+     * @throws IOException If a segment couldn't be read.
+     */
+    public int forEach(final Asset asset, final long from, final long to, final TickConsumer consumer)
+            throws IOException {
+
+        final TickSeries ticks = findSeries(asset);
+        return isNull(ticks) ? 0 : ticks.forEach(from, to, consumer);
+    }
+
+    /**
+     * Counts ticks of an asset.
+     * @param asset An asset.
+     * @return The number of ticks of the asset.
+     */
+    public long count(final Asset asset) {
+        final TickSeries ticks = findSeries(asset);
+        return isNull(ticks) ? 0L : ticks.getCount();
+    }
+
+    /**
+     * Returns the timestamp of the last tick of an asset.
+     * @param asset An asset.
+     * @return The timestamp or {@link Long#MIN_VALUE} if the asset wasn't traded.
+     */
+    public long getLastTimestamp(final Asset asset) {
+        final TickSeries ticks = findSeries(asset);
+        return isNull(ticks) ? Long.MIN_VALUE : ticks.getLastTimestamp();
+    }
+
+    private TickSeries findSeries(final Asset asset) {
+        return series.get(asset);
+    }
+
+    private TickSeries seriesOf(final Asset asset) {
+        final TickSeries ticks = series.get(asset);
+        return isNull(ticks) ? series.computeIfAbsent(asset, this::newSeries) : ticks;
+    }
+
+    /**
+     * Starts series of an asset that is traded for the first time and lists the asset.
+     */
+    private TickSeries newSeries(final Asset asset) {
+        final int id = nextId.getAndIncrement();
+
+        try {
+            synchronized (assets) {
+                assets.write(id + ";" + asset.getClass().getSimpleName() + ";" + asset.getName()
+                        + System.lineSeparator());
+                assets.flush();
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return new TickSeries(id, directory.resolve(Integer.toString(id)), segmentRecords, mapper);
+    }
+
+    /**
+     * Forces every segment that is being appended to and stops storing ticks.
+     * Ticks stored so far can still be read.
+     * @throws IOException If the list of assets couldn't be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!open) {
+            return;
+        }
+
+        open = false;
+        series.values().forEach(TickSeries::close);
+        mapper.shutdown();
+        synchronized (assets) {
+            assets.close();
+        }
+
+        LOGGER.info("[TICKS]: Closed with {} assets in {}.", series.size(), directory);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("directory", directory)
+                .add("assets", series.size())
+                .add("segmentRecords", segmentRecords)
+                .add("droppedTicks", droppedTicks.sum())
+                .toString();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentRecords() {
+        return segmentRecords;
+    }
+
+    public long getDroppedTicks() {
+        return droppedTicks.sum();
+    }
+}
@@ -0,0 +1,1170 @@
+package org.example.marketstock.simulation.journal;
+
+import com.google.common.base.MoreObjects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.Currency;
+import org.example.marketstock.models.asset.IssueListener;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.entity.AbstractEntity;
+import org.example.marketstock.models.entity.BudgetListener;
+import org.example.marketstock.models.entity.Entity;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.CurrencyExchange;
+import org.example.marketstock.models.exchange.Exchange;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.models.index.Index;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.order.MpscRingBuffer;
+import org.example.marketstock.simulation.lock.ChangeBarrier;
+import org.example.marketstock.simulation.serialization.SimulationCapture;
+import org.example.marketstock.simulation.serialization.SimulationSnapshot;
+import org.example.marketstock.simulation.serialization.SnapshotProgress;
+import org.example.marketstock.simulation.serialization.SnapshotRecords;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.StampedLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.example.marketstock.simulation.serialization.SnapshotRecords.NONE;
+import static org.example.marketstock.simulation.serialization.SnapshotRecords.writeVarInt;
+
+/**
+ * An append-only journal of every change of a {@link Simulation}, which lets a simulation survive a crash.
+ * <br>
+ * A journal keeps a directory of epochs. An epoch begins with a checkpoint, which is a {@link SimulationSnapshot}
+ * of the whole simulation, and continues with a journal file of every change made since then:
+ * purchases, sales and matched trades, issues of new assets, increases of budgets, as well as exchanges,
+ * assets, entities and indices that were added or removed. A new checkpoint starts the next epoch
+ * and deletes the previous ones once it's written. {@link #recover(SimulationBuilder)} reads the latest checkpoint
+ * and replays it's journal file as well as journal files of later epochs whose checkpoints weren't finished.
+ * <br>
+ * Agents don't wait for the disk. A change is encoded into a compact binary record and published into
+ * a {@link MpscRingBuffer}, just like an order. A single writer thread drains records in batches,
+ * frames each of them with it's length and a CRC32 checksum, writes a batch at once and forces it to the disk
+ * once per batch, which is known as a group commit. When the ring is full, agents wait for the writer
+ * for a moment instead of dropping records. {@link #flush()} waits until every record published so far is durable.
+ * <br>
+ * Records refer to exchanges, assets and entities by ids given by a {@link ReferenceTable}.
+ * Records that add objects lock the table for a moment, so that ids are given in the order records are written.
+ * Purchases, sales, trades, issues and budgets are recorded far more often, so they look ids up and claim
+ * their slot under an optimistic read of the lock. If the table changed in the meantime, the slot is left empty
+ * and the record is made again under a read lock.
+ * <br>
+ * A checkpoint may be taken while the simulation runs. It's {@link SimulationCapture} and the start
+ * of the next journal file happen at the same point of the simulation's {@link ChangeBarrier},
+ * so every change ends up either in the checkpoint or in the journal file, but never in both.
+ *
+ * @author Dominik Szmyt
+ * @see JournalReplayer
+ * @see ReferenceTable
+ * @since 1.1.0
+ */
+public final class Journal implements IssueListener, BudgetListener, Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger(Journal.class);
+
+    /**
+     * The extension of journal files.
+     */
+    public static final String EXTENSION = "journal";
+
+    /**
+     * The system property with a directory in which the application journals it's simulation.
+     */
+    public static final String PROPERTY = "marketstock.journal";
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    static final int MAGIC = 0x4D534A4C;
+    static final int VERSION = 1;
+    static final int MAX_RECORD_LENGTH = 1 << 24;
+
+    static final byte PURCHASE = 1;
+    static final byte SALE = 2;
+    static final byte TRADE = 3;
+    static final byte ISSUED = 4;
+    static final byte BUDGET_INCREASED = 5;
+    static final byte EXCHANGE_ADDED = 6;
+    static final byte EXCHANGE_REMOVED = 7;
+    static final byte LISTED = 8;
+    static final byte DELISTED = 9;
+    static final byte INVESTOR_ADDED = 10;
+    static final byte INVESTMENT_FUND_ADDED = 11;
+    static final byte ENTITY_REMOVED = 12;
+    static final byte INDEX_ADDED = 13;
+    static final byte INDEX_REMOVED = 14;
+
+    static final byte STOCK_EXCHANGE = 1;
+    static final byte CURRENCY_EXCHANGE = 2;
+    static final byte COMMODITY_EXCHANGE = 3;
+
+    private static final Pattern CHECKPOINT = Pattern.compile("simulation-(\\d+)\\." + SimulationSnapshot.EXTENSION);
+    private static final Pattern JOURNAL = Pattern.compile("simulation-(\\d+)\\." + EXTENSION);
+    private static final Pattern TEMPORARY = Pattern.compile("simulation-(\\d+)\\..+\\.tmp");
+    private static final int BATCH_BYTES = 1 << 20;
+    private static final int BATCH_LIMIT = 4096;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+    private static final long STALL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50L);
+    private static final long FLUSH_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100L);
+
+    private final Path directory;
+    private final boolean forced;
+    private final MpscRingBuffer<JournalEntry> ring;
+    private final StampedLock lock = new StampedLock();
+    private final Object fileLock = new Object();
+    private final CRC32 checksum = new CRC32();
+    private final LongAdder stalls = new LongAdder();
+    private final LongAdder droppedRecords = new LongAdder();
+    private final Thread writer;
+
+    private ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_BYTES);
+    private FileChannel channel;
+    private volatile ReferenceTable table = new ReferenceTable();
+    private long epoch;
+    private long checkpointEpoch;
+    private long pendingRecords = 0L;
+
+    private volatile Simulation simulation;
+    private volatile boolean running = true;
+    private volatile boolean waiting = false;
+    private volatile long durableRecords = 0L;
+    private volatile long commits = 0L;
+    private volatile IOException failure;
+
+    private Journal(final Path directory, final int capacity, final boolean forced) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.forced = forced;
+        this.ring = new MpscRingBuffer<>(capacity, JournalEntry::new);
+        this.checkpointEpoch = findLatestEpoch(directory, CHECKPOINT);
+        this.epoch = Math.max(checkpointEpoch, findLatestEpoch(directory, JOURNAL));
+        deleteTemporaryFiles(directory);
+
+        writer = new Thread(this::write, "journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Opens a journal in a directory with the default capacity. Every batch of records is forced to the disk.
+     * @param directory A directory of checkpoints and journal files. It's created if it doesn't exist.
+     * @return A journal that doesn't record anything until the first {@link #checkpoint(Simulation)}.
+     * @throws IOException If the directory couldn't be created or read.
+     */
+    public static Journal open(final Path directory) throws IOException {
+        return open(directory, DEFAULT_CAPACITY, true);
+    }
+
+    /**
+     * Opens a journal in a directory.
+     * @param directory A directory of checkpoints and journal files. It's created if it doesn't exist.
+     * @param capacity The maximum number of records waiting for the writer.
+     * @param forced Whether every batch of records is forced to the disk or left to the operating system.
+     * @return A journal that doesn't record anything until the first {@link #checkpoint(Simulation)}.
+     * @throws IOException If the directory couldn't be created or read.
+     */
+    public static Journal open(final Path directory, final int capacity, final boolean forced) throws IOException {
+        return new Journal(directory, capacity, forced);
+    }
+
+    /**
+     * Replays a journal file onto a simulation recovered from the checkpoint of the same epoch.
+     * @param journal A journal file.
+     * @param simulation A simulation whose agents weren't started yet.
+     * @return The number of replayed records.
+     * @throws IOException If the file couldn't be read or doesn't match the simulation.
+     */
+    public static long replay(final Path journal, final Simulation simulation) throws IOException {
+        return new JournalReplayer(simulation, ReferenceTable.of(simulation)).replay(journal);
+    }
+
+    public boolean hasCheckpoint() {
+        return checkpointEpoch >= 0L;
+    }
+
+    /**
+     * Reads the latest checkpoint and replays it's journal file, followed by journal files of later epochs.
+     * Records that were cut short by a crash are skipped.
+     * The journal stops recording until the recovered simulation is checkpointed, which also compacts the journal.
+     * @param simulationBuilder A builder of the simulation, for example with a selected execution mode.
+     * @return A recovered simulation whose agents aren't started yet or {@code null} if there is no checkpoint.
+     * @throws IOException If the checkpoint or the journal file couldn't be read.
+     */
+    public Simulation recover(final SimulationBuilder simulationBuilder) throws IOException {
+        final long stamp = lock.writeLock();
+        try {
+            if (!hasCheckpoint()) {
+                return null;
+            }
+
+            stopRecording();
+
+            final Simulation recovered;
+            try (final InputStream inputStream =
+                         new BufferedInputStream(Files.newInputStream(checkpointOf(checkpointEpoch)))) {
+
+                recovered = SimulationSnapshot.read(inputStream, simulationBuilder);
+            }
+
+            long replayed = 0L;
+            for (long replayedEpoch = checkpointEpoch; replayedEpoch <= epoch; replayedEpoch++) {
+                final Path journal = journalOf(replayedEpoch);
+
+                if (Files.exists(journal)) {
+                    replayed += replay(journal, recovered);
+                }
+            }
+
+            LOGGER.info("[JOURNAL]: Recovered epochs {} to {} with {} records from {}.",
+                    checkpointEpoch, epoch, replayed, directory);
+            return recovered;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Captures a simulation, starts a new journal file at the same point and writes the capture as a checkpoint.
+     * The simulation may run in the meantime, since it's held back only while it's captured.
+     * Once the checkpoint is written, previous epochs are deleted. From now on, every change of the simulation
+     * is recorded. Checkpoints are taken one at a time.
+     * @param simulation A simulation that is to be recorded.
+     * @throws IOException If the checkpoint or the journal file couldn't be written.
+     */
+    public synchronized void checkpoint(final Simulation simulation) throws IOException {
+        final long nextEpoch = epoch + 1L;
+        final FileChannel nextChannel = createJournal(nextEpoch);
+
+        final SimulationCapture capture;
+        try {
+            capture = SimulationCapture.of(simulation, () -> startEpoch(simulation, nextEpoch, nextChannel));
+        } catch (UncheckedIOException exception) {
+            nextChannel.close();
+            throw exception.getCause();
+        }
+
+        final Path checkpoint = checkpointOf(nextEpoch);
+        final Path temporary = directory.resolve(checkpoint.getFileName() + ".tmp");
+
+        try (final SimulationCapture closed = capture;
+             final FileOutputStream fileOutputStream = new FileOutputStream(temporary.toFile());
+             final OutputStream outputStream = new BufferedOutputStream(fileOutputStream, 1 << 16)) {
+
+            closed.write(outputStream, SnapshotProgress.NONE);
+            outputStream.flush();
+            fileOutputStream.getChannel().force(true);
+        }
+
+        Files.move(temporary, checkpoint, StandardCopyOption.ATOMIC_MOVE);
+        checkpointEpoch = nextEpoch;
+        deleteEpochsBefore(nextEpoch);
+
+        LOGGER.info("[JOURNAL]: Checkpoint {} with {} copies on write in {}.",
+                nextEpoch, capture.getCopiesOnWrite(), directory);
+    }
+
+    /**
+     * Switches to the journal file of the next epoch. Runs while the simulation is held back,
+     * so records of earlier changes go to the previous file and records of later ones to the next.
+     */
+    private void startEpoch(final Simulation simulation, final long nextEpoch, final FileChannel nextChannel) {
+        final long stamp = lock.writeLock();
+        try {
+            stopRecording();
+            synchronized (fileLock) {
+                channel = nextChannel;
+            }
+
+            epoch = nextEpoch;
+            table = ReferenceTable.of(simulation);
+            table.forEach(this::follow);
+            failure = null;
+            this.simulation = simulation;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Waits until every record published so far has been written by the writer thread.
+     * @throws IOException If the writer failed to write records since the last checkpoint.
+     */
+    public void flush() throws IOException {
+        final long target = ring.getClaimed();
+
+        while (durableRecords < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, FLUSH_PARK_NANOS);
+        }
+
+        final IOException cause = failure;
+        if (nonNull(cause)) {
+            throw new IOException("Journal failed to write records", cause);
+        }
+    }
+
+    /**
+     * Writes every published record and stops the writer thread. A closed journal doesn't record anything.
+     * @throws IOException If the writer failed to write records since the last checkpoint.
+     */
+    @Override
+    public void close() throws IOException {
+        final long stamp = lock.writeLock();
+        try {
+            if (!running) {
+                return;
+            }
+
+            try {
+                stopRecording();
+            } finally {
+                running = false;
+                LockSupport.unpark(writer);
+
+                try {
+                    writer.join(TimeUnit.SECONDS.toMillis(1L));
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            LOGGER.info("[JOURNAL]: Closed with {} records in {} commits.", durableRecords, commits);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Tells whether changes of a simulation are recorded.
+     * @param simulation A simulation.
+     * @return {@code true} if the simulation was the last one checkpointed and the journal is open.
+     */
+    public boolean isRecording(final Simulation simulation) {
+        return nonNull(simulation) && this.simulation == simulation;
+    }
+
+    public void recordPurchase(final Asset asset,
+                               final Entity entity,
+                               final int number,
+                               final double price,
+                               final double rate) {
+
+        final long stamp = lock.tryOptimisticRead();
+
+        if (!tryRecordPurchase(stamp, asset, entity, number, price, rate)) {
+            final long readStamp = lock.readLock();
+            try {
+                tryRecordPurchase(readStamp, asset, entity, number, price, rate);
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+    }
+
+    private boolean tryRecordPurchase(final long stamp,
+                                      final Asset asset,
+                                      final Entity entity,
+                                      final int number,
+                                      final double price,
+                                      final double rate) {
+
+        final ReferenceTable current = table;
+        final int assetId = current.idOf(asset);
+        final int entityId = current.idOf(entity);
+
+        if (assetId == NONE || entityId == NONE) {
+            return drop(stamp, PURCHASE);
+        }
+
+        final long sequence = claim();
+        final DataOutputStream output = begin(stamp, sequence, PURCHASE);
+        if (isNull(output)) {
+            return false;
+        }
+
+        try {
+            writeVarInt(output, assetId);
+            writeVarInt(output, entityId);
+            writeVarInt(output, number);
+            output.writeDouble(price);
+            output.writeDouble(rate);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            publish(sequence);
+        }
+
+        return true;
+    }
+
+    public void recordSale(final Asset asset,
+                           final Entity entity,
+                           final int number,
+                           final double price,
+                           final double priceMinusMargin,
+                           final double rate) {
+
+        final long stamp = lock.tryOptimisticRead();
+
+        if (!tryRecordSale(stamp, asset, entity, number, price, priceMinusMargin, rate)) {
+            final long readStamp = lock.readLock();
+            try {
+                tryRecordSale(readStamp, asset, entity, number, price, priceMinusMargin, rate);
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+    }
+
+    private boolean tryRecordSale(final long stamp,
+                                  final Asset asset,
+                                  final Entity entity,
+                                  final int number,
+                                  final double price,
+                                  final double priceMinusMargin,
+                                  final double rate) {
+
+        final ReferenceTable current = table;
+        final int assetId = current.idOf(asset);
+        final int entityId = current.idOf(entity);
+
+        if (assetId == NONE || entityId == NONE) {
+            return drop(stamp, SALE);
+        }
+
+        final long sequence = claim();
+        final DataOutputStream output = begin(stamp, sequence, SALE);
+        if (isNull(output)) {
+            return false;
+        }
+
+        try {
+            writeVarInt(output, assetId);
+            writeVarInt(output, entityId);
+            writeVarInt(output, number);
+            output.writeDouble(price);
+            output.writeDouble(priceMinusMargin);
+            output.writeDouble(rate);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            publish(sequence);
+        }
+
+        return true;
+    }
+
+    public void recordTrade(final Asset asset,
+                            final Entity buyer,
+                            final Entity seller,
+                            final double price,
+                            final int number) {
+
+        final long stamp = lock.tryOptimisticRead();
+
+        if (!tryRecordTrade(stamp, asset, buyer, seller, price, number)) {
+            final long readStamp = lock.readLock();
+            try {
+                tryRecordTrade(readStamp, asset, buyer, seller, price, number);
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+    }
+
+    private boolean tryRecordTrade(final long stamp,
+                                   final Asset asset,
+                                   final Entity buyer,
+                                   final Entity seller,
+                                   final double price,
+                                   final int number) {
+
+        final ReferenceTable current = table;
+        final int assetId = current.idOf(asset);
+        final int buyerId = current.idOf(buyer);
+        final int sellerId = current.idOf(seller);
+
+        if (assetId == NONE || buyerId == NONE || sellerId == NONE) {
+            return drop(stamp, TRADE);
+        }
+
+        final long sequence = claim();
+        final DataOutputStream output = begin(stamp, sequence, TRADE);
+        if (isNull(output)) {
+            return false;
+        }
+
+        try {
+            writeVarInt(output, assetId);
+            writeVarInt(output, buyerId);
+            writeVarInt(output, sellerId);
+            output.writeDouble(price);
+            writeVarInt(output, number);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            publish(sequence);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void onIssued(final Asset asset, final int number) {
+        if (isNull(simulation)) return;
+
+        final long stamp = lock.tryOptimisticRead();
+
+        if (!tryRecordIssued(stamp, asset, number)) {
+            final long readStamp = lock.readLock();
+            try {
+                tryRecordIssued(readStamp, asset, number);
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+    }
+
+    private boolean tryRecordIssued(final long stamp, final Asset asset, final int number) {
+        final int assetId = table.idOf(asset);
+
+        if (assetId == NONE) {
+            return drop(stamp, ISSUED);
+        }
+
+        final long sequence = claim();
+        final DataOutputStream output = begin(stamp, sequence, ISSUED);
+        if (isNull(output)) {
+            return false;
+        }
+
+        try {
+            writeVarInt(output, assetId);
+            writeVarInt(output, number);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            publish(sequence);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void onBudgetIncreased(final Entity entity, final double addend) {
+        if (isNull(simulation)) return;
+
+        final long stamp = lock.tryOptimisticRead();
+
+        if (!tryRecordBudgetIncreased(stamp, entity, addend)) {
+            final long readStamp = lock.readLock();
+            try {
+                tryRecordBudgetIncreased(readStamp, entity, addend);
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+    }
+
+    private boolean tryRecordBudgetIncreased(final long stamp, final Entity entity, final double addend) {
+        final int entityId = table.idOf(entity);
+
+        if (entityId == NONE) {
+            return drop(stamp, BUDGET_INCREASED);
+        }
+
+        final long sequence = claim();
+        final DataOutputStream output = begin(stamp, sequence, BUDGET_INCREASED);
+        if (isNull(output)) {
+            return false;
+        }
+
+        try {
+            writeVarInt(output, entityId);
+            output.writeDouble(addend);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            publish(sequence);
+        }
+
+        return true;
+    }
+
+    public void recordExchangeAdded(final Exchange exchange) {
+        final byte kind;
+        if (exchange instanceof StockExchange) {
+            kind = STOCK_EXCHANGE;
+        } else if (exchange instanceof CurrencyExchange) {
+            kind = CURRENCY_EXCHANGE;
+        } else if (exchange instanceof CommodityExchange) {
+            kind = COMMODITY_EXCHANGE;
+        } else {
+            drop(EXCHANGE_ADDED);
+            return;
+        }
+
+        final long stamp = lock.writeLock();
+        try {
+            if (isNull(simulation)) return;
+
+            table.add(exchange);
+            append(EXCHANGE_ADDED, output -> {
+                output.writeByte(kind);
+                SnapshotRecords.writeExchange(output, exchange);
+            });
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void recordExchangeRemoved(final Exchange exchange) {
+        final long stamp = lock.readLock();
+        try {
+            final int exchangeId = table.idOf(exchange);
+
+            if (exchangeId == NONE) {
+                drop(EXCHANGE_REMOVED);
+                return;
+            }
+
+            append(EXCHANGE_REMOVED, output -> writeVarInt(output, exchangeId));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Records an asset listed by an exchange. Should be called before a company is started,
+     * so that none of it's issues is missed.
+     * @param exchange An exchange that lists the asset.
+     * @param asset A company, a currency or a commodity.
+     */
+    public void recordListed(final Exchange exchange, final Asset asset) {
+        final long stamp = lock.writeLock();
+        try {
+            if (isNull(simulation)) return;
+
+            final int exchangeId = table.idOf(exchange);
+            if (exchangeId == NONE) {
+                drop(LISTED);
+                return;
+            }
+
+            final int comparisonCurrency = asset instanceof Currency
+                    ? table.idOf(((Currency) asset).getComparisonCurrency())
+                    : NONE;
+
+            table.add(asset);
+            follow(asset);
+            append(LISTED, output -> {
+                writeVarInt(output, exchangeId);
+
+                if (asset instanceof Company) {
+                    SnapshotRecords.writeCompany(output, (Company) asset);
+                } else if (asset instanceof Currency) {
+                    SnapshotRecords.writeCurrency(output, (Currency) asset, comparisonCurrency);
+                } else if (asset instanceof Commodity) {
+                    SnapshotRecords.writeCommodity(output, (Commodity) asset);
+                }
+            });
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void recordDelisted(final Exchange exchange, final Asset asset) {
+        final long stamp = lock.readLock();
+        try {
+            final int exchangeId = table.idOf(exchange);
+            final int assetId = table.idOf(asset);
+
+            if (exchangeId == NONE || assetId == NONE) {
+                drop(DELISTED);
+                return;
+            }
+
+            append(DELISTED, output -> {
+                writeVarInt(output, exchangeId);
+                writeVarInt(output, assetId);
+            });
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Records a new investor. Should be called before the investor is started.
+     * @param investor An investor that was added.
+     */
+    public void recordInvestorAdded(final Investor investor) {
+        final long stamp = lock.writeLock();
+        try {
+            if (isNull(simulation)) return;
+
+            table.add(investor);
+            follow(investor);
+            append(INVESTOR_ADDED, output -> SnapshotRecords.writeInvestor(output, investor));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Records a new investment fund. Should be called before the investment fund is started.
+     * @param investmentFund An investment fund that was added.
+     */
+    public void recordInvestmentFundAdded(final InvestmentFund investmentFund) {
+        final long stamp = lock.writeLock();
+        try {
+            if (isNull(simulation)) return;
+
+            table.add(investmentFund);
+            follow(investmentFund);
+            append(INVESTMENT_FUND_ADDED, output -> SnapshotRecords.writeInvestmentFund(output, investmentFund));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void recordEntityRemoved(final Entity entity) {
+        final long stamp = lock.readLock();
+        try {
+            final int entityId = table.idOf(entity);
+
+            if (entityId == NONE) {
+                drop(ENTITY_REMOVED);
+                return;
+            }
+
+            append(ENTITY_REMOVED, output -> writeVarInt(output, entityId));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void recordIndexAdded(final StockExchange stockExchange, final Index index) {
+        final long stamp = lock.readLock();
+        try {
+            final int exchangeId = table.idOf(stockExchange);
+
+            if (exchangeId == NONE) {
+                drop(INDEX_ADDED);
+                return;
+            }
+
+            append(INDEX_ADDED, output -> {
+                writeVarInt(output, exchangeId);
+                SnapshotRecords.writeIndex(output, index);
+            });
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Records an index removed from a stock exchange.
+     * @param stockExchange A stock exchange that had the index.
+     * @param position The position of the index among indices of the exchange before it was removed.
+     */
+    public void recordIndexRemoved(final StockExchange stockExchange, final int position) {
+        final long stamp = lock.readLock();
+        try {
+            final int exchangeId = table.idOf(stockExchange);
+
+            if (exchangeId == NONE) {
+                drop(INDEX_REMOVED);
+                return;
+            }
+
+            append(INDEX_REMOVED, output -> {
+                writeVarInt(output, exchangeId);
+                writeVarInt(output, position);
+            });
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Encodes a record into the next slot of the ring and publishes it.
+     * Must be called while the table is locked, so that the record follows whatever it refers to.
+     */
+    private void append(final byte type, final Encoder encoder) {
+        if (isNull(simulation)) return;
+
+        final long sequence = claim();
+        try {
+            encoder.encode(ring.get(sequence).begin(type));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            publish(sequence);
+        }
+    }
+
+    /**
+     * Starts a record in a claimed slot, if the table didn't change since a stamp of the lock was taken.
+     * Otherwise, the slot is published empty, so that the writer skips it.
+     * A slot claimed under a valid stamp is claimed before any later change of the table,
+     * so a new journal file waits for it's record.
+     * @return An output of the record's payload or {@code null} if the record has to be made again.
+     */
+    private DataOutputStream begin(final long stamp, final long sequence, final byte type) {
+        final JournalEntry entry = ring.get(sequence);
+
+        if (!lock.validate(stamp)) {
+            entry.clear();
+            publish(sequence);
+            return null;
+        }
+
+        return entry.begin(type);
+    }
+
+    private void publish(final long sequence) {
+        ring.publish(sequence);
+
+        if (waiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Claims a slot of the ring. If the ring is full, waits for the writer instead of dropping the record.
+     */
+    private long claim() {
+        long sequence = ring.tryClaim();
+
+        while (sequence < 0L) {
+            stalls.increment();
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, STALL_PARK_NANOS);
+            sequence = ring.tryClaim();
+        }
+
+        return sequence;
+    }
+
+    /**
+     * Drops a record that refers to an object missing from the table, if the table didn't change
+     * since a stamp of the lock was taken.
+     * @return {@code false} if the record has to be made again, otherwise {@code true}.
+     */
+    private boolean drop(final long stamp, final byte type) {
+        if (!lock.validate(stamp)) {
+            return false;
+        }
+
+        drop(type);
+        return true;
+    }
+
+    private void drop(final byte type) {
+        if (isNull(simulation)) return;
+
+        droppedRecords.increment();
+        LOGGER.warn("[JOURNAL]: Record of type {} refers to an object that isn't journaled and is dropped.", type);
+    }
+
+    private void write() {
+        while (running || !ring.isEmpty()) {
+            if (ring.drain(this::frame, BATCH_LIMIT) > 0) {
+                commit();
+                continue;
+            }
+
+            waiting = true;
+            if (running && ring.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            waiting = false;
+        }
+
+        synchronized (fileLock) {
+            closeChannel();
+        }
+    }
+
+    /**
+     * Frames a record with it's length and checksum in the current batch.
+     * A batch that can't hold the record is written first. Empty slots are skipped.
+     */
+    private void frame(final JournalEntry entry) {
+        final int length = entry.length();
+        if (length == 0) {
+            pendingRecords++;
+            return;
+        }
+
+        final int framedLength = length + 2 * Integer.BYTES;
+
+        if (batch.remaining() < framedLength) {
+            writeBatch();
+
+            if (batch.capacity() < framedLength) {
+                batch = ByteBuffer.allocateDirect(framedLength);
+            }
+        }
+
+        checksum.reset();
+        checksum.update(entry.array(), 0, length);
+
+        batch.putInt(length);
+        batch.put(entry.array(), 0, length);
+        batch.putInt((int) checksum.getValue());
+        pendingRecords++;
+    }
+
+    private void commit() {
+        writeBatch();
+
+        if (forced) {
+            synchronized (fileLock) {
+                try {
+                    if (nonNull(channel)) {
+                        channel.force(false);
+                    }
+                } catch (IOException exception) {
+                    fail(exception);
+                }
+            }
+        }
+
+        durableRecords += pendingRecords;
+        pendingRecords = 0L;
+        commits++;
+    }
+
+    private void writeBatch() {
+        batch.flip();
+
+        synchronized (fileLock) {
+            try {
+                while (nonNull(channel) && batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+            } catch (IOException exception) {
+                fail(exception);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fail(final IOException exception) {
+        if (isNull(failure)) {
+            LOGGER.error("[JOURNAL]: Failed to write records to " + journalOf(epoch) + ".", exception);
+        }
+
+        failure = exception;
+    }
+
+    /**
+     * Writes every published record, stops following the current simulation and closes the current journal file.
+     */
+    private void stopRecording() throws IOException {
+        try {
+            flush();
+        } finally {
+            simulation = null;
+            table.forEach(this::unfollow);
+            table = new ReferenceTable();
+
+            synchronized (fileLock) {
+                closeChannel();
+            }
+        }
+    }
+
+    private void closeChannel() {
+        if (isNull(channel)) return;
+
+        try {
+            channel.close();
+        } catch (IOException exception) {
+            LOGGER.warn("[JOURNAL]: Failed to close " + journalOf(epoch) + ".", exception);
+        } finally {
+            channel = null;
+        }
+    }
+
+    private FileChannel createJournal(final long epoch) throws IOException {
+        final FileChannel journal = FileChannel.open(journalOf(epoch),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(MAGIC);
+        writeVarInt(output, VERSION);
+        output.writeLong(epoch);
+
+        final ByteBuffer header = ByteBuffer.wrap(bytes.toByteArray());
+
+        while (header.hasRemaining()) {
+            journal.write(header);
+        }
+
+        journal.force(true);
+        return journal;
+    }
+
+    private void follow(final Object object) {
+        if (object instanceof Company) {
+            ((Company) object).addIssueListener(this);
+        } else if (object instanceof InvestmentFund) {
+            ((InvestmentFund) object).addIssueListener(this);
+        }
+
+        if (object instanceof AbstractEntity) {
+            ((AbstractEntity) object).addBudgetListener(this);
+        }
+    }
+
+    private void unfollow(final Object object) {
+        if (object instanceof Company) {
+            ((Company) object).removeIssueListener(this);
+        } else if (object instanceof InvestmentFund) {
+            ((InvestmentFund) object).removeIssueListener(this);
+        }
+
+        if (object instanceof AbstractEntity) {
+            ((AbstractEntity) object).removeBudgetListener(this);
+        }
+    }
+
+    private Path checkpointOf(final long epoch) {
+        return directory.resolve("simulation-" + epoch + "." + SimulationSnapshot.EXTENSION);
+    }
+
+    private Path journalOf(final long epoch) {
+        return directory.resolve("simulation-" + epoch + "." + EXTENSION);
+    }
+
+    private void deleteEpochsBefore(final long firstEpoch) throws IOException {
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (final Path file : files) {
+                final String name = file.getFileName().toString();
+                final Matcher checkpoint = CHECKPOINT.matcher(name);
+                final Matcher journal = JOURNAL.matcher(name);
+
+                if ((checkpoint.matches() && Long.parseLong(checkpoint.group(1)) < firstEpoch)
+                        || (journal.matches() && Long.parseLong(journal.group(1)) < firstEpoch)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static void deleteTemporaryFiles(final Path directory) throws IOException {
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (final Path file : files) {
+                if (TEMPORARY.matcher(file.getFileName().toString()).matches()) {
+                    LOGGER.warn("[JOURNAL]: Deleting {} of an unfinished checkpoint.", file);
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static long findLatestEpoch(final Path directory, final Pattern pattern) throws IOException {
+        long latest = -1L;
+
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (final Path file : files) {
+                final Matcher matcher = pattern.matcher(file.getFileName().toString());
+
+                if (matcher.matches()) {
+                    latest = Math.max(latest, Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+
+        return latest;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("directory", directory)
+                .add("epoch", epoch)
+                .add("checkpointEpoch", checkpointEpoch)
+                .add("appendedRecords", getAppendedRecords())
+                .add("durableRecords", durableRecords)
+                .add("commits", commits)
+                .add("stalls", stalls.sum())
+                .add("droppedRecords", droppedRecords.sum())
+                .toString();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getCheckpointEpoch() {
+        return checkpointEpoch;
+    }
+
+    public long getAppendedRecords() {
+        return ring.getClaimed();
+    }
+
+    public long getDurableRecords() {
+        return durableRecords;
+    }
+
+    public long getCommits() {
+        return commits;
+    }
+
+    public long getStalls() {
+        return stalls.sum();
+    }
+
+    public long getDroppedRecords() {
+        return droppedRecords.sum();
+    }
+
+    /**
+     * Encodes the payload of a record.
+     */
+    @FunctionalInterface
+    private interface Encoder {
+
+        void encode(DataOutputStream output) throws IOException;
+    }
+}
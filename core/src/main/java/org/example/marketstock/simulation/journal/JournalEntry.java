@@ -0,0 +1,61 @@
+package org.example.marketstock.simulation.journal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+
+/**
+ * A reusable slot of the {@link Journal}'s ring. A producer encodes a record into the slot
+ * and the writer thread frames it in a batch. The buffer of a slot grows to the largest record it has held,
+ * so that encoding usually doesn't allocate.
+ *
+ * @author Dominik Szmyt
+ * @see Journal
+ * @since 1.1.0
+ */
+final class JournalEntry {
+
+    private final Buffer buffer = new Buffer();
+    private final DataOutputStream output = new DataOutputStream(buffer);
+
+    /**
+     * Starts a new record of a given type, dropping whatever the slot held before.
+     * @param type The type of a record.
+     * @return An output of the record's payload.
+     */
+    DataOutputStream begin(final byte type) {
+        buffer.reset();
+        buffer.write(type);
+        return output;
+    }
+
+    /**
+     * Empties the slot, so that it doesn't hold any record.
+     */
+    void clear() {
+        buffer.reset();
+    }
+
+    /**
+     * Returns the buffer that holds the type and the payload of a record. Only the first {@link #length()}
+     * bytes belong to the record.
+     * @return The buffer of a record.
+     */
+    byte[] array() {
+        return buffer.array();
+    }
+
+    int length() {
+        return buffer.size();
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        private Buffer() {
+            super(64);
+        }
+
+        private byte[] array() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package org.example.marketstock.simulation.journal;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.Countable;
+import org.example.marketstock.models.asset.Currency;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.entity.AbstractEntity;
+import org.example.marketstock.models.entity.Entity;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.CurrencyExchange;
+import org.example.marketstock.models.exchange.Exchange;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.serialization.SnapshotRecords;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+import static org.example.marketstock.simulation.journal.Journal.BUDGET_INCREASED;
+import static org.example.marketstock.simulation.journal.Journal.COMMODITY_EXCHANGE;
+import static org.example.marketstock.simulation.journal.Journal.CURRENCY_EXCHANGE;
+import static org.example.marketstock.simulation.journal.Journal.DELISTED;
+import static org.example.marketstock.simulation.journal.Journal.ENTITY_REMOVED;
+import static org.example.marketstock.simulation.journal.Journal.EXCHANGE_ADDED;
+import static org.example.marketstock.simulation.journal.Journal.EXCHANGE_REMOVED;
+import static org.example.marketstock.simulation.journal.Journal.INDEX_ADDED;
+import static org.example.marketstock.simulation.journal.Journal.INDEX_REMOVED;
+import static org.example.marketstock.simulation.journal.Journal.INVESTMENT_FUND_ADDED;
+import static org.example.marketstock.simulation.journal.Journal.INVESTOR_ADDED;
+import static org.example.marketstock.simulation.journal.Journal.ISSUED;
+import static org.example.marketstock.simulation.journal.Journal.LISTED;
+import static org.example.marketstock.simulation.journal.Journal.MAGIC;
+import static org.example.marketstock.simulation.journal.Journal.MAX_RECORD_LENGTH;
+import static org.example.marketstock.simulation.journal.Journal.PURCHASE;
+import static org.example.marketstock.simulation.journal.Journal.SALE;
+import static org.example.marketstock.simulation.journal.Journal.STOCK_EXCHANGE;
+import static org.example.marketstock.simulation.journal.Journal.TRADE;
+import static org.example.marketstock.simulation.journal.Journal.VERSION;
+import static org.example.marketstock.simulation.serialization.SnapshotRecords.readVarInt;
+
+/**
+ * Applies records of a single journal file to a simulation that was recovered from the snapshot of the same epoch.
+ * <br>
+ * Records are applied the way the simulation applied the changes they describe, but with the values
+ * that were drawn or computed at that time, so no record is ever drawn again. Agents aren't started,
+ * which means that a simulation has to be replayed before it's started. Replay stops at the first record
+ * that is cut short or whose checksum doesn't match, because such a record was being written during a crash.
+ *
+ * @author Dominik Szmyt
+ * @see Journal
+ * @since 1.1.0
+ */
+final class JournalReplayer {
+
+    private static final Logger LOGGER = LogManager.getLogger(JournalReplayer.class);
+
+    private final Simulation simulation;
+    private final ReferenceTable table;
+    private final CRC32 checksum = new CRC32();
+
+    JournalReplayer(final Simulation simulation, final ReferenceTable table) {
+        this.simulation = simulation;
+        this.table = table;
+    }
+
+    /**
+     * Applies every complete record of a journal file.
+     * @param journal A journal file.
+     * @return The number of applied records.
+     * @throws IOException If the file couldn't be read, isn't a journal or refers to objects that don't exist.
+     */
+    long replay(final Path journal) throws IOException {
+        try (final InputStream inputStream = new BufferedInputStream(Files.newInputStream(journal), 1 << 16)) {
+            return replay(new DataInputStream(inputStream), journal);
+        }
+    }
+
+    private long replay(final DataInputStream input, final Path journal) throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a simulation journal: " + journal);
+        }
+
+        final int version = readVarInt(input);
+        if (version != VERSION) {
+            throw new IOException("Unsupported version of a simulation journal: " + version);
+        }
+
+        final long epoch = input.readLong();
+
+        byte[] record = new byte[256];
+        long replayed = 0L;
+
+        while (true) {
+            final int length;
+            try {
+                length = input.readInt();
+            } catch (EOFException endOfJournal) {
+                break;
+            }
+
+            if (length < 1 || length > MAX_RECORD_LENGTH) {
+                LOGGER.warn("[JOURNAL]: Record {} of epoch {} has a broken length {}, replay stops.",
+                        replayed, epoch, length);
+                break;
+            }
+
+            if (record.length < length) {
+                record = new byte[Math.max(length, record.length * 2)];
+            }
+
+            final int expected;
+            try {
+                input.readFully(record, 0, length);
+                expected = input.readInt();
+            } catch (EOFException tornRecord) {
+                LOGGER.warn("[JOURNAL]: Record {} of epoch {} is cut short, replay stops.", replayed, epoch);
+                break;
+            }
+
+            checksum.reset();
+            checksum.update(record, 0, length);
+            if ((int) checksum.getValue() != expected) {
+                LOGGER.warn("[JOURNAL]: Record {} of epoch {} has a wrong checksum, replay stops.", replayed, epoch);
+                break;
+            }
+
+            apply(record[0], new DataInputStream(new ByteArrayInputStream(record, 1, length - 1)));
+            replayed++;
+        }
+
+        LOGGER.info("[JOURNAL]: Replayed {} records of epoch {}.", replayed, epoch);
+        return replayed;
+    }
+
+    private void apply(final byte type, final DataInputStream input) throws IOException {
+        switch (type) {
+            case PURCHASE:
+                applyPurchase(input);
+                break;
+            case SALE:
+                applySale(input);
+                break;
+            case TRADE:
+                applyTrade(input);
+                break;
+            case ISSUED: {
+                final Asset asset = asset(input);
+                ((Countable) asset).increaseNumberOfAssets(readVarInt(input));
+                break;
+            }
+            case BUDGET_INCREASED: {
+                final AbstractEntity entity = table.get(readVarInt(input), AbstractEntity.class);
+                entity.increaseBudget(input.readDouble());
+                break;
+            }
+            case EXCHANGE_ADDED:
+                applyExchangeAdded(input);
+                break;
+            case EXCHANGE_REMOVED:
+                applyExchangeRemoved(table.get(readVarInt(input), Exchange.class));
+                break;
+            case LISTED:
+                applyListed(table.get(readVarInt(input), Exchange.class), input);
+                break;
+            case DELISTED:
+                applyDelisted(table.get(readVarInt(input), Exchange.class), asset(input));
+                break;
+            case INVESTOR_ADDED: {
+                final Investor investor = SnapshotRecords.readInvestor(input, simulation);
+                table.add(investor);
+                simulation.getInvestors().add(investor);
+                break;
+            }
+            case INVESTMENT_FUND_ADDED: {
+                final InvestmentFund investmentFund = SnapshotRecords.readInvestmentFund(input, simulation);
+                table.add(investmentFund);
+                simulation.getInvestmentFunds().add(investmentFund);
+                break;
+            }
+            case ENTITY_REMOVED:
+                applyEntityRemoved(table.get(readVarInt(input), Entity.class));
+                break;
+            case INDEX_ADDED: {
+                final StockExchange stockExchange = table.get(readVarInt(input), StockExchange.class);
+                stockExchange.addIndex(SnapshotRecords.readIndex(input));
+                break;
+            }
+            case INDEX_REMOVED: {
+                final StockExchange stockExchange = table.get(readVarInt(input), StockExchange.class);
+                final int position = readVarInt(input);
+
+                if (position >= stockExchange.getIndices().size()) {
+                    throw new IOException("Unknown index " + position + " of " + stockExchange.getName());
+                }
+
+                simulation.removeIndex(stockExchange.getIndices().get(position), stockExchange);
+                break;
+            }
+            default:
+                throw new IOException("Unknown type of record " + type);
+        }
+    }
+
+    private void applyPurchase(final DataInputStream input) throws IOException {
+        final Asset asset = asset(input);
+        final Entity entity = entity(input);
+        final int number = readVarInt(input);
+        final double price = input.readDouble();
+        final double rate = input.readDouble();
+
+        entity.addAsset(price, asset, number);
+        asset.updateRate(rate);
+
+        if (asset instanceof Countable) {
+            ((Countable) asset).decreaseNumberOfAssets(number);
+        }
+
+        if (asset instanceof Company) {
+            ((Company) asset).updateTurnoverAndVolume(price, number);
+        }
+    }
+
+    private void applySale(final DataInputStream input) throws IOException {
+        final Asset asset = asset(input);
+        final Entity entity = entity(input);
+        final int number = readVarInt(input);
+        final double price = input.readDouble();
+        final double priceMinusMargin = input.readDouble();
+        final double rate = input.readDouble();
+
+        entity.subtractAsset(priceMinusMargin, asset, number);
+        asset.updateRate(rate);
+
+        if (asset instanceof Countable) {
+            ((Countable) asset).increaseNumberOfAssets(number);
+        }
+
+        if (asset instanceof Company) {
+            ((Company) asset).updateTurnoverAndVolume(price, number);
+        }
+    }
+
+    private void applyTrade(final DataInputStream input) throws IOException {
+        final Asset asset = asset(input);
+        final Entity buyer = entity(input);
+        final Entity seller = entity(input);
+        final double price = input.readDouble();
+        final int number = readVarInt(input);
+        final double total = price * number;
+
+        buyer.addAsset(total, asset, number);
+        seller.subtractAsset(total - total * asset.getMargin(), asset, number);
+        asset.updateRate(price);
+
+        if (asset instanceof Company) {
+            ((Company) asset).updateTurnoverAndVolume(total, number);
+        }
+    }
+
+    private void applyExchangeAdded(final DataInputStream input) throws IOException {
+        final byte kind = input.readByte();
+
+        switch (kind) {
+            case STOCK_EXCHANGE: {
+                final StockExchange stockExchange = SnapshotRecords.readStockExchange(input)
+                        .withIndices(new ArrayList<>())
+                        .withCompanies(new ArrayList<>())
+                        .build();
+                table.add(stockExchange);
+                simulation.getStockExchanges().add(stockExchange);
+                break;
+            }
+            case CURRENCY_EXCHANGE: {
+                final CurrencyExchange currencyExchange = SnapshotRecords.readCurrencyExchange(input)
+                        .withCurrencies(new ArrayList<>())
+                        .build();
+                table.add(currencyExchange);
+                simulation.getCurrencyExchanges().add(currencyExchange);
+                break;
+            }
+            case COMMODITY_EXCHANGE: {
+                final CommodityExchange commodityExchange = SnapshotRecords.readCommodityExchange(input)
+                        .withCommodities(new ArrayList<>())
+                        .build();
+                table.add(commodityExchange);
+                simulation.getCommodityExchanges().add(commodityExchange);
+                break;
+            }
+            default:
+                throw new IOException("Unknown type of exchange " + kind);
+        }
+    }
+
+    private void applyExchangeRemoved(final Exchange exchange) {
+        if (exchange instanceof StockExchange) {
+            simulation.removeStockExchange((StockExchange) exchange);
+        } else if (exchange instanceof CurrencyExchange) {
+            simulation.removeCurrencyExchange((CurrencyExchange) exchange);
+        } else if (exchange instanceof CommodityExchange) {
+            simulation.removeCommodityExchange((CommodityExchange) exchange);
+        }
+    }
+
+    private void applyListed(final Exchange exchange, final DataInputStream input) throws IOException {
+        if (exchange instanceof StockExchange) {
+            final Company company = SnapshotRecords.readCompany(input);
+            table.add(company);
+            ((StockExchange) exchange).addCompany(company);
+        } else if (exchange instanceof CurrencyExchange) {
+            final Currency currency = SnapshotRecords.readCurrency(input, this::currency);
+            table.add(currency);
+            ((CurrencyExchange) exchange).addCurrency(currency);
+        } else if (exchange instanceof CommodityExchange) {
+            final Commodity commodity = SnapshotRecords.readCommodity(input);
+            table.add(commodity);
+            ((CommodityExchange) exchange).addResource(commodity);
+        }
+    }
+
+    /**
+     * Delists an asset right away. Unlike {@link Simulation#removeCompany(Company, StockExchange)},
+     * a company isn't running, so there is nothing to wait for.
+     */
+    private void applyDelisted(final Exchange exchange, final Asset asset) {
+        if (exchange instanceof StockExchange) {
+            simulation.removeAssetFromBriefcase(asset);
+            ((StockExchange) exchange).removeCompany((Company) asset);
+            exchange.closeOrderBook(asset);
+        } else if (exchange instanceof CurrencyExchange) {
+            simulation.removeCurrency((Currency) asset, (CurrencyExchange) exchange);
+        } else if (exchange instanceof CommodityExchange) {
+            simulation.removeCommodity((Commodity) asset, (CommodityExchange) exchange);
+        }
+    }
+
+    private void applyEntityRemoved(final Entity entity) {
+        if (entity instanceof InvestmentFund) {
+            simulation.removeAssetFromBriefcase((InvestmentFund) entity);
+            simulation.getInvestmentFunds().remove(entity);
+        } else {
+            simulation.getInvestors().remove(entity);
+        }
+    }
+
+    private Asset asset(final DataInputStream input) throws IOException {
+        return table.get(readVarInt(input), Asset.class);
+    }
+
+    private Entity entity(final DataInputStream input) throws IOException {
+        return table.get(readVarInt(input), Entity.class);
+    }
+
+    private Currency currency(final int id) {
+        try {
+            return table.get(id, Currency.class);
+        } catch (IOException exception) {
+            LOGGER.warn("[JOURNAL]: " + exception.getMessage() + ", the currency is compared to nothing.");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.marketstock.simulation.journal;
+
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.CurrencyExchange;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.simulation.Simulation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.example.marketstock.simulation.serialization.SnapshotRecords.NONE;
+
+/**
+ * Gives exchanges, assets and entities of a simulation the ids that records of a {@link Journal} refer to.
+ * <br>
+ * A table starts with a walk over a simulation in a fixed order: the player, the main currency,
+ * every stock exchange followed by it's companies, every currency exchange followed by it's currencies,
+ * every commodity exchange followed by it's commodities, investment funds and finally investors.
+ * Objects added later get the next free id. Ids of removed objects are never reused.
+ * Since a snapshot keeps the order of every list, a table built from a recovered simulation
+ * gives the same ids as the table built when the snapshot was taken.
+ * <br>
+ * Objects are looked up by identity, just like in a {@code SimulationSnapshot}.
+ * <br>
+ * Tables aren't thread-safe. The {@link Journal} changes it's table only under a write lock,
+ * and producers that looked ids up optimistically look them up again if the table changed meanwhile.
+ *
+ * @author Dominik Szmyt
+ * @see Journal
+ * @since 1.1.0
+ */
+final class ReferenceTable {
+
+    private final List<Object> objects = new ArrayList<>();
+    private final Map<Object, Integer> ids = new IdentityHashMap<>();
+
+    /**
+     * Builds a table of every object that is present in a simulation.
+     * @param simulation A simulation that is to be walked.
+     * @return A new table.
+     */
+    static ReferenceTable of(final Simulation simulation) {
+        final ReferenceTable table = new ReferenceTable();
+
+        if (nonNull(simulation.getPlayer())) {
+            table.add(simulation.getPlayer());
+        }
+
+        if (nonNull(simulation.getMainCurrency())) {
+            table.add(simulation.getMainCurrency());
+        }
+
+        for (final StockExchange stockExchange : simulation.getStockExchanges()) {
+            table.add(stockExchange);
+            stockExchange.getCompanies().forEach(table::add);
+        }
+
+        for (final CurrencyExchange currencyExchange : simulation.getCurrencyExchanges()) {
+            table.add(currencyExchange);
+            currencyExchange.getCurrencies().forEach(table::add);
+        }
+
+        for (final CommodityExchange commodityExchange : simulation.getCommodityExchanges()) {
+            table.add(commodityExchange);
+            commodityExchange.getCommodities().forEach(table::add);
+        }
+
+        for (final InvestmentFund investmentFund : simulation.getInvestmentFunds()) {
+            table.add(investmentFund);
+        }
+
+        for (final Investor investor : simulation.getInvestors()) {
+            table.add(investor);
+        }
+
+        return table;
+    }
+
+    /**
+     * Gives an object the next free id.
+     * @param object An object that is to be added.
+     * @return The id of the object.
+     */
+    int add(final Object object) {
+        final int id = objects.size();
+
+        objects.add(object);
+        ids.put(object, id);
+
+        return id;
+    }
+
+    /**
+     * Looks up the id of an object.
+     * @param object An object that was added to the table.
+     * @return The id of the object or {@link org.example.marketstock.simulation.serialization.SnapshotRecords#NONE}.
+     */
+    int idOf(final Object object) {
+        if (isNull(object)) {
+            return NONE;
+        }
+
+        final Integer id = ids.get(object);
+        return isNull(id) ? NONE : id;
+    }
+
+    /**
+     * Returns an object of a given type.
+     * @param id The id of an object.
+     * @param type The expected type of the object.
+     * @param <T> The expected type of the object.
+     * @return The object with the given id.
+     * @throws IOException If there is no object of the given type with this id.
+     */
+    <T> T get(final int id, final Class<T> type) throws IOException {
+        final Object object = id >= 0 && id < objects.size() ? objects.get(id) : null;
+
+        if (!type.isInstance(object)) {
+            throw new IOException("Reference " + id + " isn't " + type.getSimpleName());
+        }
+
+        return type.cast(object);
+    }
+
+    void forEach(final Consumer<Object> consumer) {
+        objects.forEach(consumer);
+    }
+
+    int size() {
+        return objects.size();
+    }
+}
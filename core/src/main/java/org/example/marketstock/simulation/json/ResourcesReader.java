@@ -0,0 +1,34 @@
+package org.example.marketstock.simulation.json;
+
+import java.net.URL;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Provides a method to retrieve a string array from a specified location.
+ *
+ * @since 1.0.0
+ * @author Domink Szmyt
+ */
+public interface ResourcesReader {
+
+    /**
+     * An implementation can either search for the destination in local resources or make an API call.
+     * @param location Preferably an URL to a specified resource.
+     * @return An array of string values.
+     */
+    String[] getResource(String location);
+
+    /**
+     * Retrieves a string array from a resource on the classpath. By default, the resource is resolved to a path
+     * and read with {@link #getResource(String)}, which works only when resources are plain files.
+     * An implementation should rather read the resource's stream, so that it works from a jar as well.
+     * @param name The name of a resource, for example {@code built-in-names/cities.json}.
+     * @return An array of string values or an empty array if there is no such resource.
+     * @since 1.1.0
+     */
+    default String[] getClasspathResource(String name) {
+        final URL url = getClass().getClassLoader().getResource(name);
+        return isNull(url) ? new String[]{} : getResource(url.getPath());
+    }
+}
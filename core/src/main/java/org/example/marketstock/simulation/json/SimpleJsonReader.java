@@ -0,0 +1,75 @@
+package org.example.marketstock.simulation.json;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.simple.JSONArray;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Implements {@link ResourcesReader} to retrieve arrays from the local resources folder.
+ *
+ * @since 1.0.0
+ * @author Dominik Szmyt
+ */
+public final class SimpleJsonReader implements ResourcesReader {
+
+    private static final Logger LOGGER = LogManager.getLogger(SimpleJsonReader.class);
+
+    /**
+     * Reads a UTF-8 file from the local resources folder and returns it's content as a string array.
+     * @param location Preferably an URL to a specified resource.
+     * @return A string array from a file located in the local resources folder.
+     */
+    @Override
+    public String[] getResource(String location) {
+        try (Reader reader = new InputStreamReader(new FileInputStream(location), StandardCharsets.UTF_8)) {
+            return read(reader);
+        } catch (IOException | ParseException exception) {
+            LOGGER.error(exception.getMessage(), exception);
+        }
+
+        return new String[]{};
+    }
+
+    /**
+     * Reads a resource's stream from the classpath and returns it's content as a string array.
+     * Unlike {@link #getResource(String)}, it works when resources are packed in a jar.
+     * @param name The name of a resource, for example {@code built-in-names/cities.json}.
+     * @return A string array from a resource or an empty array if there is no such resource.
+     */
+    @Override
+    public String[] getClasspathResource(String name) {
+        final InputStream stream = SimpleJsonReader.class.getClassLoader().getResourceAsStream(name);
+
+        if (isNull(stream)) {
+            LOGGER.error("Resource {} not found on the classpath.", name);
+            return new String[]{};
+        }
+
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            return read(reader);
+        } catch (IOException | ParseException exception) {
+            LOGGER.error(exception.getMessage(), exception);
+        }
+
+        return new String[]{};
+    }
+
+    private static String[] read(final Reader reader) throws IOException, ParseException {
+        final Object object = new JSONParser().parse(reader);
+        final JSONArray jsonArray = (JSONArray) object;
+        final Object[] objects = jsonArray.toArray();
+        return Arrays.copyOf(objects, objects.length, String[].class);
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.marketstock.simulation.lock;
+
+/**
+ * Receives objects that are about to change. Called in the thread that changes an object
+ * before the object is locked, so it may copy the object as it is.
+ *
+ * @author Dominik Szmyt
+ * @see ChangeBarrier
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface BarrierListener {
+
+    /**
+     * Called before every change that passes a barrier.
+     * @param object An asset, an entity or {@code null} when a change touches only the structure of a simulation.
+     */
+    void beforeChange(Object object);
+}
@@ -0,0 +1,210 @@
+package org.example.marketstock.simulation.lock;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A barrier that every change of a simulation passes: trades, issues of assets, increases of budgets
+ * as well as exchanges, assets and entities that are added or removed.
+ * <br>
+ * Any number of changes pass the barrier at once. {@link #hold(Supplier)} waits for changes in flight,
+ * holds new ones back for as long as it's action takes and lets them go afterwards.
+ * An action that runs while the barrier is held sees a simulation that doesn't change,
+ * so it should only copy references and return, for example to start a snapshot.
+ * <br>
+ * Before a change touches an asset or an entity, {@link BarrierListener}s are told about it,
+ * which lets a snapshot copy the object as it was when the barrier was held (copy-on-write).
+ * <br>
+ * A change has to enter the barrier before it locks anything else, otherwise it could wait for a lock
+ * held by a change that is itself held back. A change that already passed the barrier may enter it again.
+ * <br>
+ * Changes in flight are counted in stripes picked by ids of their threads, so threads share a counter
+ * only when their ids collide. While the barrier isn't held, entering and exiting costs two atomic updates
+ * of the counter of a stripe, a read of a volatile flag and a look-up of the depth of the thread in a ThreadLocal.
+ * Listeners are only called while there are any, that is while a snapshot is being written.
+ *
+ * @author Dominik Szmyt
+ * @see BarrierListener
+ * @since 1.1.0
+ */
+public class ChangeBarrier {
+
+    /**
+     * A barrier of objects that aren't part of any simulation, which is never held.
+     */
+    public static final ChangeBarrier NONE = new ChangeBarrier();
+
+    private static final int STRIPES = 16;
+    private static final int PADDING = 16;
+
+    private final AtomicLongArray changesInFlight = new AtomicLongArray(STRIPES * PADDING);
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+    private final ReentrantLock holdLock = new ReentrantLock();
+    private volatile boolean held = false;
+    private final List<BarrierListener> barrierListeners = new CopyOnWriteArrayList<>();
+    private final LongAdder holds = new LongAdder();
+    private volatile long lastHoldNanos = 0L;
+
+    /**
+     * Lets a change that touches only the structure of a simulation pass the barrier.
+     * Must be followed by {@link #exit()}.
+     */
+    public void enter() {
+        pass();
+        notifyListeners(null);
+    }
+
+    /**
+     * Lets a change of a single object pass the barrier. Must be followed by {@link #exit()}.
+     * @param object An object that is about to change.
+     */
+    public void enter(final Object object) {
+        pass();
+        notifyListeners(object);
+    }
+
+    /**
+     * Lets a change of two objects pass the barrier. Must be followed by {@link #exit()}.
+     * @param first The first object that is about to change.
+     * @param second The second object that is about to change.
+     */
+    public void enter(final Object first, final Object second) {
+        pass();
+        notifyListeners(first);
+        notifyListeners(second);
+    }
+
+    /**
+     * Lets a change of three objects pass the barrier. Must be followed by {@link #exit()}.
+     * @param first The first object that is about to change.
+     * @param second The second object that is about to change.
+     * @param third The third object that is about to change.
+     */
+    public void enter(final Object first, final Object second, final Object third) {
+        pass();
+        notifyListeners(first);
+        notifyListeners(second);
+        notifyListeners(third);
+    }
+
+    /**
+     * Marks the end of a change that entered the barrier.
+     */
+    public void exit() {
+        depth.get()[0]--;
+        changesInFlight.decrementAndGet(stripe());
+    }
+
+    /**
+     * Waits for changes in flight, runs an action while new changes are held back and lets them go.
+     * @param action An action that should only copy references.
+     * @param <T> The type of the result of the action.
+     * @return The result of the action.
+     */
+    public <T> T hold(final Supplier<T> action) {
+        holdLock.lock();
+        try {
+            held = true;
+            awaitChangesInFlight();
+
+            final long start = System.nanoTime();
+            try {
+                return action.get();
+            } finally {
+                lastHoldNanos = System.nanoTime() - start;
+                holds.increment();
+            }
+        } finally {
+            held = false;
+            holdLock.unlock();
+        }
+    }
+
+    /**
+     * Counts a change in flight. A change that comes while the barrier is held waits until the hold ends,
+     * unless it's thread is already in flight or is the one that holds the barrier.
+     */
+    private void pass() {
+        final int[] current = depth.get();
+        final int stripe = stripe();
+
+        while (true) {
+            changesInFlight.incrementAndGet(stripe);
+            if (!held || current[0] > 0 || holdLock.isHeldByCurrentThread()) {
+                break;
+            }
+
+            changesInFlight.decrementAndGet(stripe);
+            holdLock.lock();
+            holdLock.unlock();
+        }
+
+        current[0]++;
+    }
+
+    private void awaitChangesInFlight() {
+        for (int stripe = 0; stripe < STRIPES * PADDING; stripe += PADDING) {
+            while (changesInFlight.get(stripe) != 0L) {
+                LockSupport.parkNanos(1_000L);
+            }
+        }
+    }
+
+    /**
+     * Counters of stripes are {@link #PADDING} longs apart, so that they don't share cache lines.
+     */
+    private static int stripe() {
+        return (int) (Thread.currentThread().getId() & (STRIPES - 1)) * PADDING;
+    }
+
+    private void notifyListeners(final Object object) {
+        if (barrierListeners.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (final BarrierListener barrierListener : barrierListeners) {
+                barrierListener.beforeChange(object);
+            }
+        } catch (RuntimeException exception) {
+            exit();
+            throw exception;
+        }
+    }
+
+    public void addBarrierListener(final BarrierListener barrierListener) {
+        if (nonNull(barrierListener)) {
+            barrierListeners.add(barrierListener);
+        }
+    }
+
+    public void removeBarrierListener(final BarrierListener barrierListener) {
+        barrierListeners.remove(barrierListener);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("holds", holds.sum())
+                .add("lastHoldNanos", lastHoldNanos)
+                .add("barrierListeners", barrierListeners.size())
+                .toString();
+    }
+
+    public long getHolds() {
+        return holds.sum();
+    }
+
+    public long getLastHoldNanos() {
+        return lastHoldNanos;
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.marketstock.simulation.lock;
+
+import com.google.common.base.MoreObjects;
+import org.example.marketstock.simulation.metrics.LatencyRecorder;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks shared by any number of objects. Each object is mapped to one stripe by it's hash code,
+ * so two trades block each other only when they touch the same asset or entity (or happen to share a stripe).
+ * <br>
+ * Assets and entities hash by their ids, which never change and are handed out in sequence,
+ * so consecutive assets and entities fall into different stripes.
+ * <br>
+ * Objects are always locked in the ascending order of their stripes, which makes locking deadlock-free.
+ * <br>
+ * Time spent waiting for a stripe that another thread holds is recorded by {@link #getWaitRecorder()}.
+ * A stripe that is free is taken without reading the clock, so only contention costs anything.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public class StripedLocks {
+
+    public static final int DEFAULT_STRIPES_PER_PROCESSOR = 16;
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+    private final LatencyRecorder waitRecorder = new LatencyRecorder();
+
+    /**
+     * Create a {@code StripedLocks} with a number of stripes that depends on the number of available processors.
+     */
+    public StripedLocks() {
+        this(Runtime.getRuntime().availableProcessors() * DEFAULT_STRIPES_PER_PROCESSOR);
+    }
+
+    /**
+     * Create a {@code StripedLocks} with at least the given number of stripes.
+     * @param stripes The minimum number of stripes, rounded up to the nearest power of two.
+     */
+    public StripedLocks(final int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Number of stripes must be positive");
+        }
+
+        final int size = Integer.highestOneBit(stripes) == stripes ? stripes : Integer.highestOneBit(stripes) << 1;
+
+        locks = new ReentrantLock[size];
+        mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Returns the index of a stripe that guards the given object.
+     * @param object An object that is to be guarded.
+     * @return The index of a stripe.
+     */
+    public int stripeOf(final Object object) {
+        final int hash = object.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Acquires the stripe of a single object.
+     * @param object An object that is to be guarded.
+     */
+    public void lock(final Object object) {
+        acquire(stripeOf(object));
+    }
+
+    /**
+     * Releases the stripe of a single object.
+     * @param object An object that was locked with {@link #lock(Object)}.
+     */
+    public void unlock(final Object object) {
+        locks[stripeOf(object)].unlock();
+    }
+
+    /**
+     * Acquires stripes of both objects in the ascending order. If both objects share a stripe, it is acquired once.
+     * @param first The first object that is to be guarded.
+     * @param second The second object that is to be guarded.
+     */
+    public void lock(final Object first, final Object second) {
+        final int firstStripe = stripeOf(first);
+        final int secondStripe = stripeOf(second);
+
+        acquire(Math.min(firstStripe, secondStripe));
+
+        if (firstStripe != secondStripe) {
+            acquire(Math.max(firstStripe, secondStripe));
+        }
+    }
+
+    /**
+     * Releases stripes of both objects in the reverse order.
+     * @param first The first object that was locked with {@link #lock(Object, Object)}.
+     * @param second The second object that was locked with {@link #lock(Object, Object)}.
+     */
+    public void unlock(final Object first, final Object second) {
+        final int firstStripe = stripeOf(first);
+        final int secondStripe = stripeOf(second);
+
+        if (firstStripe != secondStripe) {
+            locks[Math.max(firstStripe, secondStripe)].unlock();
+        }
+
+        locks[Math.min(firstStripe, secondStripe)].unlock();
+    }
+
+    /**
+     * Acquires stripes of three objects in the ascending order. Shared stripes are acquired once.
+     * @param first The first object that is to be guarded.
+     * @param second The second object that is to be guarded.
+     * @param third The third object that is to be guarded.
+     */
+    public void lock(final Object first, final Object second, final Object third) {
+        final int[] stripes = sortedStripes(first, second, third);
+
+        acquire(stripes[0]);
+        if (stripes[1] != stripes[0]) acquire(stripes[1]);
+        if (stripes[2] != stripes[1]) acquire(stripes[2]);
+    }
+
+    /**
+     * Releases stripes of three objects in the reverse order.
+     * @param first The first object that was locked with {@link #lock(Object, Object, Object)}.
+     * @param second The second object that was locked with {@link #lock(Object, Object, Object)}.
+     * @param third The third object that was locked with {@link #lock(Object, Object, Object)}.
+     */
+    public void unlock(final Object first, final Object second, final Object third) {
+        final int[] stripes = sortedStripes(first, second, third);
+
+        if (stripes[2] != stripes[1]) locks[stripes[2]].unlock();
+        if (stripes[1] != stripes[0]) locks[stripes[1]].unlock();
+        locks[stripes[0]].unlock();
+    }
+
+    private void acquire(final int stripe) {
+        final ReentrantLock lock = locks[stripe];
+
+        if (!lock.tryLock()) {
+            final long start = System.nanoTime();
+            lock.lock();
+            waitRecorder.record(System.nanoTime() - start);
+        }
+    }
+
+    private int[] sortedStripes(final Object first, final Object second, final Object third) {
+        final int[] stripes = {stripeOf(first), stripeOf(second), stripeOf(third)};
+        Arrays.sort(stripes);
+        return stripes;
+    }
+
+    /**
+     * Checks whether the current thread holds the stripe of the given object.
+     * @param object An object that may be guarded.
+     * @return {@code true} if the current thread holds the stripe, otherwise {@code false}.
+     */
+    public boolean isHeldByCurrentThread(final Object object) {
+        return locks[stripeOf(object)].isHeldByCurrentThread();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("stripes", locks.length)
+                .add("waits", waitRecorder)
+                .toString();
+    }
+
+    public int getNumberOfStripes() {
+        return locks.length;
+    }
+
+    public LatencyRecorder getWaitRecorder() {
+        return waitRecorder;
+    }
+}
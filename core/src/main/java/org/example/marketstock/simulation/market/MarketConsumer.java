@@ -0,0 +1,26 @@
+package org.example.marketstock.simulation.market;
+
+import org.example.marketstock.models.asset.Asset;
+
+/**
+ * Receives values of assets read from a {@link MarketState}, so that they don't have to be read from assets.
+ *
+ * @author Dominik Szmyt
+ * @see MarketState#forEach(MarketConsumer)
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface MarketConsumer {
+
+    /**
+     * Called for every present asset in order of slots.
+     * @param asset An asset.
+     * @param exchangeId An id of the asset's exchange within the state or {@link MarketState#NO_EXCHANGE}.
+     * @param rate The current rate of the asset.
+     * @param minRate The minimal rate of the asset.
+     * @param maxRate The maximal rate of the asset.
+     * @param margin The margin of the asset.
+     * @param count The available number of the asset or {@link MarketState#UNCOUNTED}.
+     */
+    void accept(Asset asset, int exchangeId, double rate, double minRate, double maxRate, double margin, int count);
+}
@@ -0,0 +1,526 @@
+package org.example.marketstock.simulation.market;
+
+import com.google.common.base.MoreObjects;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Countable;
+import org.example.marketstock.models.asset.IssueListener;
+import org.example.marketstock.models.asset.RateListener;
+import org.example.marketstock.models.briefcase.Briefcase;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.exchange.Exchange;
+import org.example.marketstock.models.exchange.ListingListener;
+import org.example.marketstock.simulation.history.TickListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Keeps the current rate, the minimal and the maximal rate, the margin, the available number and the exchange
+ * of every asset in parallel primitive arrays, so that whole-market scans read consecutive memory
+ * instead of following a pointer to each asset.
+ * <br>
+ * Each asset gets a slot in the arrays when it's added and the slot is reused once it's removed.
+ * Slots are kept up to date as a {@link RateListener} of every asset, an {@link IssueListener} of companies
+ * and investment funds and a {@link TickListener} of a simulation, which copy values of an asset into it's slot.
+ * Values are read and written under the lock of the slot's stripe, so of two refreshes of an asset
+ * that race, the one that writes last has also read last.
+ * The state can follow exchanges as a {@link ListingListener}, so that listed assets are added automatically.
+ * <br>
+ * Scans don't lock anything. A scan that runs while assets are traded may read some of them before
+ * and others after a trade, just like a scan over the assets themselves. Markets of at least
+ * {@value #PARALLEL_THRESHOLD} slots are scanned in parallel ranges.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public final class MarketState implements RateListener, IssueListener, TickListener, ListingListener {
+
+    /**
+     * The exchange of assets that aren't listed by any exchange, like investment funds.
+     */
+    public static final int NO_EXCHANGE = -1;
+
+    /**
+     * The number of an asset that can't be counted, like a currency or a commodity.
+     */
+    public static final int UNCOUNTED = -1;
+
+    public static final int DEFAULT_CAPACITY = 256;
+    public static final int PARALLEL_THRESHOLD = 4_096;
+
+    private static final int FREE = -2;
+    private static final int SLOT_STRIPES = 64;
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<Asset, Integer> slots = new HashMap<>();
+    private final Map<Exchange, Integer> exchangeIds = new IdentityHashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final Object[] slotLocks = new Object[SLOT_STRIPES];
+
+    private volatile Columns columns;
+    private int length = 0;
+
+    /**
+     * Create a {@code MarketState} with room for {@value #DEFAULT_CAPACITY} assets, which grows when needed.
+     */
+    public MarketState() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a {@code MarketState} with all necessary fields.
+     * @param capacity The initial number of slots.
+     */
+    public MarketState(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("A market state needs room for at least one asset");
+        }
+
+        columns = new Columns(capacity);
+        Arrays.setAll(slotLocks, stripe -> new Object());
+    }
+
+    /**
+     * Adds an asset that isn't listed by any exchange.
+     * @param asset An asset that is to be added.
+     * @return {@code true} if the asset was added, {@code false} if it was already present.
+     */
+    public boolean add(final Asset asset) {
+        return add(asset, null);
+    }
+
+    /**
+     * Adds an asset listed by an exchange and starts following it's changes.
+     * @param asset An asset that is to be added.
+     * @param exchange An exchange that lists the asset or {@code null}.
+     * @return {@code true} if the asset was added, {@code false} if it was already present.
+     */
+    public boolean add(final Asset asset, final Exchange exchange) {
+        final long stamp = lock.writeLock();
+        try {
+            if (slots.containsKey(asset)) {
+                return false;
+            }
+
+            final int slot = freeSlots.isEmpty() ? length++ : freeSlots.pop();
+            if (slot == columns.rates.length) {
+                columns = columns.grow(slot * 2);
+            }
+
+            final Columns current = columns;
+            current.assets[slot] = asset;
+            current.rates[slot] = Double.NaN;
+            current.counts[slot] = UNCOUNTED;
+            current.exchanges[slot] = isNull(exchange) ? NO_EXCHANGE : exchangeIdOf(exchange);
+            slots.put(asset, slot);
+
+            // Publishes the new slot to scans that read the columns afterwards.
+            columns = current;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        asset.addRateListener(this);
+        if (asset instanceof Company) {
+            ((Company) asset).addIssueListener(this);
+        } else if (asset instanceof InvestmentFund) {
+            ((InvestmentFund) asset).addIssueListener(this);
+        }
+
+        refresh(asset);
+        return true;
+    }
+
+    /**
+     * Removes an asset and stops following it's changes. It's slot may be given to another asset.
+     * @param asset An asset that is to be removed.
+     * @return {@code true} if the asset was removed, {@code false} if it wasn't present.
+     */
+    public boolean remove(final Asset asset) {
+        asset.removeRateListener(this);
+        if (asset instanceof Company) {
+            ((Company) asset).removeIssueListener(this);
+        } else if (asset instanceof InvestmentFund) {
+            ((InvestmentFund) asset).removeIssueListener(this);
+        }
+
+        final long stamp = lock.writeLock();
+        try {
+            final Integer slot = slots.remove(asset);
+
+            if (isNull(slot)) {
+                return false;
+            }
+
+            final Columns current = columns;
+            current.exchanges[slot] = FREE;
+            current.assets[slot] = null;
+            freeSlots.push(slot);
+
+            columns = current;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies the current values of an asset into it's slot. Called by every listener of the state,
+     * but also useful after the asset was changed without notifying anyone, for example when replaying a journal.
+     * @param asset An asset.
+     * @return {@code true} if the asset is present, otherwise {@code false}.
+     */
+    public boolean refresh(final Asset asset) {
+        final long stamp = lock.readLock();
+        try {
+            final Integer slot = slots.get(asset);
+
+            if (isNull(slot)) {
+                return false;
+            }
+
+            // Getters of assets only read volatile fields, so the stripe is never held while waiting for the asset.
+            synchronized (slotLocks[slot & (SLOT_STRIPES - 1)]) {
+                final Columns current = columns;
+                current.rates[slot] = asset.getCurrentRate();
+                current.minRates[slot] = asset.getMinRate();
+                current.maxRates[slot] = asset.getMaxRate();
+                current.margins[slot] = asset.getMargin();
+                current.counts[slot] = asset instanceof Countable
+                        ? ((Countable) asset).getNumberOfAssets()
+                        : UNCOUNTED;
+            }
+            return true;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int exchangeIdOf(final Exchange exchange) {
+        return exchangeIds.computeIfAbsent(exchange, key -> exchangeIds.size());
+    }
+
+    @Override
+    public void onRateChange(final Asset asset, final double previousRate, final double currentRate) {
+        refresh(asset);
+    }
+
+    @Override
+    public void onIssued(final Asset asset, final int number) {
+        refresh(asset);
+    }
+
+    @Override
+    public void onTick(final Asset asset, final long timestamp, final double price, final int volume) {
+        refresh(asset);
+    }
+
+    @Override
+    public void onListed(final Exchange exchange, final Asset asset) {
+        add(asset, exchange);
+    }
+
+    @Override
+    public void onDelisted(final Exchange exchange, final Asset asset) {
+        remove(asset);
+    }
+
+    /**
+     * Finds assets with the lowest current rates.
+     * @param number The maximal number of assets.
+     * @return A new list of at most {@code number} assets, from the cheapest one.
+     */
+    public List<Asset> cheapest(final int number) {
+        if (number <= 0) {
+            return new ArrayList<>();
+        }
+
+        final Columns current = columns;
+        final int end = length(current);
+        final double[] bestRates = new double[number];
+        final int[] bestSlots = new int[number];
+        int found = 0;
+
+        for (int slot = 0; slot < end; slot++) {
+            if (current.exchanges[slot] == FREE) continue;
+
+            final double rate = current.rates[slot];
+            if (Double.isNaN(rate) || found == number && rate >= bestRates[number - 1]) continue;
+
+            int position = found < number ? found++ : number - 1;
+            while (position > 0 && bestRates[position - 1] > rate) {
+                bestRates[position] = bestRates[position - 1];
+                bestSlots[position] = bestSlots[position - 1];
+                position--;
+            }
+
+            bestRates[position] = rate;
+            bestSlots[position] = slot;
+        }
+
+        final List<Asset> assets = new ArrayList<>(found);
+        for (int best = 0; best < found; best++) {
+            final Asset asset = current.assets[bestSlots[best]];
+
+            if (nonNull(asset)) {
+                assets.add(asset);
+            }
+        }
+
+        return assets;
+    }
+
+    /**
+     * Passes values of every present asset to a consumer in order of slots, so that they don't have to be read
+     * from the asset itself.
+     * @param consumer Receives values of assets.
+     * @return The number of assets passed to the consumer.
+     */
+    public int forEach(final MarketConsumer consumer) {
+        final Columns current = columns;
+        final int end = length(current);
+        int passed = 0;
+
+        for (int slot = 0; slot < end; slot++) {
+            final Asset asset = current.assets[slot];
+
+            if (current.exchanges[slot] == FREE || isNull(asset) || Double.isNaN(current.rates[slot])) continue;
+
+            consumer.accept(asset, current.exchanges[slot], current.rates[slot], current.minRates[slot],
+                    current.maxRates[slot], current.margins[slot], current.counts[slot]);
+            passed++;
+        }
+
+        return passed;
+    }
+
+    /**
+     * Sums current rates multiplied by available numbers of every countable asset.
+     * @return The value of all countable assets that wait for buyers.
+     */
+    public double capitalization() {
+        return capitalization(NO_EXCHANGE, false);
+    }
+
+    /**
+     * Sums current rates multiplied by available numbers of countable assets listed by an exchange,
+     * for example to value an index of a stock exchange.
+     * @param exchange An exchange.
+     * @return The value of countable assets of the exchange that wait for buyers.
+     */
+    public double capitalizationOf(final Exchange exchange) {
+        final Integer exchangeId = findExchangeId(exchange);
+        return isNull(exchangeId) ? 0D : capitalization(exchangeId, true);
+    }
+
+    private double capitalization(final int exchangeId, final boolean byExchange) {
+        final Columns current = columns;
+        final int end = length(current);
+
+        if (end < PARALLEL_THRESHOLD) {
+            return capitalization(current, 0, end, exchangeId, byExchange);
+        }
+
+        final int ranges = Math.max(1, Runtime.getRuntime().availableProcessors());
+        final int rangeLength = (end + ranges - 1) / ranges;
+
+        return IntStream.range(0, ranges)
+                .parallel()
+                .mapToDouble(range -> capitalization(current, range * rangeLength,
+                        Math.min(end, (range + 1) * rangeLength), exchangeId, byExchange))
+                .sum();
+    }
+
+    private static double capitalization(final Columns columns, final int from, final int to,
+                                         final int exchangeId, final boolean byExchange) {
+        final double[] rates = columns.rates;
+        final int[] counts = columns.counts;
+        final int[] exchanges = columns.exchanges;
+        double sum = 0D;
+
+        for (int slot = from; slot < to; slot++) {
+            if (counts[slot] > 0 && exchanges[slot] != FREE && (!byExchange || exchanges[slot] == exchangeId)) {
+                sum += rates[slot] * counts[slot];
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * Values a briefcase at current rates of it's assets. Assets that aren't present are valued at their own rates.
+     * @param briefcase A briefcase.
+     * @return The sum of current rates multiplied by numbers of assets held in the briefcase.
+     */
+    public double valueOf(final Briefcase briefcase) {
+        final Map<Asset, Integer> holdings = briefcase.getMap();
+        final double[] rates = new double[holdings.size()];
+        final int[] numbers = new int[holdings.size()];
+        int held = 0;
+
+        final long stamp = lock.readLock();
+        try {
+            final Columns current = columns;
+
+            for (final Map.Entry<Asset, Integer> holding : holdings.entrySet()) {
+                final Integer slot = slots.get(holding.getKey());
+
+                rates[held] = isNull(slot) ? holding.getKey().getCurrentRate() : current.rates[slot];
+                numbers[held++] = holding.getValue();
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        double value = 0D;
+        for (int holding = 0; holding < held; holding++) {
+            value += rates[holding] * numbers[holding];
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the current rate of an asset kept in it's slot.
+     * @param asset An asset.
+     * @return The current rate or {@link Double#NaN} if the asset isn't present.
+     */
+    public double rateOf(final Asset asset) {
+        final long stamp = lock.readLock();
+        try {
+            final Integer slot = slots.get(asset);
+            return isNull(slot) ? Double.NaN : columns.rates[slot];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the available number of an asset kept in it's slot.
+     * @param asset An asset.
+     * @return The number, {@link #UNCOUNTED} if the asset can't be counted or it isn't present.
+     */
+    public int countOf(final Asset asset) {
+        final long stamp = lock.readLock();
+        try {
+            final Integer slot = slots.get(asset);
+            return isNull(slot) ? UNCOUNTED : columns.counts[slot];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Checks whether an asset is present.
+     * @param asset An asset that may be present.
+     * @return {@code true} if the asset is present, otherwise {@code false}.
+     */
+    public boolean contains(final Asset asset) {
+        final long stamp = lock.readLock();
+        try {
+            return slots.containsKey(asset);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Integer findExchangeId(final Exchange exchange) {
+        final long stamp = lock.readLock();
+        try {
+            return exchangeIds.get(exchange);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Reads the number of used slots after the columns, so that it never exceeds their capacity.
+     */
+    private int length(final Columns current) {
+        final long stamp = lock.readLock();
+        try {
+            return Math.min(length, current.rates.length);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        final long stamp = lock.readLock();
+        try {
+            return slots.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public String toString() {
+        final long stamp = lock.readLock();
+        try {
+            return MoreObjects.toStringHelper(this)
+                    .add("assets", slots.size())
+                    .add("exchanges", exchangeIds.size())
+                    .add("capacity", columns.rates.length)
+                    .toString();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Parallel arrays indexed by slots. Slots of removed assets are marked as free in the exchange column.
+     */
+    private static final class Columns {
+
+        private final Asset[] assets;
+        private final double[] rates;
+        private final double[] minRates;
+        private final double[] maxRates;
+        private final double[] margins;
+        private final int[] counts;
+        private final int[] exchanges;
+
+        private Columns(final int capacity) {
+            this(new Asset[capacity], new double[capacity], new double[capacity], new double[capacity],
+                    new double[capacity], new int[capacity], new int[capacity]);
+            Arrays.fill(exchanges, FREE);
+        }
+
+        private Columns(final Asset[] assets, final double[] rates, final double[] minRates, final double[] maxRates,
+                        final double[] margins, final int[] counts, final int[] exchanges) {
+            this.assets = assets;
+            this.rates = rates;
+            this.minRates = minRates;
+            this.maxRates = maxRates;
+            this.margins = margins;
+            this.counts = counts;
+            this.exchanges = exchanges;
+        }
+
+        private Columns grow(final int capacity) {
+            final int[] grownExchanges = Arrays.copyOf(exchanges, capacity);
+            Arrays.fill(grownExchanges, exchanges.length, capacity, FREE);
+
+            return new Columns(Arrays.copyOf(assets, capacity), Arrays.copyOf(rates, capacity),
+                    Arrays.copyOf(minRates, capacity), Arrays.copyOf(maxRates, capacity),
+                    Arrays.copyOf(margins, capacity), Arrays.copyOf(counts, capacity), grownExchanges);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.marketstock.simulation.metrics;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds. Values are counted in logarithmic buckets,
+ * each power of two split into {@value #SUB_BUCKETS} linear sub-buckets, so a percentile is reported
+ * with an error below 13% no matter whether it is a microsecond or a minute.
+ * <br>
+ * Recording is wait-free and costs a few atomic increments, so it can be done for every order.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public class LatencyRecorder {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a single latency. Negative values are recorded as 0.
+     * @param nanos The latency in nanoseconds.
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0L, nanos);
+
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+
+        long currentMax;
+        while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) { }
+    }
+
+    /**
+     * Returns the latency below which the given percentage of recorded latencies fall.
+     * @param percentile A percentile between 0 and 100.
+     * @return The upper bound of the percentile in nanoseconds or 0 if nothing was recorded.
+     */
+    public long getPercentile(final double percentile) {
+        if (percentile < 0D || percentile > 100D) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+
+        final long total = count.sum();
+        if (total == 0L) {
+            return 0L;
+        }
+
+        final long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100D));
+        long seen = 0L;
+
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    /**
+     * Adds every latency recorded by another recorder, for example to read percentiles of several pipelines at once.
+     * Latencies recorded by the other recorder at the same time may be partially missed.
+     * @param other A recorder whose latencies are added to this one.
+     */
+    public void add(final LatencyRecorder other) {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            final long bucketCount = other.counts.get(bucket);
+
+            if (bucketCount > 0L) {
+                counts.addAndGet(bucket, bucketCount);
+            }
+        }
+
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+
+        final long otherMax = other.max.get();
+        long currentMax;
+        while (otherMax > (currentMax = max.get()) && !max.compareAndSet(currentMax, otherMax)) { }
+    }
+
+    /**
+     * Clears every recorded latency.
+     * Latencies recorded at the same time may be partially lost.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.set(bucket, 0L);
+        }
+
+        count.reset();
+        sum.reset();
+        max.set(0L);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMean() {
+        final long total = count.sum();
+        return total == 0L ? 0D : (double) sum.sum() / total;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("count", getCount())
+                .add("meanMicros", TimeUnit.NANOSECONDS.toMicros((long) getMean()))
+                .add("p50Micros", TimeUnit.NANOSECONDS.toMicros(getPercentile(50D)))
+                .add("p99Micros", TimeUnit.NANOSECONDS.toMicros(getPercentile(99D)))
+                .add("maxMicros", TimeUnit.NANOSECONDS.toMicros(getMax()))
+                .toString();
+    }
+
+    private static int bucketOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long subBucket = bucket % SUB_BUCKETS;
+        final long lowerBound = (1L << exponent) + (subBucket << (exponent - SUB_BUCKET_BITS));
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.marketstock.simulation.order;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, lock-free queue for many producers and a single consumer.
+ * Slots are allocated once and reused, so neither publishing nor draining allocates.
+ * <br>
+ * A producer claims a slot with {@link #tryClaim()}, fills the element returned by {@link #get(long)}
+ * and makes it visible with {@link #publish(long)}. The consumer takes published elements in order
+ * with {@link #drain(Consumer, int)}. Each slot carries a sequence number that tells whether it is free,
+ * claimed or published, which means that producers never wait for each other.
+ *
+ * @param <E> The type of reusable elements.
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public class MpscRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final int mask;
+
+    private volatile long head = 0L;
+
+    /**
+     * Create a {@code MpscRingBuffer} filled with elements from the factory.
+     * @param capacity The minimum capacity, rounded up to the nearest power of two.
+     * @param factory A factory of reusable elements.
+     */
+    public MpscRingBuffer(final int capacity, final Supplier<E> factory) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+
+        elements = new Object[size];
+        sequences = new AtomicLongArray(size);
+        mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            elements[i] = factory.get();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Claims the next free slot. The slot has to be published afterwards, otherwise the consumer stalls.
+     * @return The sequence of a claimed slot or -1 if the buffer is full.
+     */
+    public long tryClaim() {
+        while (true) {
+            final long sequence = tail.get();
+            final long difference = sequences.get(index(sequence)) - sequence;
+
+            if (difference == 0L) {
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+            } else if (difference < 0L) {
+                return -1L;
+            }
+        }
+    }
+
+    /**
+     * Returns the reusable element of a claimed slot.
+     * @param sequence The sequence returned by {@link #tryClaim()}.
+     * @return The element that is to be filled by the producer.
+     */
+    @SuppressWarnings("unchecked")
+    public E get(final long sequence) {
+        return (E) elements[index(sequence)];
+    }
+
+    /**
+     * Makes a claimed slot visible to the consumer.
+     * @param sequence The sequence returned by {@link #tryClaim()}.
+     */
+    public void publish(final long sequence) {
+        sequences.lazySet(index(sequence), sequence + 1);
+    }
+
+    /**
+     * Passes published elements to the consumer in the order of their sequences and frees their slots.
+     * Must be called by a single thread.
+     * @param consumer A consumer of published elements. It must not keep references to them.
+     * @param limit The maximum number of elements to drain.
+     * @return The number of drained elements.
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(final Consumer<E> consumer, final int limit) {
+        long sequence = head;
+        int drained = 0;
+
+        while (drained < limit) {
+            final int index = index(sequence);
+
+            if (sequences.get(index) != sequence + 1) {
+                break;
+            }
+
+            try {
+                consumer.accept((E) elements[index]);
+            } finally {
+                sequences.lazySet(index, sequence + elements.length);
+                head = ++sequence;
+            }
+
+            drained++;
+        }
+
+        return drained;
+    }
+
+    /**
+     * Returns the number of claimed slots that weren't drained yet.
+     * @return The current depth of the queue.
+     */
+    public int size() {
+        return (int) Math.max(0L, tail.get() - head);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of slots claimed since the buffer was created.
+     * Once the consumer has drained that many elements, every element claimed so far has been consumed.
+     * @return The sequence of the next slot that is to be claimed.
+     */
+    public long getClaimed() {
+        return tail.get();
+    }
+
+    public int getCapacity() {
+        return elements.length;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("capacity", elements.length)
+                .add("size", size())
+                .toString();
+    }
+
+    private int index(final long sequence) {
+        return (int) sequence & mask;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.marketstock.simulation.order;
+
+import com.google.common.base.MoreObjects;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.entity.Entity;
+
+/**
+ * An intent of an {@link Entity} to buy or sell an {@link Asset}, or to cancel the order it left resting.
+ * Orders live in slots of a {@link MpscRingBuffer} and are reused, so they are mutable
+ * and only valid until an {@link OrderHandler} returns.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public class Order {
+
+    private OrderType type;
+    private Asset asset;
+    private int number;
+    private double originalRate;
+    private Entity entity;
+    private long publishedNanos;
+
+    /**
+     * Fills the order with new values.
+     * @param type Whether it is a purchase, a sale or a cancellation.
+     * @param asset An asset to buy or sell, {@code null} for a cancellation.
+     * @param number The number of an asset.
+     * @param originalRate The rate of an asset at the moment the order was placed.
+     * @param entity An entity that placed the order.
+     * @param publishedNanos The value of {@link System#nanoTime()} at the moment the order was placed.
+     */
+    void fill(final OrderType type,
+              final Asset asset,
+              final int number,
+              final double originalRate,
+              final Entity entity,
+              final long publishedNanos) {
+
+        this.type = type;
+        this.asset = asset;
+        this.number = number;
+        this.originalRate = originalRate;
+        this.entity = entity;
+        this.publishedNanos = publishedNanos;
+    }
+
+    /**
+     * Drops references to the asset and entity, so that a reused slot doesn't keep them alive.
+     */
+    void clear() {
+        asset = null;
+        entity = null;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("type", type)
+                .add("asset", asset)
+                .add("number", number)
+                .add("originalRate", originalRate)
+                .add("entity", entity)
+                .toString();
+    }
+
+    public OrderType getType() {
+        return type;
+    }
+
+    public Asset getAsset() {
+        return asset;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public double getOriginalRate() {
+        return originalRate;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public long getPublishedNanos() {
+        return publishedNanos;
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.marketstock.simulation.order;
+
+/**
+ * Applies orders drained by an {@link OrderPipeline}. A handler is called by a single matching thread,
+ * so it may keep state between orders of the same batch.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public interface OrderHandler {
+
+    /**
+     * Applies a single order.
+     * @param order An order that is only valid until the method returns.
+     */
+    void handle(Order order);
+
+    /**
+     * Called once after every batch of orders, for example to update indices once instead of after every order.
+     */
+    default void endOfBatch() { }
+}
@@ -0,0 +1,256 @@
+package org.example.marketstock.simulation.order;
+
+import com.google.common.base.MoreObjects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.entity.Entity;
+import org.example.marketstock.simulation.metrics.LatencyRecorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Collects orders from any number of agents and applies them one by one in a single matching thread.
+ * Agents publish orders into a {@link MpscRingBuffer} without taking any lock.
+ * The matching thread drains them in batches, passes each to an {@link OrderHandler}
+ * and parks for a moment when there is nothing left to do.
+ * <br>
+ * The pipeline keeps track of the queue depth and of the latency between placing and applying each order.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public class OrderPipeline {
+
+    private static final Logger LOGGER = LogManager.getLogger(OrderPipeline.class);
+
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    private final String name;
+    private final int batchSize;
+    private final OrderHandler handler;
+    private final MpscRingBuffer<Order> ring;
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder();
+    private final LongAdder rejectedOrders = new LongAdder();
+
+    private Thread matcher;
+    private volatile boolean running = false;
+    private boolean terminated = false;
+    private volatile boolean waiting = false;
+    private volatile long processedOrders = 0L;
+    private volatile int maxQueueDepth = 0;
+
+    /**
+     * Create an {@code OrderPipeline} with default capacity and batch size.
+     * @param name The name of the pipeline, usually the name of an exchange.
+     * @param handler A handler that applies orders.
+     */
+    public OrderPipeline(final String name, final OrderHandler handler) {
+        this(name, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, handler);
+    }
+
+    /**
+     * Create an {@code OrderPipeline} with all necessary fields.
+     * @param name The name of the pipeline, usually the name of an exchange.
+     * @param capacity The maximum number of orders waiting to be applied.
+     * @param batchSize The maximum number of orders applied before {@link OrderHandler#endOfBatch()} is called.
+     * @param handler A handler that applies orders.
+     */
+    public OrderPipeline(final String name,
+                         final int capacity,
+                         final int batchSize,
+                         final OrderHandler handler) {
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        this.name = name;
+        this.batchSize = batchSize;
+        this.handler = handler;
+        this.ring = new MpscRingBuffer<>(capacity, Order::new);
+    }
+
+    /**
+     * Starts the matching thread. Calling this method on a running pipeline has no effect.
+     * A pipeline that was shut down can't be started again.
+     */
+    public synchronized void start() {
+        if (running || terminated) {
+            return;
+        }
+
+        running = true;
+        matcher = new Thread(this::match, "matcher-" + name);
+        matcher.setDaemon(true);
+        matcher.start();
+        LOGGER.info("[ORDERS]: Pipeline {} starts.", name);
+    }
+
+    /**
+     * Stops the matching thread and waits a moment for it to finish. Orders that weren't applied are dropped.
+     */
+    public synchronized void shutdown() {
+        terminated = true;
+
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(matcher);
+
+        try {
+            matcher.join(TimeUnit.SECONDS.toMillis(1L));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        LOGGER.info("[ORDERS]: Pipeline {} stops with latency {}.", name, latencyRecorder);
+    }
+
+    /**
+     * Publishes an order without blocking.
+     * @param type Whether it is a purchase, a sale or a cancellation.
+     * @param asset An asset to buy or sell, {@code null} for a cancellation.
+     * @param number The number of an asset.
+     * @param originalRate The rate of an asset at the moment the order was placed.
+     * @param entity An entity that places the order.
+     * @return {@code true} if the order will be applied by the matching thread;
+     * {@code false} if the pipeline isn't running or is full and the caller has to apply or drop the order itself.
+     */
+    public boolean publish(final OrderType type,
+                           final Asset asset,
+                           final int number,
+                           final double originalRate,
+                           final Entity entity) {
+
+        if (!running) {
+            return false;
+        }
+
+        final long sequence = ring.tryClaim();
+
+        if (sequence < 0L) {
+            rejectedOrders.increment();
+            LOGGER.warn("[ORDERS]: Pipeline {} is full and rejects an order of {}.", name, entity);
+            return false;
+        }
+
+        ring.get(sequence).fill(type, asset, number, originalRate, entity, System.nanoTime());
+        ring.publish(sequence);
+
+        if (waiting) {
+            LockSupport.unpark(matcher);
+        }
+
+        return true;
+    }
+
+    private void match() {
+        while (running) {
+            final int depth = ring.size();
+            if (depth > maxQueueDepth) {
+                maxQueueDepth = depth;
+            }
+
+            if (ring.drain(this::apply, batchSize) > 0) {
+                endOfBatch();
+                continue;
+            }
+
+            waiting = true;
+            if (running && ring.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            waiting = false;
+        }
+
+        final int dropped = ring.size();
+        if (dropped > 0) {
+            LOGGER.warn("[ORDERS]: Pipeline {} drops {} orders.", name, dropped);
+        }
+    }
+
+    private void apply(final Order order) {
+        try {
+            handler.handle(order);
+        } catch (RuntimeException exception) {
+            LOGGER.error("[ORDERS]: Pipeline " + name + " failed to apply " + order + ".", exception);
+        } finally {
+            latencyRecorder.record(System.nanoTime() - order.getPublishedNanos());
+            processedOrders++;
+            order.clear();
+        }
+    }
+
+    private void endOfBatch() {
+        try {
+            handler.endOfBatch();
+        } catch (RuntimeException exception) {
+            LOGGER.error("[ORDERS]: Pipeline " + name + " failed to end a batch.", exception);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("name", name)
+                .add("queueDepth", getQueueDepth())
+                .add("maxQueueDepth", maxQueueDepth)
+                .add("processedOrders", processedOrders)
+                .add("rejectedOrders", rejectedOrders.sum())
+                .toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getCapacity() {
+        return ring.getCapacity();
+    }
+
+    public int getQueueDepth() {
+        return ring.size();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public long getProcessedOrders() {
+        return processedOrders;
+    }
+
+    public long getRejectedOrders() {
+        return rejectedOrders.sum();
+    }
+
+    public LatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    /**
+     * Checks whether every published order was applied, that is the queue is empty and the matching thread waits.
+     * @return {@code true} if nothing is left to apply, otherwise {@code false}.
+     */
+    public boolean isIdle() {
+        return !running || waiting && ring.isEmpty();
+    }
+
+    public synchronized boolean isRunning() {
+        return running && nonNull(matcher);
+    }
+}
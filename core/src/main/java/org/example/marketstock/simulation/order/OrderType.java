@@ -0,0 +1,15 @@
+package org.example.marketstock.simulation.order;
+
+/**
+ * The kind of an {@link Order}. A purchase or a sale of an asset,
+ * or a cancellation of the order that an entity left resting in an order book.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public enum OrderType {
+
+    BUY,
+    SELL,
+    CANCEL
+}
@@ -0,0 +1,262 @@
+package org.example.marketstock.simulation.selection;
+
+import com.google.common.base.MoreObjects;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.RateListener;
+import org.example.marketstock.models.exchange.Exchange;
+import org.example.marketstock.models.exchange.ListingListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Keeps assets sorted by their current rates, so that entities can find the cheapest or the most expensive asset
+ * without collecting and scanning all of them.
+ * <br>
+ * Every indexed asset is followed with a {@link RateListener}, which moves the asset within the index
+ * whenever it's rate changes. Both changes and queries are thread-safe and don't block each other.
+ * Finding the cheapest or the most expensive asset costs O(log n) and doesn't allocate.
+ * <br>
+ * The index can follow exchanges as a {@link ListingListener}, so that listed assets are indexed automatically.
+ * Assets are distinguished by {@link Object#equals(Object)}, just like in lists of exchanges and in briefcases.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public class AssetRateIndex implements ListingListener {
+
+    private static final Key LOWEST = new Key(Double.NEGATIVE_INFINITY, Long.MIN_VALUE, null);
+    private static final Key HIGHEST = new Key(Double.NaN, Long.MAX_VALUE, null);
+
+    private final ConcurrentSkipListSet<Key> keys = new ConcurrentSkipListSet<>();
+    private final Map<Asset, Listing> listings = new HashMap<>();
+
+    private long nextSequence = 0L;
+
+    /**
+     * Starts indexing an asset at it's current rate.
+     * @param asset An asset that is to be indexed.
+     * @return {@code true} if the asset was added, {@code false} if it was already indexed.
+     */
+    public boolean add(final Asset asset) {
+        final Listing listing;
+
+        synchronized (listings) {
+            if (listings.containsKey(asset)) {
+                return false;
+            }
+
+            listing = new Listing(asset, nextSequence++);
+            listings.put(asset, listing);
+        }
+
+        synchronized (listing) {
+            if (!listing.removed) {
+                asset.addRateListener(listing);
+                listing.reindex(asset.getCurrentRate());
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Stops indexing an asset.
+     * @param asset An asset that is to be removed.
+     * @return {@code true} if the asset was removed, {@code false} if it wasn't indexed.
+     */
+    public boolean remove(final Asset asset) {
+        final Listing listing;
+
+        synchronized (listings) {
+            listing = listings.remove(asset);
+        }
+
+        if (isNull(listing)) {
+            return false;
+        }
+
+        synchronized (listing) {
+            listing.asset.removeRateListener(listing);
+            listing.removed = true;
+
+            if (listing.current != null) {
+                keys.remove(listing.current);
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public void onListed(final Exchange exchange, final Asset asset) {
+        add(asset);
+    }
+
+    @Override
+    public void onDelisted(final Exchange exchange, final Asset asset) {
+        remove(asset);
+    }
+
+    /**
+     * Finds an asset with the lowest current rate.
+     * @return The cheapest asset or {@code null} if the index is empty.
+     */
+    public Asset cheapest() {
+        return cheapestExcept(null);
+    }
+
+    /**
+     * Finds an asset with the lowest current rate other than the given one,
+     * for example when an investment fund shouldn't buy it's own units.
+     * @param excluded An asset that is to be skipped.
+     * @return The cheapest asset other than the excluded one or {@code null} if there is no such asset.
+     */
+    public Asset cheapestExcept(final Asset excluded) {
+        Key key = keys.higher(LOWEST);
+
+        while (key != null && (key.isStale() || key.listing.asset == excluded)) {
+            key = keys.higher(key);
+        }
+
+        return key == null ? null : key.listing.asset;
+    }
+
+    /**
+     * Finds an asset with the highest current rate.
+     * @return The most expensive asset or {@code null} if the index is empty.
+     */
+    public Asset mostExpensive() {
+        Key key = keys.lower(HIGHEST);
+
+        while (key != null && key.isStale()) {
+            key = keys.lower(key);
+        }
+
+        return key == null ? null : key.listing.asset;
+    }
+
+    /**
+     * Passes every asset whose current rate doesn't exceed the budget to the consumer,
+     * starting from the cheapest one. Costs O(k log n) for k affordable assets and doesn't allocate.
+     * @param budget The maximum rate of an asset.
+     * @param consumer A consumer of affordable assets.
+     */
+    public void forEachAffordable(final double budget, final Consumer<? super Asset> consumer) {
+        Key key = keys.higher(LOWEST);
+
+        while (key != null && key.rate <= budget) {
+            if (!key.isStale()) {
+                consumer.accept(key.listing.asset);
+            }
+
+            key = keys.higher(key);
+        }
+    }
+
+    /**
+     * Checks whether an asset is indexed.
+     * @param asset An asset that may be indexed.
+     * @return {@code true} if the asset is indexed, otherwise {@code false}.
+     */
+    public boolean contains(final Asset asset) {
+        synchronized (listings) {
+            return listings.containsKey(asset);
+        }
+    }
+
+    public int size() {
+        synchronized (listings) {
+            return listings.size();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("size", size())
+                .add("cheapest", cheapest())
+                .toString();
+    }
+
+    /**
+     * Follows rate changes of a single asset. The sequence breaks ties between assets with equal rates,
+     * so that the one indexed earlier comes first.
+     */
+    private final class Listing implements RateListener {
+
+        private final Asset asset;
+        private final long sequence;
+
+        private volatile Key current;
+        private boolean removed = false;
+
+        private Listing(final Asset asset, final long sequence) {
+            this.asset = asset;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public synchronized void onRateChange(final Asset asset, final double previousRate, final double currentRate) {
+            if (!removed) {
+                reindex(currentRate);
+            }
+        }
+
+        /**
+         * Inserts a new key before removing the previous one, so that the asset is never missing from the index.
+         * Until the previous key is removed, it is skipped as stale.
+         */
+        private void reindex(final double rate) {
+            final Key previous = current;
+
+            if (previous != null && Double.compare(previous.rate, rate) == 0) {
+                return;
+            }
+
+            final Key next = new Key(rate, sequence, this);
+
+            keys.add(next);
+            current = next;
+
+            if (previous != null) {
+                keys.remove(previous);
+            }
+        }
+    }
+
+    /**
+     * An immutable position of an asset in the index. Keys are ordered by rates and then by sequences,
+     * so two keys are equal only if they belong to the same listing and have the same rate.
+     */
+    private static final class Key implements Comparable<Key> {
+
+        private final double rate;
+        private final long sequence;
+        private final Listing listing;
+
+        private Key(final double rate, final long sequence, final Listing listing) {
+            this.rate = rate;
+            this.sequence = sequence;
+            this.listing = listing;
+        }
+
+        private boolean isStale() {
+            return listing.current != this;
+        }
+
+        @Override
+        public int compareTo(final Key that) {
+            final int byRate = Double.compare(rate, that.rate);
+            return byRate != 0 ? byRate : Long.compare(sequence, that.sequence);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.marketstock.simulation.selection;
+
+import com.google.common.base.MoreObjects;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.RateListener;
+import org.example.marketstock.models.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Keeps entities that hold each asset, so that an asset can be removed from every briefcase
+ * without visiting entities that don't hold it.
+ * <br>
+ * The index is kept up to date by briefcases that are attached to it
+ * with {@link org.example.marketstock.models.briefcase.Briefcase#attach(HoldingsIndex, Entity)}.
+ * A briefcase adds it's entity when an asset is stored for the first time and removes it once the asset is gone.
+ * The index may briefly name an entity that has just sold an asset, so whoever reads it should check the briefcase.
+ * <br>
+ * The index follows rates of held assets with a single {@link RateListener} for each of them,
+ * registered with the first holder and removed with the last one. A change of a rate reprices the asset
+ * only in briefcases of it's holders, so that each of them keeps it's most expensive asset at hand.
+ * <br>
+ * Assets and entities are distinguished by identity, which is what their {@link Object#equals(Object)} does.
+ * Holders of an asset are changed in the bin of a concurrent map that holds them, so briefcases of different assets
+ * don't wait for each other, and they're read without a lock from concurrent sets.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public class HoldingsIndex implements RateListener {
+
+    private final ConcurrentMap<Asset, Set<Entity>> holders = new ConcurrentHashMap<>();
+
+    /**
+     * Marks an entity as a holder of an asset.
+     * @param asset An asset that is held by the entity.
+     * @param entity An entity that holds the asset.
+     */
+    public void add(final Asset asset, final Entity entity) {
+        holders.compute(asset, (key, entities) -> {
+            if (isNull(entities)) {
+                asset.addRateListener(this);
+            }
+
+            final Set<Entity> present = isNull(entities) ? ConcurrentHashMap.newKeySet() : entities;
+            present.add(entity);
+            return present;
+        });
+    }
+
+    /**
+     * Marks that an entity no longer holds an asset.
+     * @param asset An asset that was held by the entity.
+     * @param entity An entity that held the asset.
+     */
+    public void remove(final Asset asset, final Entity entity) {
+        holders.computeIfPresent(asset, (key, entities) -> {
+            entities.remove(entity);
+
+            if (entities.isEmpty()) {
+                asset.removeRateListener(this);
+                return null;
+            }
+
+            return entities;
+        });
+    }
+
+    /**
+     * Reprices an asset in briefcases of it's holders.
+     */
+    @Override
+    public void onRateChange(final Asset asset, final double previousRate, final double currentRate) {
+        final Set<Entity> entities = holders.get(asset);
+
+        if (isNull(entities)) return;
+
+        for (final Entity entity : entities) {
+            entity.getBriefcase().reprice(asset);
+        }
+    }
+
+    /**
+     * Returns entities that hold an asset.
+     * @param asset An asset.
+     * @return A new list of entities that hold the asset.
+     */
+    public List<Entity> holdersOf(final Asset asset) {
+        final Set<Entity> entities = holders.get(asset);
+        return isNull(entities) ? new ArrayList<>() : new ArrayList<>(entities);
+    }
+
+    /**
+     * Groups assets by entities that hold them, for example to remove all assets of an exchange
+     * while visiting each of their holders once.
+     * @param assets Assets that may be held by entities.
+     * @return A new map from each holder of any of the assets to those of the assets it holds.
+     */
+    public Map<Entity, List<Asset>> holdingsOf(final Collection<? extends Asset> assets) {
+        final Map<Entity, List<Asset>> holdings = new HashMap<>();
+
+        for (final Asset asset : assets) {
+            final Set<Entity> entities = holders.get(asset);
+
+            if (isNull(entities)) continue;
+
+            for (final Entity entity : entities) {
+                holdings.computeIfAbsent(entity, holder -> new ArrayList<>()).add(asset);
+            }
+        }
+
+        return holdings;
+    }
+
+    /**
+     * Checks whether an entity is indexed as a holder of an asset.
+     * @param asset An asset.
+     * @param entity An entity that may hold the asset.
+     * @return {@code true} if the entity is indexed as a holder of the asset, otherwise {@code false}.
+     */
+    public boolean contains(final Asset asset, final Entity entity) {
+        final Set<Entity> entities = holders.get(asset);
+        return nonNull(entities) && entities.contains(entity);
+    }
+
+    /**
+     * Returns the number of assets that are held by at least one entity.
+     * @return The number of held assets.
+     */
+    public int size() {
+        return holders.size();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("assets", holders.size())
+                .toString();
+    }
+}
@@ -0,0 +1,380 @@
+package org.example.marketstock.simulation.serialization;
+
+import com.google.common.base.MoreObjects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.Currency;
+import org.example.marketstock.models.briefcase.Briefcase;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.entity.AbstractEntity;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.entity.Player;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.CurrencyExchange;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.models.index.Index;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.lock.BarrierListener;
+import org.example.marketstock.simulation.lock.ChangeBarrier;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A consistent point-in-time view of a running {@link Simulation}, which is written in the background.
+ * <br>
+ * A capture holds the {@link ChangeBarrier} of a simulation only for as long as it takes to copy the lists
+ * of exchanges, assets and entities. Afterwards the simulation runs on, while every asset and entity
+ * that is about to change for the first time is copied as it was when the barrier was held (copy-on-write).
+ * Objects that don't change are read directly by the writer, which copies each of them just before it's written,
+ * so no object is ever written in a state that is newer than the capture.
+ * Each object is copied in the bin of a concurrent map that holds it, so changes of unrelated objects
+ * don't wait for each other's copies.
+ * <br>
+ * A capture is written once and should be closed afterwards, so that changes aren't copied anymore.
+ *
+ * @author Dominik Szmyt
+ * @see ChangeBarrier
+ * @see SimulationSnapshot
+ * @since 1.1.0
+ */
+public final class SimulationCapture implements SnapshotSource, BarrierListener, Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger(SimulationCapture.class);
+
+    private final ChangeBarrier changeBarrier;
+    private final Player player;
+    private final Currency mainCurrency;
+    private final List<StockExchange> stockExchanges;
+    private final Map<StockExchange, List<Index>> indices = new IdentityHashMap<>();
+    private final Map<StockExchange, List<Company>> companies = new IdentityHashMap<>();
+    private final List<CurrencyExchange> currencyExchanges;
+    private final Map<CurrencyExchange, List<Currency>> currencies = new IdentityHashMap<>();
+    private final List<CommodityExchange> commodityExchanges;
+    private final Map<CommodityExchange, List<Commodity>> commodities = new IdentityHashMap<>();
+    private final List<InvestmentFund> investmentFunds;
+    private final List<Investor> investors;
+    private final ConcurrentMap<Object, Object> copies = new ConcurrentHashMap<>();
+    private final AtomicInteger copiesOnWrite = new AtomicInteger();
+    private boolean written = false;
+
+    /**
+     * Marks an object that is yet to be written and wasn't copied, because it didn't change.
+     */
+    private static final Object UNCHANGED = new Object();
+
+    private SimulationCapture(final Simulation simulation) {
+        this.changeBarrier = simulation.getChangeBarrier();
+        this.player = simulation.getPlayer();
+        this.mainCurrency = simulation.getMainCurrency();
+        this.stockExchanges = new ArrayList<>(simulation.getStockExchanges());
+        this.currencyExchanges = new ArrayList<>(simulation.getCurrencyExchanges());
+        this.commodityExchanges = new ArrayList<>(simulation.getCommodityExchanges());
+        this.investmentFunds = new ArrayList<>(simulation.getInvestmentFunds());
+        this.investors = new ArrayList<>(simulation.getInvestors());
+
+        for (final StockExchange stockExchange : stockExchanges) {
+            indices.put(stockExchange, new ArrayList<>(stockExchange.getIndices()));
+            companies.put(stockExchange, track(new ArrayList<>(stockExchange.getCompanies())));
+        }
+        for (final CurrencyExchange currencyExchange : currencyExchanges) {
+            currencies.put(currencyExchange, track(new ArrayList<>(currencyExchange.getCurrencies())));
+        }
+        for (final CommodityExchange commodityExchange : commodityExchanges) {
+            commodities.put(commodityExchange, track(new ArrayList<>(commodityExchange.getCommodities())));
+        }
+
+        track(investmentFunds);
+        track(investors);
+        if (nonNull(player)) {
+            copies.put(player, UNCHANGED);
+        }
+        if (nonNull(mainCurrency)) {
+            copies.put(mainCurrency, UNCHANGED);
+        }
+
+        changeBarrier.addBarrierListener(this);
+    }
+
+    /**
+     * Captures a simulation as it is now.
+     * @param simulation A running or a stopped simulation.
+     * @return A new capture that is to be written and closed.
+     */
+    public static SimulationCapture of(final Simulation simulation) {
+        return of(simulation, () -> { });
+    }
+
+    /**
+     * Captures a simulation as it is now and runs an action at the very same point,
+     * for example to start a new journal that continues where the capture ends.
+     * @param simulation A running or a stopped simulation.
+     * @param atBarrier An action that runs while no change of the simulation is in flight. It should be quick.
+     * @return A new capture that is to be written and closed.
+     */
+    public static SimulationCapture of(final Simulation simulation, final Runnable atBarrier) {
+        final long start = System.nanoTime();
+        final SimulationCapture capture = simulation.getChangeBarrier().hold(() -> {
+            final SimulationCapture held = new SimulationCapture(simulation);
+            atBarrier.run();
+            return held;
+        });
+
+        LOGGER.debug("[SNAPSHOT]: Captured {} objects in {} us.",
+                capture.copies.size(), (System.nanoTime() - start) / 1_000L);
+        return capture;
+    }
+
+    private <T> List<T> track(final List<T> objects) {
+        for (final T object : objects) {
+            copies.put(object, UNCHANGED);
+        }
+
+        return objects;
+    }
+
+    /**
+     * Copies an asset or an entity before it changes for the first time since the capture.
+     * Objects that were written already or didn't exist back then are ignored.
+     * @param object An asset, an entity or {@code null}.
+     */
+    @Override
+    public void beforeChange(final Object object) {
+        if (nonNull(object) && copies.get(object) == UNCHANGED) {
+            copies.computeIfPresent(object, (original, copy) -> {
+                if (copy != UNCHANGED) {
+                    return copy;
+                }
+
+                copiesOnWrite.incrementAndGet();
+                return copyOf(original);
+            });
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T view(final T object) {
+        return (T) copies.compute(object, (original, copy) ->
+                isNull(copy) || copy == UNCHANGED ? copyOf(original) : copy);
+    }
+
+    /**
+     * Writes the capture as a {@link SimulationSnapshot} to an output stream, which is left open.
+     * @param outputStream A stream that will contain the snapshot.
+     * @param progress Receives the progress of the snapshot.
+     * @throws IOException If the stream couldn't be written.
+     * @throws IllegalStateException If the capture was written already.
+     */
+    public void write(final OutputStream outputStream, final SnapshotProgress progress) throws IOException {
+        synchronized (this) {
+            if (written) {
+                throw new IllegalStateException("The capture was written already");
+            }
+            written = true;
+        }
+
+        new SnapshotWriter(outputStream, progress).write(this);
+    }
+
+    /**
+     * Writes the capture as a JSON save to an output stream, which is left open.
+     * The capture is written as a snapshot in memory first, which is read into a simulation that is never started.
+     * @param outputStream A stream that will contain the JSON save.
+     * @param progress Receives the progress of the snapshot.
+     * @throws IOException If the stream couldn't be written.
+     * @throws IllegalStateException If the capture was written already.
+     */
+    public void writeJson(final OutputStream outputStream, final SnapshotProgress progress) throws IOException {
+        final ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        write(snapshot, progress);
+
+        final Simulation simulation = new SnapshotReader(new ByteArrayInputStream(snapshot.toByteArray()), true)
+                .read(SimulationBuilder.builder());
+
+        try {
+            SimulationMapper.write(simulation, outputStream);
+        } finally {
+            simulation.shutdown();
+        }
+    }
+
+    /**
+     * Stops copying objects that are about to change.
+     */
+    @Override
+    public void close() {
+        changeBarrier.removeBarrierListener(this);
+    }
+
+    private Object copyOf(final Object object) {
+        try {
+            if (object instanceof Company) {
+                return copyOfCompany((Company) object);
+            } else if (object instanceof Currency) {
+                return copyOfCurrency((Currency) object);
+            } else if (object instanceof Commodity) {
+                return copyOfCommodity((Commodity) object);
+            } else if (object instanceof InvestmentFund) {
+                return copyOfInvestmentFund((InvestmentFund) object);
+            } else if (object instanceof Investor) {
+                return copyOfInvestor((Investor) object);
+            } else if (object instanceof Player) {
+                final Player original = (Player) object;
+                return Player.detachedInstance(original.getFirstName(), original.getLastName(),
+                        original.getBudget(), new Briefcase(copyOfHoldings(original)));
+            } else {
+                return object;
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static Company copyOfCompany(final Company company) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotRecords.writeCompany(new DataOutputStream(bytes), company);
+
+        return SnapshotRecords.readCompany(inputOf(bytes));
+    }
+
+    /**
+     * Copies a currency without it's comparison currency, which the writer takes from the original.
+     */
+    private static Currency copyOfCurrency(final Currency currency) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotRecords.writeCurrency(new DataOutputStream(bytes), currency, SnapshotRecords.NONE);
+
+        return SnapshotRecords.readCurrency(inputOf(bytes), id -> null);
+    }
+
+    private static Commodity copyOfCommodity(final Commodity commodity) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotRecords.writeCommodity(new DataOutputStream(bytes), commodity);
+
+        return SnapshotRecords.readCommodity(inputOf(bytes));
+    }
+
+    private static InvestmentFund copyOfInvestmentFund(final InvestmentFund investmentFund) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotRecords.writeInvestmentFund(new DataOutputStream(bytes), investmentFund);
+
+        final InvestmentFund copy = SnapshotRecords.readInvestmentFund(inputOf(bytes), null);
+        copyOfHoldings(investmentFund).forEach(copy.getBriefcase()::addOrIncrease);
+        return copy;
+    }
+
+    private static Investor copyOfInvestor(final Investor investor) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotRecords.writeInvestor(new DataOutputStream(bytes), investor);
+
+        final Investor copy = SnapshotRecords.readInvestor(inputOf(bytes), null);
+        copyOfHoldings(investor).forEach(copy.getBriefcase()::addOrIncrease);
+        return copy;
+    }
+
+    /**
+     * Copies numbers of assets held by an entity into a plain map. Briefcases of copies are filled from it,
+     * but they're never attached to the simulation, so they neither follow assets nor index their holders.
+     */
+    private static Map<Asset, Integer> copyOfHoldings(final AbstractEntity entity) {
+        return isNull(entity.getBriefcase()) ? Collections.emptyMap() : entity.getBriefcase().getMap();
+    }
+
+    private static DataInputStream inputOf(final ByteArrayOutputStream bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Override
+    public Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    public Currency getMainCurrency() {
+        return mainCurrency;
+    }
+
+    @Override
+    public List<StockExchange> getStockExchanges() {
+        return Collections.unmodifiableList(stockExchanges);
+    }
+
+    @Override
+    public List<Index> getIndices(final StockExchange stockExchange) {
+        return indices.getOrDefault(stockExchange, Collections.emptyList());
+    }
+
+    @Override
+    public List<Company> getCompanies(final StockExchange stockExchange) {
+        return companies.getOrDefault(stockExchange, Collections.emptyList());
+    }
+
+    @Override
+    public List<CurrencyExchange> getCurrencyExchanges() {
+        return Collections.unmodifiableList(currencyExchanges);
+    }
+
+    @Override
+    public List<Currency> getCurrencies(final CurrencyExchange currencyExchange) {
+        return currencies.getOrDefault(currencyExchange, Collections.emptyList());
+    }
+
+    @Override
+    public List<CommodityExchange> getCommodityExchanges() {
+        return Collections.unmodifiableList(commodityExchanges);
+    }
+
+    @Override
+    public List<Commodity> getCommodities(final CommodityExchange commodityExchange) {
+        return commodities.getOrDefault(commodityExchange, Collections.emptyList());
+    }
+
+    @Override
+    public List<InvestmentFund> getInvestmentFunds() {
+        return Collections.unmodifiableList(investmentFunds);
+    }
+
+    @Override
+    public List<Investor> getInvestors() {
+        return Collections.unmodifiableList(investors);
+    }
+
+    /**
+     * Returns the number of objects that were copied before they changed.
+     * @return The number of copies made on behalf of changes rather than the writer.
+     */
+    public int getCopiesOnWrite() {
+        return copiesOnWrite.get();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("objects", copies.size())
+                .add("copiesOnWrite", copiesOnWrite.get())
+                .add("written", written)
+                .toString();
+    }
+}
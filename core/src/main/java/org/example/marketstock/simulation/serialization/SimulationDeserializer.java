@@ -0,0 +1,200 @@
+package org.example.marketstock.simulation.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Currency;
+import org.example.marketstock.models.briefcase.Briefcase;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.entity.Player;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.CurrencyExchange;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A custom deserializer for the {@link Simulation} class.
+ * Reads a simulation field by field from the parser it was given,
+ * so nested objects are deserialized straight from the stream by the same mapper.
+ * <br>
+ * A save writes an asset anew in every briefcase that holds it, while an asset is equal only to itself.
+ * Therefore, once everything is read, copies held in briefcases are replaced with the assets listed by exchanges.
+ * <br>
+ * A simulation is built with the {@link SimulationBuilder} stored in the {@value #BUILDER} attribute, if there is one,
+ * so that it keeps settings such as the execution mode.
+ *
+ * @author Dominik Szmyt
+ * @see Simulation
+ * @since 1.0.0
+ */
+public class SimulationDeserializer extends StdDeserializer<Simulation> {
+
+    public static final String BUILDER = "simulationBuilder";
+
+    public SimulationDeserializer() {
+        this(null);
+    }
+
+    public SimulationDeserializer(Class<?> vc) {
+        super(vc);
+    }
+
+    @Override
+    public Simulation deserialize(final JsonParser jsonParser,
+                                  final DeserializationContext deserializationContext)
+            throws IOException, JsonProcessingException {
+
+        Player player = null;
+        Currency mainCurrency = null;
+        List<StockExchange> stockExchanges = new ArrayList<>();
+        List<CommodityExchange> commodityExchanges = new ArrayList<>();
+        List<CurrencyExchange> currencyExchanges = new ArrayList<>();
+        List<Investor> investors = new ArrayList<>();
+        List<InvestmentFund> investmentFunds = new ArrayList<>();
+
+        JsonToken token = jsonParser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = jsonParser.nextToken();
+        }
+
+        for (; token == JsonToken.FIELD_NAME; token = jsonParser.nextToken()) {
+            final String field = jsonParser.getCurrentName();
+            jsonParser.nextToken();
+
+            switch (field) {
+                case "player":
+                    player = deserializationContext.readValue(jsonParser, Player.class);
+                    break;
+                case "mainCurrency":
+                    mainCurrency = deserializationContext.readValue(jsonParser, Currency.class);
+                    break;
+                case "stockExchanges":
+                    stockExchanges = readArray(jsonParser, deserializationContext, StockExchange.class);
+                    break;
+                case "commodityExchanges":
+                    commodityExchanges = readArray(jsonParser, deserializationContext, CommodityExchange.class);
+                    break;
+                case "currencyExchanges":
+                    currencyExchanges = readArray(jsonParser, deserializationContext, CurrencyExchange.class);
+                    break;
+                case "investors":
+                    investors = readArray(jsonParser, deserializationContext, Investor.class);
+                    break;
+                case "investmentFunds":
+                    investmentFunds = readArray(jsonParser, deserializationContext, InvestmentFund.class);
+                    break;
+                default:
+                    jsonParser.skipChildren();
+            }
+        }
+
+        final Map<List<Object>, Asset> assets = new HashMap<>();
+        if (nonNull(mainCurrency)) {
+            assets.put(keyOf(mainCurrency), mainCurrency);
+        }
+        stockExchanges.forEach(exchange -> addAssets(exchange.getCompanies(), assets));
+        currencyExchanges.forEach(exchange -> addAssets(exchange.getCurrencies(), assets));
+        commodityExchanges.forEach(exchange -> addAssets(exchange.getCommodities(), assets));
+        addAssets(investmentFunds, assets);
+
+        if (nonNull(player)) {
+            bindHoldings(player.getBriefcase(), assets);
+        }
+        investors.forEach(investor -> bindHoldings(investor.getBriefcase(), assets));
+        investmentFunds.forEach(investmentFund -> bindHoldings(investmentFund.getBriefcase(), assets));
+
+        final Object builder = deserializationContext.getAttribute(BUILDER);
+        final SimulationBuilder simulationBuilder = builder instanceof SimulationBuilder
+                ? (SimulationBuilder) builder
+                : SimulationBuilder.builder();
+
+        return simulationBuilder
+                .withPlayer(player)
+                .withStockExchanges(stockExchanges)
+                .withCommodityExchange(commodityExchanges)
+                .withCurrencyExchanges(currencyExchanges)
+                .withInvestors(investors)
+                .withInvestmentFunds(investmentFunds)
+                .withMainCurrency(mainCurrency)
+                .build();
+    }
+
+    /**
+     * Replaces copies of assets held in a briefcase with assets that were read before, in the same order.
+     * A copy and an asset are matched by their type, name and margin. A copy of an asset that isn't listed anymore
+     * becomes the asset that later copies of it are matched with.
+     * @param briefcase A briefcase of an entity that was read.
+     * @param assets Assets that were read so far by their keys.
+     */
+    private static void bindHoldings(final Briefcase briefcase, final Map<List<Object>, Asset> assets) {
+        if (isNull(briefcase)) return;
+
+        final Map<Asset, Integer> holdings = briefcase.getMap();
+        boolean copied = false;
+
+        for (final Asset asset : holdings.keySet()) {
+            copied |= assets.computeIfAbsent(keyOf(asset), key -> asset) != asset;
+        }
+
+        if (!copied) return;
+
+        holdings.keySet().forEach(briefcase::removeEntirely);
+        holdings.forEach((asset, number) -> briefcase.addOrIncrease(assets.get(keyOf(asset)), number));
+    }
+
+    private static void addAssets(final List<? extends Asset> listed, final Map<List<Object>, Asset> assets) {
+        if (isNull(listed)) return;
+
+        listed.forEach(asset -> assets.putIfAbsent(keyOf(asset), asset));
+    }
+
+    private static List<Object> keyOf(final Asset asset) {
+        return Arrays.asList(asset.getClass(), asset.getName(), asset.getMargin());
+    }
+
+    /**
+     * Reads elements of an array one at a time, so that only the current element is being parsed.
+     * @param jsonParser A parser positioned at the start of an array.
+     * @param deserializationContext The context of the current deserialization.
+     * @param type The type of elements.
+     * @param <T> The type of elements.
+     * @return A list of elements, empty if the array was {@code null}.
+     * @throws IOException If the array couldn't be parsed.
+     */
+    private <T> List<T> readArray(final JsonParser jsonParser,
+                                  final DeserializationContext deserializationContext,
+                                  final Class<T> type) throws IOException {
+
+        final List<T> elements = new ArrayList<>();
+
+        if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+            return elements;
+        }
+
+        if (jsonParser.currentToken() != JsonToken.START_ARRAY) {
+            deserializationContext.reportWrongTokenException(this, JsonToken.START_ARRAY,
+                    "Expected an array of %s", type.getSimpleName());
+        }
+
+        while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+            elements.add(deserializationContext.readValue(jsonParser, type));
+        }
+
+        return elements;
+    }
+}
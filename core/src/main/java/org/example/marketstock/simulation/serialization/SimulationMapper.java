@@ -0,0 +1,96 @@
+package org.example.marketstock.simulation.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Saves and loads a {@link Simulation} with a single configured {@link ObjectMapper}.
+ * A mapper caches serializers and deserializers of every class it has seen, so sharing it means
+ * each class is introspected once instead of once per save, load or nested object.
+ * <br>
+ * Both saving and loading stream through a {@code JsonGenerator} or a {@code JsonParser},
+ * so neither the text of a save nor a tree of it is ever held in memory.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public final class SimulationMapper {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader READER = MAPPER.readerFor(Simulation.class);
+    private static final ObjectWriter WRITER = MAPPER.writerFor(Simulation.class);
+    private static final ObjectReader STREAM_READER = READER.without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    private static final ObjectWriter STREAM_WRITER = WRITER.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private SimulationMapper() { }
+
+    /**
+     * Returns the mapper shared by every save and load. Callers mustn't reconfigure it.
+     * @return The shared {@code ObjectMapper}.
+     */
+    public static ObjectMapper getMapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Streams a simulation to a file, replacing it's previous content.
+     * @param simulation A simulation that is to be saved.
+     * @param file A file that will contain the simulation.
+     * @throws IOException If the file couldn't be written.
+     */
+    public static void write(final Simulation simulation, final File file) throws IOException {
+        WRITER.writeValue(file, simulation);
+    }
+
+    /**
+     * Streams a simulation to an output stream, which is left open.
+     * @param simulation A simulation that is to be saved.
+     * @param outputStream A stream that will contain the simulation.
+     * @throws IOException If the stream couldn't be written.
+     */
+    public static void write(final Simulation simulation, final OutputStream outputStream) throws IOException {
+        STREAM_WRITER.writeValue(outputStream, simulation);
+    }
+
+    /**
+     * Streams a simulation from a file.
+     * @param file A file that contains a simulation.
+     * @return A new simulation whose agents aren't started yet.
+     * @throws IOException If the file couldn't be read or parsed.
+     */
+    public static Simulation read(final File file) throws IOException {
+        return READER.readValue(file);
+    }
+
+    /**
+     * Streams a simulation from a file.
+     * Whatever the save contains replaces the content of a builder, while the rest of it's settings are kept.
+     * @param file A file that contains a simulation.
+     * @param simulationBuilder A builder of the simulation, for example with a selected execution mode.
+     * @return A new simulation whose agents aren't started yet.
+     * @throws IOException If the file couldn't be read or parsed.
+     */
+    public static Simulation read(final File file, final SimulationBuilder simulationBuilder) throws IOException {
+        return READER.withAttribute(SimulationDeserializer.BUILDER, simulationBuilder).readValue(file);
+    }
+
+    /**
+     * Streams a simulation from an input stream, which is left open.
+     * @param inputStream A stream that contains a simulation.
+     * @return A new simulation whose agents aren't started yet.
+     * @throws IOException If the stream couldn't be read or parsed.
+     */
+    public static Simulation read(final InputStream inputStream) throws IOException {
+        return STREAM_READER.readValue(inputStream);
+    }
+}
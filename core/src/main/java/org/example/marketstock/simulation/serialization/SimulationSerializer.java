@@ -14,6 +14,7 @@ import java.io.IOException;
 
 /**
  * A custom serializer for the {@link Simulation} class.
+ * Nested objects are written with the provider of the current serialization, which reuses it's cached serializers.
  *
  * @author Dominik Szmyt
  * @see Simulation
@@ -38,16 +39,16 @@ public class SimulationSerializer extends StdSerializer<Simulation> {
         jsonGenerator.writeStartObject();
 
         // Serialize player
-        jsonGenerator.writeObjectField("player", simulation.getPlayer());
+        serializerProvider.defaultSerializeField("player", simulation.getPlayer(), jsonGenerator);
 
         // Serialize main currency
-        jsonGenerator.writeObjectField("mainCurrency", simulation.getMainCurrency());
+        serializerProvider.defaultSerializeField("mainCurrency", simulation.getMainCurrency(), jsonGenerator);
 
         // Serialize Stock Exchanges
         jsonGenerator.writeArrayFieldStart("stockExchanges");
 
         for (StockExchange stockExchange : simulation.getStockExchanges()) {
-            jsonGenerator.writeObject(stockExchange);
+            serializerProvider.defaultSerializeValue(stockExchange, jsonGenerator);
         }
 
         jsonGenerator.writeEndArray();
@@ -56,7 +57,7 @@ public class SimulationSerializer extends StdSerializer<Simulation> {
         jsonGenerator.writeArrayFieldStart("commodityExchanges");
 
         for (CommodityExchange commodityExchange : simulation.getCommodityExchanges()) {
-            jsonGenerator.writeObject(commodityExchange);
+            serializerProvider.defaultSerializeValue(commodityExchange, jsonGenerator);
         }
 
         jsonGenerator.writeEndArray();
@@ -65,7 +66,7 @@ public class SimulationSerializer extends StdSerializer<Simulation> {
         jsonGenerator.writeArrayFieldStart("currencyExchanges");
 
         for (CurrencyExchange currencyExchange : simulation.getCurrencyExchanges()) {
-            jsonGenerator.writeObject(currencyExchange);
+            serializerProvider.defaultSerializeValue(currencyExchange, jsonGenerator);
         }
 
         jsonGenerator.writeEndArray();
@@ -74,7 +75,7 @@ public class SimulationSerializer extends StdSerializer<Simulation> {
         jsonGenerator.writeArrayFieldStart("investors");
 
         for (Investor investor : simulation.getInvestors()) {
-            jsonGenerator.writeObject(investor);
+            serializerProvider.defaultSerializeValue(investor, jsonGenerator);
         }
 
         jsonGenerator.writeEndArray();
@@ -83,7 +84,7 @@ public class SimulationSerializer extends StdSerializer<Simulation> {
         jsonGenerator.writeArrayFieldStart("investmentFunds");
 
         for (InvestmentFund investmentFund : simulation.getInvestmentFunds()) {
-            jsonGenerator.writeObject(investmentFund);
+            serializerProvider.defaultSerializeValue(investmentFund, jsonGenerator);
         }
 
         jsonGenerator.writeEndArray();
@@ -0,0 +1,148 @@
+package org.example.marketstock.simulation.serialization;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Saves and loads a {@link Simulation} in a compact binary snapshot, an alternative to the JSON save.
+ * <br>
+ * A snapshot gives every asset and entity an id in the order they are written and writes each of them once.
+ * Holdings of briefcases are stored as pairs of an asset's id and a count, so neither a company
+ * nor an investment fund is ever copied into a briefcase. A snapshot is read in a single pass,
+ * because every record refers only to records written before it, and holdings are bound to the very instances
+ * listed by exchanges.
+ * <br>
+ * The layout of a snapshot is a header, the player, the main currency, stock exchanges with their indices
+ * and companies, currency exchanges with their currencies, commodity exchanges with their commodities,
+ * investment funds, investors, assets that are held but no longer listed and finally holdings of the player,
+ * investors and investment funds. Numbers that are usually small, like ids and counts, are stored as variable-length
+ * integers.
+ *
+ * @author Dominik Szmyt
+ * @see SnapshotWriter
+ * @see SnapshotReader
+ * @see SnapshotRecords
+ * @since 1.1.0
+ */
+public final class SimulationSnapshot {
+
+    private static final Logger LOGGER = LogManager.getLogger(SimulationSnapshot.class);
+
+    /**
+     * The extension of snapshot files.
+     */
+    public static final String EXTENSION = "snapshot";
+
+    static final int MAGIC = 0x4D534E50;
+    static final int VERSION = 1;
+
+    static final byte COMPANY = 1;
+    static final byte CURRENCY = 2;
+    static final byte COMMODITY = 3;
+    static final byte INVESTMENT_FUND = 4;
+
+    private SimulationSnapshot() { }
+
+    /**
+     * Writes a snapshot of a simulation to an output stream, which is left open.
+     * Callers should make sure that the simulation doesn't change in the meantime.
+     * @param simulation A simulation that is to be saved.
+     * @param outputStream A stream that will contain the snapshot.
+     * @throws IOException If the stream couldn't be written.
+     */
+    public static void write(final Simulation simulation, final OutputStream outputStream) throws IOException {
+        new SnapshotWriter(outputStream).write(simulation);
+    }
+
+    /**
+     * Writes a snapshot of a simulation to a file, replacing it's previous content.
+     * @param simulation A simulation that is to be saved.
+     * @param file A file that will contain the snapshot.
+     * @throws IOException If the file couldn't be written.
+     */
+    public static void write(final Simulation simulation, final File file) throws IOException {
+        try (final OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+            write(simulation, outputStream);
+        }
+    }
+
+    /**
+     * Reads a simulation from a snapshot in an input stream, which is left open.
+     * @param inputStream A stream that contains a snapshot.
+     * @return A new simulation whose agents aren't started yet.
+     * @throws IOException If the stream couldn't be read or doesn't contain a snapshot.
+     */
+    public static Simulation read(final InputStream inputStream) throws IOException {
+        return read(inputStream, SimulationBuilder.builder());
+    }
+
+    /**
+     * Reads a simulation from a snapshot in an input stream, which is left open.
+     * Whatever the snapshot contains replaces the content of a builder, while the rest of it's settings are kept.
+     * @param inputStream A stream that contains a snapshot.
+     * @param simulationBuilder A builder of the simulation, for example with a selected execution mode.
+     * @return A new simulation whose agents aren't started yet.
+     * @throws IOException If the stream couldn't be read or doesn't contain a snapshot.
+     */
+    public static Simulation read(final InputStream inputStream,
+                                  final SimulationBuilder simulationBuilder) throws IOException {
+
+        return new SnapshotReader(inputStream).read(simulationBuilder);
+    }
+
+    /**
+     * Reads a simulation from a snapshot file.
+     * @param file A file that contains a snapshot.
+     * @return A new simulation whose agents aren't started yet.
+     * @throws IOException If the file couldn't be read or doesn't contain a snapshot.
+     */
+    public static Simulation read(final File file) throws IOException {
+        try (final InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+            return read(inputStream);
+        }
+    }
+
+    /**
+     * Converts a JSON save into a snapshot. Copies of assets in briefcases are bound to the listed assets they equal.
+     * @param json A file with a JSON save.
+     * @param snapshot A file that will contain the snapshot.
+     * @throws IOException If either of the files couldn't be read or written.
+     */
+    public static void convert(final File json, final File snapshot) throws IOException {
+        final Simulation simulation = SimulationMapper.read(json);
+
+        try {
+            write(simulation, snapshot);
+            LOGGER.info("[SNAPSHOT]: Converted {} ({} bytes) to {} ({} bytes).",
+                    json, json.length(), snapshot, snapshot.length());
+        } finally {
+            simulation.shutdown();
+        }
+    }
+
+    /**
+     * Converts a JSON save into a snapshot from the command line.
+     * @param args The path of a JSON save and the path of a new snapshot.
+     * @throws IOException If either of the files couldn't be read or written.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: SimulationSnapshot <simulation.json> <simulation." + EXTENSION + ">");
+            System.exit(2);
+        }
+
+        convert(new File(args[0]), new File(args[1]));
+        System.exit(0);
+    }
+}
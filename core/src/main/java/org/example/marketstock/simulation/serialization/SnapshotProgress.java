@@ -0,0 +1,25 @@
+package org.example.marketstock.simulation.serialization;
+
+/**
+ * Receives the progress of writing a snapshot. Called in the thread that writes it,
+ * so it should be quick and must not block, e.g. it may pass the progress to the JavaFX thread.
+ *
+ * @author Dominik Szmyt
+ * @see SimulationCapture
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface SnapshotProgress {
+
+    /**
+     * Ignores the progress.
+     */
+    SnapshotProgress NONE = (written, total) -> { };
+
+    /**
+     * Called every now and then while assets and entities are written, and once they all are.
+     * @param written The number of assets and entities written so far.
+     * @param total The number of assets and entities that are to be written.
+     */
+    void onProgress(long written, long total);
+}
@@ -0,0 +1,252 @@
+package org.example.marketstock.simulation.serialization;
+
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.Currency;
+import org.example.marketstock.models.briefcase.Briefcase;
+import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.entity.Player;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.CurrencyExchange;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.models.exchange.builder.CommodityExchangeBuilder;
+import org.example.marketstock.models.exchange.builder.CurrencyExchangeBuilder;
+import org.example.marketstock.models.exchange.builder.StockExchangeBuilder;
+import org.example.marketstock.models.index.Index;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.nonNull;
+import static org.example.marketstock.simulation.serialization.SimulationSnapshot.COMMODITY;
+import static org.example.marketstock.simulation.serialization.SimulationSnapshot.COMPANY;
+import static org.example.marketstock.simulation.serialization.SimulationSnapshot.CURRENCY;
+import static org.example.marketstock.simulation.serialization.SimulationSnapshot.INVESTMENT_FUND;
+import static org.example.marketstock.simulation.serialization.SimulationSnapshot.MAGIC;
+import static org.example.marketstock.simulation.serialization.SimulationSnapshot.VERSION;
+import static org.example.marketstock.simulation.serialization.SnapshotRecords.readString;
+import static org.example.marketstock.simulation.serialization.SnapshotRecords.readVarInt;
+
+/**
+ * Reads a single {@link SimulationSnapshot} in one pass. Assets are kept in a list indexed by their ids,
+ * so every reference is bound to the instance that was read first.
+ * Investors and investment funds are created for the simulation that is being read, so they can trade right away.
+ *
+ * @author Dominik Szmyt
+ * @see SimulationSnapshot
+ * @since 1.1.0
+ */
+final class SnapshotReader {
+
+    private final DataInputStream input;
+    private final boolean detached;
+    private final List<Asset> assets = new ArrayList<>();
+
+    SnapshotReader(final InputStream inputStream) {
+        this(inputStream, false);
+    }
+
+    /**
+     * Create a {@code SnapshotReader} of an input stream.
+     * @param inputStream A stream that contains a snapshot.
+     * @param detached Whether the player that is read should leave the instance of a {@link Player} as it is.
+     */
+    SnapshotReader(final InputStream inputStream, final boolean detached) {
+        this.input = new DataInputStream(inputStream);
+        this.detached = detached;
+    }
+
+    Simulation read(final SimulationBuilder simulationBuilder) throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a simulation snapshot");
+        }
+
+        final int version = readVarInt(input);
+        if (version != VERSION) {
+            throw new IOException("Unsupported version of a simulation snapshot: " + version);
+        }
+
+        Player player = null;
+        if (input.readBoolean()) {
+            final String firstName = readString(input);
+            final String lastName = readString(input);
+            final double budget = input.readDouble();
+
+            player = detached
+                    ? Player.detachedInstance(firstName, lastName, budget, BriefcaseBuilder.emptyBriefcase().build())
+                    : Player.updateInstance(firstName, lastName, budget, BriefcaseBuilder.emptyBriefcase().build());
+        }
+
+        final Currency mainCurrency = input.readBoolean() ? readCurrency() : null;
+
+        final List<StockExchange> stockExchanges = new ArrayList<>();
+        for (int remaining = readVarInt(input); remaining > 0; remaining--) {
+            stockExchanges.add(readStockExchange());
+        }
+
+        final List<CurrencyExchange> currencyExchanges = new ArrayList<>();
+        for (int remaining = readVarInt(input); remaining > 0; remaining--) {
+            currencyExchanges.add(readCurrencyExchange());
+        }
+
+        final List<CommodityExchange> commodityExchanges = new ArrayList<>();
+        for (int remaining = readVarInt(input); remaining > 0; remaining--) {
+            commodityExchanges.add(readCommodityExchange());
+        }
+
+        final Simulation simulation = simulationBuilder
+                .withPlayer(player)
+                .withMainCurrency(mainCurrency)
+                .withStockExchanges(stockExchanges)
+                .withCurrencyExchanges(currencyExchanges)
+                .withCommodityExchange(commodityExchanges)
+                .withInvestors(new ArrayList<>())
+                .withInvestmentFunds(new ArrayList<>())
+                .build();
+
+        final List<InvestmentFund> investmentFunds = new ArrayList<>();
+        for (int remaining = readVarInt(input); remaining > 0; remaining--) {
+            investmentFunds.add(readInvestmentFund(simulation));
+        }
+
+        final List<Investor> investors = new ArrayList<>();
+        for (int remaining = readVarInt(input); remaining > 0; remaining--) {
+            investors.add(SnapshotRecords.readInvestor(input, simulation));
+        }
+
+        for (int remaining = readVarInt(input); remaining > 0; remaining--) {
+            readDetachedAsset(simulation);
+        }
+
+        if (nonNull(player)) {
+            readHoldings(player.getBriefcase());
+        }
+        for (final Investor investor : investors) {
+            readHoldings(investor.getBriefcase());
+        }
+        for (final InvestmentFund investmentFund : investmentFunds) {
+            readHoldings(investmentFund.getBriefcase());
+        }
+
+        simulation.getInvestmentFunds().addAll(investmentFunds);
+        simulation.getInvestors().addAll(investors);
+        return simulation;
+    }
+
+    private StockExchange readStockExchange() throws IOException {
+        final StockExchangeBuilder builder = SnapshotRecords.readStockExchange(input);
+
+        final List<Index> indices = new ArrayList<>();
+        for (int remaining = readVarInt(input); remaining > 0; remaining--) {
+            indices.add(SnapshotRecords.readIndex(input));
+        }
+
+        final List<Company> companies = new ArrayList<>();
+        for (int remaining = readVarInt(input); remaining > 0; remaining--) {
+            companies.add(readCompany());
+        }
+
+        return builder
+                .withIndices(indices)
+                .withCompanies(companies)
+                .build();
+    }
+
+    private CurrencyExchange readCurrencyExchange() throws IOException {
+        final CurrencyExchangeBuilder builder = SnapshotRecords.readCurrencyExchange(input);
+
+        final List<Currency> currencies = new ArrayList<>();
+        for (int remaining = readVarInt(input); remaining > 0; remaining--) {
+            currencies.add(readCurrency());
+        }
+
+        return builder.withCurrencies(currencies).build();
+    }
+
+    private CommodityExchange readCommodityExchange() throws IOException {
+        final CommodityExchangeBuilder builder = SnapshotRecords.readCommodityExchange(input);
+
+        final List<Commodity> commodities = new ArrayList<>();
+        for (int remaining = readVarInt(input); remaining > 0; remaining--) {
+            commodities.add(readCommodity());
+        }
+
+        return builder.withCommodities(commodities).build();
+    }
+
+    private void readDetachedAsset(final Simulation simulation) throws IOException {
+        final byte type = input.readByte();
+
+        switch (type) {
+            case COMPANY:
+                readCompany();
+                break;
+            case CURRENCY:
+                readCurrency();
+                break;
+            case COMMODITY:
+                readCommodity();
+                break;
+            case INVESTMENT_FUND:
+                readInvestmentFund(simulation);
+                break;
+            default:
+                throw new IOException("Unknown type of asset " + type);
+        }
+    }
+
+    private void readHoldings(final Briefcase briefcase) throws IOException {
+        for (int remaining = readVarInt(input); remaining > 0; remaining--) {
+            final int id = readVarInt(input);
+
+            if (id >= assets.size()) {
+                throw new IOException("Holding of an unknown asset " + id);
+            }
+
+            briefcase.addOrIncrease(assets.get(id), readVarInt(input));
+        }
+    }
+
+    private Company readCompany() throws IOException {
+        return register(SnapshotRecords.readCompany(input));
+    }
+
+    private Currency readCurrency() throws IOException {
+        final int id = reserve();
+        final Currency currency = SnapshotRecords.readCurrency(input,
+                comparisonCurrency -> (Currency) assets.get(comparisonCurrency));
+
+        assets.set(id, currency);
+        return currency;
+    }
+
+    private Commodity readCommodity() throws IOException {
+        return register(SnapshotRecords.readCommodity(input));
+    }
+
+    private InvestmentFund readInvestmentFund(final Simulation simulation) throws IOException {
+        return register(SnapshotRecords.readInvestmentFund(input, simulation));
+    }
+
+    private <A extends Asset> A register(final A asset) {
+        assets.add(asset);
+        return asset;
+    }
+
+    /**
+     * Reserves an id for an asset that is registered only after it's fields were read,
+     * which keeps ids in the order assets were written.
+     */
+    private int reserve() {
+        assets.add(null);
+        return assets.size() - 1;
+    }
+}
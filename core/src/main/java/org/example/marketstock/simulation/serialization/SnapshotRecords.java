@@ -0,0 +1,406 @@
+package org.example.marketstock.simulation.serialization;
+
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.Currency;
+import org.example.marketstock.models.asset.builder.CommodityBuilder;
+import org.example.marketstock.models.asset.builder.CurrencyBuilder;
+import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.company.builder.CompanyBuilder;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.entity.builder.InvestmentFundBuilder;
+import org.example.marketstock.models.entity.builder.InvestorBuilder;
+import org.example.marketstock.models.exchange.Exchange;
+import org.example.marketstock.models.exchange.builder.CommodityExchangeBuilder;
+import org.example.marketstock.models.exchange.builder.CurrencyExchangeBuilder;
+import org.example.marketstock.models.exchange.builder.StockExchangeBuilder;
+import org.example.marketstock.models.index.Index;
+import org.example.marketstock.models.index.IndexType;
+import org.example.marketstock.models.index.builder.NumericMaxIndexBuilder;
+import org.example.marketstock.models.index.builder.NumericMinIndexBuilder;
+import org.example.marketstock.simulation.Simulation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Writes and reads binary records of exchanges, assets, entities and indices.
+ * Records are shared by the {@link SimulationSnapshot} and the journal of a simulation,
+ * so an object looks the same in both of them.
+ * <br>
+ * A record holds only the fields of an object. References to other objects are written as ids,
+ * whose meaning is up to the caller, and briefcases are always read empty.
+ *
+ * @author Dominik Szmyt
+ * @see SimulationSnapshot
+ * @since 1.1.0
+ */
+public final class SnapshotRecords {
+
+    /**
+     * The id of a missing reference.
+     */
+    public static final int NONE = -1;
+
+    private static final byte NUMERIC_MAX_INDEX = 1;
+    private static final byte NUMERIC_MIN_INDEX = 2;
+
+    private SnapshotRecords() { }
+
+    public static void writeExchange(final DataOutput output, final Exchange exchange) throws IOException {
+        writeString(output, exchange.getName());
+        writeString(output, exchange.getCountry());
+        writeString(output, exchange.getCity());
+        writeString(output, exchange.getAddress());
+        writeString(output, exchange.getCurrency());
+        output.writeDouble(exchange.getMargin());
+    }
+
+    /**
+     * Reads the fields of a stock exchange written by {@link #writeExchange(DataOutput, Exchange)}.
+     * @param input An input positioned at the record of an exchange.
+     * @return A builder of a stock exchange without indices and companies.
+     * @throws IOException If the record couldn't be read.
+     */
+    public static StockExchangeBuilder readStockExchange(final DataInput input) throws IOException {
+        return StockExchangeBuilder.builder()
+                .withName(readString(input))
+                .withCountry(readString(input))
+                .withCity(readString(input))
+                .withAddress(readString(input))
+                .withCurrency(readString(input))
+                .withMargin(input.readDouble());
+    }
+
+    /**
+     * Reads the fields of a currency exchange written by {@link #writeExchange(DataOutput, Exchange)}.
+     * @param input An input positioned at the record of an exchange.
+     * @return A builder of a currency exchange without currencies.
+     * @throws IOException If the record couldn't be read.
+     */
+    public static CurrencyExchangeBuilder readCurrencyExchange(final DataInput input) throws IOException {
+        return CurrencyExchangeBuilder.builder()
+                .withName(readString(input))
+                .withCountry(readString(input))
+                .withCity(readString(input))
+                .withAddress(readString(input))
+                .withCurrency(readString(input))
+                .withMargin(input.readDouble());
+    }
+
+    /**
+     * Reads the fields of a commodity exchange written by {@link #writeExchange(DataOutput, Exchange)}.
+     * @param input An input positioned at the record of an exchange.
+     * @return A builder of a commodity exchange without commodities.
+     * @throws IOException If the record couldn't be read.
+     */
+    public static CommodityExchangeBuilder readCommodityExchange(final DataInput input) throws IOException {
+        return CommodityExchangeBuilder.builder()
+                .withName(readString(input))
+                .withCountry(readString(input))
+                .withCity(readString(input))
+                .withAddress(readString(input))
+                .withCurrency(readString(input))
+                .withMargin(input.readDouble());
+    }
+
+    /**
+     * Writes an index without it's content, which an exchange rebuilds from it's companies.
+     * @param output An output of the record.
+     * @param index An index that is to be written.
+     * @throws IOException If the record couldn't be written.
+     */
+    public static void writeIndex(final DataOutput output, final Index index) throws IOException {
+        output.writeByte(index.getType() == IndexType.NUMERIC_MIN ? NUMERIC_MIN_INDEX : NUMERIC_MAX_INDEX);
+        writeString(output, index.getName());
+        output.writeLong(index.getSize());
+    }
+
+    public static Index readIndex(final DataInput input) throws IOException {
+        final byte type = input.readByte();
+        final String name = readString(input);
+        final long size = input.readLong();
+
+        if (type == NUMERIC_MIN_INDEX) {
+            return NumericMinIndexBuilder.builder()
+                    .withName(name)
+                    .withSize(size)
+                    .withContent(new ArrayList<>())
+                    .build();
+        }
+
+        return NumericMaxIndexBuilder.builder()
+                .withName(name)
+                .withSize(size)
+                .withContent(new ArrayList<>())
+                .build();
+    }
+
+    public static void writeCompany(final DataOutput output, final Company company) throws IOException {
+        writeAsset(output, company);
+        writeVarInt(output, company.getNumberOfAssets());
+        writeString(output, company.getDateOfFirstValuation());
+        output.writeDouble(company.getOpeningQuotation());
+        output.writeDouble(company.getProfit());
+        output.writeDouble(company.getRevenue());
+        output.writeDouble(company.getEquityCapital());
+        output.writeDouble(company.getOpeningCapital());
+        writeVarInt(output, company.getVolume());
+        output.writeDouble(company.getTurnover());
+    }
+
+    public static Company readCompany(final DataInput input) throws IOException {
+        final AssetFields fields = readAsset(input);
+
+        return CompanyBuilder.builder()
+                .withName(fields.name)
+                .withCurrentRate(fields.currentRate)
+                .withMinRate(fields.minRate)
+                .withMaxRate(fields.maxRate)
+                .withMargin(fields.margin)
+                .withRateChanges(fields.rateChanges)
+                .withNumberOfAssets(readVarInt(input))
+                .withDateOfFirstValuation(readString(input))
+                .withOpeningQuotation(input.readDouble())
+                .withProfit(input.readDouble())
+                .withRevenue(input.readDouble())
+                .withEquityCapital(input.readDouble())
+                .withOpeningCapital(input.readDouble())
+                .withVolume(readVarInt(input))
+                .withTurnover(input.readDouble())
+                .build();
+    }
+
+    /**
+     * Writes a currency. It's comparison currency is written as an id given by the caller.
+     * @param output An output of the record.
+     * @param currency A currency that is to be written.
+     * @param comparisonCurrency The id of the comparison currency or {@link #NONE}.
+     * @throws IOException If the record couldn't be written.
+     */
+    public static void writeCurrency(final DataOutput output,
+                                     final Currency currency,
+                                     final int comparisonCurrency) throws IOException {
+
+        writeAsset(output, currency);
+        writeVarInt(output, comparisonCurrency + 1);
+
+        final List<String> countries = currency.getCountries();
+        writeVarInt(output, isNull(countries) ? 0 : countries.size() + 1);
+        if (nonNull(countries)) {
+            for (final String country : countries) {
+                writeString(output, country);
+            }
+        }
+    }
+
+    /**
+     * Reads a currency written by {@link #writeCurrency(DataOutput, Currency, int)}.
+     * @param input An input positioned at the record of a currency.
+     * @param currencies Resolves the id of the comparison currency.
+     * @return A new currency.
+     * @throws IOException If the record couldn't be read.
+     */
+    public static Currency readCurrency(final DataInput input,
+                                        final IntFunction<Currency> currencies) throws IOException {
+
+        final AssetFields fields = readAsset(input);
+        final int comparisonCurrency = readVarInt(input) - 1;
+
+        List<String> countries = null;
+        final int countriesSize = readVarInt(input);
+        if (countriesSize > 0) {
+            countries = new ArrayList<>(countriesSize - 1);
+            for (int remaining = countriesSize - 1; remaining > 0; remaining--) {
+                countries.add(readString(input));
+            }
+        }
+
+        return CurrencyBuilder.builder()
+                .withName(fields.name)
+                .withCurrentRate(fields.currentRate)
+                .withMinRate(fields.minRate)
+                .withMaxRate(fields.maxRate)
+                .withMargin(fields.margin)
+                .withRateChanges(fields.rateChanges)
+                .withComparisonCurrency(comparisonCurrency == NONE ? null : currencies.apply(comparisonCurrency))
+                .withCountries(countries)
+                .build();
+    }
+
+    public static void writeCommodity(final DataOutput output, final Commodity commodity) throws IOException {
+        writeAsset(output, commodity);
+        writeString(output, commodity.getUnitOfTrading());
+        writeString(output, commodity.getCurrency());
+    }
+
+    public static Commodity readCommodity(final DataInput input) throws IOException {
+        final AssetFields fields = readAsset(input);
+
+        return CommodityBuilder.builder()
+                .withName(fields.name)
+                .withCurrentRate(fields.currentRate)
+                .withMinRate(fields.minRate)
+                .withMaxRate(fields.maxRate)
+                .withMargin(fields.margin)
+                .withRateChanges(fields.rateChanges)
+                .withUnitOfTrading(readString(input))
+                .withCurrency(readString(input))
+                .build();
+    }
+
+    public static void writeInvestmentFund(final DataOutput output,
+                                           final InvestmentFund investmentFund) throws IOException {
+
+        writeAsset(output, investmentFund);
+        writeVarInt(output, investmentFund.getNumberOfAssets());
+        output.writeDouble(investmentFund.getBudget());
+    }
+
+    /**
+     * Reads an investment fund with an empty briefcase.
+     * @param input An input positioned at the record of an investment fund.
+     * @param simulation A simulation that the investment fund will trade in.
+     * @return A new investment fund.
+     * @throws IOException If the record couldn't be read.
+     */
+    public static InvestmentFund readInvestmentFund(final DataInput input,
+                                                    final Simulation simulation) throws IOException {
+
+        final AssetFields fields = readAsset(input);
+
+        return InvestmentFundBuilder.builder()
+                .withName(fields.name)
+                .withCurrentRate(fields.currentRate)
+                .withMinRate(fields.minRate)
+                .withMaxRate(fields.maxRate)
+                .withMargin(fields.margin)
+                .withRateChanges(fields.rateChanges)
+                .withNumberOfAssets(readVarInt(input))
+                .withBudget(input.readDouble())
+                .withBriefcase(BriefcaseBuilder.emptyBriefcase().build())
+                .withSimulation(simulation)
+                .build();
+    }
+
+    public static void writeInvestor(final DataOutput output, final Investor investor) throws IOException {
+        writeString(output, investor.getFirstName());
+        writeString(output, investor.getLastName());
+        writeString(output, investor.getPESEL());
+        output.writeDouble(investor.getBudget());
+    }
+
+    /**
+     * Reads an investor with an empty briefcase.
+     * @param input An input positioned at the record of an investor.
+     * @param simulation A simulation that the investor will trade in.
+     * @return A new investor.
+     * @throws IOException If the record couldn't be read.
+     */
+    public static Investor readInvestor(final DataInput input, final Simulation simulation) throws IOException {
+        return InvestorBuilder.builder()
+                .withFirstName(readString(input))
+                .withLastName(readString(input))
+                .withPESEL(readString(input))
+                .withBudget(input.readDouble())
+                .withBriefcase(BriefcaseBuilder.emptyBriefcase().build())
+                .withSimulation(simulation)
+                .build();
+    }
+
+    public static void writeString(final DataOutput output, final String value) throws IOException {
+        output.writeBoolean(nonNull(value));
+        if (nonNull(value)) {
+            output.writeUTF(value);
+        }
+    }
+
+    public static String readString(final DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    /**
+     * Writes a non-negative number in 7-bit groups, so that numbers below 128 take a single byte.
+     * @param output An output of the number.
+     * @param value A non-negative number.
+     * @throws IOException If the number couldn't be written.
+     */
+    public static void writeVarInt(final DataOutput output, final int value) throws IOException {
+        int remaining = value;
+
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+
+        output.writeByte(remaining);
+    }
+
+    public static int readVarInt(final DataInput input) throws IOException {
+        int value = 0;
+
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int group = input.readUnsignedByte();
+            value |= (group & 0x7F) << shift;
+
+            if ((group & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    private static void writeAsset(final DataOutput output, final Asset asset) throws IOException {
+        writeString(output, asset.getName());
+        output.writeDouble(asset.getCurrentRate());
+        output.writeDouble(asset.getMinRate());
+        output.writeDouble(asset.getMaxRate());
+        output.writeDouble(asset.getMargin());
+
+        final List<Double> rateChanges = asset.getRateChanges();
+        writeVarInt(output, rateChanges.size());
+        for (int index = 0; index < rateChanges.size(); index++) {
+            output.writeDouble(rateChanges.get(index));
+        }
+    }
+
+    private static AssetFields readAsset(final DataInput input) throws IOException {
+        final AssetFields fields = new AssetFields();
+        fields.name = readString(input);
+        fields.currentRate = input.readDouble();
+        fields.minRate = input.readDouble();
+        fields.maxRate = input.readDouble();
+        fields.margin = input.readDouble();
+
+        final int size = readVarInt(input);
+        fields.rateChanges = new ArrayList<>(size);
+        for (int remaining = size; remaining > 0; remaining--) {
+            fields.rateChanges.add(input.readDouble());
+        }
+
+        return fields;
+    }
+
+    /**
+     * Fields shared by every kind of asset.
+     */
+    private static final class AssetFields {
+
+        private String name;
+        private double currentRate;
+        private double minRate;
+        private double maxRate;
+        private double margin;
+        private List<Double> rateChanges;
+    }
+}
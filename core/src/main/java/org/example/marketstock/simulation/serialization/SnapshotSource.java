@@ -0,0 +1,148 @@
+package org.example.marketstock.simulation.serialization;
+
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.Currency;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.entity.Player;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.CurrencyExchange;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.models.index.Index;
+import org.example.marketstock.simulation.Simulation;
+
+import java.util.List;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Whatever a {@link SnapshotWriter} writes: the structure of a simulation and the state of it's assets and entities.
+ * A source is either a simulation itself or a {@link SimulationCapture} of it.
+ *
+ * @author Dominik Szmyt
+ * @see SnapshotWriter
+ * @since 1.1.0
+ */
+interface SnapshotSource {
+
+    Player getPlayer();
+
+    Currency getMainCurrency();
+
+    List<StockExchange> getStockExchanges();
+
+    List<Index> getIndices(StockExchange stockExchange);
+
+    List<Company> getCompanies(StockExchange stockExchange);
+
+    List<CurrencyExchange> getCurrencyExchanges();
+
+    List<Currency> getCurrencies(CurrencyExchange currencyExchange);
+
+    List<CommodityExchange> getCommodityExchanges();
+
+    List<Commodity> getCommodities(CommodityExchange commodityExchange);
+
+    List<InvestmentFund> getInvestmentFunds();
+
+    List<Investor> getInvestors();
+
+    /**
+     * Returns an asset or an entity as it is to be written. Called once for each of them.
+     * @param object An asset or an entity of the source.
+     * @param <T> The type of the object.
+     * @return The object itself or a copy of it.
+     */
+    <T> T view(T object);
+
+    /**
+     * Counts assets and entities that are listed, which is what the progress of a snapshot refers to.
+     * @return The number of the player, the main currency, listed assets, investment funds and investors.
+     */
+    default long size() {
+        long size = (nonNull(getPlayer()) ? 1L : 0L) + (nonNull(getMainCurrency()) ? 1L : 0L);
+
+        for (final StockExchange stockExchange : getStockExchanges()) {
+            size += getCompanies(stockExchange).size();
+        }
+        for (final CurrencyExchange currencyExchange : getCurrencyExchanges()) {
+            size += getCurrencies(currencyExchange).size();
+        }
+        for (final CommodityExchange commodityExchange : getCommodityExchanges()) {
+            size += getCommodities(commodityExchange).size();
+        }
+
+        return size + getInvestmentFunds().size() + getInvestors().size();
+    }
+
+    /**
+     * Reads a simulation as it is. Callers should make sure that the simulation doesn't change in the meantime.
+     * @param simulation A simulation that is to be written.
+     * @return A source that reads the simulation directly.
+     */
+    static SnapshotSource of(final Simulation simulation) {
+        return new SnapshotSource() {
+
+            @Override
+            public Player getPlayer() {
+                return simulation.getPlayer();
+            }
+
+            @Override
+            public Currency getMainCurrency() {
+                return simulation.getMainCurrency();
+            }
+
+            @Override
+            public List<StockExchange> getStockExchanges() {
+                return simulation.getStockExchanges();
+            }
+
+            @Override
+            public List<Index> getIndices(final StockExchange stockExchange) {
+                return stockExchange.getIndices();
+            }
+
+            @Override
+            public List<Company> getCompanies(final StockExchange stockExchange) {
+                return stockExchange.getCompanies();
+            }
+
+            @Override
+            public List<CurrencyExchange> getCurrencyExchanges() {
+                return simulation.getCurrencyExchanges();
+            }
+
+            @Override
+            public List<Currency> getCurrencies(final CurrencyExchange currencyExchange) {
+                return currencyExchange.getCurrencies();
+            }
+
+            @Override
+            public List<CommodityExchange> getCommodityExchanges() {
+                return simulation.getCommodityExchanges();
+            }
+
+            @Override
+            public List<Commodity> getCommodities(final CommodityExchange commodityExchange) {
+                return commodityExchange.getCommodities();
+            }
+
+            @Override
+            public List<InvestmentFund> getInvestmentFunds() {
+                return simulation.getInvestmentFunds();
+            }
+
+            @Override
+            public List<Investor> getInvestors() {
+                return simulation.getInvestors();
+            }
+
+            @Override
+            public <T> T view(final T object) {
+                return object;
+            }
+        };
+    }
+}
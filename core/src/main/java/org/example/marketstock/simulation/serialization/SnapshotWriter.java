@@ -0,0 +1,269 @@
+package org.example.marketstock.simulation.serialization;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.Currency;
+import org.example.marketstock.models.briefcase.Briefcase;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.entity.Player;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.CurrencyExchange;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.models.index.Index;
+import org.example.marketstock.simulation.Simulation;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.example.marketstock.simulation.serialization.SimulationSnapshot.COMMODITY;
+import static org.example.marketstock.simulation.serialization.SimulationSnapshot.COMPANY;
+import static org.example.marketstock.simulation.serialization.SimulationSnapshot.CURRENCY;
+import static org.example.marketstock.simulation.serialization.SimulationSnapshot.INVESTMENT_FUND;
+import static org.example.marketstock.simulation.serialization.SimulationSnapshot.MAGIC;
+import static org.example.marketstock.simulation.serialization.SimulationSnapshot.VERSION;
+import static org.example.marketstock.simulation.serialization.SnapshotRecords.NONE;
+
+/**
+ * Writes a single {@link SimulationSnapshot} from a {@link SnapshotSource}. Ids of assets are assigned
+ * in the order they are written. An asset in a briefcase is looked up by identity,
+ * so it's written as a reference to the listed asset.
+ * <br>
+ * Ids are given to assets of the source, while their state is read from {@link SnapshotSource#view(Object)},
+ * so that a {@link SimulationCapture} can write copies of assets that changed in the meantime.
+ *
+ * @author Dominik Szmyt
+ * @see SimulationSnapshot
+ * @since 1.1.0
+ */
+final class SnapshotWriter {
+
+    private static final Logger LOGGER = LogManager.getLogger(SnapshotWriter.class);
+    private static final int PROGRESS_INTERVAL = 1024;
+
+    private final DataOutputStream output;
+    private final SnapshotProgress progress;
+    private final Map<Asset, Integer> ids = new IdentityHashMap<>();
+    private int nextId = 0;
+    private long written = 0L;
+    private long total = 0L;
+
+    SnapshotWriter(final OutputStream outputStream) {
+        this(outputStream, SnapshotProgress.NONE);
+    }
+
+    SnapshotWriter(final OutputStream outputStream, final SnapshotProgress progress) {
+        this.output = new DataOutputStream(outputStream);
+        this.progress = progress;
+    }
+
+    void write(final Simulation simulation) throws IOException {
+        write(SnapshotSource.of(simulation));
+    }
+
+    void write(final SnapshotSource source) throws IOException {
+        total = source.size();
+
+        output.writeInt(MAGIC);
+        SnapshotRecords.writeVarInt(output, VERSION);
+
+        final Player player = source.getPlayer();
+        final Player playerView = isNull(player) ? null : source.view(player);
+        output.writeBoolean(nonNull(player));
+        if (nonNull(player)) {
+            SnapshotRecords.writeString(output, player.getFirstName());
+            SnapshotRecords.writeString(output, player.getLastName());
+            output.writeDouble(playerView.getBudget());
+            advance();
+        }
+
+        final Currency mainCurrency = source.getMainCurrency();
+        output.writeBoolean(nonNull(mainCurrency));
+        if (nonNull(mainCurrency)) {
+            writeCurrency(mainCurrency, source.view(mainCurrency));
+        }
+
+        SnapshotRecords.writeVarInt(output, source.getStockExchanges().size());
+        for (final StockExchange stockExchange : source.getStockExchanges()) {
+            SnapshotRecords.writeExchange(output, stockExchange);
+
+            final List<Index> indices = source.getIndices(stockExchange);
+            SnapshotRecords.writeVarInt(output, indices.size());
+            for (final Index index : indices) {
+                SnapshotRecords.writeIndex(output, index);
+            }
+
+            final List<Company> companies = source.getCompanies(stockExchange);
+            SnapshotRecords.writeVarInt(output, companies.size());
+            for (final Company company : companies) {
+                writeCompany(company, source.view(company));
+            }
+        }
+
+        SnapshotRecords.writeVarInt(output, source.getCurrencyExchanges().size());
+        for (final CurrencyExchange currencyExchange : source.getCurrencyExchanges()) {
+            SnapshotRecords.writeExchange(output, currencyExchange);
+
+            final List<Currency> currencies = source.getCurrencies(currencyExchange);
+            SnapshotRecords.writeVarInt(output, currencies.size());
+            for (final Currency currency : currencies) {
+                writeCurrency(currency, source.view(currency));
+            }
+        }
+
+        SnapshotRecords.writeVarInt(output, source.getCommodityExchanges().size());
+        for (final CommodityExchange commodityExchange : source.getCommodityExchanges()) {
+            SnapshotRecords.writeExchange(output, commodityExchange);
+
+            final List<Commodity> commodities = source.getCommodities(commodityExchange);
+            SnapshotRecords.writeVarInt(output, commodities.size());
+            for (final Commodity commodity : commodities) {
+                writeCommodity(commodity, source.view(commodity));
+            }
+        }
+
+        final List<Briefcase> investmentFundBriefcases = new ArrayList<>();
+        SnapshotRecords.writeVarInt(output, source.getInvestmentFunds().size());
+        for (final InvestmentFund investmentFund : source.getInvestmentFunds()) {
+            final InvestmentFund investmentFundView = source.view(investmentFund);
+            writeInvestmentFund(investmentFund, investmentFundView);
+            investmentFundBriefcases.add(investmentFundView.getBriefcase());
+        }
+
+        final List<Briefcase> briefcases = new ArrayList<>();
+        if (nonNull(player)) {
+            briefcases.add(playerView.getBriefcase());
+        }
+
+        SnapshotRecords.writeVarInt(output, source.getInvestors().size());
+        for (final Investor investor : source.getInvestors()) {
+            final Investor investorView = source.view(investor);
+            SnapshotRecords.writeInvestor(output, investorView);
+            briefcases.add(investorView.getBriefcase());
+            advance();
+        }
+
+        briefcases.addAll(investmentFundBriefcases);
+
+        writeDetachedAssets(briefcases, source);
+
+        for (final Briefcase briefcase : briefcases) {
+            writeHoldings(briefcase);
+        }
+
+        output.flush();
+        progress.onProgress(written, Math.max(written, total));
+        LOGGER.debug("[SNAPSHOT]: Wrote {} assets in {} bytes.", nextId, output.size());
+    }
+
+    /**
+     * Writes assets that are held but aren't listed anymore, so that holdings can refer to them.
+     */
+    private void writeDetachedAssets(final List<Briefcase> briefcases,
+                                     final SnapshotSource source) throws IOException {
+
+        final Map<Asset, Boolean> detached = new IdentityHashMap<>();
+        final List<Asset> ordered = new ArrayList<>();
+
+        for (final Briefcase briefcase : briefcases) {
+            if (isNull(briefcase)) continue;
+
+            for (final Asset asset : briefcase.getAssets()) {
+                if (idOf(asset) == NONE && isNull(detached.put(asset, Boolean.TRUE))) {
+                    ordered.add(asset);
+                }
+            }
+        }
+
+        SnapshotRecords.writeVarInt(output, ordered.size());
+        for (final Asset asset : ordered) {
+            if (asset instanceof Company) {
+                output.writeByte(COMPANY);
+                writeCompany((Company) asset, source.view((Company) asset));
+            } else if (asset instanceof Currency) {
+                output.writeByte(CURRENCY);
+                writeCurrency((Currency) asset, source.view((Currency) asset));
+            } else if (asset instanceof Commodity) {
+                output.writeByte(COMMODITY);
+                writeCommodity((Commodity) asset, source.view((Commodity) asset));
+            } else if (asset instanceof InvestmentFund) {
+                output.writeByte(INVESTMENT_FUND);
+                writeInvestmentFund((InvestmentFund) asset, source.view((InvestmentFund) asset));
+            } else {
+                throw new IOException("Unknown type of asset " + asset.getClass().getName());
+            }
+        }
+    }
+
+    private void writeHoldings(final Briefcase briefcase) throws IOException {
+        if (isNull(briefcase)) {
+            SnapshotRecords.writeVarInt(output, 0);
+            return;
+        }
+
+        final Map<Asset, Integer> holdings = briefcase.getMap();
+        SnapshotRecords.writeVarInt(output, holdings.size());
+
+        for (final Map.Entry<Asset, Integer> holding : holdings.entrySet()) {
+            SnapshotRecords.writeVarInt(output, idOf(holding.getKey()));
+            SnapshotRecords.writeVarInt(output, holding.getValue());
+        }
+    }
+
+    private void writeCompany(final Company company, final Company view) throws IOException {
+        register(company);
+        SnapshotRecords.writeCompany(output, view);
+        advance();
+    }
+
+    /**
+     * Writes a currency. It's comparison currency is written as a reference,
+     * which is lost if the comparison currency wasn't written before.
+     */
+    private void writeCurrency(final Currency currency, final Currency view) throws IOException {
+        register(currency);
+        SnapshotRecords.writeCurrency(output, view,
+                isNull(currency.getComparisonCurrency()) ? NONE : idOf(currency.getComparisonCurrency()));
+        advance();
+    }
+
+    private void writeCommodity(final Commodity commodity, final Commodity view) throws IOException {
+        register(commodity);
+        SnapshotRecords.writeCommodity(output, view);
+        advance();
+    }
+
+    private void writeInvestmentFund(final InvestmentFund investmentFund,
+                                     final InvestmentFund view) throws IOException {
+
+        register(investmentFund);
+        SnapshotRecords.writeInvestmentFund(output, view);
+        advance();
+    }
+
+    private void advance() {
+        if (++written % PROGRESS_INTERVAL == 0) {
+            progress.onProgress(written, Math.max(written, total));
+        }
+    }
+
+    private void register(final Asset asset) {
+        ids.put(asset, nextId);
+        nextId++;
+    }
+
+    private int idOf(final Asset asset) {
+        final Integer id = ids.get(asset);
+        return isNull(id) ? NONE : id;
+    }
+}
@@ -0,0 +1,363 @@
+package org.example.marketstock.simulation.tick;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Drives any number of {@link Tickable} agents with a bounded number of threads.
+ * Time is divided into discrete ticks. On every tick the scheduler collects agents that are due,
+ * splits them into batches and steps each batch on a small pool sized after the number of cores.
+ * A tick ends only when every batch is done, so agents never run ahead of the clock.
+ * <br>
+ * Waiting agents are kept in a timing wheel, which means that a tick costs as much as the number of due agents
+ * rather than the number of all registered agents.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public class TickScheduler {
+
+    private static final Logger LOGGER = LogManager.getLogger(TickScheduler.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final long DEFAULT_TICK_DURATION_MILLIS = 1000L;
+
+    private static final int WHEEL_SIZE = 64;
+
+    private final int parallelism;
+    private final int batchSize;
+    private final long tickDurationMillis;
+    private final Queue<Tickable> registrations = new ConcurrentLinkedQueue<>();
+    private final Queue<Tickable> drops = new ConcurrentLinkedQueue<>();
+    private final Map<Tickable, ScheduledTickable> scheduledAgents = new IdentityHashMap<>();
+    private final List<List<ScheduledTickable>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final List<ScheduledTickable> due = new ArrayList<>();
+    private final ExecutorService workers;
+
+    private ScheduledExecutorService clock;
+    private volatile long currentTick = 0L;
+    private volatile int numberOfAgents = 0;
+
+    /**
+     * Create a {@code TickScheduler} that uses one worker per available processor,
+     * default batch size and ticks once per second.
+     */
+    public TickScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE, DEFAULT_TICK_DURATION_MILLIS);
+    }
+
+    /**
+     * Create a {@code TickScheduler} with all necessary fields.
+     * @param parallelism The number of threads that step agents.
+     * @param batchSize The maximum number of agents stepped by a worker in one task.
+     * @param tickDurationMillis The real time duration of one tick when the scheduler is started.
+     */
+    public TickScheduler(final int parallelism,
+                         final int batchSize,
+                         final long tickDurationMillis) {
+
+        if (parallelism < 1 || batchSize < 1 || tickDurationMillis < 1) {
+            throw new IllegalArgumentException("Parallelism, batch size and tick duration must be positive");
+        }
+
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.tickDurationMillis = tickDurationMillis;
+        this.workers = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+                .setNameFormat("tick-worker-%d")
+                .setDaemon(true)
+                .build());
+
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Registers a new agent. The agent is scheduled at the beginning of the next tick,
+     * then waits {@link Tickable#nextDelay()} ticks before it's first step, just like a thread-driven agent
+     * that sleeps before doing anything.
+     * @param tickable An agent that is to be driven by the scheduler.
+     */
+    public void register(final Tickable tickable) {
+        registrations.add(tickable);
+        LOGGER.debug("[TICK]: {} registered.", tickable);
+    }
+
+    /**
+     * Drops an agent that is no longer active at the beginning of the next tick instead of when it's due,
+     * which may be many ticks later. Active agents aren't affected.
+     * @param tickable An agent that was told to stop.
+     */
+    public void drop(final Tickable tickable) {
+        drops.add(tickable);
+    }
+
+    /**
+     * Starts advancing ticks in the background, one tick per configured duration.
+     * Calling this method on a running scheduler has no effect.
+     */
+    public synchronized void start() {
+        if (nonNull(clock)) {
+            return;
+        }
+
+        clock = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("tick-clock")
+                .setDaemon(true)
+                .build());
+        clock.scheduleAtFixedRate(this::advanceSafely, tickDurationMillis, tickDurationMillis, TimeUnit.MILLISECONDS);
+        LOGGER.info("[TICK]: Scheduler starts with {} workers.", parallelism);
+    }
+
+    /**
+     * Stops advancing ticks in the background. Registered agents are kept and can be resumed with {@link #start()}.
+     */
+    public synchronized void stop() {
+        if (isNull(clock)) {
+            return;
+        }
+
+        clock.shutdownNow();
+        clock = null;
+        LOGGER.info("[TICK]: Scheduler stops at tick {}.", currentTick);
+    }
+
+    /**
+     * Stops the scheduler for good and releases it's workers.
+     */
+    public void shutdown() {
+        stop();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Advances the clock by the given number of ticks in the calling thread.
+     * Useful when a simulation should run as fast as possible instead of in real time.
+     * @param ticks The number of ticks to advance.
+     * @throws InterruptedException If the calling thread was interrupted while waiting for workers.
+     */
+    public void advance(final long ticks) throws InterruptedException {
+        for (long i = 0; i < ticks; i++) {
+            advance();
+        }
+    }
+
+    /**
+     * Advances the clock by a single tick. Steps every agent that is due and reschedules it.
+     * Agents that are no longer active are dropped and notified with {@link Tickable#markTerminated()}.
+     * @return The number of the tick that has just been processed.
+     * @throws InterruptedException If the calling thread was interrupted while waiting for workers.
+     */
+    public synchronized long advance() throws InterruptedException {
+        final long tick = ++currentTick;
+
+        acceptRegistrations(tick);
+        acceptDrops();
+        collectDue(tick);
+
+        if (!due.isEmpty()) {
+            stepDue();
+            rescheduleDue(tick);
+        }
+
+        return tick;
+    }
+
+    private void advanceSafely() {
+        try {
+            advance();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException exception) {
+            LOGGER.error("[TICK]: Tick " + currentTick + " failed.", exception);
+        }
+    }
+
+    private void acceptRegistrations(final long tick) {
+        Tickable tickable;
+
+        while (nonNull(tickable = registrations.poll())) {
+            schedule(new ScheduledTickable(tickable), tick);
+            numberOfAgents++;
+        }
+    }
+
+    private void acceptDrops() {
+        Tickable tickable;
+
+        while (nonNull(tickable = drops.poll())) {
+            final ScheduledTickable scheduled = scheduledAgents.get(tickable);
+
+            if (nonNull(scheduled) && !tickable.isActive()) {
+                wheel.get((int) (scheduled.dueTick % WHEEL_SIZE)).remove(scheduled);
+                terminate(scheduled);
+            }
+        }
+    }
+
+    private void collectDue(final long tick) {
+        final List<ScheduledTickable> slot = wheel.get((int) (tick % WHEEL_SIZE));
+        int kept = 0;
+
+        for (int i = 0; i < slot.size(); i++) {
+            final ScheduledTickable scheduled = slot.get(i);
+
+            if (scheduled.dueTick <= tick || !scheduled.tickable.isActive()) {
+                due.add(scheduled);
+            } else {
+                slot.set(kept++, scheduled);
+            }
+        }
+
+        slot.subList(kept, slot.size()).clear();
+    }
+
+    private void stepDue() throws InterruptedException {
+        final int numberOfBatches = (due.size() + batchSize - 1) / batchSize;
+
+        if (numberOfBatches == 1 || parallelism == 1) {
+            stepBatch(0, due.size());
+            return;
+        }
+
+        final List<Callable<Void>> batches = new ArrayList<>(numberOfBatches);
+        for (int from = 0; from < due.size(); from += batchSize) {
+            final int start = from;
+            final int end = Math.min(from + batchSize, due.size());
+            batches.add(() -> {
+                stepBatch(start, end);
+                return null;
+            });
+        }
+
+        for (Future<Void> future : workers.invokeAll(batches)) {
+            try {
+                future.get();
+            } catch (ExecutionException exception) {
+                LOGGER.error("[TICK]: Batch failed in tick " + currentTick + ".", exception.getCause());
+            }
+        }
+    }
+
+    private void stepBatch(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final ScheduledTickable scheduled = due.get(i);
+            final Tickable tickable = scheduled.tickable;
+
+            if (!tickable.isActive()) {
+                continue;
+            }
+
+            try {
+                tickable.step();
+            } catch (RuntimeException exception) {
+                LOGGER.error("[TICK]: " + tickable + " failed to step.", exception);
+            }
+
+            scheduled.delay = tickable.nextDelay();
+        }
+    }
+
+    private void rescheduleDue(final long tick) {
+        for (ScheduledTickable scheduled : due) {
+            if (scheduled.tickable.isActive()) {
+                scheduled.dueTick = tick + Math.max(1, scheduled.delay);
+                wheel.get((int) (scheduled.dueTick % WHEEL_SIZE)).add(scheduled);
+            } else {
+                terminate(scheduled);
+            }
+        }
+
+        due.clear();
+    }
+
+    private void schedule(final ScheduledTickable scheduled, final long tick) {
+        scheduled.dueTick = tick + Math.max(1, scheduled.tickable.nextDelay());
+        wheel.get((int) (scheduled.dueTick % WHEEL_SIZE)).add(scheduled);
+        scheduledAgents.put(scheduled.tickable, scheduled);
+    }
+
+    private void terminate(final ScheduledTickable scheduled) {
+        scheduledAgents.remove(scheduled.tickable);
+        numberOfAgents--;
+        scheduled.tickable.markTerminated();
+        LOGGER.debug("[TICK]: {} dropped.", scheduled.tickable);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("parallelism", parallelism)
+                .add("batchSize", batchSize)
+                .add("tickDurationMillis", tickDurationMillis)
+                .add("currentTick", currentTick)
+                .add("numberOfAgents", numberOfAgents)
+                .toString();
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getTickDurationMillis() {
+        return tickDurationMillis;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Returns the time that passed in the simulation, which is the number of ticks multiplied by their duration.
+     * @return The simulated time in milliseconds since the first tick.
+     */
+    public long getSimulatedMillis() {
+        return currentTick * tickDurationMillis;
+    }
+
+    public int getNumberOfAgents() {
+        return numberOfAgents;
+    }
+
+    public synchronized boolean isRunning() {
+        return nonNull(clock);
+    }
+
+    /**
+     * A mutable wheel entry, reused for the whole life of an agent so that rescheduling doesn't allocate.
+     */
+    private static final class ScheduledTickable {
+
+        private final Tickable tickable;
+        private long dueTick;
+        private int delay;
+
+        private ScheduledTickable(final Tickable tickable) {
+            this.tickable = tickable;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.marketstock.simulation.tick;
+
+/**
+ * Represents an agent whose behaviour can be driven by a {@link TickScheduler}.
+ * Instead of sleeping in it's own thread, a {@code Tickable} performs a single step when it's due
+ * and tells the scheduler how many ticks it wants to wait before the next one.
+ * <br>
+ * <b>NOTE:</b> one tick corresponds to one second of a thread-driven agent's sleep.
+ *
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public interface Tickable {
+
+    /**
+     * Each {@code Tickable} implementation should perform exactly one step of it's behaviour,
+     * e.g. a single trading decision, and return without blocking.
+     */
+    void step();
+
+    /**
+     * Each {@code Tickable} implementation should provide the number of ticks to wait before the next step.
+     * @return The number of ticks to wait, a value lower than 1 is treated as 1.
+     */
+    int nextDelay();
+
+    /**
+     * Each {@code Tickable} implementation should tell whether it still wants to be stepped.
+     * @return {@code true} if a {@code Tickable} should be stepped, otherwise {@code false}.
+     */
+    boolean isActive();
+
+    /**
+     * Each {@code Tickable} implementation should be notified when a scheduler drops it for good.
+     * This is the tick-driven equivalent of a thread leaving it's {@code run} method.
+     */
+    void markTerminated();
+}
@@ -1,6 +1,7 @@
 package org.example.marketstock.models.asset;
 
 import org.example.marketstock.models.asset.builder.CommodityBuilder;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -92,4 +93,31 @@ public class AbstractAssetTest {
                 .doesNotContain(rateChanges.get(0), atIndex(0))
                 .contains(rate, atIndex(9));
     }
+
+    @Test
+    public void should_notify_rate_listeners_until_removed() {
+
+        // given
+        subject = CommodityBuilder.builder()
+                .withName("TestCommodity")
+                .withCurrentRate(1D)
+                .withRateChanges(new ArrayList<>(Collections.singletonList(1D)))
+                .build();
+
+        final List<Double> changes = new ArrayList<>();
+        final RateListener listener = (asset, previousRate, currentRate) -> {
+            changes.add(previousRate);
+            changes.add(currentRate);
+        };
+
+        subject.addRateListener(listener);
+
+        // when
+        subject.updateRate(2D);
+        subject.removeRateListener(listener);
+        subject.updateRate(3D);
+
+        // then
+        assertThat(changes).containsExactly(1D, 2D);
+    }
 }
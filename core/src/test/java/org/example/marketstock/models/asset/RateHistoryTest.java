@@ -0,0 +1,84 @@
+package org.example.marketstock.models.asset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RateHistoryTest {
+
+    @Test
+    public void should_keep_only_the_latest_initial_rates() {
+
+        // when
+        final RateHistory actual = RateHistory.of(3, Arrays.asList(1D, 2D, 3D, 4D, 5D));
+
+        // then
+        assertThat(actual.asList()).containsExactly(3D, 4D, 5D);
+        assertThat(actual.min()).isEqualTo(3D);
+        assertThat(actual.max()).isEqualTo(5D);
+    }
+
+    @Test
+    public void should_forget_min_and_max_that_left_the_history() {
+
+        // given
+        final RateHistory subject = RateHistory.of(3, Arrays.asList(1D, 9D, 5D));
+
+        // when
+        subject.add(4D);
+        subject.add(6D);
+
+        // then
+        assertThat(subject.asList()).containsExactly(5D, 4D, 6D);
+        assertThat(subject.min()).isEqualTo(4D);
+        assertThat(subject.max()).isEqualTo(6D);
+    }
+
+    @Test
+    public void should_find_min_and_max_like_a_full_scan() {
+
+        // given
+        final int depth = 7;
+        final RateHistory subject = new RateHistory(depth);
+        final List<Double> expected = new ArrayList<>();
+        final Random random = new Random(42L);
+
+        for (int i = 0; i < 1000; i++) {
+            // when
+            final double rate = random.nextInt(20);
+            subject.add(rate);
+            expected.add(rate);
+
+            if (expected.size() > depth) {
+                expected.remove(0);
+            }
+
+            // then
+            assertThat(subject.asList()).isEqualTo(expected);
+            assertThat(subject.min()).isEqualTo(Collections.min(expected));
+            assertThat(subject.max()).isEqualTo(Collections.max(expected));
+        }
+    }
+
+    @Test
+    public void should_not_allow_to_modify_the_view() {
+
+        // given
+        final RateHistory subject = RateHistory.of(3, null);
+
+        // when
+        final List<Double> actual = subject.asList();
+
+        // then
+        assertThat(actual).isEmpty();
+        assertThat(subject.min()).isNaN();
+        assertThatThrownBy(() -> actual.add(1D)).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
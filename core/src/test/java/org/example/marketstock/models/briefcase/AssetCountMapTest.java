@@ -0,0 +1,221 @@
+package org.example.marketstock.models.briefcase;
+
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.builder.CommodityBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AssetCountMapTest {
+
+    private final AssetCountMap subject = new AssetCountMap();
+
+    @Test
+    public void should_add_counts_of_the_same_asset() {
+
+        // given
+        final Commodity gold = commodity("Gold");
+
+        // when
+        final int first = subject.add(gold, 3);
+        final int second = subject.add(gold, 4);
+
+        // then
+        assertThat(first).isZero();
+        assertThat(second).isEqualTo(3);
+        assertThat(subject.get(gold)).isEqualTo(7);
+        assertThat(subject.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_find_the_same_asset_only() {
+
+        // given
+        final Commodity gold = commodity("Gold");
+        subject.add(gold, 3);
+
+        // then
+        assertThat(subject.containsKey(gold)).isTrue();
+        assertThat(subject.get(gold)).isEqualTo(3);
+        assertThat(subject.containsKey(commodity("Gold"))).isFalse();
+        assertThat(subject.containsKey(commodity("Silver"))).isFalse();
+    }
+
+    @Test
+    public void should_remove_asset_when_nothing_is_left() {
+
+        // given
+        final Commodity gold = commodity("Gold");
+        subject.add(gold, 3);
+
+        // when
+        final int tooMany = subject.subtract(gold, 4);
+        final int some = subject.subtract(gold, 1);
+        final int rest = subject.subtract(gold, 2);
+
+        // then
+        assertThat(tooMany).isEqualTo(3);
+        assertThat(some).isEqualTo(3);
+        assertThat(rest).isEqualTo(2);
+        assertThat(subject.containsKey(gold)).isFalse();
+        assertThat(subject.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void should_keep_order_of_insertion_while_growing() {
+
+        // given
+        final List<Asset> expected = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            final Commodity commodity = commodity("Commodity" + i);
+            subject.add(commodity, i + 1);
+
+            if (i % 3 == 0) {
+                subject.remove(commodity);
+            } else {
+                expected.add(commodity);
+            }
+        }
+
+        // when
+        final List<Asset> actual = new ArrayList<>(subject.toMap().keySet());
+
+        // then
+        assertThat(actual).containsExactlyElementsOf(expected);
+        assertThat(subject.get(expected.get(0))).isEqualTo(2);
+    }
+
+    @Test
+    public void should_read_counts_while_another_thread_updates_them() throws Exception {
+
+        // given
+        final Commodity gold = commodity("Gold");
+        subject.add(gold, 1);
+
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+
+        // when
+        final Future<?> writer = service.submit(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                final Commodity commodity = commodity("Commodity" + i);
+                subject.add(commodity, 1);
+                subject.remove(commodity);
+            }
+        });
+
+        int minimum = Integer.MAX_VALUE;
+        while (!writer.isDone()) {
+            minimum = Math.min(minimum, subject.get(gold));
+        }
+
+        writer.get(5, TimeUnit.SECONDS);
+        service.shutdown();
+
+        // then
+        assertThat(minimum).isEqualTo(1);
+        assertThat(subject.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_keep_the_highest_rated_asset_on_top() {
+
+        // given
+        final List<Commodity> commodities = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            final Commodity commodity = commodity("Commodity" + i, (i * 7) % 50);
+            commodities.add(commodity);
+            subject.add(commodity, 1);
+        }
+
+        assertThat(subject.highestRated()).isSameAs(commodities.get(7));
+
+        // when
+        commodities.get(3).updateRate(100D);
+        subject.reprice(commodities.get(3));
+
+        // then
+        assertThat(subject.highestRated()).isSameAs(commodities.get(3));
+
+        // when
+        subject.remove(commodities.get(3));
+        commodities.get(7).updateRate(1D);
+        subject.reprice(commodities.get(7));
+
+        // then
+        assertThat(subject.highestRated()).isSameAs(commodities.get(14));
+    }
+
+    @Test
+    public void should_prefer_the_asset_added_last_of_equal_rates() {
+
+        // given
+        final Commodity gold = commodity("Gold", 2D);
+        final Commodity silver = commodity("Silver", 2D);
+        final Commodity copper = commodity("Copper", 1D);
+
+        // when
+        subject.add(gold, 1);
+        subject.add(silver, 1);
+        subject.add(copper, 1);
+
+        // then
+        assertThat(subject.highestRated()).isSameAs(silver);
+
+        // when
+        subject.remove(silver);
+
+        // then
+        assertThat(subject.highestRated()).isSameAs(gold);
+
+        // when
+        subject.remove(gold);
+        subject.remove(copper);
+
+        // then
+        assertThat(subject.highestRated()).isNull();
+    }
+
+    @Test
+    public void should_record_current_rates_of_every_asset() {
+
+        // given
+        final Commodity gold = commodity("Gold", 2D);
+        final Commodity silver = commodity("Silver", 1D);
+        subject.add(gold, 1);
+        subject.add(silver, 1);
+
+        // when
+        silver.updateRate(3D);
+        final Asset stale = subject.highestRated();
+        subject.repriceAll();
+
+        // then
+        assertThat(stale).isSameAs(gold);
+        assertThat(subject.highestRated()).isSameAs(silver);
+    }
+
+    private static Commodity commodity(final String name) {
+        return CommodityBuilder.builder()
+                .withName(name)
+                .build();
+    }
+
+    private static Commodity commodity(final String name, final double rate) {
+        return CommodityBuilder.builder()
+                .withName(name)
+                .withCurrentRate(rate)
+                .withRateChanges(new ArrayList<>(Collections.singletonList(rate)))
+                .build();
+    }
+}
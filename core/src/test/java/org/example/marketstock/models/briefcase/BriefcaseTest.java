@@ -156,13 +156,17 @@ public class BriefcaseTest {
                                                                      final boolean expectedResult) {
 
         // given
+        final List<Asset> commodities = Arrays.asList(
+                getTestCommodityBuilder(1).build(),
+                getTestCommodityBuilder(2).build());
+
         final Map<Asset, Integer> map = new LinkedHashMap<>();
-        map.put(getTestCommodityBuilder(actualIndex).build(), actualNumber);
+        map.put(commodities.get(actualIndex - 1), actualNumber);
 
         subject = BriefcaseBuilder.builder().withMap(map).build();
 
         // when
-        final boolean actualResult = subject.contains(getTestCommodityBuilder(expectedIndex).build(), expectedNumber);
+        final boolean actualResult = subject.contains(commodities.get(expectedIndex - 1), expectedNumber);
 
         // then
         assertThat(actualResult).isEqualTo(expectedResult);
@@ -299,6 +303,62 @@ public class BriefcaseTest {
                 .withCurrency("TestCurrencyForCommodity");
     }
 
+    @Test
+    public void should_find_the_most_expensive_asset_after_rate_change() {
+
+        // given
+        final Commodity commodity = getTestCommodityBuilder(1).withCurrentRate(3D).build();
+        final Currency currency = getTestCurrencyBuilder(1).withCurrentRate(2D).build();
+
+        subject.addOrIncrease(commodity, 1);
+        subject.addOrIncrease(currency, 1);
+
+        assertThat(subject.getMostExpensiveAsset()).isSameAs(commodity);
+
+        // when
+        currency.updateRate(4D);
+
+        // then
+        assertThat(subject.getMostExpensiveAsset()).isSameAs(currency);
+    }
+
+    @Test
+    public void should_not_find_the_most_expensive_asset_after_it_was_sold() {
+
+        // given
+        final Commodity commodity = getTestCommodityBuilder(1).withCurrentRate(3D).build();
+        final Currency currency = getTestCurrencyBuilder(1).withCurrentRate(2D).build();
+
+        subject.addOrIncrease(commodity, 2);
+        subject.addOrIncrease(currency, 1);
+
+        // when
+        subject.decreaseOrRemove(commodity, 2);
+
+        // then
+        assertThat(subject.getMostExpensiveAsset()).isSameAs(currency);
+
+        // when
+        subject.removeEntirely(currency);
+
+        // then
+        assertThat(subject.getMostExpensiveAsset()).isNull();
+    }
+
+    @Test
+    public void should_not_follow_rates_of_stored_assets() {
+
+        // given
+        final Commodity commodity = getTestCommodityBuilder(1).withCurrentRate(3D).build();
+        final int numberOfRateListeners = commodity.getNumberOfRateListeners();
+
+        // when
+        subject.addOrIncrease(commodity, 1);
+
+        // then
+        assertThat(commodity.getNumberOfRateListeners()).isEqualTo(numberOfRateListeners);
+    }
+
     private CurrencyBuilder getTestCurrencyBuilder(int index) {
         return CurrencyBuilder.builder()
                 .withName("TestCurrency" + index)
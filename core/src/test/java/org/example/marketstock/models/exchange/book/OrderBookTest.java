@@ -0,0 +1,165 @@
+package org.example.marketstock.models.exchange.book;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class OrderBookTest {
+
+    private final List<String> trades = new ArrayList<>();
+    private OrderBook subject;
+
+    @BeforeEach
+    public void setUp() {
+        subject = new OrderBook(0.01D, (buyer, seller, price, quantity) ->
+                trades.add(buyer + "<-" + seller + ":" + Math.round(price * 100) + "x" + quantity));
+    }
+
+    @Test
+    public void should_rest_orders_and_keep_best_bid_and_ask() {
+
+        // when
+        subject.placeLimitOrder(Side.BUY, 9.98D, 5, "A");
+        subject.placeLimitOrder(Side.BUY, 9.99D, 3, "B");
+        subject.placeLimitOrder(Side.SELL, 10.02D, 7, "C");
+        subject.placeLimitOrder(Side.SELL, 10.01D, 2, "D");
+
+        // then
+        assertThat(trades).isEmpty();
+        assertThat(subject.getBestBid()).isCloseTo(9.99D, within(1e-9));
+        assertThat(subject.getBestBidQuantity()).isEqualTo(3L);
+        assertThat(subject.getBestAsk()).isCloseTo(10.01D, within(1e-9));
+        assertThat(subject.getBestAskQuantity()).isEqualTo(2L);
+        assertThat(subject.getNumberOfOrders()).isEqualTo(4);
+        assertThat(subject.getNumberOfLevels(Side.BUY)).isEqualTo(2);
+    }
+
+    @Test
+    public void should_match_best_price_first_and_earlier_order_first_within_price() {
+
+        // given
+        subject.placeLimitOrder(Side.SELL, 10.02D, 5, "late-worse");
+        subject.placeLimitOrder(Side.SELL, 10.01D, 2, "early");
+        subject.placeLimitOrder(Side.SELL, 10.01D, 2, "late");
+
+        // when
+        final long id = subject.placeLimitOrder(Side.BUY, 10.02D, 6, "buyer");
+
+        // then
+        assertThat(id).isEqualTo(OrderBook.NOT_RESTING);
+        assertThat(trades).containsExactly(
+                "buyer<-early:1001x2",
+                "buyer<-late:1001x2",
+                "buyer<-late-worse:1002x2");
+        assertThat(subject.getBestAsk()).isCloseTo(10.02D, within(1e-9));
+        assertThat(subject.getBestAskQuantity()).isEqualTo(3L);
+        assertThat(subject.getLastTradePrice()).isCloseTo(10.02D, within(1e-9));
+        assertThat(subject.getTradedVolume()).isEqualTo(6L);
+    }
+
+    @Test
+    public void should_remove_resting_order_that_was_not_settled_and_keep_matching() {
+
+        // given
+        final OrderBook orderBook = new OrderBook(0.01D, (buyer, seller, price, quantity) -> !"sold-out".equals(seller)
+                && trades.add(buyer + "<-" + seller + ":" + Math.round(price * 100) + "x" + quantity));
+        orderBook.placeLimitOrder(Side.SELL, 10.01D, 2, "sold-out");
+        orderBook.placeLimitOrder(Side.SELL, 10.02D, 3, "holder");
+
+        // when
+        final int actual = orderBook.placeImmediateOrCancelOrder(Side.BUY, 10.02D, 4, "buyer");
+
+        // then
+        assertThat(actual).isEqualTo(3);
+        assertThat(trades).containsExactly("buyer<-holder:1002x3");
+        assertThat(orderBook.getNumberOfOrders()).isZero();
+        assertThat(orderBook.getTradedVolume()).isEqualTo(3L);
+        assertThat(orderBook.getLastTradePrice()).isCloseTo(10.02D, within(1e-9));
+    }
+
+    @Test
+    public void should_rest_unfilled_part_of_limit_order() {
+
+        // given
+        subject.placeLimitOrder(Side.BUY, 10D, 4, "buyer");
+
+        // when
+        final long id = subject.placeLimitOrder(Side.SELL, 9.5D, 10, "seller");
+
+        // then
+        assertThat(trades).containsExactly("buyer<-seller:1000x4");
+        assertThat(subject.getRemaining(id)).isEqualTo(6);
+        assertThat(subject.getBestAsk()).isCloseTo(9.5D, within(1e-9));
+        assertThat(subject.getBestBid()).isNaN();
+    }
+
+    @Test
+    public void should_cancel_unfilled_part_of_immediate_or_cancel_and_market_orders() {
+
+        // given
+        subject.placeLimitOrder(Side.SELL, 10D, 3, "seller");
+        subject.placeLimitOrder(Side.SELL, 12D, 3, "seller");
+
+        // when
+        final int immediateOrCancel = subject.placeImmediateOrCancelOrder(Side.BUY, 11D, 5, "buyer");
+        final int market = subject.placeMarketOrder(Side.BUY, 5, "buyer");
+
+        // then
+        assertThat(immediateOrCancel).isEqualTo(3);
+        assertThat(market).isEqualTo(3);
+        assertThat(subject.getNumberOfOrders()).isZero();
+        assertThat(subject.getBestBid()).isNaN();
+        assertThat(subject.getBestAsk()).isNaN();
+    }
+
+    @Test
+    public void should_cancel_resting_order_and_move_best_price() {
+
+        // given
+        final long best = subject.placeLimitOrder(Side.BUY, 10D, 1, "A");
+        subject.placeLimitOrder(Side.BUY, 9D, 1, "B");
+
+        // when
+        final boolean cancelled = subject.cancel(best);
+        final boolean cancelledAgain = subject.cancel(best);
+
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(cancelledAgain).isFalse();
+        assertThat(subject.getBestBid()).isCloseTo(9D, within(1e-9));
+        assertThat(subject.getRemaining(best)).isZero();
+    }
+
+    @Test
+    public void should_cancel_resting_order_of_the_same_owner_instead_of_trading() {
+
+        // given
+        subject.placeLimitOrder(Side.SELL, 10D, 5, "A");
+        subject.placeLimitOrder(Side.SELL, 10D, 5, "B");
+
+        // when
+        subject.placeLimitOrder(Side.BUY, 10D, 5, "A");
+
+        // then
+        assertThat(trades).containsExactly("A<-B:1000x5");
+        assertThat(subject.getNumberOfOrders()).isZero();
+    }
+
+    @Test
+    public void should_not_accept_invalid_orders() {
+
+        // then
+        assertThatThrownBy(() -> subject.placeLimitOrder(Side.BUY, 0D, 1, "A"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> subject.placeLimitOrder(Side.BUY, 1D, 0, "A"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new OrderBook(0D, (buyer, seller, price, quantity) -> true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.marketstock.models.identity;
+
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.builder.CommodityBuilder;
+import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.entity.builder.InvestorBuilder;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.builder.CommodityExchangeBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdRegistryTest {
+
+    private final IdRegistry subject = new IdRegistry();
+
+    @Test
+    public void should_give_every_object_another_id() {
+
+        // given
+        final Commodity gold = commodity("Gold");
+        final Commodity copy = commodity("Gold");
+        final Investor investor = investor();
+
+        // then
+        assertThat(gold.getId()).isNotEqualTo(IdRegistry.NONE).isNotEqualTo(copy.getId());
+        assertThat(investor.getId()).isNotEqualTo(IdRegistry.NONE).isNotEqualTo(gold.getId());
+        assertThat(gold).isNotEqualTo(copy);
+    }
+
+    @Test
+    public void should_keep_id_and_hash_code_of_trading_entity() {
+
+        // given
+        final Investor investor = investor();
+        final long id = investor.getId();
+        final int hashCode = investor.hashCode();
+
+        // when
+        investor.addAsset(10D, commodity("Gold"), 1);
+
+        // then
+        assertThat(investor.getId()).isEqualTo(id);
+        assertThat(investor.hashCode()).isEqualTo(hashCode);
+    }
+
+    @Test
+    public void should_find_registered_object_by_id() {
+
+        // given
+        final Commodity gold = commodity("Gold");
+        final Investor investor = investor();
+
+        // when
+        subject.register(gold);
+        subject.register(investor);
+
+        // then
+        assertThat(subject.find(gold.getId())).isSameAs(gold);
+        assertThat(subject.find(investor.getId(), Investor.class)).isSameAs(investor);
+        assertThat(subject.find(investor.getId(), Commodity.class)).isNull();
+        assertThat(subject.size()).isEqualTo(2);
+
+        // when
+        subject.unregister(gold);
+
+        // then
+        assertThat(subject.find(gold.getId())).isNull();
+        assertThat(subject.contains(gold)).isFalse();
+        assertThat(subject.contains(investor)).isTrue();
+    }
+
+    @Test
+    public void should_follow_assets_listed_by_exchange() {
+
+        // given
+        final CommodityExchange exchange = CommodityExchangeBuilder.builder()
+                .withName("TestExchange")
+                .withCommodities(new ArrayList<>())
+                .build();
+
+        final Commodity gold = commodity("Gold");
+        exchange.addListingListener(subject);
+
+        // when
+        exchange.addResource(gold);
+
+        // then
+        assertThat(subject.find(gold.getId())).isSameAs(gold);
+
+        // when
+        exchange.removeResource(gold);
+
+        // then
+        assertThat(subject.size()).isZero();
+    }
+
+    private static Investor investor() {
+        return InvestorBuilder.builder()
+                .withBudget(1000D)
+                .withBriefcase(BriefcaseBuilder.emptyBriefcase().build())
+                .build();
+    }
+
+    private static Commodity commodity(final String name) {
+        return CommodityBuilder.builder()
+                .withName(name)
+                .withCurrentRate(1D)
+                .withRateChanges(new ArrayList<>(Collections.singletonList(1D)))
+                .build();
+    }
+}
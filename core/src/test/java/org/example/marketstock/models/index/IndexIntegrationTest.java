@@ -2,8 +2,10 @@ package org.example.marketstock.models.index;
 
 import org.example.marketstock.models.index.builder.NumericMaxIndexBuilder;
 import org.example.marketstock.models.index.builder.NumericMinIndexBuilder;
+import org.example.marketstock.simulation.serialization.SimulationMapper;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -46,4 +48,24 @@ public class IndexIntegrationTest {
         assertThat(set.contains(maxIndex2)).isTrue();
         assertThat(set.contains(minIndex2)).isTrue();
     }
+
+    @Test
+    public void should_deserialize_serialized_index() throws IOException {
+
+        // given
+        final Index index = NumericMinIndexBuilder.builder()
+                .withName("NumericMinIndex")
+                .withSize(2)
+                .build();
+
+        // when
+        final String json = SimulationMapper.getMapper().writeValueAsString(index);
+        final Index actual = SimulationMapper.getMapper().readValue(json, Index.class);
+
+        // then
+        assertThat(json).containsOnlyOnce("\"type\"");
+        assertThat(actual).isInstanceOf(NumericMinIndex.class);
+        assertThat(actual.getName()).isEqualTo("NumericMinIndex");
+        assertThat(actual.getSize()).isEqualTo(2L);
+    }
 }
@@ -64,6 +64,48 @@ public class NumericIndexTest {
         assertThat(subject.getValue()).isEqualTo(6D);
     }
 
+    @Test
+    public void should_follow_rate_changes_of_constituents() {
+
+        // given
+        final NumericIndex subject = NumericMaxIndexBuilder.builder()
+                .withName("NumericMaxIndex")
+                .withSize(2)
+                .build();
+
+        final List<Asset> content = getAssets();
+        subject.updateIndex(content);
+
+        // when
+        content.get(0).updateRate(8D);
+        content.get(2).updateRate(3D);
+
+        // then
+        assertThat(subject.getContent()).containsExactly(content.get(0), content.get(1));
+        assertThat(subject.getValue()).isEqualTo(12D);
+    }
+
+    @Test
+    public void should_stop_following_delisted_constituents() {
+
+        // given
+        final NumericIndex subject = NumericMinIndexBuilder.builder()
+                .withName("NumericMinIndex")
+                .withSize(2)
+                .build();
+
+        final List<Asset> content = getAssets();
+        subject.updateIndex(content);
+
+        // when
+        subject.onDelisted(null, content.get(0));
+        content.get(0).updateRate(1D);
+
+        // then
+        assertThat(subject.getContent()).containsExactly(content.get(1), content.get(2));
+        assertThat(subject.getValue()).isEqualTo(10D);
+    }
+
     private List<Asset> getAssets() {
         final List<Asset> assets = new ArrayList<>();
 
@@ -0,0 +1,70 @@
+package org.example.marketstock.simulation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExecutionModeTest {
+
+    @AfterEach
+    public void cleanUp() {
+        System.clearProperty(ExecutionMode.PROPERTY);
+    }
+
+    @Test
+    public void should_read_execution_mode_from_system_property() {
+
+        // given
+        System.setProperty(ExecutionMode.PROPERTY, " virtual_threads ");
+
+        // when
+        final ExecutionMode actual = ExecutionMode.fromSystemProperty(ExecutionMode.TICK);
+
+        // then
+        assertThat(actual).isEqualTo(ExecutionMode.VIRTUAL_THREADS);
+    }
+
+    @Test
+    public void should_fall_back_to_default_execution_mode_when_property_is_invalid() {
+
+        // given
+        System.setProperty(ExecutionMode.PROPERTY, "green_threads");
+
+        // when
+        final ExecutionMode actual = ExecutionMode.fromSystemProperty(ExecutionMode.TICK);
+
+        // then
+        assertThat(actual).isEqualTo(ExecutionMode.TICK);
+    }
+
+    @Test
+    public void should_fall_back_to_default_execution_mode_when_property_is_missing() {
+
+        // when
+        final ExecutionMode actual = ExecutionMode.fromSystemProperty(ExecutionMode.THREAD_POOL);
+
+        // then
+        assertThat(actual).isEqualTo(ExecutionMode.THREAD_POOL);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExecutionMode.class)
+    public void should_create_agent_service_that_runs_tasks(final ExecutionMode executionMode) throws Exception {
+
+        // given
+        final ExecutorService subject = executionMode.newAgentService();
+
+        // when
+        final String actual = subject.submit(() -> "done").get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(actual).isEqualTo("done");
+        subject.shutdownNow();
+    }
+}
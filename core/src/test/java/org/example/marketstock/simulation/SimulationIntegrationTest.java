@@ -1,7 +1,6 @@
 package org.example.marketstock.simulation;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import javafx.collections.FXCollections;
 import org.example.marketstock.models.asset.builder.CurrencyBuilder;
 import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
 import org.example.marketstock.models.company.Company;
@@ -12,10 +11,14 @@ import org.example.marketstock.models.entity.builder.InvestorBuilder;
 import org.example.marketstock.models.exchange.StockExchange;
 import org.example.marketstock.models.exchange.builder.StockExchangeBuilder;
 import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.serialization.SimulationMapper;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -77,11 +80,11 @@ public class SimulationIntegrationTest {
                         BriefcaseBuilder.builder()
                                 .withMap(new LinkedHashMap<>(Collections.singletonMap(company, 5)))
                                 .build()))
-                .withStockExchanges(FXCollections.observableArrayList(stockExchange))
-                .withCommodityExchange(FXCollections.observableArrayList())
-                .withCurrencyExchanges(FXCollections.observableArrayList())
-                .withInvestors(FXCollections.observableArrayList(investor))
-                .withInvestmentFunds(FXCollections.observableArrayList())
+                .withStockExchanges(new ArrayList<>(Collections.singletonList(stockExchange)))
+                .withCommodityExchange(new ArrayList<>())
+                .withCurrencyExchanges(new ArrayList<>())
+                .withInvestors(new ArrayList<>(Collections.singletonList(investor)))
+                .withInvestmentFunds(new ArrayList<>())
                 .withMainCurrency(CurrencyBuilder.builder()
                         .withName("USD")
                         .withRateChanges(new ArrayList<>(Collections.singletonList(0.0)))
@@ -121,4 +124,61 @@ public class SimulationIntegrationTest {
         assertThat(actual.getPlayer().getBriefcase().contains(company, 5)).isTrue();
         assertThat(actual.getInvestors().get(0).getBriefcase().contains(company, 5)).isTrue();
     }
+
+    @Test
+    public void should_stream_simulation_through_shared_mapper() throws Exception {
+
+        // given
+        final URL url = getClass().getClassLoader().getResource("simulation/simulation.json");
+        assertThat(url).isNotNull();
+        final String expected = new String(Files.readAllBytes(Paths.get(url.toURI())), StandardCharsets.UTF_8);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        try (final InputStream inputStream = url.openStream()) {
+            SimulationMapper.write(SimulationMapper.read(inputStream), outputStream);
+        }
+
+        // then
+        assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8)).isEqualToIgnoringWhitespace(expected);
+    }
+
+    @Test
+    public void should_read_simulation_with_settings_of_builder() throws Exception {
+
+        // given
+        final URL url = getClass().getClassLoader().getResource("simulation/simulation.json");
+        assertThat(url).isNotNull();
+        final SimulationBuilder simulationBuilder = SimulationBuilder.builder().withExecutionMode(ExecutionMode.TICK);
+
+        // when
+        final Simulation actual = SimulationMapper.read(Paths.get(url.toURI()).toFile(), simulationBuilder);
+
+        // then
+        try {
+            assertThat(actual.getExecutionMode()).isEqualTo(ExecutionMode.TICK);
+            assertThat(actual.getStockExchanges()).isNotEmpty();
+            assertThat(actual.getInvestors()).isNotEmpty();
+        } finally {
+            actual.shutdown();
+        }
+    }
+
+    @Test
+    public void should_skip_unknown_fields_of_simulation_and_player() throws IOException {
+
+        // given
+        final String json = "{\"version\": {\"major\": 1}, \"player\": {\"firstName\": \"Jordan\", "
+                + "\"nickname\": [\"Wolf\"], \"budget\": 80.0, \"briefcase\": []}, \"investors\": []}";
+
+        // when
+        final Simulation actual = SimulationMapper.getMapper().readValue(json, Simulation.class);
+
+        // then
+        assertThat(actual.getPlayer().getFirstName()).isEqualTo("Jordan");
+        assertThat(actual.getPlayer().getBudget()).isEqualTo(80D);
+        assertThat(actual.getPlayer().getBriefcase().isEmpty()).isTrue();
+        assertThat(actual.getInvestors()).isEmpty();
+        assertThat(actual.getStockExchanges()).isEmpty();
+    }
 }
@@ -1,7 +1,6 @@
 package org.example.marketstock.simulation;
 
 import io.vavr.Tuple3;
-import javafx.collections.FXCollections;
 import org.example.marketstock.models.asset.Asset;
 import org.example.marketstock.models.asset.Commodity;
 import org.example.marketstock.models.asset.Currency;
@@ -19,10 +18,16 @@ import org.example.marketstock.models.entity.builder.InvestorBuilder;
 import org.example.marketstock.models.exchange.CommodityExchange;
 import org.example.marketstock.models.exchange.CurrencyExchange;
 import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.models.exchange.book.OrderBook;
+import org.example.marketstock.models.exchange.book.Side;
 import org.example.marketstock.models.index.Index;
 import org.example.marketstock.simulation.builder.SimulationBuilder;
 import org.example.marketstock.simulation.croupier.builder.CroupierBuilder;
+import org.example.marketstock.simulation.history.CandleAggregator;
+import org.example.marketstock.simulation.history.CandleConsumer;
 import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.example.marketstock.simulation.order.OrderPipeline;
+import org.example.marketstock.simulation.tick.TickScheduler;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,7 +36,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
@@ -56,11 +63,11 @@ public class SimulationTest {
     public void setUp() {
         subject = SimulationBuilder.builder()
                 .withPlayer(player)
-                .withStockExchanges(FXCollections.observableArrayList())
-                .withCurrencyExchanges(FXCollections.observableArrayList())
-                .withCommodityExchange(FXCollections.observableArrayList())
-                .withInvestors(FXCollections.observableArrayList())
-                .withInvestmentFunds(FXCollections.observableArrayList())
+                .withStockExchanges(new ArrayList<>())
+                .withCurrencyExchanges(new ArrayList<>())
+                .withCommodityExchange(new ArrayList<>())
+                .withInvestors(new ArrayList<>())
+                .withInvestmentFunds(new ArrayList<>())
                 .withCommodityNames(commodities)
                 .withCurrencyNames(currencies)
                 .withCroupier(CroupierBuilder.builder()
@@ -72,13 +79,14 @@ public class SimulationTest {
                         .withRateChanges(new ArrayList<>(Collections.singletonList(0.0)))
                         .withCountries(new ArrayList<>())
                         .build())
+                .withCandleAggregator(new CandleAggregator())
                 .build();
     }
 
     @AfterEach
     public void cleanUp() {
         subject.getStockExchanges().stream()
-                .map(StockExchange::getCompaniesService)
+                .map(subject::getCompaniesService)
                 .forEach(ExecutorService::shutdownNow);
         subject.getEntitiesService().shutdownNow();
     }
@@ -169,6 +177,91 @@ public class SimulationTest {
         assertThat(subject.getCurrencyExchanges()).doesNotContain(actual);
     }
 
+    @Test
+    public void should_find_assets_and_entities_by_their_ids() {
+
+        // given
+        final CommodityExchange commodityExchange = subject.addCommodityExchange();
+        final Optional<Commodity> optionalCommodity = subject.addCommodity(commodityExchange);
+
+        assertThat(optionalCommodity).isPresent();
+        final Commodity commodity = optionalCommodity.get();
+        final Investor investor = subject.addInvestor();
+
+        // then
+        assertThat(subject.getIdRegistry().find(commodity.getId())).isSameAs(commodity);
+        assertThat(subject.getIdRegistry().find(investor.getId(), Investor.class)).isSameAs(investor);
+        assertThat(subject.getIdRegistry().find(player.getId())).isSameAs(player);
+
+        // when
+        subject.removeCommodity(commodity, commodityExchange);
+
+        // then
+        assertThat(subject.getIdRegistry().find(commodity.getId())).isNull();
+    }
+
+    @Test
+    public void should_drop_bars_of_removed_assets() {
+
+        // given
+        final CommodityExchange commodityExchange = subject.addCommodityExchange();
+        final Commodity removed = subject.addCommodity(commodityExchange).orElseThrow(IllegalStateException::new);
+        final Commodity delisted = subject.addCommodity(commodityExchange).orElseThrow(IllegalStateException::new);
+        final CandleAggregator candleAggregator = subject.getCandleAggregator();
+        final CandleConsumer ignored = (start, open, high, low, close, volume) -> { };
+        candleAggregator.onTick(removed, 1_000L, 1.0D, 1);
+        candleAggregator.onTick(delisted, 1_000L, 1.0D, 1);
+
+        // when
+        subject.removeCommodity(removed, commodityExchange);
+
+        // then
+        assertThat(candleAggregator.forEach(removed, CandleAggregator.SECOND, ignored))
+                .isZero();
+        assertThat(candleAggregator.forEach(delisted, CandleAggregator.SECOND, ignored))
+                .isOne();
+
+        // when
+        subject.removeCommodityExchange(commodityExchange);
+
+        // then
+        assertThat(candleAggregator.forEach(delisted, CandleAggregator.SECOND, ignored))
+                .isZero();
+    }
+
+    @Test
+    public void should_remove_assets_of_exchange_only_from_their_holders() {
+
+        // given
+        final CurrencyExchange actual = subject.addCurrencyExchange();
+        final Optional<Currency> optionalCurrency = subject.addCurrency(actual);
+
+        assertThat(optionalCurrency).isPresent();
+        final Currency currency = optionalCurrency.get();
+
+        final Investor holder = InvestorBuilder.builder()
+                .withBudget(1000D)
+                .withBriefcase(BriefcaseBuilder.emptyBriefcase().build())
+                .build();
+        final Investor bystander = InvestorBuilder.builder()
+                .withBudget(1000D)
+                .withBriefcase(BriefcaseBuilder.emptyBriefcase().build())
+                .build();
+
+        holder.getBriefcase().addOrIncrease(currency, 3);
+        subject.getInvestors().addAll(Arrays.asList(holder, bystander));
+
+        assertThat(subject.getHoldingsIndex().holdersOf(currency)).containsExactly(holder);
+
+        // when
+        subject.removeCurrencyExchange(actual);
+
+        // then
+        assertThat(holder.getBriefcase().contains(currency)).isFalse();
+        assertThat(bystander.getBriefcase().isEmpty()).isTrue();
+        assertThat(subject.getHoldingsIndex().holdersOf(currency)).isEmpty();
+    }
+
     @Test
     public void should_add_company_with_index() {
 
@@ -350,6 +443,65 @@ public class SimulationTest {
         assertThat(actual.isTerminated()).isTrue();
     }
 
+    @Test
+    public void should_drive_agents_with_tick_scheduler_in_tick_mode() throws InterruptedException {
+
+        // given
+        final TickScheduler tickScheduler = new TickScheduler(2, 16, 1000L);
+        final Simulation simulation = SimulationBuilder.builder()
+                .from(subject)
+                .withCurrencyNames(currencies)
+                .withExecutionMode(ExecutionMode.TICK)
+                .withTickScheduler(tickScheduler)
+                .build();
+
+        final StockExchange stockExchange = simulation.addStockExchange();
+        final Company company = simulation.addCompany(stockExchange);
+        final Investor investor = simulation.addInvestor();
+        final InvestmentFund investmentFund = simulation.addInvestmentFund();
+        tickScheduler.stop();
+
+        // when
+        tickScheduler.advance(20);
+        investor.terminate();
+        tickScheduler.advance(16);
+
+        // then
+        assertThat(tickScheduler.getNumberOfAgents()).isEqualTo(2);
+        assertThat(company.isTerminated()).isFalse();
+        assertThat(investmentFund.isTerminated()).isFalse();
+        assertThat(investor.isTerminated()).isTrue();
+        simulation.shutdown();
+    }
+
+    @Test
+    public void should_stamp_trades_of_stepped_simulation_with_simulated_time() throws InterruptedException {
+
+        // given
+        final TickScheduler tickScheduler = new TickScheduler(1, 16, 250L);
+        final Simulation simulation = SimulationBuilder.builder()
+                .from(subject)
+                .withCurrencyNames(currencies)
+                .withExecutionMode(ExecutionMode.TICK)
+                .withTickScheduler(tickScheduler)
+                .build();
+
+        final StockExchange stockExchange = simulation.addStockExchange();
+        final Company company = newCompany();
+        stockExchange.addCompany(company);
+        final List<Long> timestamps = new CopyOnWriteArrayList<>();
+        simulation.addTickListener((asset, timestamp, price, volume) -> timestamps.add(timestamp));
+        simulation.startStepped();
+
+        // when
+        tickScheduler.advance(4);
+        simulation.buySelectedResource(company, 1, company.getCurrentRate(), newInvestor("Jordan", "Belfort"));
+
+        // then
+        assertThat(timestamps).containsExactly(1_000L);
+        simulation.shutdown();
+    }
+
     @Test
     public void should_add_investment_fund() {
 
@@ -394,7 +546,7 @@ public class SimulationTest {
 
         final Company company = subject.addCompany(stockExchange);
 
-        stockExchange.getCompaniesService().shutdownNow();
+        subject.getCompaniesService(stockExchange).shutdownNow();
         while (!company.isTerminated()) {
             TimeUnit.SECONDS.sleep(1);
         }
@@ -429,6 +581,30 @@ public class SimulationTest {
         assertThat(player.getBudget()).isEqualTo(initialBudget - initialCurrentRate);
     }
 
+    @Test
+    public void should_tell_tick_listeners_about_purchase() {
+
+        // given
+        final Company company = subject.addCompany(subject.addStockExchange());
+        final List<Double> prices = new ArrayList<>();
+        final List<Integer> volumes = new ArrayList<>();
+        subject.addTickListener((asset, timestamp, price, volume) -> {
+            if (asset == company) {
+                prices.add(price);
+                volumes.add(volume);
+            }
+        });
+
+        final double initialCurrentRate = company.getCurrentRate();
+
+        // when
+        subject.buySelectedResource(company, 1, initialCurrentRate, player);
+
+        // then
+        assertThat(prices).containsExactly(company.getCurrentRate());
+        assertThat(volumes).containsExactly(1);
+    }
+
     @ParameterizedTest
     @CsvSource({
             "100, 5, 2, 4",
@@ -612,7 +788,7 @@ public class SimulationTest {
 
         final Company company = subject.addCompany(stockExchange);
 
-        stockExchange.getCompaniesService().shutdownNow();
+        subject.getCompaniesService(stockExchange).shutdownNow();
         while (!company.isTerminated()) {
             TimeUnit.SECONDS.sleep(1);
         }
@@ -647,6 +823,279 @@ public class SimulationTest {
         assertThat(player.getBudget()).isEqualTo(budgetAfterPurchase + newCurrentRateMinusMargin);
     }
 
+    @Test
+    public void should_keep_invariants_when_trading_concurrently() throws InterruptedException {
+
+        // given
+        final int numberOfAssets = 1_000;
+        final List<Company> companies = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            companies.add(CompanyBuilder.builder()
+                    .withName("Company " + i)
+                    .withCurrentRate(5D)
+                    .withMinRate(5D)
+                    .withMaxRate(5D)
+                    .withNumberOfAssets(numberOfAssets)
+                    .withRateChanges(new ArrayList<>(Collections.singletonList(5D)))
+                    .build());
+        }
+
+        final List<Investor> investors = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            investors.add(InvestorBuilder.builder()
+                    .withFirstName("Investor")
+                    .withLastName(String.valueOf(i))
+                    .withBudget(500D)
+                    .withBriefcase(BriefcaseBuilder.emptyBriefcase().build())
+                    .build());
+        }
+
+        final ExecutorService service = Executors.newFixedThreadPool(8);
+
+        // when
+        for (Investor investor : investors) {
+            service.submit(() -> {
+                final Random random = new Random();
+                for (int i = 0; i < 1_000; i++) {
+                    final Company company = companies.get(random.nextInt(companies.size()));
+                    if (random.nextBoolean()) {
+                        subject.buySelectedResource(company, random.nextInt(5) + 1, company.getCurrentRate(), investor);
+                    } else {
+                        subject.sellSelectedResource(company, random.nextInt(5) + 1, investor);
+                    }
+                }
+            });
+        }
+
+        service.shutdown();
+
+        // then
+        assertThat(service.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(investors).allSatisfy(investor -> {
+            assertThat(investor.getBudget()).isNotNegative();
+            assertThat(investor.getBriefcase().getNumbers()).allSatisfy(number -> assertThat(number).isPositive());
+        });
+        assertThat(companies).allSatisfy(company -> {
+            final int held = investors.stream()
+                    .mapToInt(investor -> investor.getBriefcase().getCount(company))
+                    .sum();
+
+            assertThat(company.getNumberOfAssets()).isNotNegative();
+            assertThat(company.getNumberOfAssets() + held).isEqualTo(numberOfAssets);
+        });
+    }
+
+    @Test
+    public void should_buy_from_issuer_at_it_s_ask_when_no_one_sells() throws InterruptedException {
+
+        // given
+        final StockExchange stockExchange = subject.addStockExchange();
+        final Company company = newCompany();
+        stockExchange.addCompany(company);
+
+        final Investor buyer = newInvestor("Donnie", "Azoff");
+        subject.getInvestors().add(buyer);
+        final double ask = 5D + 5D * 0.025;
+
+        // when
+        subject.placeBuyOrder(company, 10, 10D, buyer);
+        waitUntilProcessed(1);
+
+        // then
+        assertThat(buyer.getBriefcase().getCount(company)).isEqualTo(10);
+        assertThat(buyer.getBudget()).isCloseTo(1000D - 10 * ask, within(1e-6));
+        assertThat(company.getNumberOfAssets()).isEqualTo(10);
+        assertThat(company.getCurrentRate()).isCloseTo(ask, within(1e-6));
+        assertThat(stockExchange.getOrderBook(company).getNumberOfOrders()).isZero();
+        assertThat(stockExchange.getOrderBook(company).getTradedVolume()).isEqualTo(10L);
+        assertThat(subject.getOrderPipelines())
+                .filteredOn(pipeline -> pipeline.getName().equals(stockExchange.getName()))
+                .hasSize(1)
+                .allSatisfy(pipeline -> {
+                    assertThat(pipeline.getProcessedOrders()).isEqualTo(1);
+                    assertThat(pipeline.getLatencyRecorder().getCount()).isEqualTo(1);
+                });
+        subject.shutdown();
+    }
+
+    @Test
+    public void should_match_buy_order_with_resting_sell_order_before_issuer() throws InterruptedException {
+
+        // given
+        final StockExchange stockExchange = subject.addStockExchange();
+        final Company company = newCompany();
+        stockExchange.addCompany(company);
+
+        final Investor seller = newInvestor("Jordan", "Belfort");
+        final Investor buyer = newInvestor("Donnie", "Azoff");
+        subject.getInvestors().add(seller);
+        subject.getInvestors().add(buyer);
+        final List<Double> prices = new CopyOnWriteArrayList<>();
+        subject.addTickListener((asset, timestamp, price, volume) -> prices.add(price));
+
+        subject.placeBuyOrder(company, 10, 10D, seller);
+        waitUntilProcessed(1);
+        final double rateAfterIssue = company.getCurrentRate();
+        stockExchange.getOrderBook(company).placeLimitOrder(Side.SELL, 5D, 4, seller);
+
+        // when
+        subject.placeBuyOrder(company, 6, 20D, buyer);
+        waitUntilProcessed(2);
+
+        // then
+        final double ask = toTicks(rateAfterIssue + rateAfterIssue * 0.025);
+        assertThat(prices).hasSize(3);
+        assertThat(prices.get(1)).isCloseTo(5D, within(1e-6));
+        assertThat(prices.get(2)).isCloseTo(ask, within(1e-6));
+        assertThat(seller.getBriefcase().getCount(company)).isEqualTo(6);
+        assertThat(seller.getBudget())
+                .isCloseTo(1000D - 10 * rateAfterIssue + 4 * 5D * (1D - company.getMargin()), within(1e-6));
+        assertThat(buyer.getBriefcase().getCount(company)).isEqualTo(6);
+        assertThat(buyer.getBudget()).isCloseTo(1000D - 4 * 5D - 2 * ask, within(1e-6));
+        assertThat(company.getNumberOfAssets()).isEqualTo(8);
+        assertThat(company.getCurrentRate()).isCloseTo(ask, within(1e-6));
+        assertThat(stockExchange.getOrderBook(company).getNumberOfOrders()).isZero();
+        assertThat(stockExchange.getOrderBook(company).getTradedVolume()).isEqualTo(16L);
+        subject.shutdown();
+    }
+
+    @Test
+    public void should_sell_to_issuer_at_price_of_resting_sell_order_below_it_s_bid() throws InterruptedException {
+
+        // given
+        final StockExchange stockExchange = subject.addStockExchange();
+        final Company company = newCompany();
+        stockExchange.addCompany(company);
+
+        final Investor seller = newInvestor("Jordan", "Belfort");
+        final Investor buyer = newInvestor("Donnie", "Azoff");
+        subject.getInvestors().add(seller);
+        subject.getInvestors().add(buyer);
+
+        subject.placeBuyOrder(company, 10, 10D, seller);
+        waitUntilProcessed(1);
+        final double rateAfterIssue = company.getCurrentRate();
+        stockExchange.getOrderBook(company).placeLimitOrder(Side.SELL, 4D, 4, seller);
+
+        // when
+        subject.placeBuyOrder(company, 4, 1D, buyer);
+        waitUntilProcessed(2);
+
+        // then
+        assertThat(seller.getBriefcase().getCount(company)).isEqualTo(6);
+        assertThat(seller.getBudget())
+                .isCloseTo(1000D - 10 * rateAfterIssue + 4 * 4D * (1D - company.getMargin()), within(1e-6));
+        assertThat(buyer.getBriefcase().getCount(company)).isZero();
+        assertThat(company.getNumberOfAssets()).isEqualTo(14);
+        assertThat(company.getCurrentRate()).isCloseTo(4D, within(1e-6));
+        assertThat(stockExchange.getOrderBook(company).getNumberOfOrders()).isEqualTo(1);
+        assertThat(stockExchange.getOrderBook(company).getBestBidQuantity()).isEqualTo(4L);
+        subject.shutdown();
+    }
+
+    @Test
+    public void should_replace_resting_order_with_next_order_and_cancel_it_when_entity_is_removed()
+            throws InterruptedException {
+
+        // given
+        final StockExchange stockExchange = subject.addStockExchange();
+        final Company company = newCompany();
+        stockExchange.addCompany(company);
+
+        final Investor buyer = newInvestor("Donnie", "Azoff");
+        subject.getInvestors().add(buyer);
+
+        subject.placeBuyOrder(company, 3, 1D, buyer);
+        waitUntilProcessed(1);
+        final int restingAfterFirstOrder = stockExchange.getOrderBook(company).getNumberOfOrders();
+
+        // when
+        subject.placeBuyOrder(company, 2, 1D, buyer);
+        waitUntilProcessed(2);
+        final int restingAfterSecondOrder = stockExchange.getOrderBook(company).getNumberOfOrders();
+        final long bidQuantityAfterSecondOrder = stockExchange.getOrderBook(company).getBestBidQuantity();
+        subject.getInvestors().remove(buyer);
+        waitUntilProcessed(3);
+
+        // then
+        assertThat(restingAfterFirstOrder).isEqualTo(1);
+        assertThat(restingAfterSecondOrder).isEqualTo(1);
+        assertThat(bidQuantityAfterSecondOrder).isEqualTo(2L);
+        assertThat(stockExchange.getOrderBook(company).getNumberOfOrders()).isZero();
+        assertThat(stockExchange.getOrderBook(company).getTradedVolume()).isZero();
+        assertThat(buyer.getBriefcase().getCount(company)).isZero();
+        assertThat(company.getCurrentRate()).isEqualTo(5D);
+        subject.shutdown();
+    }
+
+    @Test
+    public void should_buy_from_issuer_when_resting_seller_no_longer_holds_asset() throws InterruptedException {
+
+        // given
+        final StockExchange stockExchange = subject.addStockExchange();
+        final Company company = newCompany();
+        stockExchange.addCompany(company);
+
+        final Investor seller = newInvestor("Jordan", "Belfort");
+        final Investor buyer = newInvestor("Donnie", "Azoff");
+        subject.getInvestors().add(seller);
+        subject.getInvestors().add(buyer);
+
+        subject.placeBuyOrder(company, 10, 10D, seller);
+        waitUntilProcessed(1);
+        stockExchange.getOrderBook(company).placeLimitOrder(Side.SELL, 4.9D, 4, seller);
+        subject.sellSelectedResource(company, 10, seller);
+        final double rateAfterSale = company.getCurrentRate();
+
+        // when
+        subject.placeBuyOrder(company, 3, 20D, buyer);
+        waitUntilProcessed(2);
+
+        // then
+        final double ask = toTicks(rateAfterSale + rateAfterSale * 0.025);
+        assertThat(seller.getBriefcase().getCount(company)).isZero();
+        assertThat(buyer.getBriefcase().getCount(company)).isEqualTo(3);
+        assertThat(buyer.getBudget()).isCloseTo(1000D - 3 * ask, within(1e-6));
+        assertThat(company.getNumberOfAssets()).isEqualTo(17);
+        assertThat(company.getCurrentRate()).isCloseTo(ask, within(1e-6));
+        assertThat(stockExchange.getOrderBook(company).getNumberOfOrders()).isZero();
+        assertThat(stockExchange.getOrderBook(company).getTradedVolume()).isEqualTo(13L);
+        subject.shutdown();
+    }
+
+    private static Company newCompany() {
+        return CompanyBuilder.builder()
+                .withName("Stratton Oakmont")
+                .withCurrentRate(5D)
+                .withMinRate(5D)
+                .withMaxRate(5D)
+                .withNumberOfAssets(20)
+                .withRateChanges(new ArrayList<>(Collections.singletonList(5D)))
+                .build();
+    }
+
+    private static Investor newInvestor(final String firstName, final String lastName) {
+        return InvestorBuilder.builder()
+                .withFirstName(firstName)
+                .withLastName(lastName)
+                .withBudget(1000)
+                .withBriefcase(BriefcaseBuilder.emptyBriefcase().build())
+                .build();
+    }
+
+    private static double toTicks(final double price) {
+        return Math.round(price / OrderBook.DEFAULT_TICK_SIZE) * OrderBook.DEFAULT_TICK_SIZE;
+    }
+
+    private void waitUntilProcessed(final long orders) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (subject.getOrderPipelines().stream().mapToLong(OrderPipeline::getProcessedOrders).sum() < orders
+                && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
     @Test
     public void should_choose_the_cheapest_asset_to_buy() {
 
@@ -681,6 +1130,36 @@ public class SimulationTest {
         assertThat(actual._3).isEqualTo(expectedAsset.getCurrentRate());
     }
 
+    @Test
+    public void should_choose_asset_that_became_the_cheapest_to_buy() {
+
+        // given
+        final Investor investor = InvestorBuilder.builder()
+                .withFirstName("Scrooge")
+                .withLastName("McQuack")
+                .withBudget(10_000)
+                .withBriefcase(BriefcaseBuilder.emptyBriefcase().build())
+                .build();
+
+        final CommodityExchange commodityExchange = subject.addCommodityExchange();
+        final Optional<Commodity> first = subject.addCommodity(commodityExchange);
+        final Optional<Commodity> second = subject.addCommodity(commodityExchange);
+
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+
+        first.get().updateRate(2D);
+        second.get().updateRate(1D);
+
+        // when
+        final Optional<Tuple3<Asset, Integer, Double>> selection = subject.chooseAssetToBuy(investor);
+
+        // then
+        assertThat(selection).isPresent();
+        assertThat(selection.get()._1).isSameAs(second.get());
+        assertThat(selection.get()._3).isEqualTo(1D);
+    }
+
     @Test
     public void should_choose_more_expensive_asset_with_investment_fund_impl() {
 
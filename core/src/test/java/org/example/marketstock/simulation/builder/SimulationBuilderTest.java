@@ -1,8 +1,5 @@
 package org.example.marketstock.simulation.builder;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.collections.ObservableMap;
 import org.example.marketstock.models.asset.Asset;
 import org.example.marketstock.models.asset.Currency;
 import org.example.marketstock.models.asset.builder.CurrencyBuilder;
@@ -24,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -51,16 +49,16 @@ public class SimulationBuilderTest {
                 10_000D,
                 briefcase);
 
-        final ObservableMap<Asset, Integer> playersBriefcase = FXCollections.observableHashMap();
+        final Map<Asset, Integer> playersBriefcase = new HashMap<>();
         playersBriefcase.putAll(briefcase.getMap());
 
-        final ObservableList<StockExchange> stockExchanges = FXCollections.observableArrayList();
-        final ObservableList<CommodityExchange> commodityExchanges = FXCollections.observableArrayList();
-        final ObservableList<CurrencyExchange> currencyExchanges = FXCollections.observableArrayList();
-        final ObservableList<Investor> investors = FXCollections.observableArrayList();
-        final ObservableList<InvestmentFund> investmentFunds = FXCollections.observableArrayList();
-        final List<String> currencyNames = FXCollections.observableArrayList();
-        final List<String> commodityNames = FXCollections.observableArrayList();
+        final List<StockExchange> stockExchanges = new ArrayList<>();
+        final List<CommodityExchange> commodityExchanges = new ArrayList<>();
+        final List<CurrencyExchange> currencyExchanges = new ArrayList<>();
+        final List<Investor> investors = new ArrayList<>();
+        final List<InvestmentFund> investmentFunds = new ArrayList<>();
+        final List<String> currencyNames = new ArrayList<>();
+        final List<String> commodityNames = new ArrayList<>();
 
         final Croupier croupier = CroupierBuilder.builder()
                 .withResourcesReader(new SimpleJsonReader())
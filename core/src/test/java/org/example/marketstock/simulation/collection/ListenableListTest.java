@@ -0,0 +1,75 @@
+package org.example.marketstock.simulation.collection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ListenableListTest {
+
+    private final List<String> added = new ArrayList<>();
+    private final List<String> removed = new ArrayList<>();
+    private ListenableList<String> subject;
+
+    @BeforeEach
+    public void setUp() {
+        subject = new ListenableList<>(Collections.singletonList("first"));
+        subject.addListener(new ElementListener<String>() {
+            @Override
+            public void onAdded(final String element) {
+                added.add(element);
+            }
+
+            @Override
+            public void onRemoved(final String element) {
+                removed.add(element);
+            }
+        });
+    }
+
+    @Test
+    public void should_tell_listeners_about_every_change() {
+
+        // when
+        subject.add("second");
+        subject.addAll(Arrays.asList("third", "fourth"));
+        subject.set(0, "zeroth");
+        subject.remove("third");
+        subject.remove("missing");
+        subject.removeIf(element -> element.startsWith("f"));
+
+        // then
+        assertThat(subject).containsExactly("zeroth", "second");
+        assertThat(added).containsExactly("second", "third", "fourth", "zeroth");
+        assertThat(removed).containsExactly("first", "third", "fourth");
+
+        // when
+        subject.clear();
+
+        // then
+        assertThat(subject).isEmpty();
+        assertThat(removed).endsWith("zeroth", "second");
+    }
+
+    @Test
+    public void should_iterate_over_a_snapshot() {
+
+        // given
+        final Iterator<String> iterator = subject.iterator();
+
+        // when
+        subject.add("second");
+
+        // then
+        assertThat(iterator.next()).isEqualTo("first");
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::remove).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
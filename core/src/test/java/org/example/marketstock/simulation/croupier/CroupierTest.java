@@ -11,6 +11,7 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -289,4 +290,35 @@ public class CroupierTest {
         assertThat(actual).isNotEmpty();
         assertThat(Long.parseLong(actual)).isBetween(11_111_111_111L, 99_999_999_999L);
     }
+
+    @Test
+    public void should_read_each_dictionary_once() {
+
+        // given
+        final AtomicInteger reads = new AtomicInteger();
+        final ResourcesReader reader = new ResourcesReader() {
+            @Override
+            public String[] getResource(final String location) {
+                return jsonReader.getResource(location);
+            }
+
+            @Override
+            public String[] getClasspathResource(final String name) {
+                reads.incrementAndGet();
+                return jsonReader.getClasspathResource(name);
+            }
+        };
+        final Croupier croupier = new Croupier(reader, random);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            croupier.drawCompanyName();
+            croupier.drawCity();
+            croupier.drawFirstName();
+        }
+
+        // then
+        assertThat(reads).hasValue(Dictionary.values().length);
+        assertThat(croupier.getDictionaries().getNames(Dictionary.CITIES)).contains(croupier.drawCity());
+    }
 }
@@ -153,4 +153,20 @@ public class CroupiersTest {
                 () -> Croupiers.drawSubset(random, strings.length + 1, strings)
         ).withMessage("Subset cannot be greater than initial array " + Arrays.toString(new Object[]{strings.length + 1, strings}));
     }
+
+    @Test
+    public void should_draw_subset_of_distinct_strings_from_array_with_duplicates() {
+
+        // given
+        String[] strings = {"Irune", "Rivia", "Irune"};
+
+        // when
+        String[] actual = Croupiers.drawSubset(random, 2, strings);
+
+        // then
+        assertThat(actual).containsExactlyInAnyOrder("Irune", "Rivia");
+        assertThatExceptionOfType(InvalidDrawParamsException.class).isThrownBy(
+                () -> Croupiers.drawSubset(random, 3, strings)
+        );
+    }
 }
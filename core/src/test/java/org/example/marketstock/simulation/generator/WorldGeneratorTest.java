@@ -0,0 +1,177 @@
+package org.example.marketstock.simulation.generator;
+
+import org.example.marketstock.models.asset.Currency;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.CurrencyExchange;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.simulation.ExecutionMode;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.Dictionaries;
+import org.example.marketstock.simulation.generator.builder.ScenarioBuilder;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WorldGeneratorTest {
+
+    private static Dictionaries dictionaries;
+    private final List<Simulation> simulations = new ArrayList<>();
+    private final List<ForkJoinPool> pools = new ArrayList<>();
+
+    @BeforeAll
+    public static void initialize() {
+        dictionaries = Dictionaries.load(new SimpleJsonReader());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        simulations.forEach(Simulation::shutdown);
+        pools.forEach(ForkJoinPool::shutdownNow);
+    }
+
+    @Test
+    public void should_generate_a_world_of_requested_size() {
+
+        // given
+        final Scenario scenario = ScenarioBuilder.builder()
+                .withSeed(42L)
+                .withStockExchanges(3)
+                .withCurrencyExchanges(2)
+                .withCommodityExchanges(2)
+                .withCompanies(1000)
+                .withCurrenciesPerExchange(4)
+                .withCommoditiesPerExchange(3)
+                .withInvestors(2000)
+                .withInvestmentFunds(300)
+                .build();
+
+        // when
+        final Simulation actual = generate(scenario, 4);
+
+        // then
+        assertThat(actual.getStockExchanges()).hasSize(3);
+        assertThat(actual.getStockExchanges())
+                .extracting(stockExchange -> stockExchange.getCompanies().size())
+                .containsExactly(334, 333, 333);
+        assertThat(actual.getStockExchanges())
+                .allSatisfy(stockExchange -> {
+                    assertThat(stockExchange.getIndices()).hasSize(2);
+                    assertThat(stockExchange.getIndices()).allSatisfy(index -> assertThat(index.getContent()).hasSize(5));
+                    assertThat(stockExchange.getCompanies())
+                            .allSatisfy(company -> assertThat(company.getMargin()).isEqualTo(stockExchange.getMargin()));
+                });
+        assertThat(actual.getCurrencyExchanges())
+                .allSatisfy(currencyExchange -> assertThat(currencyExchange.getCurrencies()).hasSize(4));
+        assertThat(actual.getCommodityExchanges())
+                .allSatisfy(commodityExchange -> assertThat(commodityExchange.getCommodities()).hasSize(3));
+        assertThat(actual.getInvestors()).hasSize(2000).doesNotContainNull();
+        assertThat(actual.getInvestmentFunds()).hasSize(300).doesNotContainNull();
+        assertThat(actual.getAvailableAssets()).hasSize(1000 + 2 * 4 + 2 * 3 + 300);
+    }
+
+    @Test
+    public void should_generate_the_same_world_from_the_same_seed_regardless_of_parallelism() {
+
+        // given
+        final Scenario scenario = ScenarioBuilder.builder()
+                .withSeed(7L)
+                .withStockExchanges(5)
+                .withCurrencyExchanges(2)
+                .withCommodityExchanges(2)
+                .withCompanies(3000)
+                .withCurrenciesPerExchange(5)
+                .withCommoditiesPerExchange(5)
+                .withInvestors(5000)
+                .withInvestmentFunds(1000)
+                .build();
+
+        // when
+        final Simulation sequential = generate(scenario, 1);
+        final Simulation parallel = generate(scenario, 4);
+
+        // then
+        assertThat(describe(parallel)).isEqualTo(describe(sequential));
+    }
+
+    @Test
+    public void should_generate_different_worlds_from_different_seeds() {
+
+        // given
+        final ScenarioBuilder scenarioBuilder = ScenarioBuilder.builder()
+                .withStockExchanges(1)
+                .withCompanies(100)
+                .withInvestors(100);
+
+        // when
+        final Simulation first = generate(scenarioBuilder.withSeed(1L).build(), 2);
+        final Simulation second = generate(scenarioBuilder.withSeed(2L).build(), 2);
+
+        // then
+        assertThat(describe(first)).isNotEqualTo(describe(second));
+    }
+
+    @Test
+    public void should_not_allow_companies_without_stock_exchanges() {
+
+        // when
+        final ScenarioBuilder scenarioBuilder = ScenarioBuilder.builder()
+                .withCompanies(1);
+
+        // then
+        assertThatThrownBy(scenarioBuilder::build).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Simulation generate(final Scenario scenario, final int parallelism) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        pools.add(pool);
+
+        final Simulation simulation = new WorldGenerator(dictionaries, pool)
+                .generate(scenario, SimulationBuilder.builder().withExecutionMode(ExecutionMode.THREAD_POOL));
+
+        simulations.add(simulation);
+        return simulation;
+    }
+
+    private static List<String> describe(final Simulation simulation) {
+        final List<String> description = new ArrayList<>();
+
+        for (final StockExchange stockExchange : simulation.getStockExchanges()) {
+            description.add(stockExchange.getName() + stockExchange.getAddress() + stockExchange.getMargin());
+            stockExchange.getCompanies().stream()
+                    .map(Company::toString)
+                    .forEach(description::add);
+        }
+
+        for (final CurrencyExchange currencyExchange : simulation.getCurrencyExchanges()) {
+            description.add(currencyExchange.getName() + currencyExchange.getMargin());
+            currencyExchange.getCurrencies().stream()
+                    .map(Currency::toString)
+                    .forEach(description::add);
+        }
+
+        for (final CommodityExchange commodityExchange : simulation.getCommodityExchanges()) {
+            description.add(commodityExchange.getName() + commodityExchange.getCommodities());
+        }
+
+        description.addAll(simulation.getInvestors().stream()
+                .map(investor -> investor.getFirstName() + investor.getLastName() + investor.getPESEL() + investor.getBudget())
+                .collect(Collectors.toList()));
+
+        description.addAll(simulation.getInvestmentFunds().stream()
+                .map(investmentFund -> investmentFund.getName() + investmentFund.getCurrentRate() + investmentFund.getBudget())
+                .collect(Collectors.toList()));
+
+        return description;
+    }
+}
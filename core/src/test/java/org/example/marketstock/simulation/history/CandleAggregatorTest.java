@@ -0,0 +1,83 @@
+package org.example.marketstock.simulation.history;
+
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.builder.CurrencyBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CandleAggregatorTest {
+
+    private final Asset asset = CurrencyBuilder.builder()
+            .withName("EUR")
+            .withRateChanges(new ArrayList<>(Collections.singletonList(1.0D)))
+            .withCountries(new ArrayList<>())
+            .build();
+
+    @Test
+    public void should_aggregate_ticks_at_every_resolution() {
+
+        // given
+        final CandleAggregator subject = new CandleAggregator(8, CandleAggregator.SECOND, CandleAggregator.MINUTE);
+        subject.onTick(asset, 1_000L, 5.0D, 1);
+        subject.onTick(asset, 1_400L, 7.0D, 2);
+        subject.onTick(asset, 1_900L, 4.0D, 3);
+        subject.onTick(asset, 2_100L, 6.0D, 4);
+
+        final List<String> seconds = new ArrayList<>();
+        final List<String> minutes = new ArrayList<>();
+
+        // when
+        subject.forEach(asset, CandleAggregator.SECOND, (start, open, high, low, close, volume) ->
+                seconds.add(start + ":" + open + "/" + high + "/" + low + "/" + close + "/" + volume));
+        subject.forEach(asset, CandleAggregator.MINUTE, (start, open, high, low, close, volume) ->
+                minutes.add(start + ":" + open + "/" + high + "/" + low + "/" + close + "/" + volume));
+
+        // then
+        assertThat(seconds).containsExactly("1000:5.0/7.0/4.0/4.0/6", "2000:6.0/6.0/6.0/6.0/4");
+        assertThat(minutes).containsExactly("0:5.0/7.0/4.0/6.0/10");
+    }
+
+    @Test
+    public void should_replace_oldest_bars_and_add_late_ticks_to_latest_bar() {
+
+        // given
+        final CandleAggregator subject = new CandleAggregator(2, CandleAggregator.SECOND);
+        subject.onTick(asset, 1_000L, 1.0D, 1);
+        subject.onTick(asset, 2_000L, 2.0D, 1);
+        subject.onTick(asset, 3_000L, 3.0D, 1);
+        subject.onTick(asset, 2_500L, 0.5D, 1);
+
+        final List<Long> starts = new ArrayList<>();
+        final List<Double> lows = new ArrayList<>();
+
+        // when
+        final int actual = subject.forEach(asset, CandleAggregator.SECOND, (start, open, high, low, close, volume) -> {
+            starts.add(start);
+            lows.add(low);
+        });
+
+        // then
+        assertThat(actual).isEqualTo(2);
+        assertThat(starts).containsExactly(2_000L, 3_000L);
+        assertThat(lows).containsExactly(2.0D, 0.5D);
+    }
+
+    @Test
+    public void should_reject_unknown_resolution() {
+
+        // given
+        final CandleAggregator subject = new CandleAggregator();
+
+        // then
+        assertThatThrownBy(() -> subject.forEach(asset, 42L, (start, open, high, low, close, volume) -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CandleAggregator(1, 0L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
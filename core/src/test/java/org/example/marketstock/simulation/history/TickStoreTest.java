@@ -0,0 +1,125 @@
+package org.example.marketstock.simulation.history;
+
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.builder.CurrencyBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TickStoreTest {
+
+    @TempDir
+    public Path directory;
+
+    private TickStore subject;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        subject = TickStore.open(directory, 4);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        subject.close();
+    }
+
+    @Test
+    public void should_roll_over_segments_and_read_range_of_time() throws IOException {
+
+        // given
+        final Asset asset = newAsset("EUR");
+        for (int tick = 0; tick < 10; tick++) {
+            subject.onTick(asset, 100L + tick, 1.0D + tick, tick);
+        }
+
+        final List<Long> timestamps = new ArrayList<>();
+        final List<Double> prices = new ArrayList<>();
+
+        // when
+        final int actual = subject.forEach(asset, 103L, 106L, (timestamp, price, volume) -> {
+            timestamps.add(timestamp);
+            prices.add(price);
+        });
+
+        // then
+        assertThat(actual).isEqualTo(4);
+        assertThat(timestamps).containsExactly(103L, 104L, 105L, 106L);
+        assertThat(prices).containsExactly(4.0D, 5.0D, 6.0D, 7.0D);
+        assertThat(subject.count(asset)).isEqualTo(10L);
+        assertThat(subject.getLastTimestamp(asset)).isEqualTo(109L);
+
+        subject.close();
+        try (final Stream<Path> segments = Files.list(directory.resolve("0"))) {
+            assertThat(segments.count()).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    public void should_read_repeated_timestamp_across_segments() throws IOException {
+
+        // given
+        final Asset asset = newAsset("EUR");
+        subject.onTick(asset, 100L, 1.0D, 1);
+        subject.onTick(asset, 200L, 2.0D, 1);
+        subject.onTick(asset, 200L, 3.0D, 1);
+        subject.onTick(asset, 200L, 4.0D, 1);
+        subject.onTick(asset, 150L, 5.0D, 1);
+
+        final List<Double> prices = new ArrayList<>();
+
+        // when
+        subject.forEach(asset, 200L, 200L, (timestamp, price, volume) -> prices.add(price));
+
+        // then
+        assertThat(prices).containsExactly(2.0D, 3.0D, 4.0D, 5.0D);
+    }
+
+    @Test
+    public void should_keep_ticks_of_assets_apart() throws IOException {
+
+        // given
+        final Asset first = newAsset("EUR");
+        final Asset second = newAsset("USD");
+        subject.onTick(first, 100L, 1.0D, 1);
+        subject.onTick(second, 100L, 2.0D, 2);
+
+        final List<Integer> volumes = new ArrayList<>();
+
+        // when
+        subject.forEach(second, Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, price, volume) -> volumes.add(volume));
+
+        // then
+        assertThat(volumes).containsExactly(2);
+        assertThat(subject.forEach(newAsset("GBP"), Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, price, volume) -> { }))
+                .isZero();
+        assertThat(Files.readAllLines(directory.resolve("assets"))).containsExactly("0;Currency;EUR", "1;Currency;USD");
+    }
+
+    @Test
+    public void should_not_open_store_without_room_for_ticks() {
+
+        // then
+        assertThatThrownBy(() -> TickStore.open(directory, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Asset newAsset(final String name) {
+        return CurrencyBuilder.builder()
+                .withName(name)
+                .withRateChanges(new ArrayList<>(Collections.singletonList(1.0D)))
+                .withCountries(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,239 @@
+package org.example.marketstock.simulation.journal;
+
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.Currency;
+import org.example.marketstock.models.asset.builder.CurrencyBuilder;
+import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.entity.Player;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.CurrencyExchange;
+import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.simulation.ExecutionMode;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.builder.CroupierBuilder;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.example.marketstock.simulation.tick.TickScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JournalTest {
+
+    @TempDir
+    public Path directory;
+
+    private final List<Simulation> simulations = new ArrayList<>();
+    private Journal journal;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        journal = Journal.open(directory);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        simulations.forEach(Simulation::shutdown);
+        journal.close();
+    }
+
+    @Test
+    public void should_recover_changes_made_after_checkpoint() throws IOException {
+
+        // given
+        final Simulation simulation = newSimulation();
+        final StockExchange stockExchange = simulation.addStockExchange();
+        final Company company = simulation.addCompany(stockExchange);
+        journal.checkpoint(simulation);
+
+        final StockExchange newStockExchange = simulation.addStockExchange();
+        final Company newCompany = simulation.addCompany(newStockExchange);
+        simulation.addIndex(newStockExchange);
+        final CurrencyExchange currencyExchange = simulation.addCurrencyExchange();
+        final Currency currency = simulation.addCurrency(currencyExchange).orElseThrow(IllegalStateException::new);
+        final CommodityExchange commodityExchange = simulation.addCommodityExchange();
+        final Commodity commodity = simulation.addCommodity(commodityExchange).orElseThrow(IllegalStateException::new);
+        final Commodity removedCommodity = simulation.addCommodity(commodityExchange).orElseThrow(IllegalStateException::new);
+        simulation.removeCommodity(removedCommodity, commodityExchange);
+        final Investor investor = simulation.addInvestor();
+        final InvestmentFund investmentFund = simulation.addInvestmentFund();
+
+        simulation.buySelectedResource(company, 10, company.getCurrentRate(), simulation.getPlayer());
+        simulation.sellSelectedResource(company, 4, simulation.getPlayer());
+        simulation.buySelectedResource(newCompany, 3, newCompany.getCurrentRate(), simulation.getPlayer());
+        simulation.buySelectedResource(commodity, 2, commodity.getCurrentRate(), investor);
+        simulation.buySelectedResource(investmentFund, 5, investmentFund.getCurrentRate(), investor);
+        company.issueAssets();
+        investor.increaseBudget(1_234.5D);
+
+        journal.flush();
+
+        // when
+        final Simulation actual = track(journal.recover(newSimulationBuilder()));
+
+        // then
+        assertThat(actual.getStockExchanges()).containsExactly(stockExchange, newStockExchange);
+        assertThat(actual.getStockExchanges().get(1).getIndices()).hasSize(1);
+        assertThat(actual.getCurrencyExchanges().get(0).getCurrencies())
+                .extracting(Currency::getName).containsExactly(currency.getName());
+        assertThat(actual.getCommodityExchanges().get(0).getCommodities())
+                .extracting(Commodity::getName).containsExactly(commodity.getName());
+
+        final Company recoveredCompany = actual.getStockExchanges().get(0).getCompanies().get(0);
+        assertThat(recoveredCompany.getNumberOfAssets()).isEqualTo(company.getNumberOfAssets());
+        assertThat(recoveredCompany.getRateChanges()).isEqualTo(company.getRateChanges());
+        assertThat(recoveredCompany.getVolume()).isEqualTo(company.getVolume());
+        assertThat(actual.getCurrencyExchanges().get(0).getCurrencies().get(0).getComparisonCurrency())
+                .isSameAs(actual.getMainCurrency());
+
+        final Player player = actual.getPlayer();
+        assertThat(player.getBudget()).isEqualTo(simulation.getPlayer().getBudget());
+        assertThat(player.getBriefcase().getCount(recoveredCompany)).isEqualTo(6);
+        assertThat(player.getBriefcase().getAssets()).anySatisfy(asset -> assertThat(asset).isSameAs(recoveredCompany));
+
+        final Investor recoveredInvestor = actual.getInvestors().get(0);
+        final InvestmentFund recoveredInvestmentFund = actual.getInvestmentFunds().get(0);
+        assertThat(recoveredInvestor.getPESEL()).isEqualTo(investor.getPESEL());
+        assertThat(recoveredInvestor.getBudget()).isEqualTo(investor.getBudget());
+        assertThat(recoveredInvestor.getBriefcase().getAssets()).extracting(Asset::getName)
+                .containsExactly(commodity.getName(), investmentFund.getName());
+        assertThat(recoveredInvestor.getBriefcase().getNumbers()).isEqualTo(investor.getBriefcase().getNumbers());
+        assertThat(recoveredInvestmentFund.getNumberOfAssets()).isEqualTo(investmentFund.getNumberOfAssets());
+    }
+
+    @Test
+    public void should_stop_replay_at_record_cut_short() throws IOException {
+
+        // given
+        final Simulation simulation = newSimulation();
+        final Company company = simulation.addCompany(simulation.addStockExchange());
+        journal.checkpoint(simulation);
+
+        simulation.buySelectedResource(company, 10, company.getCurrentRate(), simulation.getPlayer());
+        simulation.buySelectedResource(company, 7, company.getCurrentRate(), simulation.getPlayer());
+        journal.close();
+
+        final Path journalFile = directory.resolve("simulation-0." + Journal.EXTENSION);
+        try (final FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        journal = Journal.open(directory);
+
+        // when
+        final Simulation actual = track(journal.recover(newSimulationBuilder()));
+
+        // then
+        final Company recoveredCompany = actual.getStockExchanges().get(0).getCompanies().get(0);
+        assertThat(actual.getPlayer().getBriefcase().getCount(recoveredCompany)).isEqualTo(10);
+        assertThat(recoveredCompany.getRateChanges()).hasSize(2);
+    }
+
+    @Test
+    public void should_recover_purchases_recorded_while_objects_are_added() throws Exception {
+
+        // given
+        final Simulation simulation = newSimulation();
+        final Company company = simulation.addCompany(simulation.addStockExchange());
+        journal.checkpoint(simulation);
+
+        final Thread buyer = new Thread(() -> {
+            for (int purchase = 0; purchase < 1_000; purchase++) {
+                simulation.buySelectedResource(company, 1, company.getCurrentRate(), simulation.getPlayer());
+            }
+        });
+
+        // when
+        buyer.start();
+        for (int investor = 0; investor < 100; investor++) {
+            simulation.addInvestor();
+        }
+        buyer.join();
+        journal.flush();
+
+        final Simulation actual = track(journal.recover(newSimulationBuilder()));
+
+        // then
+        final Company recoveredCompany = actual.getStockExchanges().get(0).getCompanies().get(0);
+        assertThat(actual.getInvestors()).hasSize(100);
+        assertThat(actual.getPlayer().getBriefcase().getCount(recoveredCompany))
+                .isEqualTo(simulation.getPlayer().getBriefcase().getCount(company));
+        assertThat(journal.getDroppedRecords()).isZero();
+    }
+
+    @Test
+    public void should_start_next_epoch_with_checkpoint() throws IOException {
+
+        // given
+        final Simulation simulation = newSimulation();
+        journal.checkpoint(simulation);
+        simulation.addStockExchange();
+
+        // when
+        journal.checkpoint(simulation);
+
+        // then
+        assertThat(journal.getEpoch()).isEqualTo(1L);
+        assertThat(Files.exists(directory.resolve("simulation-0." + Journal.EXTENSION))).isFalse();
+        assertThat(Files.exists(directory.resolve("simulation-1." + Journal.EXTENSION))).isTrue();
+        assertThat(journal.isRecording(simulation)).isTrue();
+        assertThat(Journal.replay(directory.resolve("simulation-1." + Journal.EXTENSION), simulation)).isZero();
+    }
+
+    private Simulation newSimulation() {
+        return track(newSimulationBuilder()
+                .withPlayer(Player.updateInstance("TestFirstName", "TestLastName", 1_000_000_000D,
+                        BriefcaseBuilder.emptyBriefcase().build()))
+                .withStockExchanges(new ArrayList<>())
+                .withCurrencyExchanges(new ArrayList<>())
+                .withCommodityExchange(new ArrayList<>())
+                .withInvestors(new ArrayList<>())
+                .withInvestmentFunds(new ArrayList<>())
+                .withMainCurrency(CurrencyBuilder.builder()
+                        .withName("MainCurrency")
+                        .withRateChanges(new ArrayList<>(Collections.singletonList(0.0)))
+                        .withCountries(new ArrayList<>())
+                        .build())
+                .build());
+    }
+
+    /**
+     * Agents are registered with a scheduler that never ticks, so that only the test changes a simulation.
+     */
+    private SimulationBuilder newSimulationBuilder() {
+        return SimulationBuilder.builder()
+                .withExecutionMode(ExecutionMode.TICK)
+                .withTickScheduler(new TickScheduler(1, 1, TimeUnit.HOURS.toMillis(1L)))
+                .withCommodityNames(new ArrayList<>(Arrays.asList("gold;kg", "silver;kg", "copper;kg")))
+                .withCurrencyNames(new ArrayList<>(Arrays.asList("PLN", "EUR", "USD")))
+                .withCroupier(CroupierBuilder.builder()
+                        .withResourcesReader(new SimpleJsonReader())
+                        .withRandom(new Random())
+                        .build())
+                .withJournal(journal);
+    }
+
+    private Simulation track(final Simulation simulation) {
+        simulations.add(simulation);
+        return simulation;
+    }
+}
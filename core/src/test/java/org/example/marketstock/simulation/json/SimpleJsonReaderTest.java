@@ -43,6 +43,26 @@ public class SimpleJsonReaderTest {
                 .hasSameElementsAs(expected);
     }
 
+    @Test
+    public void should_read_json_array_from_classpath() {
+
+        // when
+        final String[] actual = subject.getClasspathResource("simple-json-reader-test/simple-array.json");
+
+        // then
+        assertThat(actual).containsExactly("Fancy text", "Boring text", "Clever response", "Angry reaction", "Fight");
+    }
+
+    @Test
+    public void should_not_read_json_array_because_resource_is_missing() {
+
+        // when
+        final String[] actual = subject.getClasspathResource("missing.json");
+
+        // then
+        assertThat(actual).isEmpty();
+    }
+
     @Test
     public void should_not_read_json_array_because_path_is_invalid() {
 
@@ -0,0 +1,95 @@
+package org.example.marketstock.simulation.lock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangeBarrierTest {
+
+    @Test
+    public void should_tell_listeners_about_objects_that_are_about_to_change() {
+
+        // given
+        final ChangeBarrier subject = new ChangeBarrier();
+        final List<Object> changed = new ArrayList<>();
+        final Object first = new Object();
+        final Object second = new Object();
+        subject.addBarrierListener(changed::add);
+
+        // when
+        subject.enter(first, second);
+        subject.exit();
+        subject.enter();
+        subject.exit();
+
+        // then
+        assertThat(changed).containsExactly(first, second, null);
+    }
+
+    @Test
+    public void should_hold_until_changes_in_flight_exit() throws Exception {
+
+        // given
+        final ChangeBarrier subject = new ChangeBarrier();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        subject.enter();
+
+        try {
+            // when
+            final Future<Boolean> held = executor.submit(() -> {
+                entered.countDown();
+                return subject.hold(() -> Boolean.TRUE);
+            });
+            entered.await();
+            final boolean heldWhileChanging = held.isDone();
+            subject.exit();
+
+            // then
+            assertThat(heldWhileChanging).isFalse();
+            assertThat(held.get(1L, TimeUnit.SECONDS)).isTrue();
+            assertThat(subject.getHolds()).isEqualTo(1L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void should_let_change_in_flight_enter_again_while_hold_waits() throws Exception {
+
+        // given
+        final ChangeBarrier subject = new ChangeBarrier();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        subject.enter();
+
+        try {
+            final Future<Boolean> held = executor.submit(() -> {
+                entered.countDown();
+                return subject.hold(() -> Boolean.TRUE);
+            });
+            entered.await();
+            TimeUnit.MILLISECONDS.sleep(50L);
+
+            // when
+            subject.enter();
+            subject.exit();
+            final boolean heldWhileChanging = held.isDone();
+            subject.exit();
+
+            // then
+            assertThat(heldWhileChanging).isFalse();
+            assertThat(held.get(1L, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
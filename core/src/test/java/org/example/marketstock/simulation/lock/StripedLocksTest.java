@@ -0,0 +1,154 @@
+package org.example.marketstock.simulation.lock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StripedLocksTest {
+
+    @Test
+    public void should_round_number_of_stripes_up_to_power_of_two() {
+
+        // when
+        final StripedLocks subject = new StripedLocks(100);
+
+        // then
+        assertThat(subject.getNumberOfStripes()).isEqualTo(128);
+    }
+
+    @Test
+    public void should_not_create_locks_without_stripes() {
+
+        // then
+        assertThatThrownBy(() -> new StripedLocks(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_lock_object_and_release_it() {
+
+        // given
+        final StripedLocks subject = new StripedLocks(16);
+        final Object object = new Object();
+
+        // when
+        subject.lock(object);
+        final boolean heldAfterLock = subject.isHeldByCurrentThread(object);
+        subject.unlock(object);
+
+        // then
+        assertThat(heldAfterLock).isTrue();
+        assertThat(subject.isHeldByCurrentThread(object)).isFalse();
+    }
+
+    @Test
+    public void should_lock_pair_sharing_a_stripe_only_once() {
+
+        // given
+        final StripedLocks subject = new StripedLocks(1);
+        final Object first = new Object();
+        final Object second = new Object();
+
+        // when
+        subject.lock(first, second);
+        subject.unlock(first, second);
+
+        // then
+        assertThat(subject.isHeldByCurrentThread(first)).isFalse();
+        assertThat(subject.isHeldByCurrentThread(second)).isFalse();
+    }
+
+    @Test
+    public void should_lock_three_objects_and_release_them() {
+
+        // given
+        final StripedLocks subject = new StripedLocks(2);
+        final Object first = new Object();
+        final Object second = new Object();
+        final Object third = new Object();
+
+        // when
+        subject.lock(first, second, third);
+        final boolean heldAfterLock = subject.isHeldByCurrentThread(first)
+                && subject.isHeldByCurrentThread(second)
+                && subject.isHeldByCurrentThread(third);
+        subject.unlock(first, second, third);
+
+        // then
+        assertThat(heldAfterLock).isTrue();
+        assertThat(subject.isHeldByCurrentThread(first)).isFalse();
+        assertThat(subject.isHeldByCurrentThread(second)).isFalse();
+        assertThat(subject.isHeldByCurrentThread(third)).isFalse();
+    }
+
+    @Test
+    public void should_record_time_spent_waiting_for_held_stripe() throws Exception {
+
+        // given
+        final StripedLocks subject = new StripedLocks(1);
+        final Object object = new Object();
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+
+        subject.lock(object);
+        subject.unlock(object);
+
+        // when
+        subject.lock(object);
+        final Future<?> waiting = service.submit(() -> {
+            subject.lock(object);
+            subject.unlock(object);
+        });
+        TimeUnit.MILLISECONDS.sleep(20L);
+        subject.unlock(object);
+        waiting.get(30, TimeUnit.SECONDS);
+        service.shutdown();
+
+        // then
+        assertThat(subject.getWaitRecorder().getCount()).isEqualTo(1L);
+        assertThat(subject.getWaitRecorder().getMax()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10L));
+    }
+
+    @Test
+    public void should_not_deadlock_when_pairs_are_locked_in_opposite_order() throws InterruptedException {
+
+        // given
+        final StripedLocks subject = new StripedLocks(64);
+        final Object first = new Object();
+        final Object second = new Object();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService service = Executors.newFixedThreadPool(2);
+
+        // when
+        service.submit(() -> lockRepeatedly(subject, first, second, start));
+        service.submit(() -> lockRepeatedly(subject, second, first, start));
+        start.countDown();
+        service.shutdown();
+
+        // then
+        assertThat(service.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void lockRepeatedly(final StripedLocks subject,
+                                       final Object first,
+                                       final Object second,
+                                       final CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            subject.lock(first, second);
+            subject.unlock(first, second);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package org.example.marketstock.simulation.market;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.builder.CommodityBuilder;
+import org.example.marketstock.models.briefcase.Briefcase;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.company.builder.CompanyBuilder;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.builder.CommodityExchangeBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class MarketStateTest {
+
+    private final MarketState subject = new MarketState(2);
+
+    @Test
+    public void should_find_the_cheapest_assets_and_follow_rate_changes() {
+
+        // given
+        final Commodity gold = commodity("Gold", 3D);
+        final Commodity silver = commodity("Silver", 1D);
+        final Commodity copper = commodity("Copper", 2D);
+
+        subject.add(gold);
+        subject.add(silver);
+        subject.add(copper);
+
+        // then
+        assertThat(subject.size()).isEqualTo(3);
+        assertThat(subject.cheapest(2)).containsExactly(silver, copper);
+        assertThat(subject.cheapest(5)).containsExactly(silver, copper, gold);
+        assertThat(subject.cheapest(0)).isEmpty();
+
+        // when
+        gold.updateRate(0.5D);
+
+        // then
+        assertThat(subject.rateOf(gold)).isEqualTo(0.5D);
+        assertThat(subject.cheapest(1)).containsExactly(gold);
+    }
+
+    @Test
+    public void should_value_countable_assets_by_exchange() {
+
+        // given
+        final CommodityExchange first = exchange("First");
+        final CommodityExchange second = exchange("Second");
+        final Company apple = company("Apple", 2D, 10);
+        final Company google = company("Google", 3D, 5);
+
+        subject.add(apple, first);
+        subject.add(google, second);
+        subject.add(commodity("Gold", 100D), first);
+
+        // when
+        apple.decreaseNumberOfAssets(4);
+        subject.onTick(apple, 0L, apple.getCurrentRate(), 4);
+
+        // then
+        assertThat(subject.countOf(apple)).isEqualTo(6);
+        assertThat(subject.capitalizationOf(first)).isEqualTo(12D);
+        assertThat(subject.capitalizationOf(second)).isEqualTo(15D);
+        assertThat(subject.capitalizationOf(exchange("Unknown"))).isZero();
+        assertThat(subject.capitalization()).isEqualTo(27D);
+    }
+
+    @Test
+    public void should_scan_large_market_in_parallel() {
+
+        // given
+        final int number = MarketState.PARALLEL_THRESHOLD * 2;
+
+        for (int company = 0; company < number; company++) {
+            subject.add(company("Company" + company, 1.5D, 2));
+        }
+
+        // when
+        final double capitalization = subject.capitalization();
+
+        // then
+        assertThat(capitalization).isCloseTo(number * 3D, within(1e-6));
+    }
+
+    @Test
+    public void should_mark_briefcase_to_market() {
+
+        // given
+        final Commodity gold = commodity("Gold", 3D);
+        final Commodity silver = commodity("Silver", 1D);
+        final Map<Asset, Integer> holdings = new HashMap<>();
+        holdings.put(gold, 2);
+        holdings.put(silver, 5);
+
+        final Briefcase briefcase = new Briefcase(holdings);
+        subject.add(gold);
+
+        // when
+        gold.updateRate(4D);
+
+        // then
+        assertThat(subject.valueOf(briefcase)).isEqualTo(13D);
+    }
+
+    @Test
+    public void should_forget_removed_asset_and_reuse_its_slot() {
+
+        // given
+        final Commodity gold = commodity("Gold", 3D);
+        final Commodity silver = commodity("Silver", 1D);
+        final Commodity copper = commodity("Copper", 2D);
+
+        subject.add(gold);
+        subject.add(silver);
+
+        // when
+        final boolean removed = subject.remove(silver);
+        silver.updateRate(0.5D);
+        subject.add(copper);
+
+        final List<Asset> visited = new ArrayList<>();
+        final int passed = subject.forEach((asset, exchangeId, rate, minRate, maxRate, margin, count) -> {
+            assertThat(exchangeId).isEqualTo(MarketState.NO_EXCHANGE);
+            assertThat(count).isEqualTo(MarketState.UNCOUNTED);
+            visited.add(asset);
+        });
+
+        // then
+        assertThat(removed).isTrue();
+        assertThat(subject.remove(silver)).isFalse();
+        assertThat(subject.contains(silver)).isFalse();
+        assertThat(subject.rateOf(silver)).isNaN();
+        assertThat(passed).isEqualTo(2);
+        assertThat(visited).containsExactly(gold, copper);
+    }
+
+    @Test
+    public void should_follow_assets_listed_by_exchange() {
+
+        // given
+        final CommodityExchange exchange = exchange("TestExchange");
+        final Commodity gold = commodity("Gold", 3D);
+        exchange.addListingListener(subject);
+
+        // when
+        exchange.addResource(gold);
+
+        // then
+        assertThat(subject.cheapest(1)).containsExactly(gold);
+
+        // when
+        exchange.removeResource(gold);
+
+        // then
+        assertThat(subject.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void should_keep_the_latest_values_when_refreshes_race() throws Exception {
+
+        // given
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicReference<Thread> slowReader = new AtomicReference<>();
+        final Commodity gold = new Commodity("Gold", 1D, 1D, 1D, 0.05D,
+                new ArrayList<>(Collections.singletonList(1D)), "ounce", "USD") {
+
+            @Override
+            public double getCurrentRate() {
+                final double rate = super.getCurrentRate();
+
+                if (Thread.currentThread() == slowReader.get()) {
+                    reading.countDown();
+                    Uninterruptibles.awaitUninterruptibly(release);
+                }
+
+                return rate;
+            }
+        };
+        subject.add(gold);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            final Future<?> stale = executor.submit(() -> {
+                slowReader.set(Thread.currentThread());
+                subject.refresh(gold);
+            });
+            reading.await();
+
+            // when
+            final Future<?> update = executor.submit(() -> gold.updateRate(2D));
+            try {
+                update.get(200L, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException expected) {
+                // The refresh of the update waits for the stale one.
+            }
+            release.countDown();
+            stale.get(1L, TimeUnit.SECONDS);
+            update.get(1L, TimeUnit.SECONDS);
+
+            // then
+            assertThat(subject.rateOf(gold)).isEqualTo(2D);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CommodityExchange exchange(final String name) {
+        return CommodityExchangeBuilder.builder()
+                .withName(name)
+                .withCommodities(new ArrayList<>())
+                .build();
+    }
+
+    private static Company company(final String name, final double rate, final int numberOfAssets) {
+        return CompanyBuilder.builder()
+                .withName(name)
+                .withCurrentRate(rate)
+                .withRateChanges(new ArrayList<>(Collections.singletonList(rate)))
+                .withNumberOfAssets(numberOfAssets)
+                .build();
+    }
+
+    private static Commodity commodity(final String name, final double rate) {
+        return CommodityBuilder.builder()
+                .withName(name)
+                .withCurrentRate(rate)
+                .withRateChanges(new ArrayList<>(Collections.singletonList(rate)))
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.marketstock.simulation.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyRecorderTest {
+
+    @Test
+    public void should_report_zero_when_nothing_was_recorded() {
+
+        // given
+        final LatencyRecorder subject = new LatencyRecorder();
+
+        // then
+        assertThat(subject.getCount()).isZero();
+        assertThat(subject.getMean()).isZero();
+        assertThat(subject.getPercentile(99D)).isZero();
+    }
+
+    @Test
+    public void should_report_exact_values_below_eight_nanoseconds() {
+
+        // given
+        final LatencyRecorder subject = new LatencyRecorder();
+
+        // when
+        for (long value = 0; value < 8; value++) {
+            subject.record(value);
+        }
+
+        // then
+        assertThat(subject.getPercentile(50D)).isEqualTo(3L);
+        assertThat(subject.getPercentile(100D)).isEqualTo(7L);
+        assertThat(subject.getMean()).isEqualTo(3.5D);
+    }
+
+    @Test
+    public void should_report_percentiles_within_bucket_precision() {
+
+        // given
+        final LatencyRecorder subject = new LatencyRecorder();
+
+        // when
+        for (long value = 1; value <= 100_000; value++) {
+            subject.record(value * 1_000L);
+        }
+
+        // then
+        assertThat(subject.getCount()).isEqualTo(100_000L);
+        assertThat((double) subject.getPercentile(50D)).isCloseTo(50_000_000D, within(50_000_000D * 0.13));
+        assertThat((double) subject.getPercentile(99D)).isCloseTo(99_000_000D, within(99_000_000D * 0.13));
+        assertThat(subject.getPercentile(100D)).isEqualTo(100_000_000L);
+        assertThat(subject.getMax()).isEqualTo(100_000_000L);
+    }
+
+    @Test
+    public void should_add_latencies_of_another_recorder() {
+
+        // given
+        final LatencyRecorder subject = new LatencyRecorder();
+        final LatencyRecorder other = new LatencyRecorder();
+        subject.record(2L);
+        other.record(4L);
+        other.record(6L);
+
+        // when
+        subject.add(other);
+
+        // then
+        assertThat(subject.getCount()).isEqualTo(3L);
+        assertThat(subject.getMean()).isEqualTo(4D);
+        assertThat(subject.getPercentile(50D)).isEqualTo(4L);
+        assertThat(subject.getMax()).isEqualTo(6L);
+        assertThat(other.getCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_clear_everything_on_reset() {
+
+        // given
+        final LatencyRecorder subject = new LatencyRecorder();
+        subject.record(1_000L);
+
+        // when
+        subject.reset();
+
+        // then
+        assertThat(subject.getCount()).isZero();
+        assertThat(subject.getMax()).isZero();
+        assertThat(subject.getPercentile(50D)).isZero();
+    }
+
+    @Test
+    public void should_not_accept_percentile_out_of_range() {
+
+        // then
+        assertThatThrownBy(() -> new LatencyRecorder().getPercentile(101D))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.marketstock.simulation.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MpscRingBufferTest {
+
+    @Test
+    public void should_round_capacity_up_to_power_of_two() {
+
+        // when
+        final MpscRingBuffer<AtomicLong> subject = new MpscRingBuffer<>(100, AtomicLong::new);
+
+        // then
+        assertThat(subject.getCapacity()).isEqualTo(128);
+        assertThat(subject.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void should_reject_claim_when_full() {
+
+        // given
+        final MpscRingBuffer<AtomicLong> subject = new MpscRingBuffer<>(2, AtomicLong::new);
+        subject.publish(subject.tryClaim());
+        subject.publish(subject.tryClaim());
+
+        // when
+        final long actual = subject.tryClaim();
+
+        // then
+        assertThat(actual).isEqualTo(-1L);
+        assertThat(subject.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_drain_published_elements_in_order_and_reuse_slots() {
+
+        // given
+        final MpscRingBuffer<AtomicLong> subject = new MpscRingBuffer<>(4, AtomicLong::new);
+        final List<Long> drained = new ArrayList<>();
+
+        // when
+        for (long value = 0; value < 10; value++) {
+            final long sequence = subject.tryClaim();
+            subject.get(sequence).set(value);
+            subject.publish(sequence);
+            subject.drain(element -> drained.add(element.get()), 1);
+        }
+
+        // then
+        assertThat(drained).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+        assertThat(subject.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void should_not_drain_claimed_but_unpublished_element() {
+
+        // given
+        final MpscRingBuffer<AtomicLong> subject = new MpscRingBuffer<>(4, AtomicLong::new);
+        final long first = subject.tryClaim();
+        final long second = subject.tryClaim();
+        subject.publish(second);
+
+        // when
+        final int drainedBeforePublish = subject.drain(element -> { }, 4);
+        subject.publish(first);
+        final int drainedAfterPublish = subject.drain(element -> { }, 4);
+
+        // then
+        assertThat(drainedBeforePublish).isZero();
+        assertThat(drainedAfterPublish).isEqualTo(2);
+    }
+
+    @Test
+    public void should_deliver_every_element_from_many_producers() throws InterruptedException {
+
+        // given
+        final MpscRingBuffer<AtomicLong> subject = new MpscRingBuffer<>(64, AtomicLong::new);
+        final ExecutorService producers = Executors.newFixedThreadPool(4);
+        final int perProducer = 10_000;
+        final AtomicLong sum = new AtomicLong();
+        long received = 0;
+
+        // when
+        for (int producer = 0; producer < 4; producer++) {
+            producers.submit(() -> {
+                for (int i = 1; i <= perProducer; i++) {
+                    long sequence;
+                    while ((sequence = subject.tryClaim()) < 0) {
+                        Thread.yield();
+                    }
+                    subject.get(sequence).set(i);
+                    subject.publish(sequence);
+                }
+            });
+        }
+
+        while (received < 4L * perProducer) {
+            received += subject.drain(element -> sum.addAndGet(element.get()), 16);
+        }
+
+        producers.shutdown();
+
+        // then
+        assertThat(producers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(sum.get()).isEqualTo(4L * perProducer * (perProducer + 1) / 2);
+        assertThat(subject.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.marketstock.simulation.order;
+
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.entity.Entity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class OrderPipelineTest {
+
+    private final Asset asset = mock(Asset.class);
+    private final Entity entity = mock(Entity.class);
+    private OrderPipeline subject;
+
+    @AfterEach
+    public void cleanUp() {
+        subject.shutdown();
+    }
+
+    @Test
+    public void should_not_accept_orders_before_start() {
+
+        // given
+        subject = new OrderPipeline("test", order -> { });
+
+        // when
+        final boolean actual = subject.publish(OrderType.BUY, asset, 1, 1D, entity);
+
+        // then
+        assertThat(actual).isFalse();
+    }
+
+    @Test
+    public void should_apply_orders_in_matching_thread_and_record_latency() throws InterruptedException {
+
+        // given
+        final CountDownLatch applied = new CountDownLatch(3);
+        final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        final List<OrderType> types = Collections.synchronizedList(new ArrayList<>());
+        subject = new OrderPipeline("test", order -> {
+            threads.add(Thread.currentThread().getName());
+            types.add(order.getType());
+            applied.countDown();
+        });
+        subject.start();
+
+        // when
+        subject.publish(OrderType.BUY, asset, 1, 1D, entity);
+        subject.publish(OrderType.SELL, asset, 2, 1D, entity);
+        subject.publish(OrderType.BUY, asset, 3, 1D, entity);
+
+        // then
+        assertThat(applied.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(threads).containsOnly("matcher-test");
+        assertThat(types).containsExactly(OrderType.BUY, OrderType.SELL, OrderType.BUY);
+        waitUntilProcessed(3);
+        assertThat(subject.getLatencyRecorder().getCount()).isEqualTo(3);
+        assertThat(subject.getQueueDepth()).isZero();
+    }
+
+    @Test
+    public void should_end_every_batch_and_survive_failed_order() throws InterruptedException {
+
+        // given
+        final AtomicInteger batches = new AtomicInteger();
+        subject = new OrderPipeline("test", 16, 4, new OrderHandler() {
+            @Override
+            public void handle(final Order order) {
+                if (order.getNumber() == 1) {
+                    throw new IllegalStateException("Test failure");
+                }
+            }
+
+            @Override
+            public void endOfBatch() {
+                batches.incrementAndGet();
+            }
+        });
+        subject.start();
+
+        // when
+        for (int number = 1; number <= 10; number++) {
+            subject.publish(OrderType.BUY, asset, number, 1D, entity);
+        }
+
+        // then
+        waitUntilProcessed(10);
+        assertThat(batches.get()).isBetween(3, 10);
+    }
+
+    @Test
+    public void should_reject_orders_when_full() throws InterruptedException {
+
+        // given
+        final CountDownLatch release = new CountDownLatch(1);
+        subject = new OrderPipeline("test", 2, 1, order -> {
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        subject.start();
+
+        // when
+        final List<Boolean> accepted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            accepted.add(subject.publish(OrderType.SELL, asset, 1, 1D, entity));
+        }
+        release.countDown();
+
+        // then
+        assertThat(accepted).contains(false);
+        assertThat(subject.getRejectedOrders()).isPositive();
+        assertThat(subject.getMaxQueueDepth()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void should_not_start_again_after_shutdown() {
+
+        // given
+        subject = new OrderPipeline("test", order -> { });
+        subject.start();
+
+        // when
+        subject.shutdown();
+        subject.start();
+
+        // then
+        assertThat(subject.isRunning()).isFalse();
+        assertThat(subject.publish(OrderType.BUY, asset, 1, 1D, entity)).isFalse();
+    }
+
+    private void waitUntilProcessed(final long orders) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (subject.getProcessedOrders() < orders && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        assertThat(subject.getProcessedOrders()).isEqualTo(orders);
+    }
+}
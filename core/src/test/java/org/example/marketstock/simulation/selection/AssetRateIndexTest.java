@@ -0,0 +1,147 @@
+package org.example.marketstock.simulation.selection;
+
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.builder.CommodityBuilder;
+import org.example.marketstock.models.exchange.CommodityExchange;
+import org.example.marketstock.models.exchange.builder.CommodityExchangeBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AssetRateIndexTest {
+
+    private final AssetRateIndex subject = new AssetRateIndex();
+
+    @Test
+    public void should_find_the_cheapest_asset() {
+
+        // given
+        final Commodity gold = commodity("Gold", 3D);
+        final Commodity silver = commodity("Silver", 1D);
+        final Commodity copper = commodity("Copper", 2D);
+
+        // when
+        subject.add(gold);
+        subject.add(silver);
+        subject.add(copper);
+
+        // then
+        assertThat(subject.size()).isEqualTo(3);
+        assertThat(subject.cheapest()).isSameAs(silver);
+        assertThat(subject.cheapestExcept(silver)).isSameAs(copper);
+        assertThat(subject.mostExpensive()).isSameAs(gold);
+    }
+
+    @Test
+    public void should_not_find_anything_in_empty_index() {
+
+        // then
+        assertThat(subject.isEmpty()).isTrue();
+        assertThat(subject.cheapest()).isNull();
+        assertThat(subject.mostExpensive()).isNull();
+    }
+
+    @Test
+    public void should_follow_rate_changes() {
+
+        // given
+        final Commodity gold = commodity("Gold", 3D);
+        final Commodity silver = commodity("Silver", 1D);
+
+        subject.add(gold);
+        subject.add(silver);
+
+        // when
+        gold.updateRate(0.5D);
+
+        // then
+        assertThat(subject.cheapest()).isSameAs(gold);
+
+        // when
+        gold.updateRate(0.5D);
+        silver.updateRate(0.25D);
+
+        // then
+        assertThat(subject.cheapest()).isSameAs(silver);
+        assertThat(subject.cheapestExcept(silver)).isSameAs(gold);
+    }
+
+    @Test
+    public void should_pass_affordable_assets_from_the_cheapest() {
+
+        // given
+        final Commodity gold = commodity("Gold", 3D);
+        final Commodity silver = commodity("Silver", 1D);
+        final Commodity copper = commodity("Copper", 2D);
+
+        subject.add(gold);
+        subject.add(silver);
+        subject.add(copper);
+
+        final List<Asset> actual = new ArrayList<>();
+
+        // when
+        subject.forEachAffordable(2D, actual::add);
+
+        // then
+        assertThat(actual).containsExactly(silver, copper);
+    }
+
+    @Test
+    public void should_forget_removed_asset() {
+
+        // given
+        final Commodity gold = commodity("Gold", 3D);
+        final Commodity silver = commodity("Silver", 1D);
+
+        subject.add(gold);
+        subject.add(silver);
+
+        // when
+        final boolean removed = subject.remove(silver);
+        silver.updateRate(0.5D);
+
+        // then
+        assertThat(removed).isTrue();
+        assertThat(subject.contains(silver)).isFalse();
+        assertThat(subject.cheapest()).isSameAs(gold);
+    }
+
+    @Test
+    public void should_follow_assets_listed_by_exchange() {
+
+        // given
+        final CommodityExchange exchange = CommodityExchangeBuilder.builder()
+                .withName("TestExchange")
+                .withCommodities(new ArrayList<>())
+                .build();
+
+        final Commodity gold = commodity("Gold", 3D);
+        exchange.addListingListener(subject);
+
+        // when
+        exchange.addResource(gold);
+
+        // then
+        assertThat(subject.cheapest()).isSameAs(gold);
+
+        // when
+        exchange.removeResource(gold);
+
+        // then
+        assertThat(subject.isEmpty()).isTrue();
+    }
+
+    private static Commodity commodity(final String name, final double rate) {
+        return CommodityBuilder.builder()
+                .withName(name)
+                .withCurrentRate(rate)
+                .withRateChanges(new ArrayList<>(Collections.singletonList(rate)))
+                .build();
+    }
+}
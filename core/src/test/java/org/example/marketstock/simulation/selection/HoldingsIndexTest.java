@@ -0,0 +1,212 @@
+package org.example.marketstock.simulation.selection;
+
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.asset.Commodity;
+import org.example.marketstock.models.asset.builder.CommodityBuilder;
+import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
+import org.example.marketstock.models.entity.Entity;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.models.entity.builder.InvestorBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HoldingsIndexTest {
+
+    private final HoldingsIndex subject = new HoldingsIndex();
+
+    @Test
+    public void should_follow_attached_briefcase() {
+
+        // given
+        final Commodity gold = commodity("Gold");
+        final Commodity silver = commodity("Silver");
+        final Investor investor = investor();
+        investor.getBriefcase().addOrIncrease(gold, 2);
+
+        // when
+        investor.getBriefcase().attach(subject, investor);
+        investor.getBriefcase().addOrIncrease(silver, 1);
+
+        // then
+        assertThat(subject.holdersOf(gold)).containsExactly(investor);
+        assertThat(subject.holdersOf(silver)).containsExactly(investor);
+
+        // when
+        investor.getBriefcase().decreaseOrRemove(gold, 1);
+        investor.getBriefcase().removeEntirely(silver);
+
+        // then
+        assertThat(subject.holdersOf(gold)).containsExactly(investor);
+        assertThat(subject.holdersOf(silver)).isEmpty();
+
+        // when
+        investor.getBriefcase().decreaseOrRemove(gold, 1);
+
+        // then
+        assertThat(subject.holdersOf(gold)).isEmpty();
+        assertThat(subject.size()).isZero();
+    }
+
+    @Test
+    public void should_reprice_assets_in_briefcases_of_their_holders() {
+
+        // given
+        final Commodity gold = commodity("Gold");
+        final Commodity silver = commodity("Silver");
+        final Investor first = investor();
+        final Investor second = investor();
+        final int numberOfRateListeners = silver.getNumberOfRateListeners();
+
+        first.getBriefcase().attach(subject, first);
+        second.getBriefcase().attach(subject, second);
+        first.getBriefcase().addOrIncrease(gold, 1);
+        first.getBriefcase().addOrIncrease(silver, 1);
+        second.getBriefcase().addOrIncrease(silver, 1);
+
+        // when
+        silver.updateRate(2D);
+
+        // then
+        assertThat(silver.getNumberOfRateListeners()).isEqualTo(numberOfRateListeners + 1);
+        assertThat(first.getBriefcase().getMostExpensiveAsset()).isSameAs(silver);
+
+        // when
+        gold.updateRate(3D);
+
+        // then
+        assertThat(first.getBriefcase().getMostExpensiveAsset()).isSameAs(gold);
+
+        // when
+        first.getBriefcase().removeEntirely(silver);
+        second.getBriefcase().removeEntirely(silver);
+
+        // then
+        assertThat(silver.getNumberOfRateListeners()).isEqualTo(numberOfRateListeners);
+    }
+
+    @Test
+    public void should_forget_detached_briefcase() {
+
+        // given
+        final Commodity gold = commodity("Gold");
+        final Investor investor = investor();
+        investor.getBriefcase().attach(subject, investor);
+        investor.getBriefcase().addOrIncrease(gold, 2);
+
+        // when
+        investor.getBriefcase().detach();
+        investor.getBriefcase().removeEntirely(gold);
+        investor.getBriefcase().addOrIncrease(gold, 1);
+
+        // then
+        assertThat(subject.contains(gold, investor)).isFalse();
+        assertThat(subject.size()).isZero();
+    }
+
+    @Test
+    public void should_keep_holder_whose_budget_changes() {
+
+        // given
+        final Commodity gold = commodity("Gold");
+        final Investor investor = investor();
+        investor.getBriefcase().attach(subject, investor);
+        investor.getBriefcase().addOrIncrease(gold, 2);
+
+        // when
+        investor.increaseBudget(500D);
+        investor.getBriefcase().decreaseOrRemove(gold, 2);
+
+        // then
+        assertThat(subject.contains(gold, investor)).isFalse();
+        assertThat(subject.size()).isZero();
+    }
+
+    @Test
+    public void should_group_assets_by_their_holders() {
+
+        // given
+        final Commodity gold = commodity("Gold");
+        final Commodity silver = commodity("Silver");
+        final Commodity copper = commodity("Copper");
+        final Investor first = investor();
+        final Investor second = investor();
+
+        subject.add(gold, first);
+        subject.add(silver, first);
+        subject.add(silver, second);
+        subject.add(copper, second);
+
+        // when
+        final Map<Entity, List<Asset>> actual = subject.holdingsOf(Arrays.asList(gold, silver));
+
+        // then
+        assertThat(actual).hasSize(2);
+        assertThat(actual.get(first)).containsExactly(gold, silver);
+        assertThat(actual.get(second)).containsExactly(silver);
+    }
+
+    @Test
+    public void should_keep_holders_that_are_added_while_others_are_removed() throws Exception {
+
+        // given
+        final Commodity gold = commodity("Gold");
+        final List<Investor> kept = Arrays.asList(investor(), investor());
+        final List<Investor> removed = Arrays.asList(investor(), investor());
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // when
+            final List<Future<?>> futures = new ArrayList<>();
+            for (final Investor investor : kept) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        subject.remove(gold, investor);
+                        subject.add(gold, investor);
+                    }
+                }));
+            }
+            for (final Investor investor : removed) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        subject.add(gold, investor);
+                        subject.remove(gold, investor);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(10L, TimeUnit.SECONDS);
+            }
+
+            // then
+            assertThat(subject.holdersOf(gold)).containsExactlyInAnyOrderElementsOf(kept);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Investor investor() {
+        return InvestorBuilder.builder()
+                .withBudget(1000D)
+                .withBriefcase(BriefcaseBuilder.emptyBriefcase().build())
+                .build();
+    }
+
+    private static Commodity commodity(final String name) {
+        return CommodityBuilder.builder()
+                .withName(name)
+                .withCurrentRate(1D)
+                .withRateChanges(new ArrayList<>(Collections.singletonList(1D)))
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.marketstock.simulation.serialization;
+
+import org.example.marketstock.models.asset.AbstractAsset;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.simulation.ExecutionMode;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.Dictionaries;
+import org.example.marketstock.simulation.generator.WorldGenerator;
+import org.example.marketstock.simulation.generator.builder.ScenarioBuilder;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class SimulationCaptureTest {
+
+    private final List<Simulation> simulations = new ArrayList<>();
+    private Simulation simulation;
+
+    @BeforeEach
+    public void setUp() {
+        simulation = track(new WorldGenerator(Dictionaries.load(new SimpleJsonReader())).generate(
+                ScenarioBuilder.builder()
+                        .withSeed(42L)
+                        .withStockExchanges(1)
+                        .withCurrencyExchanges(1)
+                        .withCommodityExchanges(1)
+                        .withCompanies(10)
+                        .withCurrenciesPerExchange(3)
+                        .withCommoditiesPerExchange(2)
+                        .withInvestors(10)
+                        .withInvestmentFunds(2)
+                        .build(),
+                SimulationBuilder.builder().withExecutionMode(ExecutionMode.THREAD_POOL)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        simulations.forEach(Simulation::shutdown);
+    }
+
+    @Test
+    public void should_write_running_simulation_as_it_was_captured() throws IOException {
+
+        // given
+        final Investor investor = simulation.getInvestors().get(0);
+        final Company company = simulation.getStockExchanges().get(0).getCompanies().get(0);
+        final AtomicReference<Double> budget = new AtomicReference<>();
+        final AtomicInteger numberOfAssets = new AtomicInteger();
+        final AtomicInteger numberOfInvestors = new AtomicInteger();
+        final AtomicLong written = new AtomicLong();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        simulation.start();
+
+        // when
+        try (final SimulationCapture capture = SimulationCapture.of(simulation, () -> {
+            budget.set(investor.getBudget());
+            numberOfAssets.set(company.getNumberOfAssets());
+            numberOfInvestors.set(simulation.getInvestors().size());
+        })) {
+            investor.increaseBudget(1_000D);
+            company.issueAssets();
+            simulation.addInvestor();
+
+            capture.write(outputStream, (current, total) -> written.set(current));
+            assertThat(capture.getCopiesOnWrite()).isGreaterThanOrEqualTo(2);
+        }
+
+        // then
+        final Simulation actual = track(SimulationSnapshot.read(new ByteArrayInputStream(outputStream.toByteArray())));
+
+        assertThat(actual.getInvestors()).hasSize(numberOfInvestors.get());
+        assertThat(actual.getInvestors().get(0).getBudget()).isEqualTo(budget.get());
+        assertThat(actual.getStockExchanges().get(0).getCompanies().get(0).getNumberOfAssets())
+                .isEqualTo(numberOfAssets.get());
+        assertThat(written.get()).isEqualTo(1L + 10L + 3L + 2L + 2L + numberOfInvestors.get());
+    }
+
+    @Test
+    public void should_write_capture_as_json_only_once() throws IOException {
+
+        // given
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final SimulationCapture capture = SimulationCapture.of(simulation);
+
+        // when
+        capture.writeJson(outputStream, SnapshotProgress.NONE);
+        final Throwable throwable = catchThrowable(() -> capture.write(new ByteArrayOutputStream(), SnapshotProgress.NONE));
+        capture.close();
+
+        // then
+        final Simulation actual = track(SimulationMapper.read(new ByteArrayInputStream(outputStream.toByteArray())));
+
+        assertThat(throwable).isInstanceOf(IllegalStateException.class);
+        assertThat(actual.getInvestors()).extracting(Investor::getPESEL)
+                .containsExactly(simulation.getInvestors().stream().map(Investor::getPESEL).toArray(String[]::new));
+        assertThat(actual.getInvestmentFunds()).hasSize(2);
+    }
+
+    @Test
+    public void should_not_leave_listeners_on_assets_after_capture() throws IOException {
+
+        // given
+        final List<AbstractAsset> assets = new ArrayList<>(simulation.getStockExchanges().get(0).getCompanies());
+        simulation.getCurrencyExchanges().get(0).getCurrencies().forEach(assets::add);
+        simulation.getCommodityExchanges().get(0).getCommodities().forEach(assets::add);
+        for (final Investor investor : simulation.getInvestors()) {
+            assets.forEach(asset -> investor.getBriefcase().addOrIncrease(asset, 1));
+        }
+        final int numberOfRateListeners = countRateListeners(assets);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            try (final SimulationCapture capture = SimulationCapture.of(simulation)) {
+                simulation.getInvestors().forEach(investor -> investor.increaseBudget(1D));
+                capture.write(new ByteArrayOutputStream(), SnapshotProgress.NONE);
+            }
+        }
+
+        // then
+        assertThat(countRateListeners(assets)).isEqualTo(numberOfRateListeners);
+    }
+
+    private static int countRateListeners(final List<AbstractAsset> assets) {
+        return assets.stream().mapToInt(AbstractAsset::getNumberOfRateListeners).sum();
+    }
+
+    private Simulation track(final Simulation simulation) {
+        simulations.add(simulation);
+        return simulation;
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.marketstock.simulation.serialization;
+
+import org.example.marketstock.models.asset.Asset;
+import org.example.marketstock.models.company.Company;
+import org.example.marketstock.models.entity.InvestmentFund;
+import org.example.marketstock.models.entity.Investor;
+import org.example.marketstock.simulation.ExecutionMode;
+import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.Dictionaries;
+import org.example.marketstock.simulation.generator.WorldGenerator;
+import org.example.marketstock.simulation.generator.builder.ScenarioBuilder;
+import org.example.marketstock.simulation.json.SimpleJsonReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class SimulationSnapshotTest {
+
+    private final List<Simulation> simulations = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        simulations.forEach(Simulation::shutdown);
+    }
+
+    @Test
+    public void should_bind_holdings_to_listed_assets_after_round_trip() throws IOException {
+
+        // given
+        final Simulation simulation = track(new WorldGenerator(Dictionaries.load(new SimpleJsonReader())).generate(
+                ScenarioBuilder.builder()
+                        .withSeed(42L)
+                        .withStockExchanges(2)
+                        .withCurrencyExchanges(1)
+                        .withCommodityExchanges(1)
+                        .withCompanies(20)
+                        .withCurrenciesPerExchange(3)
+                        .withCommoditiesPerExchange(2)
+                        .withInvestors(10)
+                        .withInvestmentFunds(3)
+                        .build(),
+                SimulationBuilder.builder().withExecutionMode(ExecutionMode.THREAD_POOL)));
+
+        final Company company = simulation.getStockExchanges().get(1).getCompanies().get(4);
+        final InvestmentFund investmentFund = simulation.getInvestmentFunds().get(2);
+        simulation.getInvestors().get(0).getBriefcase().addOrIncrease(company, 7);
+        simulation.getInvestors().get(0).getBriefcase().addOrIncrease(investmentFund, 3);
+        simulation.getInvestmentFunds().get(0).getBriefcase().addOrIncrease(company, 11);
+
+        // when
+        final Simulation actual = track(SimulationSnapshot.read(new ByteArrayInputStream(write(simulation))));
+
+        // then
+        assertThat(actual.getStockExchanges()).hasSize(2);
+        assertThat(actual.getStockExchanges().get(0).getIndices())
+                .allSatisfy(index -> assertThat(index.getContent()).hasSize(5));
+        assertThat(actual.getCurrencyExchanges().get(0).getCurrencies()).hasSize(3);
+        assertThat(actual.getCommodityExchanges().get(0).getCommodities()).hasSize(2);
+        assertThat(actual.getInvestors()).extracting(Investor::getPESEL)
+                .containsExactlyElementsOf(simulation.getInvestors().stream()
+                        .map(Investor::getPESEL)
+                        .collect(Collectors.toList()));
+        assertThat(actual.getAvailableAssets()).hasSize(simulation.getAvailableAssets().size());
+
+        final Company loadedCompany = actual.getStockExchanges().get(1).getCompanies().get(4);
+        final InvestmentFund loadedInvestmentFund = actual.getInvestmentFunds().get(2);
+        final Map<Asset, Integer> investorHoldings = actual.getInvestors().get(0).getBriefcase().getMap();
+
+        assertThat(loadedCompany.getRateChanges()).isEqualTo(company.getRateChanges());
+        assertThat(investorHoldings).hasSize(2).containsEntry(loadedCompany, 7).containsEntry(loadedInvestmentFund, 3);
+        assertThat(investorHoldings.keySet()).anySatisfy(asset -> assertThat(asset).isSameAs(loadedCompany));
+        assertThat(investorHoldings.keySet()).anySatisfy(asset -> assertThat(asset).isSameAs(loadedInvestmentFund));
+        assertThat(actual.getInvestmentFunds().get(0).getBriefcase().getAssets()).hasSize(1);
+        assertThat(actual.getInvestmentFunds().get(0).getBriefcase().getAssets().get(0)).isSameAs(loadedCompany);
+    }
+
+    @Test
+    public void should_bind_copies_from_json_save_to_listed_assets() throws IOException {
+
+        // given
+        final URL url = getClass().getClassLoader().getResource("simulation/simulation.json");
+        assertThat(url).isNotNull();
+
+        final Simulation simulation;
+        try (final InputStream inputStream = url.openStream()) {
+            simulation = track(SimulationMapper.read(inputStream));
+        }
+
+        // when
+        final Simulation actual = track(SimulationSnapshot.read(new ByteArrayInputStream(write(simulation))));
+
+        // then
+        final Company company = actual.getStockExchanges().get(0).getCompanies().get(0);
+
+        assertThat(actual.getPlayer().getFirstName()).isEqualTo("Jordan");
+        assertThat(actual.getPlayer().getBriefcase().getAssets()).hasSize(1);
+        assertThat(actual.getPlayer().getBriefcase().getAssets().get(0)).isSameAs(company);
+        assertThat(actual.getInvestors().get(0).getBriefcase().getAssets().get(0)).isSameAs(company);
+        assertThat(actual.getPlayer().getBriefcase().contains(company, 5)).isTrue();
+    }
+
+    @Test
+    public void should_reject_stream_without_snapshot() {
+
+        // given
+        final byte[] json = "{\"player\": null}".getBytes();
+
+        // when
+        final Throwable actual = catchThrowable(() -> SimulationSnapshot.read(new ByteArrayInputStream(json)));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("snapshot");
+    }
+
+    private Simulation track(final Simulation simulation) {
+        simulations.add(simulation);
+        return simulation;
+    }
+
+    private static byte[] write(final Simulation simulation) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        SimulationSnapshot.write(simulation, outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.marketstock.simulation.tick;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TickSchedulerTest {
+
+    private TickScheduler subject;
+
+    @BeforeEach
+    public void setUp() {
+        subject = new TickScheduler(4, 16, 1000L);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        subject.shutdown();
+    }
+
+    @Test
+    public void should_wait_before_first_step_and_between_steps() throws InterruptedException {
+
+        // given
+        final TestTickable tickable = new TestTickable(3);
+        subject.register(tickable);
+
+        // when
+        subject.advance(3);
+        final int stepsAfterThreeTicks = tickable.steps.get();
+        subject.advance(4);
+
+        // then
+        assertThat(stepsAfterThreeTicks).isZero();
+        assertThat(tickable.steps.get()).isEqualTo(2);
+        assertThat(subject.getCurrentTick()).isEqualTo(7L);
+    }
+
+    @Test
+    public void should_step_every_agent_with_bounded_number_of_threads() throws InterruptedException {
+
+        // given
+        final List<TestTickable> tickables = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            final TestTickable tickable = new TestTickable(1 + i % 15);
+            tickables.add(tickable);
+            subject.register(tickable);
+        }
+
+        // when
+        subject.advance(30);
+
+        // then
+        assertThat(subject.getNumberOfAgents()).isEqualTo(10_000);
+        assertThat(tickables).allSatisfy(tickable ->
+                assertThat(tickable.steps.get()).isEqualTo(29 / tickable.delay));
+    }
+
+    @Test
+    public void should_drop_and_terminate_inactive_agent() throws InterruptedException {
+
+        // given
+        final TestTickable tickable = new TestTickable(10);
+        subject.register(tickable);
+        subject.advance();
+
+        // when
+        tickable.active = false;
+        subject.advance(10);
+
+        // then
+        assertThat(tickable.terminated).isTrue();
+        assertThat(tickable.steps.get()).isZero();
+        assertThat(subject.getNumberOfAgents()).isZero();
+    }
+
+    @Test
+    public void should_drop_inactive_agent_before_it_is_due() throws InterruptedException {
+
+        // given
+        final TestTickable tickable = new TestTickable(10);
+        subject.register(tickable);
+        subject.advance();
+
+        // when
+        tickable.active = false;
+        subject.drop(tickable);
+        subject.advance();
+
+        // then
+        assertThat(tickable.terminated).isTrue();
+        assertThat(subject.getNumberOfAgents()).isZero();
+    }
+
+    @Test
+    public void should_keep_stepping_agent_that_failed() throws InterruptedException {
+
+        // given
+        final TestTickable tickable = new TestTickable(1) {
+            @Override
+            public void step() {
+                super.step();
+                throw new IllegalStateException("Test failure");
+            }
+        };
+        subject.register(tickable);
+
+        // when
+        subject.advance(5);
+
+        // then
+        assertThat(tickable.steps.get()).isEqualTo(4);
+        assertThat(tickable.terminated).isFalse();
+    }
+
+    @Test
+    public void should_advance_ticks_in_background_when_started() throws InterruptedException {
+
+        // given
+        final TickScheduler scheduler = new TickScheduler(1, 16, 10L);
+        final TestTickable tickable = new TestTickable(1);
+        scheduler.register(tickable);
+
+        // when
+        scheduler.start();
+        Thread.sleep(200L);
+        scheduler.stop();
+
+        // then
+        assertThat(scheduler.isRunning()).isFalse();
+        assertThat(scheduler.getCurrentTick()).isPositive();
+        assertThat(tickable.steps.get()).isPositive();
+        scheduler.shutdown();
+    }
+
+    private static class TestTickable implements Tickable {
+
+        private final int delay;
+        private final AtomicInteger steps = new AtomicInteger();
+        private volatile boolean active = true;
+        private volatile boolean terminated = false;
+
+        private TestTickable(final int delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public void step() {
+            steps.incrementAndGet();
+        }
+
+        @Override
+        public int nextDelay() {
+            return delay;
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+
+        @Override
+        public void markTerminated() {
+            terminated = true;
+        }
+    }
+}
@@ -4,13 +4,12 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.marketstock.fxml.*;
 import java.io.IOException;
-import java.net.URL;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import javafx.application.Application;
-import javafx.collections.FXCollections;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.TabPane;
@@ -22,12 +21,18 @@ import javafx.stage.Modality;
 import org.example.marketstock.models.asset.builder.CurrencyBuilder;
 import org.example.marketstock.models.briefcase.builder.BriefcaseBuilder;
 import org.example.marketstock.models.entity.Player;
-import org.example.marketstock.models.exchange.StockExchange;
+import org.example.marketstock.simulation.ExecutionMode;
 import org.example.marketstock.simulation.Simulation;
 import org.example.marketstock.simulation.builder.SimulationBuilder;
+import org.example.marketstock.simulation.croupier.Croupier;
+import org.example.marketstock.simulation.croupier.Dictionary;
 import org.example.marketstock.simulation.croupier.builder.CroupierBuilder;
+import org.example.marketstock.simulation.history.CandleAggregator;
+import org.example.marketstock.simulation.history.TickStore;
+import org.example.marketstock.simulation.journal.Journal;
 import org.example.marketstock.simulation.json.SimpleJsonReader;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -42,6 +47,8 @@ public class MarketApp extends Application {
     private static final Logger LOGGER = LogManager.getLogger(MarketApp.class);
 
     private Simulation simulation;
+    private Journal journal;
+    private TickStore tickStore;
     private final SimulationBuilder simulationBuilder = SimulationBuilder.builder();
 
     private Stage primaryStage;
@@ -52,6 +59,70 @@ public class MarketApp extends Application {
         launch(args);
     }
 
+    /**
+     * Reads the {@link ExecutionMode} of simulations from the system property.
+     * Agents are driven by a {@link org.example.marketstock.simulation.tick.TickScheduler} unless stated otherwise.
+     * If the {@value Journal#PROPERTY} system property names a directory, opens a {@link Journal} in it.
+     * If the {@value TickStore#PROPERTY} system property names a directory, opens a {@link TickStore} in it.
+     * If the {@value CandleAggregator#PROPERTY} system property is {@code true}, aggregates bars of traded assets.
+     */
+    @Override
+    public void init() {
+        final ExecutionMode executionMode = ExecutionMode.fromSystemProperty(ExecutionMode.TICK);
+        simulationBuilder.withExecutionMode(executionMode);
+        LOGGER.info("[APP]: Agents run in {} mode.", executionMode);
+
+        final String journalDirectory = System.getProperty(Journal.PROPERTY);
+        if (nonNull(journalDirectory) && !journalDirectory.trim().isEmpty()) {
+            try {
+                journal = Journal.open(Paths.get(journalDirectory.trim()));
+                simulationBuilder.withJournal(journal);
+                LOGGER.info("[APP]: Simulation is journaled in {}.", journal.getDirectory());
+            } catch (IOException exception) {
+                LOGGER.error("[APP]: Journal couldn't be opened, simulation won't be journaled.", exception);
+            }
+        }
+
+        final String ticksDirectory = System.getProperty(TickStore.PROPERTY);
+        if (nonNull(ticksDirectory) && !ticksDirectory.trim().isEmpty()) {
+            try {
+                tickStore = TickStore.open(Paths.get(ticksDirectory.trim()));
+                simulationBuilder.withTickStore(tickStore);
+                LOGGER.info("[APP]: Ticks are stored in {}.", tickStore.getDirectory());
+            } catch (IOException exception) {
+                LOGGER.error("[APP]: Tick store couldn't be opened, ticks won't be stored.", exception);
+            }
+        }
+
+        if (Boolean.getBoolean(CandleAggregator.PROPERTY)) {
+            simulationBuilder.withCandleAggregator(new CandleAggregator());
+            LOGGER.info("[APP]: Bars of traded assets are aggregated.");
+        }
+    }
+
+    /**
+     * Closes the {@link Journal}, which writes every change that is still waiting for the disk,
+     * and the {@link TickStore}.
+     */
+    @Override
+    public void stop() {
+        if (nonNull(journal)) {
+            try {
+                journal.close();
+            } catch (IOException exception) {
+                LOGGER.error("[APP]: Journal couldn't be closed.", exception);
+            }
+        }
+
+        if (nonNull(tickStore)) {
+            try {
+                tickStore.close();
+            } catch (IOException exception) {
+                LOGGER.error("[APP]: Tick store couldn't be closed.", exception);
+            }
+        }
+    }
+
     /**
      * Starts the application using provided stage.
      * Uses {@link #initRootLayout()} and {@link #showStartMenuLayout()} methods to display starting layout.
@@ -66,6 +137,7 @@ public class MarketApp extends Application {
         
         initRootLayout();
         showStartMenuLayout();
+        recoverSimulation();
     }
 
     /**
@@ -107,11 +179,38 @@ public class MarketApp extends Application {
         }
     }
 
+    /**
+     * Recovers the {@link Simulation} from the latest checkpoint of the {@link Journal} and starts it.
+     * Does nothing if the simulation isn't journaled or there is nothing to recover.
+     */
+    private void recoverSimulation() {
+        if (isNull(journal) || !journal.hasCheckpoint()) {
+            return;
+        }
+
+        try {
+            prepareResources();
+            showSimulationLayout(journal.recover(simulationBuilder));
+            startSimulation();
+        } catch (IOException exception) {
+            LOGGER.error("[APP]: Simulation couldn't be recovered from " + journal.getDirectory() + ".", exception);
+        }
+    }
+
     /**
      * Builds the {@link Simulation} from a builder and initializes {@link SimulationLayoutController}.
      * In the end displays a {@code SimulationLayout}.
      */
     public void showSimulationLayout() {
+        showSimulationLayout(simulationBuilder.build());
+    }
+
+    /**
+     * Initializes {@link SimulationLayoutController} with a simulation that isn't started yet
+     * and displays a {@code SimulationLayout}. If the simulation is journaled, it's checkpointed first.
+     * @param builtSimulation A new simulation.
+     */
+    private void showSimulationLayout(final Simulation builtSimulation) {
         try {
             final FXMLLoader loader = new FXMLLoader();
             loader.setLocation(MarketApp.class.getResource("/fxml/SimulationLayout.fxml"));
@@ -119,7 +218,8 @@ public class MarketApp extends Application {
 
             rootLayout.setCenter(layout);
 
-            simulation = simulationBuilder.build();
+            simulation = builtSimulation;
+            checkpointSimulation();
 
             final SimulationLayoutController controller = loader.getController();
             controller.setSimulation(simulation);
@@ -208,59 +308,63 @@ public class MarketApp extends Application {
      */
     public void prepareNewGame() {
         simulationBuilder
-                .withStockExchanges(FXCollections.observableArrayList())
-                .withCurrencyExchanges(FXCollections.observableArrayList())
-                .withCommodityExchange(FXCollections.observableArrayList())
-                .withInvestors(FXCollections.observableArrayList())
-                .withInvestmentFunds(FXCollections.observableArrayList());
-
-        final URL countriesURL = getClass().getClassLoader().getResource("built-in-names/countries.json");
-        if (nonNull(countriesURL)) {
-            simulationBuilder.withMainCurrency(CurrencyBuilder.builder()
-                    .withName("MarketAppCurrency")
-                    .withRateChanges(new ArrayList<>(Collections.singletonList(0.0)))
-                    .withCountries(Arrays.asList(new SimpleJsonReader().getResource(countriesURL.getPath())))
-                    .build());
-        }
-
-        prepareResources();
+                .withStockExchanges(new ArrayList<>())
+                .withCurrencyExchanges(new ArrayList<>())
+                .withCommodityExchange(new ArrayList<>())
+                .withInvestors(new ArrayList<>())
+                .withInvestmentFunds(new ArrayList<>());
+
+        final Croupier croupier = prepareResources();
+
+        simulationBuilder.withMainCurrency(CurrencyBuilder.builder()
+                .withName("MarketAppCurrency")
+                .withRateChanges(new ArrayList<>(Collections.singletonList(0.0)))
+                .withCountries(new ArrayList<>(croupier.getDictionaries().getNames(Dictionary.COUNTRIES)))
+                .build());
     }
 
     /**
      * Prepares the {@link SimulationBuilder} to include necessary resources for creating new assets and entities.
-     * This step includes loading data from default files.
+     * This step includes loading data from default files, which are read once by the {@link Croupier}.
+     * @return The croupier of a new game.
      */
-    public void prepareResources() {
+    public Croupier prepareResources() {
+        final Croupier croupier = CroupierBuilder.builder()
+                .withResourcesReader(new SimpleJsonReader())
+                .withRandom(new Random())
+                .build();
+
         simulationBuilder
-                .withCroupier(CroupierBuilder.builder()
-                        .withResourcesReader(new SimpleJsonReader())
-                        .withRandom(new Random())
-                        .build());
-
-        final URL currenciesURL = getClass().getClassLoader().getResource("built-in-names/currencies.json");
-        if (nonNull(currenciesURL)) {
-            simulationBuilder
-                    .withCurrencyNames(Arrays.asList(new SimpleJsonReader().getResource(currenciesURL.getPath())));
+                .withCroupier(croupier)
+                .withCurrencyNames(croupier.getDictionaries().getNames(Dictionary.CURRENCIES))
+                .withCommodityNames(croupier.getDictionaries().getNames(Dictionary.COMMODITIES));
+
+        return croupier;
+    }
+
+    /**
+     * Writes a checkpoint of the {@link Simulation}, after which every change is journaled.
+     * Must be called before the simulation is started.
+     */
+    private void checkpointSimulation() {
+        if (isNull(journal) || isNull(simulation)) {
+            return;
         }
 
-        final URL commodities = getClass().getClassLoader().getResource("built-in-names/commodities.json");
-        if (nonNull(commodities)) {
-            simulationBuilder
-                    .withCommodityNames(Arrays.asList(new SimpleJsonReader().getResource(commodities.getPath())));
+        try {
+            journal.checkpoint(simulation);
+        } catch (IOException exception) {
+            LOGGER.error("[APP]: Simulation couldn't be checkpointed in " + journal.getDirectory() + ".", exception);
         }
     }
 
     /**
-     * If a {@link Simulation} exists starts all necessary threads
+     * If a {@link Simulation} exists starts all necessary agents
      * which includes: companies, investors and investment funds.
      */
     public void startSimulation() {
         if (nonNull(simulation)) {
-            simulation.getStockExchanges().forEach(stockExchange ->
-                    stockExchange.getCompanies().forEach(company -> stockExchange.getCompaniesService().submit(company)));
-
-            simulation.getInvestors().forEach(investor -> simulation.getEntitiesService().submit(investor));
-            simulation.getInvestmentFunds().forEach(investmentFund -> simulation.getEntitiesService().submit(investmentFund));
+            simulation.start();
         }
     }
 
@@ -272,14 +376,7 @@ public class MarketApp extends Application {
         final ExecutorService shutdownService = Executors.newSingleThreadExecutor();
 
         if (nonNull(simulation)) {
-            shutdownService.submit(() -> {
-                LOGGER.debug("[APP]: Stopping all companies...");
-                simulation.getStockExchanges().stream()
-                        .map(StockExchange::getCompaniesService)
-                        .forEach(ExecutorService::shutdownNow);
-                LOGGER.debug("[APP]: Stopping investors and investment funds...");
-                simulation.getEntitiesService().shutdownNow();
-            });
+            shutdownService.submit(simulation::shutdown);
         }
 
         return shutdownService;
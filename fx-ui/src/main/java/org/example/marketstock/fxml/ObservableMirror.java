@@ -0,0 +1,74 @@
+package org.example.marketstock.fxml;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.example.marketstock.simulation.collection.ElementListener;
+import org.example.marketstock.simulation.collection.ListenableList;
+
+/**
+ * Mirrors a {@link ListenableList} of a simulation in an {@link ObservableList} that tables can display.
+ * Changes of the simulation's list are applied to the mirror in the JavaFX application thread,
+ * so that tables are never changed by agents and the simulation doesn't need the toolkit.
+ *
+ * @param <E> The type of elements.
+ * @author Dominik Szmyt
+ * @since 1.1.0
+ */
+public final class ObservableMirror<E> implements ElementListener<E> {
+
+    private final ListenableList<E> source;
+    private final ObservableList<E> items = FXCollections.observableArrayList();
+
+    private ObservableMirror(final ListenableList<E> source) {
+        this.source = source;
+    }
+
+    /**
+     * Starts mirroring a list. Elements that are added while the mirror is created are shown only once.
+     * @param source A list of a simulation.
+     * @param <E> The type of elements.
+     * @return A new mirror, which follows the list until it's closed.
+     */
+    public static <E> ObservableMirror<E> of(final ListenableList<E> source) {
+        final ObservableMirror<E> mirror = new ObservableMirror<>(source);
+        source.addListener(mirror);
+        runInApplicationThread(() -> source.forEach(mirror::show));
+        return mirror;
+    }
+
+    @Override
+    public void onAdded(final E element) {
+        runInApplicationThread(() -> show(element));
+    }
+
+    @Override
+    public void onRemoved(final E element) {
+        runInApplicationThread(() -> items.remove(element));
+    }
+
+    /**
+     * Stops following the list, for example once it's simulation is replaced.
+     */
+    public void close() {
+        source.removeListener(this);
+    }
+
+    private void show(final E element) {
+        if (!items.contains(element)) {
+            items.add(element);
+        }
+    }
+
+    private static void runInApplicationThread(final Runnable runnable) {
+        if (Platform.isFxApplicationThread()) {
+            runnable.run();
+        } else {
+            Platform.runLater(runnable);
+        }
+    }
+
+    public ObservableList<E> getItems() {
+        return items;
+    }
+}
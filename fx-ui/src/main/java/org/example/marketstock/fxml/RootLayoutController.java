@@ -1,25 +1,34 @@
 package org.example.marketstock.fxml;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import javafx.concurrent.Task;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonBar;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextArea;
 import javafx.stage.FileChooser;
+import javafx.stage.Modality;
 import javafx.fxml.FXML;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.marketstock.app.MarketApp;
 import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.serialization.SimulationCapture;
+import org.example.marketstock.simulation.serialization.SimulationMapper;
+import org.example.marketstock.simulation.serialization.SimulationSnapshot;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -40,11 +49,11 @@ public class RootLayoutController {
 
     /**
      * Callback fired when a user wishes to save the running {@link Simulation} to a file.
-     * @see #serializeSimulation()
+     * @see #serializeSimulation(Consumer)
      */
     @FXML
     private void handleSaveFile () {
-        serializeSimulation();
+        serializeSimulation(serialized -> { });
     }
 
     /**
@@ -52,80 +61,132 @@ public class RootLayoutController {
      * If the serialization was successful, closes the application.
      * If some errors occurred during the serialization process, displays a warning
      * and requires a confirmation in order to proceed with closing the application.
-     * @see #serializeSimulation()
+     * @see #serializeSimulation(Consumer)
      */
     @FXML
     private void handleSaveAndCloseFile() {
-        final boolean serialized = serializeSimulation();
-
-        if (serialized || isNull(marketApp.getSimulation())) {
-            LOGGER.info("[APP]: Shutting down simulation...");
-            safeShutdown(marketApp.shutdownSimulation());
-            marketApp.getPrimaryStage().close();
-        } else {
-            final Alert warning = new Alert(Alert.AlertType.WARNING);
-            warning.setTitle("Saving problems");
-            warning.setHeaderText("Do you wish to continue?");
-            warning.setContentText("Some problems occurred while saving simulation.\n" +
-                    "Do you wish to close the application anyway?");
-
-            final ButtonType confirmButton = new ButtonType("OK", ButtonBar.ButtonData.YES);
-            final ButtonType cancelButton = new ButtonType("Cancel", ButtonBar.ButtonData.CANCEL_CLOSE);
-            warning.getButtonTypes().setAll(confirmButton, cancelButton);
-
-            final Optional<ButtonType> selection = warning.showAndWait();
-            if (selection.isPresent() && Objects.equals(selection.get(), confirmButton)) {
+        serializeSimulation(serialized -> {
+            if (serialized || isNull(marketApp.getSimulation())) {
                 LOGGER.info("[APP]: Shutting down simulation...");
                 safeShutdown(marketApp.shutdownSimulation());
-                LOGGER.debug("[APP]: Shutting down application...");
                 marketApp.getPrimaryStage().close();
+            } else {
+                final Alert warning = new Alert(Alert.AlertType.WARNING);
+                warning.setTitle("Saving problems");
+                warning.setHeaderText("Do you wish to continue?");
+                warning.setContentText("Some problems occurred while saving simulation.\n" +
+                        "Do you wish to close the application anyway?");
+
+                final ButtonType confirmButton = new ButtonType("OK", ButtonBar.ButtonData.YES);
+                final ButtonType cancelButton = new ButtonType("Cancel", ButtonBar.ButtonData.CANCEL_CLOSE);
+                warning.getButtonTypes().setAll(confirmButton, cancelButton);
+
+                final Optional<ButtonType> selection = warning.showAndWait();
+                if (selection.isPresent() && Objects.equals(selection.get(), confirmButton)) {
+                    LOGGER.info("[APP]: Shutting down simulation...");
+                    safeShutdown(marketApp.shutdownSimulation());
+                    LOGGER.debug("[APP]: Shutting down application...");
+                    marketApp.getPrimaryStage().close();
+                }
             }
-        }
+        });
     }
 
     /**
-     * At first, if there is no running {@link Simulation}, warns a user and returns {@code false}.
-     * Displays a {@link FileChooser} and after a user selected their file,
-     * tries to serialize the existing {@code Simulation}.
-     * If the process succeeds returns {@code true}, otherwise returns {@code false}.
-     * @return {@code true} if a {@link Simulation} was successfully serialized, otherwise returns {@code false}.
+     * At first, if there is no running {@link Simulation}, warns a user and reports {@code false}.
+     * Displays a {@link FileChooser} and after a user selected their file, captures the {@code Simulation}
+     * and writes the capture in the background, while the simulation keeps running.
+     * The progress is displayed in a dialog, which a user may hide.
+     * @param onFinished Receives {@code true} in the JavaFX thread if a {@link Simulation} was successfully
+     *                   serialized, otherwise receives {@code false}.
      */
-    private boolean serializeSimulation() {
+    private void serializeSimulation(final Consumer<Boolean> onFinished) {
         if (isNull(marketApp.getSimulation())) {
             final Alert warning = new Alert(Alert.AlertType.WARNING);
             warning.setTitle("No simulation");
             warning.setHeaderText("Cannot save without simulation.");
             warning.showAndWait();
-            return false;
+            onFinished.accept(false);
+            return;
         }
 
-        synchronized (marketApp.getSimulation()) {
-            final FileChooser fileChooser = new FileChooser();
-            fileChooser.setTitle("Save simulation");
-            fileChooser.setInitialDirectory(new File(System.getProperty("user.dir")));
-            fileChooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("JSON", "*.json"));
-            fileChooser.setInitialFileName("simulation");
-
-            final File file = fileChooser.showSaveDialog(marketApp.getPrimaryStage());
-
-            if (nonNull(file)) {
-                try (final PrintWriter printWriter = new PrintWriter(file)) {
-                    final String serialized = new ObjectMapper().writeValueAsString(marketApp.getSimulation());
-                    printWriter.println(serialized);
-                } catch (IOException exception) {
-                    final Alert error = new Alert(Alert.AlertType.ERROR);
-                    error.setTitle("Saving error");
-                    error.setHeaderText("Error occurred while saving file: " + file.getName());
-                    error.getDialogPane().setExpandableContent(getExceptionTextArea(exception));
-                    error.showAndWait();
-
-                    LOGGER.error(exception.getMessage(), exception);
-                    return false;
+        final FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save simulation");
+        fileChooser.setInitialDirectory(new File(System.getProperty("user.dir")));
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("JSON", "*.json"),
+                new FileChooser.ExtensionFilter("Snapshot", "*." + SimulationSnapshot.EXTENSION));
+        fileChooser.setInitialFileName("simulation");
+
+        final File file = fileChooser.showSaveDialog(marketApp.getPrimaryStage());
+
+        if (isNull(file)) {
+            onFinished.accept(false);
+            return;
+        }
+
+        final SimulationCapture capture = SimulationCapture.of(marketApp.getSimulation());
+        final Task<Void> task = new Task<Void>() {
+
+            @Override
+            protected Void call() throws IOException {
+                try (final SimulationCapture closed = capture;
+                     final OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+
+                    if (isSnapshot(file)) {
+                        closed.write(outputStream, this::updateProgress);
+                    } else {
+                        closed.writeJson(outputStream, this::updateProgress);
+                    }
                 }
-                return true;
+                return null;
             }
-            return false;
-        }
+        };
+
+        final Alert progress = getProgressAlert(file, task);
+
+        task.setOnSucceeded(event -> {
+            progress.close();
+            LOGGER.info("[APP]: Saved simulation to {}.", file);
+            onFinished.accept(true);
+        });
+        task.setOnFailed(event -> {
+            progress.close();
+
+            final Throwable exception = task.getException();
+            final Alert error = new Alert(Alert.AlertType.ERROR);
+            error.setTitle("Saving error");
+            error.setHeaderText("Error occurred while saving file: " + file.getName());
+            error.getDialogPane().setExpandableContent(getExceptionTextArea(exception));
+            error.showAndWait();
+
+            LOGGER.error(exception.getMessage(), exception);
+            onFinished.accept(false);
+        });
+
+        final Thread thread = new Thread(task, "simulation-save");
+        thread.start();
+        progress.show();
+    }
+
+    /**
+     * Creates a dialog that displays the progress of saving a {@link Simulation}.
+     * @param file A file that the simulation is saved to.
+     * @param task A task that saves the simulation.
+     * @return A dialog that isn't shown yet.
+     */
+    private Alert getProgressAlert(final File file, final Task<Void> task) {
+        final ProgressBar progressBar = new ProgressBar();
+        progressBar.progressProperty().bind(task.progressProperty());
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+
+        final Alert progress = new Alert(Alert.AlertType.INFORMATION);
+        progress.setTitle("Saving simulation");
+        progress.setHeaderText("Saving file: " + file.getName());
+        progress.getDialogPane().setContent(progressBar);
+        progress.getButtonTypes().setAll(new ButtonType("Hide", ButtonBar.ButtonData.CANCEL_CLOSE));
+        progress.initModality(Modality.NONE);
+        return progress;
     }
 
     /**
@@ -152,7 +213,8 @@ public class RootLayoutController {
 
         final FileChooser.ExtensionFilter jsonFilter = new FileChooser.ExtensionFilter("JSON", "*.json");
         fileChooser.getExtensionFilters().addAll(
-                new FileChooser.ExtensionFilter("All files", "*.*"), jsonFilter);
+                new FileChooser.ExtensionFilter("All files", "*.*"), jsonFilter,
+                new FileChooser.ExtensionFilter("Snapshot", "*." + SimulationSnapshot.EXTENSION));
         fileChooser.setSelectedExtensionFilter(jsonFilter);
         fileChooser.setInitialDirectory(new File(System.getProperty("user.dir")));
 
@@ -160,7 +222,9 @@ public class RootLayoutController {
 
         if (nonNull(file)) {
             try {
-                final Simulation simulation = new ObjectMapper().readValue(file, Simulation.class);
+                final Simulation simulation = isSnapshot(file)
+                        ? SimulationSnapshot.read(file)
+                        : SimulationMapper.read(file);
                 marketApp.getSimulationBuilder().from(simulation);
 
                 if (isNull(marketApp.getSimulation())) {
@@ -190,6 +254,15 @@ public class RootLayoutController {
         }
     }
 
+    /**
+     * Tells whether a file should contain a {@link SimulationSnapshot} instead of JSON.
+     * @param file A file selected by a user.
+     * @return {@code true} if the file has the extension of a snapshot, otherwise returns {@code false}.
+     */
+    private boolean isSnapshot(final File file) {
+        return file.getName().endsWith("." + SimulationSnapshot.EXTENSION);
+    }
+
     /**
      * Callback fired when a user wishes to close the application.
      * Tries to gracefully stop a {@link Simulation} and if succeeds, closes the application.
@@ -222,11 +295,11 @@ public class RootLayoutController {
     }
 
     /**
-     * Transforms the provided {@link Exception} into a {@link TextArea} that can be displayed in warning.
+     * Transforms the provided {@link Throwable} into a {@link TextArea} that can be displayed in warning.
      * @param exception An {@code Exception} that is to be displayed in a warning.
      * @return An {@link Exception} inside a {@code TextArea}.
      */
-    private TextArea getExceptionTextArea(final Exception exception) {
+    private TextArea getExceptionTextArea(final Throwable exception) {
         final StringWriter stringWriter = new StringWriter();
         final PrintWriter printWriter = new PrintWriter(stringWriter);
         exception.printStackTrace(printWriter);
@@ -1,12 +1,16 @@
 package org.example.marketstock.fxml;
 
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import javafx.beans.property.SimpleStringProperty;
 
@@ -32,6 +36,9 @@ import org.example.marketstock.models.exchange.StockExchange;
 import org.example.marketstock.models.index.Index;
 import org.example.marketstock.models.asset.Asset;
 import org.example.marketstock.simulation.Simulation;
+import org.example.marketstock.simulation.collection.ListenableList;
+import org.example.marketstock.simulation.history.CandleAggregator;
+import org.example.marketstock.simulation.history.TickStore;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -46,7 +53,10 @@ import static java.util.Objects.nonNull;
 public class SimulationLayoutController {
 
     private static final Logger LOGGER = LogManager.getLogger(SimulationLayoutController.class);
+    private static final long CHART_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(10L);
+    private static final int CHART_POINTS = 500;
     private Simulation simulation;
+    private final List<ObservableMirror<?>> mirrors = new ArrayList<>();
 
     /* Belongings tab */
     @FXML
@@ -265,21 +275,31 @@ public class SimulationLayoutController {
     }
 
     /**
-     * Populates main tables with lists from {@link Simulation}.
+     * Populates main tables with mirrors of lists from {@link Simulation}.
+     * Mirrors of a previous simulation stop following it's lists.
      */
     public void setSimulationItems() {
         if (isNull(simulation)) {
             return;
         }
 
-        stockExchangeTableView.setItems(simulation.getStockExchanges());
-        commodityExchangeTableView.setItems(simulation.getCommodityExchanges());
-        currencyExchangeTableView.setItems(simulation.getCurrencyExchanges());
-        investorTableView.setItems(simulation.getInvestors());
-        investmentFundTableView.setItems(simulation.getInvestmentFunds());
+        mirrors.forEach(ObservableMirror::close);
+        mirrors.clear();
+
+        stockExchangeTableView.setItems(mirror(simulation.getStockExchanges()));
+        commodityExchangeTableView.setItems(mirror(simulation.getCommodityExchanges()));
+        currencyExchangeTableView.setItems(mirror(simulation.getCurrencyExchanges()));
+        investorTableView.setItems(mirror(simulation.getInvestors()));
+        investmentFundTableView.setItems(mirror(simulation.getInvestmentFunds()));
         showPlayerDetails(simulation.getPlayer());
     }
 
+    private <E> ObservableList<E> mirror(final ListenableList<E> source) {
+        final ObservableMirror<E> mirror = ObservableMirror.of(source);
+        mirrors.add(mirror);
+        return mirror.getItems();
+    }
+
     /**
      * Used when a user wanted to remove, buy or sell an asset or entity without selecting it first.
      */
@@ -671,9 +691,7 @@ public class SimulationLayoutController {
             playersLastNameLabel.setText(player.getLastName());
             playersBudgetLabel.setText(Double.toString(player.getBudget()));
 
-            final double summarizedValueOfAssets = player.getBriefcase().stream()
-                    .mapToDouble(tuple -> tuple._1.getCurrentRate() * tuple._2)
-                    .sum();
+            final double summarizedValueOfAssets = simulation.getMarketState().valueOf(player.getBriefcase());
 
             playersAssetsValueLabel.setText(Double.toString(summarizedValueOfAssets));
 
@@ -1322,11 +1340,7 @@ public class SimulationLayoutController {
             investorPESELLabel.setText(investor.getPESEL());
             investorBudgetLabel.setText(Double.toString(investor.getBudget()));
 
-            final double summarizedValueOfAssets = investor.getBriefcase().getAssets()
-                    .stream()
-                    .map(Asset::getCurrentRate)
-                    .mapToDouble(x -> x)
-                    .sum();
+            final double summarizedValueOfAssets = simulation.getMarketState().valueOf(investor.getBriefcase());
             investorAssetsValueLabel.setText(Double.toString(summarizedValueOfAssets));
         } else {
             investorFirstNameLabel.setText("");
@@ -1418,10 +1432,12 @@ public class SimulationLayoutController {
                 yAxisValue.setLabel("Value");
 
                 final XYChart.Series<Integer, Double> series = new XYChart.Series<>();
-                int iterator = 0;
-                for (double rate : abstractAsset.getRateChanges()) {
-                    series.getData().add(new XYChart.Data<>(iterator, rate));
-                    iterator++;
+                if (!addTicks(series, abstractAsset) && !addCandles(series, abstractAsset)) {
+                    int iterator = 0;
+                    for (double rate : abstractAsset.getRateChanges()) {
+                        series.getData().add(new XYChart.Data<>(iterator, rate));
+                        iterator++;
+                    }
                 }
 
                 series.setName(abstractAsset.getName());
@@ -1448,4 +1464,65 @@ public class SimulationLayoutController {
             exception.printStackTrace();
         }
     }
+
+    /**
+     * Adds ticks of an asset from the last {@value #CHART_WINDOW_MILLIS} milliseconds of it's trading
+     * to a series, if the {@link Simulation} stores ticks. Every n-th tick is added,
+     * so that a series has at most {@value #CHART_POINTS} points. The time is measured in seconds.
+     * @param series A series that is to be filled.
+     * @param asset The {@code Asset} that was selected.
+     * @return {@code true} if any tick was added, otherwise returns {@code false}.
+     */
+    private boolean addTicks(final XYChart.Series<Integer, Double> series, final Asset asset) {
+        final TickStore tickStore = simulation.getTickStore();
+        if (isNull(tickStore) || tickStore.count(asset) == 0L) {
+            return false;
+        }
+
+        final long to = tickStore.getLastTimestamp(asset);
+        final long from = to - CHART_WINDOW_MILLIS;
+
+        try {
+            final int ticks = tickStore.forEach(asset, from, to, (timestamp, price, volume) -> { });
+            final int stride = Math.max(1, ticks / CHART_POINTS);
+            final int[] index = {0};
+
+            tickStore.forEach(asset, from, to, (timestamp, price, volume) -> {
+                if (index[0]++ % stride == 0) {
+                    series.getData().add(new XYChart.Data<>((int) ((timestamp - from) / 1000L), price));
+                }
+            });
+        } catch (IOException exception) {
+            LOGGER.warn("[TICKS]: Ticks of " + asset + " couldn't be read.", exception);
+            series.getData().clear();
+        }
+
+        return !series.getData().isEmpty();
+    }
+
+    /**
+     * Adds closing prices of the latest one-second bars of an asset to a series, if the {@link Simulation}
+     * aggregates bars. The time is measured in seconds.
+     * @param series A series that is to be filled.
+     * @param asset The {@code Asset} that was selected.
+     * @return {@code true} if any bar was added, otherwise returns {@code false}.
+     */
+    private boolean addCandles(final XYChart.Series<Integer, Double> series, final Asset asset) {
+        final CandleAggregator candleAggregator = simulation.getCandleAggregator();
+        if (isNull(candleAggregator)) {
+            return false;
+        }
+
+        final long[] first = {Long.MIN_VALUE};
+
+        candleAggregator.forEach(asset, CandleAggregator.SECOND,
+                (start, open, high, low, close, volume) -> {
+                    if (first[0] == Long.MIN_VALUE) {
+                        first[0] = start;
+                    }
+                    series.getData().add(new XYChart.Data<>((int) ((start - first[0]) / 1000L), close));
+                });
+
+        return !series.getData().isEmpty();
+    }
 }